@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load generator of the stock server, run as a single source file:
+ * {@code java LoadGenerator.java <baseUrl> <clients> <durationSeconds> <warmupSeconds> <writeRatio> [serverCores]}.
+ * Each client sends its next request once the previous one completed, mixing inventory listings and
+ * +1/-1 stock adjustments so that every request reaches the database. Prints one summary line:
+ * throughput, latency percentiles and error counts of the measured period, and the throughput per core
+ * when the number of cores the server is limited to is given.
+ */
+public class LoadGenerator {
+
+    private static final Pattern ITEM = Pattern.compile(
+            "\"productId\":\"([0-9a-f-]{36})\",\"warehouseId\":\"([0-9a-f-]{36})\"");
+
+    /** Latency buckets of 0.1 ms up to 60 s */
+    private static final int BUCKETS = 600_000;
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int duration = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+        int warmup = args.length > 3 ? Integer.parseInt(args[3]) : 15;
+        double writeRatio = args.length > 4 ? Double.parseDouble(args[4]) : 0.2;
+        int serverCores = args.length > 5 ? Integer.parseInt(args[5]) : 0;
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        List<String[]> items = loadItems(http, baseUrl);
+        if (items.isEmpty()) {
+            throw new IllegalStateException("No inventory items found at " + baseUrl + "/inventory");
+        }
+
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong[] latencies = new AtomicLong[BUCKETS];
+        Arrays.setAll(latencies, i -> new AtomicLong());
+        LongAdder completed = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder timedOut = new LongAdder();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int client = 0; client < clients; client++) {
+                executor.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    int delta = 1;
+                    while (running.get()) {
+                        HttpRequest request;
+                        if (random.nextDouble() < writeRatio) {
+                            String[] item = items.get(random.nextInt(items.size()));
+                            request = HttpRequest.newBuilder(URI.create(baseUrl + "/inventory/" + item[1] + "/" + item[0] + "/adjustments"))
+                                    .timeout(Duration.ofSeconds(60))
+                                    .header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString("{\"delta\":" + delta + "}"))
+                                    .build();
+                            // +1 then -1, the stock of the items stays put
+                            delta = -delta;
+                        } else {
+                            request = HttpRequest.newBuilder(URI.create(baseUrl + "/inventory?page=" + (1 + random.nextInt(20)) + "&pageSize=20"))
+                                    .timeout(Duration.ofSeconds(60))
+                                    .GET()
+                                    .build();
+                        }
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+                        } catch (java.net.http.HttpTimeoutException e) {
+                            if (measuring.get()) {
+                                timedOut.increment();
+                            }
+                            continue;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        if (measuring.get()) {
+                            if (ok) {
+                                long bucket = Math.min((System.nanoTime() - start) / 100_000, BUCKETS - 1);
+                                latencies[(int) bucket].incrementAndGet();
+                                completed.increment();
+                            } else {
+                                failed.increment();
+                            }
+                        }
+                    }
+                });
+            }
+            Thread.sleep(Duration.ofSeconds(warmup));
+            measuring.set(true);
+            Thread.sleep(Duration.ofSeconds(duration));
+            measuring.set(false);
+            running.set(false);
+        }
+
+        long total = completed.sum();
+        double throughput = (double) total / duration;
+        System.out.printf("clients=%d duration=%ds throughput=%.0f req/s%s p50=%.1fms p99=%.1fms p999=%.1fms errors=%d timeouts=%d%n",
+                clients, duration, throughput,
+                serverCores > 0 ? String.format(" per-core=%.0f req/s", throughput / serverCores) : "",
+                percentile(latencies, total, 0.50), percentile(latencies, total, 0.99), percentile(latencies, total, 0.999),
+                failed.sum(), timedOut.sum());
+    }
+
+    private static List<String[]> loadItems(HttpClient http, String baseUrl) throws Exception {
+        String body = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/inventory?page=1&pageSize=100")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        List<String[]> items = new ArrayList<>();
+        Matcher matcher = ITEM.matcher(body);
+        while (matcher.find()) {
+            items.add(new String[]{matcher.group(1), matcher.group(2)});
+        }
+        return items;
+    }
+
+    private static double percentile(AtomicLong[] latencies, long total, double quantile) {
+        long rank = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int bucket = 0; bucket < latencies.length; bucket++) {
+            seen += latencies[bucket].get();
+            if (seen >= rank && rank > 0) {
+                return bucket / 10.0;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,52 @@
+#!/bin/bash
+# Compares the platform-thread, virtual-thread and experimental reactive modes of the stock server under the same load.
+# Requires the built server jar (mvn clean install) and the database of docker-compose.yml:
+#   docker-compose up -d postgres
+#   ./benchmark/run-thread-modes.sh [clients] [durationSeconds] [serverCores]
+# Every run uses the 5-connection pool of docker-compose.yml, JDBC or R2DBC, only the request stack differs.
+# The server is pinned to the given number of cores so that the throughput per core can be compared.
+set -euo pipefail
+
+CLIENTS=${1:-2000}
+DURATION=${2:-60}
+CPUS=${3:-2}
+PORT=${PORT:-8080}
+BASE_URL="http://localhost:${PORT}"
+DIR="$(cd "$(dirname "$0")" && pwd)"
+JAR=$(ls "${DIR}"/../stock-server/stock-server-starter/target/stock-server-starter-*.jar | head -n 1)
+
+export SPRING_DATASOURCE_URL=${SPRING_DATASOURCE_URL:-jdbc:postgresql://localhost:5432/stock_assistant}
+export SPRING_DATASOURCE_USERNAME=${SPRING_DATASOURCE_USERNAME:-stock_user}
+export SPRING_DATASOURCE_PASSWORD=${SPRING_DATASOURCE_PASSWORD:-stock_password}
+export SPRING_DATASOURCE_HIKARI_MAXIMUM_POOL_SIZE=5
+export SPRING_DATASOURCE_HIKARI_CONNECTION_TIMEOUT=20000
+export STOCK_R2DBC_URL=${STOCK_R2DBC_URL:-r2dbc:postgresql://localhost:5432/stock_assistant}
+
+# The server gets the first cores, the load generator the others
+PIN_SERVER=()
+PIN_LOAD=()
+if command -v taskset > /dev/null && [ "$(nproc)" -gt "${CPUS}" ]; then
+  PIN_SERVER=(taskset -c "0-$((CPUS - 1))")
+  PIN_LOAD=(taskset -c "${CPUS}-$(($(nproc) - 1))")
+fi
+
+run() {
+  local mode=$1 profiles=$2
+  SPRING_PROFILES_ACTIVE=${profiles} "${PIN_SERVER[@]}" java -XX:ActiveProcessorCount="${CPUS}" -Xmx512m -jar "${JAR}" \
+    --server.port="${PORT}" > "/tmp/stock-server-${mode}.log" 2>&1 &
+  local pid=$!
+  trap "kill ${pid} 2>/dev/null || true" EXIT
+  until curl -sf "${BASE_URL}/actuator/health" > /dev/null; do
+    kill -0 "${pid}" 2>/dev/null || { echo "Server failed to start, see /tmp/stock-server-${mode}.log"; exit 1; }
+    sleep 1
+  done
+  echo -n "${mode}: "
+  "${PIN_LOAD[@]}" java "${DIR}/LoadGenerator.java" "${BASE_URL}" "${CLIENTS}" "${DURATION}" 15 0.2 "${CPUS}"
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  trap - EXIT
+}
+
+run platform default
+run virtual virtual-threads
+run reactive reactive
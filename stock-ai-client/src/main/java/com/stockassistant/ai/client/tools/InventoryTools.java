@@ -2,15 +2,25 @@ package com.stockassistant.ai.client.tools;
 
 
 import com.stockassistant.ai.client.api.InventoryApi;
+import com.stockassistant.ai.client.model.AdjustInventoryItemRequest;
+import com.stockassistant.ai.client.model.CategoryValuation;
 import com.stockassistant.ai.client.model.Inventories;
 import com.stockassistant.ai.client.model.InventoryItem;
+import com.stockassistant.ai.client.model.LowStockAlerts;
+import com.stockassistant.ai.client.model.ProductStock;
+import com.stockassistant.ai.client.model.ProductStockTotals;
+import com.stockassistant.ai.client.model.ReorderPoint;
+import com.stockassistant.ai.client.model.ReorderPointRequest;
 import com.stockassistant.ai.client.model.UpdateInventoryItemRequest;
+import com.stockassistant.ai.client.model.WarehouseUtilisations;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -30,22 +40,28 @@ public class InventoryTools {
      * @param pageSize    Number of items per page (defaults to 20 if null).
      * @param warehouseId Optional UUID of the warehouse to filter by.
      * @param productId   Optional UUID of the product to filter by.
+     * @param asOf        Optional point in time of the quantities, current quantities if null.
      * @return A PaginatedInventory containing the requested items.
      * @throws RestClientException if the API call fails.
      */
     @Tool(name = "GetInventoryLevels",
-            description = "Fetches a page of inventory items. Parameters: page number, page size, warehouseId (optional), productId (optional).")
+            description = "Fetches a page of inventory items. Parameters: page number, page size, warehouseId (optional), productId (optional), asOf (optional, past date-time to read the quantities held at that time).")
     public Inventories getInventory(Integer page,
                                     Integer pageSize,
                                     UUID warehouseId,
-                                    UUID productId) throws RestClientException {
-        log.info("Fetching inventory items - page: {}, pageSize: {}, warehouseId: {}, productId: {}",
-                page, pageSize, warehouseId, productId);
+                                    UUID productId,
+                                    LocalDateTime asOf) throws RestClientException {
+        log.info("Fetching inventory items - page: {}, pageSize: {}, warehouseId: {}, productId: {}, asOf: {}",
+                page, pageSize, warehouseId, productId, asOf);
         Inventories inventories = inventoryApi.getInventory(
                 page,
                 pageSize,
+                null,
+                null,
+                null,
                 warehouseId,
-                productId);
+                productId,
+                asOf);
         log.info("Found {} inventory items", inventories.getData().size());
         return inventories;
     }
@@ -72,5 +88,145 @@ public class InventoryTools {
         log.info("Inventory item updated successfully");
         return updatedItem;
     }
-}
 
+    /**
+     * Adds or removes stock of a specific product in a specific warehouse, relative to the current quantity.
+     *
+     * @param warehouseId UUID of the warehouse where stock should be adjusted.
+     * @param productId   UUID of the product whose inventory will be adjusted.
+     * @param request     Payload containing the signed quantity to add (negative to remove).
+     * @return The InventoryItem reflecting the adjusted quantity.
+     * @throws RestClientException if the API call fails, the resource isn't found or stock would become negative.
+     */
+    @Tool(name = "AdjustInventoryQuantity", description = "Adds or removes stock of a product in a given warehouse relative to the current quantity. Requires warehouseId, productId, and a request with a signed delta (negative to remove stock).")
+    public InventoryItem adjustInventoryItem(UUID warehouseId,
+                                             UUID productId,
+                                             AdjustInventoryItemRequest request) throws RestClientException {
+        log.info("Adjusting inventory item - warehouseId: {}, productId: {}, delta: {}",
+                warehouseId, productId, request.getDelta());
+        InventoryItem adjustedItem = inventoryApi.adjustInventoryItem(
+                warehouseId,
+                productId,
+                request);
+        log.info("Inventory item adjusted successfully");
+        return adjustedItem;
+    }
+
+    /**
+     * Retrieves the total stock of a product and its quantity in each warehouse holding it.
+     *
+     * @param productId UUID of the product.
+     * @param below     Optional threshold, only the warehouses holding less than this quantity are listed.
+     * @return The ProductStock holding the total quantity and the per-warehouse levels.
+     * @throws RestClientException if the API call fails.
+     */
+    @Tool(name = "GetProductStock", description = "Returns the total quantity of a product across all warehouses and its quantity in each warehouse. Parameters: productId, below (optional, only lists warehouses holding less than this quantity).")
+    public ProductStock getProductStock(UUID productId, Integer below) throws RestClientException {
+        log.info("Fetching stock of product: {}, below: {}", productId, below);
+        ProductStock stock = inventoryApi.getProductStock(productId, below);
+        log.info("Product stock fetched - total quantity: {}", stock.getTotalQuantity());
+        return stock;
+    }
+
+    /**
+     * Retrieves the total quantity of each product across the warehouses, largest totals first.
+     *
+     * @param page        Page number to retrieve (defaults to 1 if null).
+     * @param pageSize    Number of products per page (defaults to 20 if null).
+     * @param warehouseId Optional UUID of the warehouse to restrict the totals to.
+     * @param category    Optional product category: ELECTRONICS, HARDWARE or CONSUMABLES.
+     * @return The ProductStockTotals page.
+     * @throws RestClientException if the API call fails.
+     */
+    @Tool(name = "GetStockByProduct", description = "Fetches a page of products with their total quantity across the warehouses, largest first. Parameters: page number, page size, warehouseId (optional), category (optional).")
+    public ProductStockTotals getStockByProduct(Integer page,
+                                                Integer pageSize,
+                                                UUID warehouseId,
+                                                String category) throws RestClientException {
+        log.info("Fetching stock by product - page: {}, pageSize: {}, warehouseId: {}, category: {}",
+                page, pageSize, warehouseId, category);
+        ProductStockTotals totals = inventoryApi.getStockByProduct(page, pageSize, warehouseId, category);
+        log.info("Found {} product totals", totals.getData().size());
+        return totals;
+    }
+
+    /**
+     * Retrieves the quantity held by each warehouse as a percentage of its capacity, most utilised first.
+     *
+     * @param page        Page number to retrieve (defaults to 1 if null).
+     * @param pageSize    Number of warehouses per page (defaults to 20 if null).
+     * @param warehouseId Optional UUID of the warehouse to filter by.
+     * @param location    Optional partial location of the warehouses.
+     * @return The WarehouseUtilisations page.
+     * @throws RestClientException if the API call fails.
+     */
+    @Tool(name = "GetWarehouseUtilisation", description = "Fetches a page of warehouses with their total quantity and utilisation percentage of capacity, most utilised first. Parameters: page number, page size, warehouseId (optional), location (optional).")
+    public WarehouseUtilisations getWarehouseUtilisation(Integer page,
+                                                         Integer pageSize,
+                                                         UUID warehouseId,
+                                                         String location) throws RestClientException {
+        log.info("Fetching warehouse utilisation - page: {}, pageSize: {}, warehouseId: {}, location: {}",
+                page, pageSize, warehouseId, location);
+        WarehouseUtilisations utilisations = inventoryApi.getWarehouseUtilisation(page, pageSize, warehouseId, location);
+        log.info("Found {} warehouse utilisations", utilisations.getData().size());
+        return utilisations;
+    }
+
+    /**
+     * Retrieves the quantity and value at the current prices of the stock of each product category.
+     *
+     * @param warehouseId Optional UUID of the warehouse to restrict the valuation to.
+     * @param category    Optional product category: ELECTRONICS, HARDWARE or CONSUMABLES.
+     * @return The valuation of each category holding stock.
+     * @throws RestClientException if the API call fails.
+     */
+    @Tool(name = "GetStockValuation", description = "Returns the stock quantity and value (quantity times price) of each product category. Parameters: warehouseId (optional), category (optional).")
+    public List<CategoryValuation> getStockValuation(UUID warehouseId, String category) throws RestClientException {
+        log.info("Fetching stock valuation - warehouseId: {}, category: {}", warehouseId, category);
+        List<CategoryValuation> valuations = inventoryApi.getStockValuation(warehouseId, category);
+        log.info("Found {} category valuations", valuations.size());
+        return valuations;
+    }
+
+    /**
+     * Retrieves the inventory items whose quantity is below their reorder point, most urgent first.
+     *
+     * @param page        Page number to retrieve (defaults to 1 if null).
+     * @param pageSize    Number of alerts per page (defaults to 20 if null).
+     * @param warehouseId Optional UUID of the warehouse to filter by.
+     * @param productId   Optional UUID of the product to filter by.
+     * @return The LowStockAlerts page.
+     * @throws RestClientException if the API call fails.
+     */
+    @Tool(name = "GetLowStockAlerts", description = "Fetches a page of low-stock alerts: items whose quantity is below their reorder point, most urgent first. Parameters: page number, page size, warehouseId (optional), productId (optional).")
+    public LowStockAlerts getLowStockAlerts(Integer page,
+                                            Integer pageSize,
+                                            UUID warehouseId,
+                                            UUID productId) throws RestClientException {
+        log.info("Fetching low-stock alerts - page: {}, pageSize: {}, warehouseId: {}, productId: {}",
+                page, pageSize, warehouseId, productId);
+        LowStockAlerts alerts = inventoryApi.getLowStockAlerts(page, pageSize, warehouseId, productId);
+        log.info("Found {} low-stock alerts", alerts.getData().size());
+        return alerts;
+    }
+
+    /**
+     * Sets or removes the reorder point of a product, or its override in a single warehouse.
+     *
+     * @param productId    UUID of the product.
+     * @param warehouseId  Optional UUID of the warehouse, the product reorder point is set if null.
+     * @param reorderPoint The quantity below which an alert is raised, null to remove the reorder point.
+     * @return The reorder point as set.
+     * @throws RestClientException if the API call fails.
+     */
+    @Tool(name = "SetReorderPoint", description = "Sets the quantity below which a low-stock alert is raised for a product, in every warehouse or in a single one. Parameters: productId, warehouseId (optional, all warehouses without their own if omitted), reorderPoint (omit to remove).")
+    public ReorderPoint setReorderPoint(UUID productId, UUID warehouseId, Integer reorderPoint) throws RestClientException {
+        log.info("Setting reorder point - productId: {}, warehouseId: {}, reorderPoint: {}", productId, warehouseId, reorderPoint);
+        ReorderPointRequest request = new ReorderPointRequest().reorderPoint(reorderPoint);
+        ReorderPoint updated = Objects.isNull(warehouseId)
+                ? inventoryApi.setProductReorderPoint(productId, request)
+                : inventoryApi.setInventoryReorderPoint(warehouseId, productId, request);
+        log.info("Reorder point set successfully");
+        return updated;
+    }
+}
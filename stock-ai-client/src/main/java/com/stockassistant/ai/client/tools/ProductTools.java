@@ -90,7 +90,29 @@ public class ProductTools {
     ) throws RestClientException {
         log.info("Listing products with filters - page: {}, pageSize: {}, sort: {}, uuid: {}, sku: {}, name: {}, price: {}, category: {}, unitOfMeasure: {}",
                 page, pageSize, sort, uuid, sku, name, price, category, unitOfMeasure);
-        Products products = productsApi.getProducts(page, pageSize, sort, uuid, sku, name, price, category, unitOfMeasure);
+        Products products = productsApi.getProducts(page, pageSize, sort, null, null, null, uuid, sku, name, price, category, unitOfMeasure);
+        log.info("Found {} products", products.getData().size());
+        return products;
+    }
+
+    @Tool(name = "get_product_by_sku", description = "Retrieve the details of a product by its exact SKU code")
+    public Product getProductBySku(
+            @ToolParam(description = "SKU code of the product") String sku
+    ) throws RestClientException {
+        log.info("Fetching product with SKU: {}", sku);
+        return productsApi.getProductBySku(sku);
+    }
+
+    @Tool(
+            name = "search_products",
+            description = "Search products by free text over their name, description and SKU, tolerating typos. Use this when the user describes a product in their own words rather than by exact filters. Results are ranked best first."
+    )
+    public Products searchProducts(
+            @ToolParam(description = "Free-text query") String query,
+            @ToolParam(description = "Maximum number of results", required = false) Integer limit
+    ) throws RestClientException {
+        log.info("Searching products - query: {}, limit: {}", query, limit);
+        Products products = productsApi.searchProducts(query, limit);
         log.info("Found {} products", products.getData().size());
         return products;
     }
@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.reactive.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Configuration of the web server of the reactive profile.
+ * Tomcat stays on the classpath for the servlet stack and would be picked first by the auto-configuration,
+ * so the reactive stack declares its Netty server explicitly to serve requests from the event loops.
+ * The profile is experimental: it serves the inventory listing, the single-item quantity changes and the
+ * product lookups measured by the load generator, the other operations answer 501.
+ */
+@Slf4j
+@Configuration
+@Profile("reactive")
+public class ReactiveServerConfig {
+
+    /**
+     * Creates the factory of the Netty server, the server properties are applied by the Boot customizers.
+     *
+     * @param serverCustomizers The customizers of the underlying Reactor Netty server
+     * @return The Netty server factory
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(ObjectProvider<NettyServerCustomizer> serverCustomizers) {
+        log.warn("The reactive profile is experimental, only the inventory listing, the single-item quantity changes "
+                + "and the product lookups are served, the other operations answer 501 Not Implemented");
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        factory.getServerCustomizers().addAll(serverCustomizers.orderedStream().toList());
+        return factory;
+    }
+}
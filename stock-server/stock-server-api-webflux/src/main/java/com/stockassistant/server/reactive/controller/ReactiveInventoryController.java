@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.reactive.controller;
+
+import com.stockassistant.server.api.v1.model.AdjustInventoryItemRequestModel;
+import com.stockassistant.server.api.v1.model.InventoriesModel;
+import com.stockassistant.server.api.v1.model.InventoryItemModel;
+import com.stockassistant.server.api.v1.model.UpdateInventoryItemRequestModel;
+import com.stockassistant.server.api.v1.reactive.InventoryApi;
+import com.stockassistant.server.domain.feature.inventory.port.in.ReactiveInventoryUseCase;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
+import com.stockassistant.server.mapper.InventoryMapper;
+import com.stockassistant.server.utils.PageMapperUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Reactive controller for handling inventory-related HTTP requests, active with the reactive profile.
+ * This controller implements the reactive InventoryApi interface for the inventory listing and the single-item
+ * quantity changes, the other operations answer 501 Not Implemented.
+ */
+@Slf4j
+@RestController
+@RequestMapping()
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveInventoryController implements InventoryApi {
+
+    /** The reactive use case for inventory operations */
+    private final ReactiveInventoryUseCase reactiveInventoryUseCase;
+
+    /** The mapper for converting between domain and API models */
+    private final InventoryMapper inventoryMapper;
+
+    /**
+     * Retrieves a page of inventory items based on the provided filter criteria.
+     * Only the page mode of the listing is served, cursors and point-in-time reads are rejected.
+     *
+     * @param page the page number (1-based)
+     * @param pageSize the number of items per page
+     * @param after the cursor of the previous slice, not supported
+     * @param limit the number of items per slice, not supported
+     * @param count how the total is computed, exact by default
+     * @param warehouseId the UUID of the warehouse to filter by
+     * @param productId the UUID of the product to filter by
+     * @param asOf the point in time of the quantities, not supported
+     * @param exchange the current exchange
+     * @return ResponseEntity containing the page of inventory items
+     */
+    @Override
+    public Mono<ResponseEntity<InventoriesModel>> getInventory(Integer page,
+                                                               Integer pageSize,
+                                                               String after,
+                                                               Integer limit,
+                                                               String count,
+                                                               UUID warehouseId,
+                                                               UUID productId,
+                                                               LocalDateTime asOf,
+                                                               ServerWebExchange exchange) {
+        log.info("Fetching inventory items - page: {}, pageSize: {}, warehouseId: {}, productId: {}",
+                page, pageSize, warehouseId, productId);
+        if (Objects.nonNull(after) || Objects.nonNull(limit) || Objects.nonNull(asOf)) {
+            return Mono.error(new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED,
+                    "Cursor mode and point-in-time reads are not served by the reactive stack"));
+        }
+        return reactiveInventoryUseCase.fetch(PageRequest.of(page - 1, pageSize),
+                        PageMapperUtils.toCountMode(count, CountModeEnum.EXACT), warehouseId, productId)
+                .map(inventoryItems -> ResponseEntity.ok(inventoryMapper.toInventories(inventoryItems)));
+    }
+
+    /**
+     * Updates an existing inventory item with the specified warehouse and product IDs using the provided request model.
+     *
+     * @param warehouseId the UUID of the warehouse
+     * @param productId the UUID of the product
+     * @param updateInventoryItemRequestModel the request model containing the new quantity
+     * @param exchange the current exchange
+     * @return ResponseEntity containing the updated inventory item model
+     */
+    @Override
+    public Mono<ResponseEntity<InventoryItemModel>> updateInventoryItem(UUID warehouseId,
+                                                                        UUID productId,
+                                                                        Mono<UpdateInventoryItemRequestModel> updateInventoryItemRequestModel,
+                                                                        ServerWebExchange exchange) {
+        return updateInventoryItemRequestModel
+                .doOnNext(request -> log.info("Updating inventory item - warehouseId: {}, productId: {}, new quantity: {}",
+                        warehouseId, productId, request.getQuantity()))
+                .flatMap(request -> reactiveInventoryUseCase.update(warehouseId, productId, request.getQuantity()))
+                .map(updatedItem -> ResponseEntity.ok(inventoryMapper.toModel(updatedItem)));
+    }
+
+    /**
+     * Atomically adjusts the quantity of an inventory item by the delta of the provided request model.
+     *
+     * @param warehouseId the UUID of the warehouse
+     * @param productId the UUID of the product
+     * @param adjustInventoryItemRequestModel the request model containing the signed delta
+     * @param exchange the current exchange
+     * @return ResponseEntity containing the adjusted inventory item model
+     */
+    @Override
+    public Mono<ResponseEntity<InventoryItemModel>> adjustInventoryItem(UUID warehouseId,
+                                                                        UUID productId,
+                                                                        Mono<AdjustInventoryItemRequestModel> adjustInventoryItemRequestModel,
+                                                                        ServerWebExchange exchange) {
+        return adjustInventoryItemRequestModel
+                .doOnNext(request -> log.info("Adjusting inventory item - warehouseId: {}, productId: {}, delta: {}",
+                        warehouseId, productId, request.getDelta()))
+                .flatMap(request -> reactiveInventoryUseCase.adjust(warehouseId, productId, request.getDelta()))
+                .map(adjustedItem -> ResponseEntity.ok(inventoryMapper.toModel(adjustedItem)));
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.reactive.controller;
+
+import com.stockassistant.server.api.v1.model.ProductModel;
+import com.stockassistant.server.api.v1.reactive.ProductsApi;
+import com.stockassistant.server.domain.feature.product.port.in.ReactiveProductUseCase;
+import com.stockassistant.server.mapper.ProductMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Reactive controller for handling product-related HTTP requests, active with the reactive profile.
+ * This controller implements the reactive ProductsApi interface for the product lookups, the other
+ * operations answer 501 Not Implemented.
+ */
+@Slf4j
+@RestController
+@RequestMapping()
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveProductController implements ProductsApi {
+
+    /** The reactive use case for product operations */
+    private final ReactiveProductUseCase reactiveProductUseCase;
+
+    /** The mapper for converting between domain and API models */
+    private final ProductMapper productMapper;
+
+    /**
+     * Retrieves a product by its UUID.
+     *
+     * @param uuid the UUID of the product
+     * @param exchange the current exchange
+     * @return ResponseEntity containing the product model
+     */
+    @Override
+    public Mono<ResponseEntity<ProductModel>> getProduct(UUID uuid, ServerWebExchange exchange) {
+        log.info("Fetching product with UUID: {}", uuid);
+        return reactiveProductUseCase.get(uuid)
+                .map(product -> ResponseEntity.ok(productMapper.toModel(product)));
+    }
+
+    /**
+     * Retrieves a product by its SKU.
+     *
+     * @param sku the SKU of the product
+     * @param exchange the current exchange
+     * @return ResponseEntity containing the product model
+     */
+    @Override
+    public Mono<ResponseEntity<ProductModel>> getProductBySku(String sku, ServerWebExchange exchange) {
+        log.info("Fetching product with SKU: {}", sku);
+        return reactiveProductUseCase.getBySku(sku)
+                .map(product -> ResponseEntity.ok(productMapper.toModel(product)));
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.reactive.controller;
+
+import com.stockassistant.server.api.v1.reactive.ReservationsApi;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Reactive controller for the reservation-related HTTP requests, active with the reactive profile.
+ * None of the operations of the ReservationsApi interface are served by the reactive stack yet, they answer
+ * 501 Not Implemented rather than 404.
+ */
+@RestController
+@RequestMapping()
+@Profile("reactive")
+public class ReactiveReservationController implements ReservationsApi {
+}
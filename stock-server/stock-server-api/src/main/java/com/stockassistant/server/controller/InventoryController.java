@@ -12,21 +12,56 @@
 
 package com.stockassistant.server.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockassistant.server.api.v1.model.AdjustInventoryItemRequestModel;
+import com.stockassistant.server.api.v1.model.CategoryValuationModel;
 import com.stockassistant.server.api.v1.model.InventoriesModel;
+import com.stockassistant.server.api.v1.model.InventoryChangeResultsModel;
+import com.stockassistant.server.api.v1.model.InventoryChangesModel;
 import com.stockassistant.server.api.v1.model.InventoryItemModel;
+import com.stockassistant.server.api.v1.model.LowStockAlertsModel;
+import com.stockassistant.server.api.v1.model.ProductStockModel;
+import com.stockassistant.server.api.v1.model.ProductStockTotalsModel;
+import com.stockassistant.server.api.v1.model.ReorderPointModel;
+import com.stockassistant.server.api.v1.model.ReorderPointRequestModel;
 import com.stockassistant.server.api.v1.model.UpdateInventoryItemRequestModel;
+import com.stockassistant.server.api.v1.model.WarehouseUtilisationsModel;
 import com.stockassistant.server.api.v1.rest.InventoryApi;
+import com.stockassistant.server.domain.feature.inventory.feed.InventoryChangeFeed;
 import com.stockassistant.server.domain.feature.inventory.port.in.InventoryUseCase;
+import com.stockassistant.server.domain.model.CategoryValuation;
+import com.stockassistant.server.domain.model.InventoryChangeResult;
 import com.stockassistant.server.domain.model.InventoryItem;
+import com.stockassistant.server.domain.model.LowStockAlert;
+import com.stockassistant.server.domain.model.ProductStockTotal;
+import com.stockassistant.server.domain.model.WarehouseUtilisation;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
+import com.stockassistant.server.domain.model.enums.InventoryChangeStatusEnum;
 import com.stockassistant.server.mapper.InventoryMapper;
+import com.stockassistant.server.utils.CursorCodec;
+import com.stockassistant.server.utils.ExportUtils;
+import com.stockassistant.server.utils.InventoryChangeEmitter;
+import com.stockassistant.server.utils.PageMapperUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -36,33 +71,66 @@ import java.util.UUID;
 @Slf4j
 @RestController
 @RequestMapping()
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class InventoryController implements InventoryApi {
 
+    /** The id property keying inventory slices in cursor mode */
+    private static final String KEYSET_ID = "id";
+
     /** The use case for inventory operations */
     private final InventoryUseCase inventoryUseCase;
     
     /** The mapper for converting between domain and API models */
     private final InventoryMapper inventoryMapper;
 
+    /** The JSON serializer of exported lines */
+    private final ObjectMapper objectMapper;
+
+    /** The time after which a change stream is completed, clients then reconnect and resume */
+    @Value("${stock.inventory.changes.timeout:PT30M}")
+    private Duration changesTimeout;
+
     /**
      * Retrieves a list of inventory items based on the provided filter criteria.
      *
      * @param page the page number (1-based)
      * @param pageSize the number of items per page
+     * @param after the cursor of the previous slice, switches to cursor mode
+     * @param limit the number of items per slice, switches to cursor mode
+     * @param count how the total is computed, exact in page mode and none in cursor mode by default
      * @param warehouseId the UUID of the warehouse to filter by
+     * @param productId the UUID of the product to filter by
+     * @param asOf the point in time of the quantities, replayed from the stock ledger
      * @return ResponseEntity containing the list of inventory items
      */
     @Override
     public ResponseEntity<InventoriesModel> getInventory(Integer page,
                                                          Integer pageSize,
+                                                         String after,
+                                                         Integer limit,
+                                                         String count,
                                                          UUID warehouseId,
-                                                         UUID productId
+                                                         UUID productId,
+                                                         LocalDateTime asOf
                                                          ) {
-        log.info("Fetching inventory items - page: {}, pageSize: {}, warehouseId: {}, productId: {}",
-                page, pageSize, warehouseId, productId);
-        Page<InventoryItem> inventoryItems = inventoryUseCase.fetch( PageRequest.of(page - 1, pageSize),warehouseId,productId);
-        log.info("Found {} inventory items", inventoryItems.getTotalElements());
+        log.info("Fetching inventory items - page: {}, pageSize: {}, after: {}, limit: {}, warehouseId: {}, productId: {}, asOf: {}",
+                page, pageSize, after, limit, warehouseId, productId, asOf);
+        if (Objects.nonNull(after) || Objects.nonNull(limit)) {
+            Window<InventoryItem> inventoryItems = inventoryUseCase.scroll(
+                    CursorCodec.decode(after, Set.of(KEYSET_ID)),
+                    Objects.requireNonNullElse(limit, pageSize),
+                    warehouseId,
+                    productId,
+                    asOf);
+            CountModeEnum countMode = PageMapperUtils.toCountMode(count, CountModeEnum.NONE);
+            Long total = countMode == CountModeEnum.NONE ? null : inventoryUseCase.count(countMode, warehouseId, productId);
+            log.info("Found {} inventory items, has next: {}", inventoryItems.size(), inventoryItems.hasNext());
+            return ResponseEntity.ok(inventoryMapper.toInventories(inventoryItems, total));
+        }
+        Slice<InventoryItem> inventoryItems = inventoryUseCase.fetch(PageRequest.of(page - 1, pageSize),
+                PageMapperUtils.toCountMode(count, CountModeEnum.EXACT), warehouseId, productId, asOf);
+        log.info("Found {} inventory items, has next: {}", inventoryItems.getNumberOfElements(), inventoryItems.hasNext());
         return ResponseEntity.ok(inventoryMapper.toInventories(inventoryItems));
     }
 
@@ -84,4 +152,215 @@ public class InventoryController implements InventoryApi {
         log.info("Inventory item updated successfully");
         return ResponseEntity.ok(inventoryMapper.toModel(updatedItem));
     }
+
+    /**
+     * Atomically adjusts the quantity of an inventory item by the delta of the provided request model.
+     *
+     * @param warehouseId the UUID of the warehouse
+     * @param productId the UUID of the product
+     * @param adjustInventoryItemRequestModel the request model containing the signed delta
+     * @return ResponseEntity containing the adjusted inventory item model
+     */
+    @Override
+    public ResponseEntity<InventoryItemModel> adjustInventoryItem(UUID warehouseId,
+                                                                  UUID productId,
+                                                                  AdjustInventoryItemRequestModel adjustInventoryItemRequestModel) {
+        log.info("Adjusting inventory item - warehouseId: {}, productId: {}, delta: {}",
+                warehouseId, productId, adjustInventoryItemRequestModel.getDelta());
+        InventoryItem adjustedItem = inventoryUseCase.adjust(warehouseId, productId, adjustInventoryItemRequestModel.getDelta());
+        log.info("Inventory item adjusted successfully, new quantity: {}", adjustedItem.quantity());
+        return ResponseEntity.ok(inventoryMapper.toModel(adjustedItem));
+    }
+
+    /**
+     * Applies a bulk of absolute quantities or signed deltas and reports the outcome of each change.
+     *
+     * @param inventoryChangesModel the request model containing the changes to apply, in order
+     * @return ResponseEntity containing the result of each change, in the order of the changes
+     */
+    @Override
+    public ResponseEntity<InventoryChangeResultsModel> updateInventoryItems(InventoryChangesModel inventoryChangesModel) {
+        log.info("Updating inventory items in bulk - changes: {}", inventoryChangesModel.getData().size());
+        List<InventoryChangeResult> results = inventoryUseCase.updateAll(
+                inventoryMapper.toInventoryChanges(inventoryChangesModel.getData()));
+        log.info("Inventory items bulk update processed, updated: {}", results.stream()
+                .filter(result -> result.status() == InventoryChangeStatusEnum.UPDATED)
+                .count());
+        return ResponseEntity.ok(inventoryMapper.toInventoryChangeResults(results));
+    }
+
+    /**
+     * Streams the inventory items matching the given filters as NDJSON or CSV.
+     * Rows are read through a database cursor while the response is written.
+     *
+     * @param format the format of the exported lines, ndjson or csv
+     * @param warehouseId the UUID of the warehouse to filter by (optional)
+     * @param productId the UUID of the product to filter by (optional)
+     * @return ResponseEntity streaming one line per inventory item
+     */
+    @Override
+    public ResponseEntity<InputStreamResource> exportInventory(String format, UUID warehouseId, UUID productId) {
+        log.info("Exporting inventory - format: {}, warehouseId: {}, productId: {}", format, warehouseId, productId);
+        return ExportUtils.toResponse(format,
+                inventoryUseCase.export(warehouseId, productId),
+                InventoryMapper.CSV_HEADER,
+                inventoryMapper::toCsvLine,
+                inventoryMapper::toModel,
+                objectMapper);
+    }
+
+    /**
+     * Retrieves the stock of a product across the warehouses holding it.
+     * Answered from the in-memory inventory projection, without database access.
+     *
+     * @param uuid the UUID of the product
+     * @param below the exclusive quantity threshold selecting the warehouses (optional)
+     * @return ResponseEntity containing the total quantity and the stock level of each selected warehouse
+     */
+    @Override
+    public ResponseEntity<ProductStockModel> getProductStock(UUID uuid, Integer below) {
+        log.info("Fetching stock of product: {}, below: {}", uuid, below);
+        return ResponseEntity.ok(inventoryMapper.toModel(inventoryUseCase.getProductStock(uuid, below)));
+    }
+
+    /**
+     * Opens a Server-Sent Events stream of the quantity changes made through this node.
+     * The response is asynchronous, the changes are written by the dispatcher threads of the change feed
+     * so an open stream holds no request thread.
+     *
+     * @param warehouseId the UUID of the warehouse to filter by (optional)
+     * @param productId the UUID of the product to filter by (optional)
+     * @param lastEventId the id of the last change received before reconnecting (optional)
+     * @return ResponseEntity containing the event stream
+     */
+    @Override
+    public ResponseEntity<SseEmitter> getInventoryChanges(UUID warehouseId, UUID productId, String lastEventId) {
+        log.info("Opening inventory change stream - warehouseId: {}, productId: {}, lastEventId: {}",
+                warehouseId, productId, lastEventId);
+        InventoryChangeEmitter emitter = new InventoryChangeEmitter(changesTimeout.toMillis(), inventoryMapper::toModel);
+        InventoryChangeFeed.Subscription subscription = inventoryUseCase.subscribe(warehouseId, productId,
+                toEventId(lastEventId), emitter);
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .body(emitter);
+    }
+
+    /**
+     * Retrieves the total quantity of each product across the warehouses, largest totals first.
+     * The quantities are summed by the database, one row per product is read.
+     *
+     * @param page the page number (1-based)
+     * @param pageSize the number of products per page
+     * @param warehouseId the UUID of the warehouse to restrict the sums to (optional)
+     * @param category the product category to filter by (optional)
+     * @return ResponseEntity containing the page of product totals
+     */
+    @Override
+    public ResponseEntity<ProductStockTotalsModel> getStockByProduct(Integer page, Integer pageSize, UUID warehouseId, String category) {
+        log.info("Fetching stock by product - page: {}, pageSize: {}, warehouseId: {}, category: {}",
+                page, pageSize, warehouseId, category);
+        Page<ProductStockTotal> totals = inventoryUseCase.fetchStockByProduct(PageRequest.of(page - 1, pageSize), warehouseId, category);
+        log.info("Found {} product totals, total: {}", totals.getNumberOfElements(), totals.getTotalElements());
+        return ResponseEntity.ok(inventoryMapper.toProductStockTotals(totals));
+    }
+
+    /**
+     * Retrieves the quantity held by each warehouse as a percentage of its capacity, most utilised first.
+     * The quantities are summed by the database, one row per warehouse is read.
+     *
+     * @param page the page number (1-based)
+     * @param pageSize the number of warehouses per page
+     * @param warehouseId the UUID of the warehouse to filter by (optional)
+     * @param location the case-insensitive partial location to filter by (optional)
+     * @return ResponseEntity containing the page of warehouse utilisations
+     */
+    @Override
+    public ResponseEntity<WarehouseUtilisationsModel> getWarehouseUtilisation(Integer page, Integer pageSize, UUID warehouseId, String location) {
+        log.info("Fetching warehouse utilisation - page: {}, pageSize: {}, warehouseId: {}, location: {}",
+                page, pageSize, warehouseId, location);
+        Page<WarehouseUtilisation> utilisations = inventoryUseCase.fetchUtilisation(PageRequest.of(page - 1, pageSize), warehouseId, location);
+        log.info("Found {} warehouse utilisations, total: {}", utilisations.getNumberOfElements(), utilisations.getTotalElements());
+        return ResponseEntity.ok(inventoryMapper.toWarehouseUtilisations(utilisations));
+    }
+
+    /**
+     * Retrieves the quantity and value at the current product prices of the stock of each product category.
+     * The values are summed by the database, one row per category is read.
+     *
+     * @param warehouseId the UUID of the warehouse to restrict the sums to (optional)
+     * @param category the product category to filter by (optional)
+     * @return ResponseEntity containing the valuation of each category holding stock
+     */
+    @Override
+    public ResponseEntity<List<CategoryValuationModel>> getStockValuation(UUID warehouseId, String category) {
+        log.info("Fetching stock valuation - warehouseId: {}, category: {}", warehouseId, category);
+        List<CategoryValuation> valuations = inventoryUseCase.fetchValuation(warehouseId, category);
+        log.info("Found {} category valuations", valuations.size());
+        return ResponseEntity.ok(inventoryMapper.toCategoryValuationModels(valuations));
+    }
+
+    /**
+     * Retrieves the inventory items whose quantity is below their reorder point, most urgent first.
+     * The alerts are maintained in memory as the quantities change, no query is run.
+     *
+     * @param page the page number (1-based)
+     * @param pageSize the number of alerts per page
+     * @param warehouseId the UUID of the warehouse to filter by (optional)
+     * @param productId the UUID of the product to filter by (optional)
+     * @return ResponseEntity containing the page of low-stock alerts
+     */
+    @Override
+    public ResponseEntity<LowStockAlertsModel> getLowStockAlerts(Integer page, Integer pageSize, UUID warehouseId, UUID productId) {
+        log.info("Fetching low-stock alerts - page: {}, pageSize: {}, warehouseId: {}, productId: {}",
+                page, pageSize, warehouseId, productId);
+        Page<LowStockAlert> alerts = inventoryUseCase.fetchLowStockAlerts(PageRequest.of(page - 1, pageSize), warehouseId, productId);
+        log.info("Found {} low-stock alerts, total: {}", alerts.getNumberOfElements(), alerts.getTotalElements());
+        return ResponseEntity.ok(inventoryMapper.toLowStockAlerts(alerts));
+    }
+
+    /**
+     * Sets or removes the reorder point of a product, applying to every warehouse without its own.
+     *
+     * @param uuid the UUID of the product
+     * @param reorderPointRequestModel the new reorder point, absent to remove it
+     * @return ResponseEntity containing the reorder point as set
+     */
+    @Override
+    public ResponseEntity<ReorderPointModel> setProductReorderPoint(UUID uuid, ReorderPointRequestModel reorderPointRequestModel) {
+        log.info("Setting reorder point - productId: {}, reorderPoint: {}", uuid, reorderPointRequestModel.getReorderPoint());
+        return ResponseEntity.ok(inventoryMapper.toModel(
+                inventoryUseCase.setReorderPoint(uuid, null, reorderPointRequestModel.getReorderPoint())));
+    }
+
+    /**
+     * Sets or removes the reorder point overriding the one of a product in a specific warehouse.
+     *
+     * @param warehouseId the UUID of the warehouse
+     * @param productId the UUID of the product
+     * @param reorderPointRequestModel the new reorder point, absent to remove it
+     * @return ResponseEntity containing the reorder point as set
+     */
+    @Override
+    public ResponseEntity<ReorderPointModel> setInventoryReorderPoint(UUID warehouseId, UUID productId,
+                                                                      ReorderPointRequestModel reorderPointRequestModel) {
+        log.info("Setting reorder point - warehouseId: {}, productId: {}, reorderPoint: {}",
+                warehouseId, productId, reorderPointRequestModel.getReorderPoint());
+        return ResponseEntity.ok(inventoryMapper.toModel(
+                inventoryUseCase.setReorderPoint(productId, warehouseId, reorderPointRequestModel.getReorderPoint())));
+    }
+
+    private static Long toEventId(String lastEventId) {
+        if (Objects.isNull(lastEventId)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            log.info("Ignoring invalid Last-Event-ID: {}", lastEventId);
+            return null;
+        }
+    }
 }
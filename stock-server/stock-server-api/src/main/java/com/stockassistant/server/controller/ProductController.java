@@ -12,6 +12,8 @@
 
 package com.stockassistant.server.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockassistant.server.api.v1.model.ProductImportReportModel;
 import com.stockassistant.server.api.v1.model.ProductModel;
 import com.stockassistant.server.api.v1.model.ProductRequestModel;
 import com.stockassistant.server.api.v1.model.ProductsModel;
@@ -19,17 +21,34 @@ import com.stockassistant.server.api.v1.rest.ProductsApi;
 import com.stockassistant.server.domain.feature.product.port.in.ProductUseCase;
 import com.stockassistant.server.domain.model.Product;
 import com.stockassistant.server.domain.model.ProductFilter;
+import com.stockassistant.server.domain.model.ProductImportReport;
+import com.stockassistant.server.domain.model.ProductImportRow;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
 import com.stockassistant.server.mapper.ProductMapper;
+import com.stockassistant.server.utils.CursorCodec;
+import com.stockassistant.server.utils.PageMapperUtils;
+import com.stockassistant.server.utils.ExportUtils;
+import com.stockassistant.server.utils.ProductImportReader;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Controller for handling product-related HTTP requests.
@@ -38,15 +57,28 @@ import java.util.UUID;
 @Slf4j
 @RestController
 @RequestMapping()
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class ProductController implements ProductsApi {
 
+    /** The id property appended to every keyset */
+    private static final String KEYSET_ID = "id";
+
     /** The use case for product operations */
     private final ProductUseCase productUseCase;
 
     /** The mapper for converting between domain and API models */
     private final ProductMapper productMapper;
 
+    /** The reader parsing product import files */
+    private final ProductImportReader productImportReader;
+
+    /** The current request, exposing the content type of import files */
+    private final HttpServletRequest request;
+
+    /** The JSON serializer of exported lines */
+    private final ObjectMapper objectMapper;
+
     /**
      * Creates a new product based on the provided request model.
      *
@@ -83,6 +115,9 @@ public class ProductController implements ProductsApi {
      * @param page the page number (1-based)
      * @param pageSize the number of items per page
      * @param sort the field to sort by
+     * @param after the cursor of the previous slice, switches to cursor mode
+     * @param limit the number of items per slice, switches to cursor mode
+     * @param count how the total is computed, exact in page mode and none in cursor mode by default
      * @param uuid the UUID of the product to filter by
      * @param sku the SKU of the product to filter by
      * @param name the name of the product to filter by
@@ -95,14 +130,33 @@ public class ProductController implements ProductsApi {
     public ResponseEntity<ProductsModel> getProducts(Integer page,
                                                      Integer pageSize,
                                                      String sort,
+                                                     String after,
+                                                     Integer limit,
+                                                     String count,
                                                      UUID uuid,
                                                      String sku,
                                                      String name,
                                                      Float price,
                                                      String category,
                                                      String unitOfMeasure) {
-        log.info("Fetching products with filters - page: {}, pageSize: {}, sort: {}, uuid: {}, sku: {}, name: {}, price: {}, category: {}, unitOfMeasure: {}",
-                page, pageSize, sort, uuid, sku, name, price, category, unitOfMeasure);
+        log.info("Fetching products with filters - page: {}, pageSize: {}, sort: {}, after: {}, limit: {}, uuid: {}, sku: {}, name: {}, price: {}, category: {}, unitOfMeasure: {}",
+                page, pageSize, sort, after, limit, uuid, sku, name, price, category, unitOfMeasure);
+        if (Objects.nonNull(after) || Objects.nonNull(limit)) {
+            ProductFilter productFilter = ProductFilter.builder().pageRequest(PageRequest.of(
+                            0,
+                            Objects.requireNonNullElse(limit, pageSize),
+                            Sort.by(sort)))
+                    .uuid(uuid)
+                    .sku(sku)
+                    .name(name)
+                    .category(category)
+                    .price(price)
+                    .unitOfMeasure(unitOfMeasure).build();
+            Window<Product> products = productUseCase.scroll(productFilter, CursorCodec.decode(after, Set.of(sort, KEYSET_ID)));
+            CountModeEnum countMode = PageMapperUtils.toCountMode(count, CountModeEnum.NONE);
+            Long total = countMode == CountModeEnum.NONE ? null : productUseCase.count(productFilter, countMode);
+            return ResponseEntity.ok(productMapper.toProducts(products, total));
+        }
         return ResponseEntity.ok(
                 productMapper.toProducts(productUseCase.fetch(
                         ProductFilter.builder().pageRequest(PageRequest.of(
@@ -114,10 +168,48 @@ public class ProductController implements ProductsApi {
                                 .name(name)
                                 .category(category)
                                 .price(price)
-                                .unitOfMeasure(unitOfMeasure).build()))
+                                .unitOfMeasure(unitOfMeasure).build(),
+                        PageMapperUtils.toCountMode(count, CountModeEnum.EXACT)))
         );
     }
 
+    /**
+     * Retrieves a product by its UUID.
+     *
+     * @param id the UUID of the product
+     * @return ResponseEntity containing the product model
+     */
+    @Override
+    public ResponseEntity<ProductModel> getProduct(UUID id) {
+        log.info("Fetching product with UUID: {}", id);
+        return ResponseEntity.ok(productMapper.toModel(productUseCase.get(id)));
+    }
+
+    /**
+     * Retrieves a product by its SKU.
+     *
+     * @param sku the SKU of the product
+     * @return ResponseEntity containing the product model
+     */
+    @Override
+    public ResponseEntity<ProductModel> getProductBySku(String sku) {
+        log.info("Fetching product with SKU: {}", sku);
+        return ResponseEntity.ok(productMapper.toModel(productUseCase.getBySku(sku)));
+    }
+
+    /**
+     * Searches the products matching a free-text query, best first.
+     *
+     * @param q the free-text query
+     * @param limit the maximum number of results
+     * @return ResponseEntity containing the matching products
+     */
+    @Override
+    public ResponseEntity<ProductsModel> searchProducts(String q, Integer limit) {
+        log.info("Searching products - query: {}, limit: {}", q, limit);
+        return ResponseEntity.ok(productMapper.toProducts(productUseCase.search(q, limit)));
+    }
+
     /**
      * Updates an existing product with the specified ID using the provided request model.
      *
@@ -135,4 +227,43 @@ public class ProductController implements ProductsApi {
         log.info("Product updated successfully");
         return ResponseEntity.ok(updatedProduct);
     }
+
+    /**
+     * Imports a CSV or NDJSON product catalogue, streaming the request body to the database.
+     *
+     * @param body the import file
+     * @return ResponseEntity containing the import report
+     */
+    @Override
+    public ResponseEntity<ProductImportReportModel> importProducts(InputStreamResource body) {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        log.info("Importing products - content type: {}", contentType);
+        ProductImportReport report;
+        try (Stream<ProductImportRow> rows = productImportReader.read(body.getInputStream(), contentType)) {
+            report = productUseCase.importProducts(rows);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Products imported - received: {}, created: {}, updated: {}, rejected: {}",
+                report.received(), report.created(), report.updated(), report.rejected());
+        return ResponseEntity.ok(productMapper.toModel(report));
+    }
+
+    /**
+     * Streams the product catalogue as NDJSON or CSV.
+     * Rows are read through a database cursor while the response is written.
+     *
+     * @param format the format of the exported lines, ndjson or csv
+     * @return ResponseEntity streaming one line per product
+     */
+    @Override
+    public ResponseEntity<InputStreamResource> exportProducts(String format) {
+        log.info("Exporting products - format: {}", format);
+        return ExportUtils.toResponse(format,
+                productUseCase.export(),
+                ProductMapper.CSV_HEADER,
+                productMapper::toCsvLine,
+                productMapper::toModel,
+                objectMapper);
+    }
 }
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.controller;
+
+import com.stockassistant.server.api.v1.model.ReservationModel;
+import com.stockassistant.server.api.v1.model.ReservationRequestModel;
+import com.stockassistant.server.api.v1.model.StockAvailabilityModel;
+import com.stockassistant.server.api.v1.rest.ReservationsApi;
+import com.stockassistant.server.domain.feature.reservation.port.in.ReservationUseCase;
+import com.stockassistant.server.domain.model.Reservation;
+import com.stockassistant.server.mapper.ReservationMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Controller for handling stock reservation HTTP requests.
+ * This controller implements the ReservationsApi interface and provides endpoints for holding stock,
+ * releasing or committing the held stock, and retrieving the available stock of an item.
+ */
+@Slf4j
+@RestController
+@RequestMapping()
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class ReservationController implements ReservationsApi {
+
+    /** The use case for reservation operations */
+    private final ReservationUseCase reservationUseCase;
+
+    /** The mapper for converting between domain and API models */
+    private final ReservationMapper reservationMapper;
+
+    /**
+     * Reserves a quantity of a product in a warehouse.
+     *
+     * @param reservationRequestModel the item, quantity and hold time to reserve
+     * @return ResponseEntity with status 201 containing the active reservation
+     */
+    @Override
+    public ResponseEntity<ReservationModel> createReservation(ReservationRequestModel reservationRequestModel) {
+        log.debug("Reserving stock - warehouseId: {}, productId: {}, quantity: {}",
+                reservationRequestModel.getWarehouseId(), reservationRequestModel.getProductId(), reservationRequestModel.getQuantity());
+        Reservation reservation = reservationUseCase.reserve(
+                reservationRequestModel.getWarehouseId(),
+                reservationRequestModel.getProductId(),
+                reservationRequestModel.getQuantity(),
+                Objects.isNull(reservationRequestModel.getTtlSeconds()) ? null : Duration.ofSeconds(reservationRequestModel.getTtlSeconds()),
+                reservationRequestModel.getReference());
+        return ResponseEntity.created(URI.create("/reservations/" + reservation.uuid()))
+                .body(reservationMapper.toModel(reservation));
+    }
+
+    /**
+     * Retrieves an outstanding reservation.
+     *
+     * @param uuid the UUID of the reservation
+     * @return ResponseEntity containing the active reservation
+     */
+    @Override
+    public ResponseEntity<ReservationModel> getReservation(UUID uuid) {
+        return ResponseEntity.ok(reservationMapper.toModel(reservationUseCase.get(uuid)));
+    }
+
+    /**
+     * Releases a reservation, giving its quantity back to the available stock.
+     *
+     * @param uuid the UUID of the reservation
+     * @return ResponseEntity containing the released reservation
+     */
+    @Override
+    public ResponseEntity<ReservationModel> releaseReservation(UUID uuid) {
+        log.debug("Releasing reservation: {}", uuid);
+        return ResponseEntity.ok(reservationMapper.toModel(reservationUseCase.release(uuid)));
+    }
+
+    /**
+     * Commits a reservation, removing its quantity from the stock on hand.
+     *
+     * @param uuid the UUID of the reservation
+     * @return ResponseEntity containing the committed reservation
+     */
+    @Override
+    public ResponseEntity<ReservationModel> commitReservation(UUID uuid) {
+        log.info("Committing reservation: {}", uuid);
+        return ResponseEntity.ok(reservationMapper.toModel(reservationUseCase.commit(uuid)));
+    }
+
+    /**
+     * Retrieves the stock of a product in a warehouse that can still be reserved.
+     *
+     * @param warehouseId the UUID of the warehouse
+     * @param productId the UUID of the product
+     * @return ResponseEntity containing the quantities on hand, reserved and available
+     */
+    @Override
+    public ResponseEntity<StockAvailabilityModel> getStockAvailability(UUID warehouseId, UUID productId) {
+        return ResponseEntity.ok(reservationMapper.toModel(reservationUseCase.getAvailability(warehouseId, productId)));
+    }
+}
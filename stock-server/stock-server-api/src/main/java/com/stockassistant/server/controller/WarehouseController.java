@@ -19,16 +19,23 @@ import com.stockassistant.server.api.v1.rest.WarehousesApi;
 import com.stockassistant.server.domain.feature.warehouse.port.in.WarehouseUseCase;
 import com.stockassistant.server.domain.model.Warehouse;
 import com.stockassistant.server.domain.model.WarehouseFilter;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
 import com.stockassistant.server.mapper.WarehouseMapper;
+import com.stockassistant.server.utils.CursorCodec;
+import com.stockassistant.server.utils.PageMapperUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.net.URI;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -38,9 +45,13 @@ import java.util.UUID;
 @Slf4j
 @RestController
 @RequestMapping()
+@Profile("!reactive")
 @RequiredArgsConstructor
 public class WarehouseController implements WarehousesApi {
 
+    /** The id property appended to every keyset */
+    private static final String KEYSET_ID = "id";
+
     /** The use case for warehouse operations */
     private final WarehouseUseCase warehouseUseCase;
 
@@ -68,22 +79,48 @@ public class WarehouseController implements WarehousesApi {
      * @param page the page number (1-based)
      * @param pageSize the number of items per page
      * @param sort the field to sort by
+     * @param after the cursor of the previous slice, switches to cursor mode
+     * @param limit the number of items per slice, switches to cursor mode
+     * @param count how the total is computed, exact in page mode and none in cursor mode by default
      * @param uuid the UUID of the warehouse to filter by
      * @param name the name of the warehouse to filter by
      * @param location the location of the warehouse to filter by
      * @param capacity the capacity of the warehouse to filter by
+     * @param minUtilisation the lowest utilisation percentage to filter by, inclusive
+     * @param maxUtilisation the highest utilisation percentage to filter by, inclusive
      * @return ResponseEntity containing the list of warehouses
      */
     @Override
     public ResponseEntity<WarehousesModel> getWarehouses(Integer page,
                                                          Integer pageSize,
                                                          String sort,
+                                                         String after,
+                                                         Integer limit,
+                                                         String count,
                                                          UUID uuid,
                                                          String name,
                                                          String location,
-                                                         Integer capacity) {
-        log.info("Fetching warehouses with filters - page: {}, pageSize: {}, sort: {}, uuid: {}, name: {}, location: {}, capacity: {}",
-                page, pageSize, sort, uuid, name, location, capacity);
+                                                         Integer capacity,
+                                                         Double minUtilisation,
+                                                         Double maxUtilisation) {
+        log.info("Fetching warehouses with filters - page: {}, pageSize: {}, sort: {}, after: {}, limit: {}, uuid: {}, name: {}, location: {}, capacity: {}, minUtilisation: {}, maxUtilisation: {}",
+                page, pageSize, sort, after, limit, uuid, name, location, capacity, minUtilisation, maxUtilisation);
+        if (Objects.nonNull(after) || Objects.nonNull(limit)) {
+            WarehouseFilter warehouseFilter = WarehouseFilter.builder().pageRequest(PageRequest.of(
+                            0,
+                            Objects.requireNonNullElse(limit, pageSize),
+                            Sort.by(sort)))
+                    .uuid(uuid)
+                    .name(name)
+                    .location(location)
+                    .capacity(capacity)
+                    .minUtilisation(minUtilisation)
+                    .maxUtilisation(maxUtilisation).build();
+            Window<Warehouse> warehouses = warehouseUseCase.scroll(warehouseFilter, CursorCodec.decode(after, Set.of(sort, KEYSET_ID)));
+            CountModeEnum countMode = PageMapperUtils.toCountMode(count, CountModeEnum.NONE);
+            Long total = countMode == CountModeEnum.NONE ? null : warehouseUseCase.count(warehouseFilter, countMode);
+            return ResponseEntity.ok(warehouseMapper.toWarehouses(warehouses, total));
+        }
         return ResponseEntity.ok(
                 warehouseMapper.toWarehouses(warehouseUseCase.fetch(
                         WarehouseFilter.builder().pageRequest(PageRequest.of(
@@ -93,7 +130,10 @@ public class WarehouseController implements WarehousesApi {
                                 .uuid(uuid)
                                 .name(name)
                                 .location(location)
-                                .capacity(capacity).build()))
+                                .capacity(capacity)
+                                .minUtilisation(minUtilisation)
+                                .maxUtilisation(maxUtilisation).build(),
+                        PageMapperUtils.toCountMode(count, CountModeEnum.EXACT)))
         );
     }
 
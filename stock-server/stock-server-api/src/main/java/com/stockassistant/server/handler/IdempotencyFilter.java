@@ -0,0 +1,244 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockassistant.server.api.v1.model.ErrorModel;
+import com.stockassistant.server.domain.feature.idempotency.port.in.IdempotencyUseCase;
+import com.stockassistant.server.domain.model.IdempotentResponse;
+import com.stockassistant.server.domain.model.excpetion.IdempotencyKeyReuseException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Executes the write requests of the catalogue, warehouse and inventory endpoints at most once per
+ * Idempotency-Key header. The response of the first execution is captured and replayed to the retries
+ * of the request without reaching the controllers, replays carrying an Idempotent-Replayed header.
+ * Bodies are buffered to fingerprint the request, those above the configured size are refused before
+ * being read. Requests without key and streamed imports are not affected.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    /** The request header carrying the idempotency key */
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    /** The response header flagging replayed responses */
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final List<String> PATHS = List.of("/products", "/warehouses", "/inventory");
+
+    /** The use case executing the requests once per key */
+    private final IdempotencyUseCase idempotencyUseCase;
+
+    /** The JSON serializer of the error responses */
+    private final ObjectMapper objectMapper;
+
+    /** The largest body buffered for a request sent with an idempotency key */
+    @Value("${stock.idempotency.max-body-size:1MB}")
+    private DataSize maxBodySize;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return Objects.isNull(request.getHeader(IDEMPOTENCY_KEY))
+                || !WRITE_METHODS.contains(request.getMethod())
+                || PATHS.stream().noneMatch(path::startsWith)
+                // Imports are streamed, their bodies are not buffered
+                || (Objects.nonNull(request.getContentType())
+                    && !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType())));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "The Idempotency-Key header must hold 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        long maxBytes = maxBodySize.toBytes();
+        // The length is unknown for chunked bodies, which are read up to one byte past the limit
+        byte[] body = request.getContentLengthLong() > maxBytes
+                ? null
+                : request.getInputStream().readNBytes((int) Math.min(maxBytes + 1, Integer.MAX_VALUE));
+        if (Objects.isNull(body) || body.length > maxBytes) {
+            writeError(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "The body of a request sent with an Idempotency-Key must hold at most " + maxBytes + " bytes");
+            return;
+        }
+        ContentCachingResponseWrapper executed = new ContentCachingResponseWrapper(response);
+        AtomicBoolean ran = new AtomicBoolean();
+        IdempotentResponse idempotentResponse;
+        try {
+            idempotentResponse = idempotencyUseCase.execute(key, fingerprint(request, body), () -> {
+                ran.set(true);
+                try {
+                    filterChain.doFilter(new BufferedBodyRequest(request, body), executed);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (ServletException e) {
+                    throw new FilterChainException(e);
+                }
+                return IdempotentResponse.builder()
+                        .status(executed.getStatus())
+                        .contentType(executed.getContentType())
+                        .location(executed.getHeader(HttpHeaders.LOCATION))
+                        .body(executed.getContentAsByteArray())
+                        .build();
+            });
+        } catch (IdempotencyKeyReuseException e) {
+            log.info("Idempotency key reused for a different request");
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, "The Idempotency-Key was already used for a different request");
+            return;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (FilterChainException e) {
+            throw (ServletException) e.getCause();
+        }
+        if (ran.get()) {
+            executed.copyBodyToResponse();
+        } else {
+            replay(response, idempotentResponse);
+        }
+    }
+
+    private static void replay(HttpServletResponse response, IdempotentResponse idempotentResponse) throws IOException {
+        response.setStatus(idempotentResponse.status());
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+        if (Objects.nonNull(idempotentResponse.location())) {
+            response.setHeader(HttpHeaders.LOCATION, idempotentResponse.location());
+        }
+        if (Objects.nonNull(idempotentResponse.contentType())) {
+            response.setContentType(idempotentResponse.contentType());
+        }
+        response.setContentLength(idempotentResponse.body().length);
+        response.getOutputStream().write(idempotentResponse.body());
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorModel()
+                .error(status.getReasonPhrase())
+                .message(message)
+                .timestamp(LocalDateTime.now()));
+    }
+
+    /**
+     * Hashes the method, path, query and body of a request, identifying the request a key was used for.
+     */
+    private static String fingerprint(HttpServletRequest request, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((request.getMethod() + ' ' + request.getRequestURI() + '?'
+                    + Objects.requireNonNullElse(request.getQueryString(), "") + '\n').getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Request serving a body already read from the client.
+     */
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Blocking body");
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Carries a servlet exception of the filter chain through the execution supplier.
+     */
+    private static final class FilterChainException extends RuntimeException {
+        private FilterChainException(ServletException cause) {
+            super(cause);
+        }
+    }
+}
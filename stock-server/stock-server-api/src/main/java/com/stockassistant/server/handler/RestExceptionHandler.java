@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.handler;
+
+import com.stockassistant.server.api.v1.model.ErrorModel;
+import com.stockassistant.server.domain.model.excpetion.InsufficientStockException;
+import com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException;
+import com.stockassistant.server.domain.model.excpetion.StockLimitExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.LocalDateTime;
+
+/**
+ * Translates domain exceptions into the error responses declared by the API specification.
+ */
+@Slf4j
+@RestControllerAdvice
+public class RestExceptionHandler {
+
+    /**
+     * Handles requests targeting an object that does not exist.
+     *
+     * @param exception the exception raised by the domain
+     * @return ResponseEntity with status 404 and the error details
+     */
+    @ExceptionHandler(ObjectNotFoundException.class)
+    public ResponseEntity<ErrorModel> handleObjectNotFound(ObjectNotFoundException exception) {
+        log.info("Requested object not found");
+        return toResponse(HttpStatus.NOT_FOUND, "The requested resource does not exist");
+    }
+
+    /**
+     * Handles stock changes rejected because the quantity would become negative.
+     *
+     * @param exception the exception raised by the domain
+     * @return ResponseEntity with status 409 and the error details
+     */
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ErrorModel> handleInsufficientStock(InsufficientStockException exception) {
+        log.info("Stock change rejected, quantity would become negative");
+        return toResponse(HttpStatus.CONFLICT, "Insufficient stock for the requested change");
+    }
+
+    /**
+     * Handles stock changes rejected because the quantity would exceed the largest quantity an item can hold.
+     *
+     * @param exception the exception raised by the domain
+     * @return ResponseEntity with status 409 and the error details
+     */
+    @ExceptionHandler(StockLimitExceededException.class)
+    public ResponseEntity<ErrorModel> handleStockLimitExceeded(StockLimitExceededException exception) {
+        log.info("Stock change rejected, quantity would exceed the limit");
+        return toResponse(HttpStatus.CONFLICT, "The requested change exceeds the largest quantity an item can hold");
+    }
+
+    private ResponseEntity<ErrorModel> toResponse(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .body(new ErrorModel()
+                        .error(status.getReasonPhrase())
+                        .message(message)
+                        .timestamp(LocalDateTime.now()));
+    }
+}
@@ -1,18 +1,125 @@
 package com.stockassistant.server.mapper;
 
+import com.stockassistant.server.api.v1.model.CategoryValuationModel;
 import com.stockassistant.server.api.v1.model.InventoriesModel;
+import com.stockassistant.server.api.v1.model.InventoryChangeEventModel;
+import com.stockassistant.server.api.v1.model.InventoryChangeModel;
+import com.stockassistant.server.api.v1.model.InventoryChangeResultModel;
+import com.stockassistant.server.api.v1.model.InventoryChangeResultsModel;
 import com.stockassistant.server.api.v1.model.InventoryItemModel;
+import com.stockassistant.server.api.v1.model.LowStockAlertModel;
+import com.stockassistant.server.api.v1.model.LowStockAlertsModel;
+import com.stockassistant.server.api.v1.model.ProductStockModel;
+import com.stockassistant.server.api.v1.model.ProductStockTotalModel;
+import com.stockassistant.server.api.v1.model.ProductStockTotalsModel;
+import com.stockassistant.server.api.v1.model.ReorderPointModel;
+import com.stockassistant.server.api.v1.model.StockLevelModel;
+import com.stockassistant.server.api.v1.model.WarehouseUtilisationModel;
+import com.stockassistant.server.api.v1.model.WarehouseUtilisationsModel;
+import com.stockassistant.server.domain.model.CategoryValuation;
+import com.stockassistant.server.domain.model.InventoryChange;
+import com.stockassistant.server.domain.model.InventoryChangeEvent;
+import com.stockassistant.server.domain.model.InventoryChangeResult;
 import com.stockassistant.server.domain.model.InventoryItem;
+import com.stockassistant.server.domain.model.LowStockAlert;
+import com.stockassistant.server.domain.model.ProductStock;
+import com.stockassistant.server.domain.model.ProductStockTotal;
+import com.stockassistant.server.domain.model.ReorderPoint;
+import com.stockassistant.server.domain.model.StockLevel;
+import com.stockassistant.server.domain.model.WarehouseUtilisation;
+import com.stockassistant.server.utils.ExportUtils;
 import com.stockassistant.server.utils.PageMapperUtils;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
 
 @Mapper(componentModel = "spring", uses = {ProductMapper.class, WarehouseMapper.class})
 public interface InventoryMapper {
 
+    String CSV_HEADER = "warehouseId,warehouseName,productId,productSku,productName,quantity,lastStockUpdate";
+
+    @Mapping(target = "productId", source = "product.uuid")
+    @Mapping(target = "warehouseId", source = "warehouse.uuid")
     InventoryItemModel toModel(InventoryItem inventoryItem);
 
-    default InventoriesModel toInventories(Page<InventoryItem> page) {
+    default String toCsvLine(InventoryItem item) {
+        return ExportUtils.toCsv(item.warehouse().uuid(), item.warehouse().name(), item.product().uuid(),
+                item.product().sku(), item.product().name(), item.quantity(), item.lastStockUpdate());
+    }
+
+    InventoryChange toInventoryChange(InventoryChangeModel inventoryChangeModel);
+
+    List<InventoryChange> toInventoryChanges(List<InventoryChangeModel> inventoryChangeModels);
+
+    InventoryChangeResultModel toModel(InventoryChangeResult inventoryChangeResult);
+
+    StockLevelModel toModel(StockLevel stockLevel);
+
+    @Mapping(target = "warehouses", source = "levels")
+    ProductStockModel toModel(ProductStock productStock);
+
+    ProductStockTotalModel toModel(ProductStockTotal productStockTotal);
+
+    WarehouseUtilisationModel toModel(WarehouseUtilisation warehouseUtilisation);
+
+    CategoryValuationModel toModel(CategoryValuation categoryValuation);
+
+    List<CategoryValuationModel> toCategoryValuationModels(List<CategoryValuation> categoryValuations);
+
+    ReorderPointModel toModel(ReorderPoint reorderPoint);
+
+    InventoryChangeEventModel toModel(InventoryChangeEvent inventoryChangeEvent);
+
+    LowStockAlertModel toModel(LowStockAlert lowStockAlert);
+
+    default LowStockAlertsModel toLowStockAlerts(Page<LowStockAlert> page) {
+        return PageMapperUtils.toPaginatedModel(
+                page,
+                this::toModel,
+                LowStockAlertsModel::new,
+                LowStockAlertsModel::setData,
+                LowStockAlertsModel::setTotal,
+                LowStockAlertsModel::setPage,
+                LowStockAlertsModel::setPageSize,
+                LowStockAlertsModel::setHasNext
+        );
+    }
+
+    default ProductStockTotalsModel toProductStockTotals(Page<ProductStockTotal> page) {
+        return PageMapperUtils.toPaginatedModel(
+                page,
+                this::toModel,
+                ProductStockTotalsModel::new,
+                ProductStockTotalsModel::setData,
+                ProductStockTotalsModel::setTotal,
+                ProductStockTotalsModel::setPage,
+                ProductStockTotalsModel::setPageSize,
+                ProductStockTotalsModel::setHasNext
+        );
+    }
+
+    default WarehouseUtilisationsModel toWarehouseUtilisations(Page<WarehouseUtilisation> page) {
+        return PageMapperUtils.toPaginatedModel(
+                page,
+                this::toModel,
+                WarehouseUtilisationsModel::new,
+                WarehouseUtilisationsModel::setData,
+                WarehouseUtilisationsModel::setTotal,
+                WarehouseUtilisationsModel::setPage,
+                WarehouseUtilisationsModel::setPageSize,
+                WarehouseUtilisationsModel::setHasNext
+        );
+    }
+
+    default InventoryChangeResultsModel toInventoryChangeResults(List<InventoryChangeResult> results) {
+        return new InventoryChangeResultsModel().data(results.stream().map(this::toModel).toList());
+    }
+
+    default InventoriesModel toInventories(Slice<InventoryItem> page) {
         return PageMapperUtils.toPaginatedModel(
                 page,
                 this::toModel,
@@ -20,8 +127,22 @@ public interface InventoryMapper {
                 InventoriesModel::setData,
                 InventoriesModel::setTotal,
                 InventoriesModel::setPage,
-                InventoriesModel::setPageSize
+                InventoriesModel::setPageSize,
+                InventoriesModel::setHasNext
         );
     }
 
+    default InventoriesModel toInventories(Window<InventoryItem> window, Long total) {
+        return PageMapperUtils.toWindowModel(
+                window,
+                total,
+                this::toModel,
+                InventoriesModel::new,
+                InventoriesModel::setData,
+                InventoriesModel::setTotal,
+                InventoriesModel::setPageSize,
+                InventoriesModel::setHasNext,
+                InventoriesModel::setNextCursor
+        );
+    }
 }
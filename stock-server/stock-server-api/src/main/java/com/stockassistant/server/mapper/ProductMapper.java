@@ -1,22 +1,37 @@
 package com.stockassistant.server.mapper;
 
+import com.stockassistant.server.api.v1.model.ProductImportReportModel;
 import com.stockassistant.server.api.v1.model.ProductModel;
 import com.stockassistant.server.api.v1.model.ProductRequestModel;
 import com.stockassistant.server.api.v1.model.ProductsModel;
 import com.stockassistant.server.domain.model.Product;
+import com.stockassistant.server.domain.model.ProductImportReport;
 import com.stockassistant.server.domain.model.ProductRequest;
+import com.stockassistant.server.utils.ExportUtils;
 import com.stockassistant.server.utils.PageMapperUtils;
 import org.mapstruct.Mapper;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface ProductMapper {
 
+    String CSV_HEADER = "uuid,sku,name,description,category,unitOfMeasure,price,createdAt,updatedAt";
+
     ProductRequest toProductRequest(ProductRequestModel product);
 
     ProductModel toModel(Product product);
 
-    default ProductsModel toProducts(Page<Product> page) {
+    default String toCsvLine(Product product) {
+        return ExportUtils.toCsv(product.uuid(), product.sku(), product.name(), product.description(),
+                product.category(), product.unitOfMeasure(), product.price(), product.createdAt(), product.updatedAt());
+    }
+
+    ProductImportReportModel toModel(ProductImportReport report);
+
+    default ProductsModel toProducts(Slice<Product> page) {
         return PageMapperUtils.toPaginatedModel(
                 page,
                 this::toModel,
@@ -24,7 +39,28 @@ public interface ProductMapper {
                 ProductsModel::setData,
                 ProductsModel::setTotal,
                 ProductsModel::setPage,
-                ProductsModel::setPageSize
+                ProductsModel::setPageSize,
+                ProductsModel::setHasNext
+        );
+    }
+
+    default ProductsModel toProducts(List<Product> products) {
+        return new ProductsModel()
+                .data(products.stream().map(this::toModel).toList())
+                .total(products.size());
+    }
+
+    default ProductsModel toProducts(Window<Product> window, Long total) {
+        return PageMapperUtils.toWindowModel(
+                window,
+                total,
+                this::toModel,
+                ProductsModel::new,
+                ProductsModel::setData,
+                ProductsModel::setTotal,
+                ProductsModel::setPageSize,
+                ProductsModel::setHasNext,
+                ProductsModel::setNextCursor
         );
     }
 }
@@ -0,0 +1,15 @@
+package com.stockassistant.server.mapper;
+
+import com.stockassistant.server.api.v1.model.ReservationModel;
+import com.stockassistant.server.api.v1.model.StockAvailabilityModel;
+import com.stockassistant.server.domain.model.Reservation;
+import com.stockassistant.server.domain.model.StockAvailability;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface ReservationMapper {
+
+    ReservationModel toModel(Reservation reservation);
+
+    StockAvailabilityModel toModel(StockAvailability stockAvailability);
+}
@@ -7,16 +7,19 @@ import com.stockassistant.server.domain.model.Warehouse;
 import com.stockassistant.server.domain.model.WarehouseRequest;
 import com.stockassistant.server.utils.PageMapperUtils;
 import org.mapstruct.Mapper;
-import org.springframework.data.domain.Page;
+import org.mapstruct.Mapping;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
 @Mapper(componentModel = "spring")
 public interface WarehouseMapper {
 
+    @Mapping(target = "utilisation", expression = "java(warehouseModel.utilisation())")
     WarehouseModel toModel(Warehouse warehouseModel);
 
     WarehouseRequest toWarehouseRequest(WarehouseRequestModel warehouseRequestModel);
 
-    default WarehousesModel toWarehouses(Page<Warehouse> page) {
+    default WarehousesModel toWarehouses(Slice<Warehouse> page) {
         return PageMapperUtils.toPaginatedModel(
                 page,
                 this::toModel,
@@ -24,7 +27,22 @@ public interface WarehouseMapper {
                 WarehousesModel::setData,
                 WarehousesModel::setTotal,
                 WarehousesModel::setPage,
-                WarehousesModel::setPageSize
+                WarehousesModel::setPageSize,
+                WarehousesModel::setHasNext
+        );
+    }
+
+    default WarehousesModel toWarehouses(Window<Warehouse> window, Long total) {
+        return PageMapperUtils.toWindowModel(
+                window,
+                total,
+                this::toModel,
+                WarehousesModel::new,
+                WarehousesModel::setData,
+                WarehousesModel::setTotal,
+                WarehousesModel::setPageSize,
+                WarehousesModel::setHasNext,
+                WarehousesModel::setNextCursor
         );
     }
 }
@@ -0,0 +1,140 @@
+package com.stockassistant.server.utils;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Encodes keyset scroll positions into the opaque cursors exposed by the list endpoints, and back.
+ * A cursor is the URL-safe Base64 form of the typed keyset values of the last item of a slice.
+ */
+public final class CursorCodec {
+
+    private static final byte NULL = 'N';
+    private static final byte STRING = 'S';
+    private static final byte LONG = 'L';
+    private static final byte INTEGER = 'I';
+    private static final byte FLOAT = 'F';
+    private static final byte DOUBLE = 'D';
+    private static final byte UUID_VALUE = 'U';
+    private static final byte DATE_TIME = 'T';
+
+    private CursorCodec() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Encodes the given scroll position into an opaque cursor.
+     *
+     * @param position The keyset position of the last item of a slice
+     * @return The opaque cursor
+     */
+    public static String encode(ScrollPosition position) {
+        Map<String, Object> keys = ((KeysetScrollPosition) position).getKeys();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeShort(keys.size());
+            for (Map.Entry<String, Object> key : keys.entrySet()) {
+                out.writeUTF(key.getKey());
+                writeValue(out, key.getValue());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Decodes an opaque cursor into the keyset position to continue from.
+     * A null cursor designates the first slice.
+     *
+     * @param cursor The opaque cursor sent by the client
+     * @param expectedKeys The keyset properties of the requested sort, the cursor must carry exactly these
+     * @return The keyset position to continue from
+     * @throws ResponseStatusException with status 400 if the cursor is malformed or was issued for another sort
+     */
+    public static KeysetScrollPosition decode(String cursor, Set<String> expectedKeys) {
+        if (Objects.isNull(cursor)) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            int size = in.readUnsignedShort();
+            for (int i = 0; i < size; i++) {
+                keys.put(in.readUTF(), readValue(in));
+            }
+        } catch (IOException | IllegalArgumentException | DateTimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed cursor", e);
+        }
+        if (!keys.keySet().equals(expectedKeys)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor does not match the requested sort");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        switch (value) {
+            case null -> out.writeByte(NULL);
+            case String string -> {
+                out.writeByte(STRING);
+                out.writeUTF(string);
+            }
+            case Long longValue -> {
+                out.writeByte(LONG);
+                out.writeLong(longValue);
+            }
+            case Integer integer -> {
+                out.writeByte(INTEGER);
+                out.writeInt(integer);
+            }
+            case Float floatValue -> {
+                out.writeByte(FLOAT);
+                out.writeFloat(floatValue);
+            }
+            case Double doubleValue -> {
+                out.writeByte(DOUBLE);
+                out.writeDouble(doubleValue);
+            }
+            case UUID uuid -> {
+                out.writeByte(UUID_VALUE);
+                out.writeUTF(uuid.toString());
+            }
+            case LocalDateTime dateTime -> {
+                out.writeByte(DATE_TIME);
+                out.writeUTF(dateTime.toString());
+            }
+            default -> throw new IllegalArgumentException("Unsupported keyset value type: " + value.getClass());
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case NULL -> null;
+            case STRING -> in.readUTF();
+            case LONG -> in.readLong();
+            case INTEGER -> in.readInt();
+            case FLOAT -> in.readFloat();
+            case DOUBLE -> in.readDouble();
+            case UUID_VALUE -> UUID.fromString(in.readUTF());
+            case DATE_TIME -> LocalDateTime.parse(in.readUTF());
+            default -> throw new IllegalArgumentException("Unknown keyset value type: " + type);
+        };
+    }
+}
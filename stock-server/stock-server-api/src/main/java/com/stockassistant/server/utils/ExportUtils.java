@@ -0,0 +1,147 @@
+package com.stockassistant.server.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds the streamed responses of the export endpoints.
+ * Items are encoded line by line while the response body is written, so the heap holds a single
+ * line whatever the size of the export.
+ */
+public final class ExportUtils {
+
+    private static final String FORMAT_CSV = "csv";
+    private static final String FORMAT_NDJSON = "ndjson";
+    private static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+    private static final MediaType APPLICATION_NDJSON = MediaType.valueOf("application/x-ndjson");
+
+    private ExportUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Wraps a stream of items into a response streaming one line per item.
+     * The item stream is closed once the body is written, or when the client disconnects.
+     *
+     * @param format The requested format, csv or ndjson
+     * @param items The items to export
+     * @param csvHeader The header row of the CSV format
+     * @param toCsvLine The encoder of an item into a CSV row
+     * @param toJsonModel The mapper of an item into its JSON model
+     * @param objectMapper The JSON serializer
+     * @param <T> The item type
+     * @return The streamed response
+     * @throws ResponseStatusException with status 400 if the format is unknown
+     */
+    public static <T> ResponseEntity<InputStreamResource> toResponse(String format,
+                                                                     Stream<T> items,
+                                                                     String csvHeader,
+                                                                     Function<T, String> toCsvLine,
+                                                                     Function<T, Object> toJsonModel,
+                                                                     ObjectMapper objectMapper) {
+        InputStream body = switch (format) {
+            case FORMAT_CSV -> new LineInputStream<>(items, csvHeader, toCsvLine);
+            case FORMAT_NDJSON -> new LineInputStream<>(items, null, item -> toJson(objectMapper, toJsonModel.apply(item)));
+            default -> {
+                items.close();
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown export format: " + format);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(FORMAT_CSV.equals(format) ? TEXT_CSV : APPLICATION_NDJSON)
+                .body(new InputStreamResource(body));
+    }
+
+    /**
+     * Joins the given values into a CSV row, quoting text values.
+     *
+     * @param values The values of the row, nulls are written as empty fields
+     * @return The CSV row, without line terminator
+     */
+    public static String toCsv(Object... values) {
+        return Arrays.stream(values)
+                .map(value -> switch (value) {
+                    case null -> "";
+                    case Number number -> number.toString();
+                    default -> "\"" + value.toString().replace("\"", "\"\"") + "\"";
+                })
+                .collect(Collectors.joining(","));
+    }
+
+    private static String toJson(ObjectMapper objectMapper, Object model) {
+        try {
+            return objectMapper.writeValueAsString(model);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Input stream encoding the items of a stream into lines as it is read.
+     */
+    private static final class LineInputStream<T> extends InputStream {
+        private final Stream<T> items;
+        private final Iterator<T> iterator;
+        private final Function<T, String> toLine;
+        private byte[] line;
+        private int position;
+
+        private LineInputStream(Stream<T> items, String header, Function<T, String> toLine) {
+            this.items = items;
+            this.iterator = items.iterator();
+            this.toLine = toLine;
+            this.line = Objects.isNull(header) ? new byte[0] : (header + "\n").getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int read() {
+            return fill() ? line[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            int read = 0;
+            while (read < length && fill()) {
+                int count = Math.min(length - read, line.length - position);
+                System.arraycopy(line, position, buffer, offset + read, count);
+                position += count;
+                read += count;
+            }
+            return read == 0 ? -1 : read;
+        }
+
+        @Override
+        public void close() {
+            items.close();
+        }
+
+        private boolean fill() {
+            while (position == line.length) {
+                if (!iterator.hasNext()) {
+                    return false;
+                }
+                line = (toLine.apply(iterator.next()) + "\n").getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+            return true;
+        }
+    }
+}
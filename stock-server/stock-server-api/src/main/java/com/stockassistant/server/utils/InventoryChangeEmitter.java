@@ -0,0 +1,43 @@
+package com.stockassistant.server.utils;
+
+import com.stockassistant.server.domain.feature.inventory.feed.InventoryChangeSink;
+import com.stockassistant.server.domain.model.InventoryChangeEvent;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+/**
+ * Server-Sent Events response of an inventory change subscription.
+ * Each change is written as an inventory-change event whose id is the change id, so browsers and
+ * other EventSource clients send it back as Last-Event-ID when they reconnect.
+ */
+public class InventoryChangeEmitter extends SseEmitter implements InventoryChangeSink {
+
+    private static final String EVENT_NAME = "inventory-change";
+
+    private final Function<InventoryChangeEvent, Object> toModel;
+
+    /**
+     * @param timeout The time after which the response is completed, the client then reconnects
+     * @param toModel The mapper of a change into its JSON model
+     */
+    public InventoryChangeEmitter(long timeout, Function<InventoryChangeEvent, Object> toModel) {
+        super(timeout);
+        this.toModel = toModel;
+    }
+
+    @Override
+    public void send(InventoryChangeEvent event) throws IOException {
+        send(event()
+                .id(Long.toString(event.id()))
+                .name(EVENT_NAME)
+                .data(toModel.apply(event), MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void close() {
+        complete();
+    }
+}
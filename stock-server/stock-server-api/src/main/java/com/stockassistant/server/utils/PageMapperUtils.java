@@ -1,9 +1,16 @@
 package com.stockassistant.server.utils;
 
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -11,25 +18,76 @@ import java.util.function.Supplier;
 @Slf4j
 public class PageMapperUtils {
 
+    /**
+     * Resolves the count mode of a listing request.
+     *
+     * @param count The requested count mode, may be null
+     * @param defaultMode The count mode of the listing mode when none is requested
+     * @return The count mode
+     * @throws ResponseStatusException with status 400 if the count mode is unknown
+     */
+    public static CountModeEnum toCountMode(String count, CountModeEnum defaultMode) {
+        if (Objects.isNull(count)) {
+            return defaultMode;
+        }
+        try {
+            return CountModeEnum.valueOf(count.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown count mode: " + count);
+        }
+    }
+
     public static <T, R, M> M toPaginatedModel(
-            Page<T> page,
+            Slice<T> slice,
             Function<T, R> itemMapper,
             Supplier<M> modelSupplier,
             BiConsumer<M, List<R>> setData,
             BiConsumer<M, Integer> setTotal,
             BiConsumer<M, Integer> setPage,
-            BiConsumer<M, Integer> setPageSize
+            BiConsumer<M, Integer> setPageSize,
+            BiConsumer<M, Boolean> setHasNext
     ) {
-        log.debug("Converting page to paginated model - total elements: {}, page number: {}, page size: {}",
-                page.getTotalElements(), page.getNumber(), page.getSize());
+        log.debug("Converting page to paginated model - counted: {}, page number: {}, page size: {}",
+                slice instanceof Page, slice.getNumber(), slice.getSize());
         M model = modelSupplier.get();
-        List<R> mapped = page.getContent().stream().map(itemMapper).toList();
+        List<R> mapped = slice.getContent().stream().map(itemMapper).toList();
         setData.accept(model, mapped);
-        setTotal.accept(model, (int) page.getTotalElements());
-        setPage.accept(model, page.getNumber() + 1);
-        setPageSize.accept(model, page.getSize());
+        if (slice instanceof Page<T> page) {
+            setTotal.accept(model, (int) page.getTotalElements());
+        }
+        setPage.accept(model, slice.getNumber() + 1);
+        setPageSize.accept(model, slice.getSize());
+        setHasNext.accept(model, slice.hasNext());
         log.debug("Successfully converted page to paginated model");
         return model;
     }
+
+    public static <T, R, M> M toWindowModel(
+            Window<T> window,
+            Long total,
+            Function<T, R> itemMapper,
+            Supplier<M> modelSupplier,
+            BiConsumer<M, List<R>> setData,
+            BiConsumer<M, Integer> setTotal,
+            BiConsumer<M, Integer> setPageSize,
+            BiConsumer<M, Boolean> setHasNext,
+            BiConsumer<M, String> setNextCursor
+    ) {
+        log.debug("Converting window to cursor model - window size: {}, has next: {}",
+                window.size(), window.hasNext());
+        M model = modelSupplier.get();
+        List<R> mapped = window.getContent().stream().map(itemMapper).toList();
+        setData.accept(model, mapped);
+        if (Objects.nonNull(total)) {
+            setTotal.accept(model, total.intValue());
+        }
+        setPageSize.accept(model, window.size());
+        setHasNext.accept(model, window.hasNext());
+        if (window.hasNext()) {
+            setNextCursor.accept(model, CursorCodec.encode(window.positionAt(window.size() - 1)));
+        }
+        log.debug("Successfully converted window to cursor model");
+        return model;
+    }
 }
 
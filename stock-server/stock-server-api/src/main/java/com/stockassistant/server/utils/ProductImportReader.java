@@ -0,0 +1,252 @@
+package com.stockassistant.server.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockassistant.server.api.v1.model.ProductRequestModel;
+import com.stockassistant.server.domain.model.ProductImportRow;
+import com.stockassistant.server.mapper.ProductMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads product import files row by row.
+ * CSV files start with a header row naming the product request properties, NDJSON files hold one
+ * product request object per line. Rows are parsed lazily as the returned stream is consumed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductImportReader {
+
+    private static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+    private static final long PROGRESS_INTERVAL = 10_000;
+
+    private final ObjectMapper objectMapper;
+    private final ProductMapper productMapper;
+
+    /**
+     * Opens a lazy stream over the rows of an import file. Closing the stream closes the input.
+     *
+     * @param input The body of the import request
+     * @param contentType The content type of the body, CSV or NDJSON
+     * @return The rows of the file, in order
+     */
+    public Stream<ProductImportRow> read(InputStream input, MediaType contentType) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        RowIterator rows = TEXT_CSV.isCompatibleWith(contentType) ? new CsvRowIterator(reader) : new NdjsonRowIterator(reader);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private ProductImportRow toRow(long line, ProductRequestModel model) {
+        return ProductImportRow.builder().line(line).product(productMapper.toProductRequest(model)).build();
+    }
+
+    private static ProductImportRow toRejectedRow(long line, Exception exception) {
+        String reason = exception.getCause() instanceof JsonProcessingException cause ? cause.getOriginalMessage()
+                : exception instanceof JsonProcessingException json ? json.getOriginalMessage()
+                : exception.getMessage();
+        return ProductImportRow.builder().line(line).error(reason).build();
+    }
+
+    /**
+     * Iterates over the rows of an import file, reading ahead one row.
+     */
+    private abstract static class RowIterator implements Iterator<ProductImportRow> {
+        protected final BufferedReader reader;
+        protected long line;
+        private long rows;
+        private ProductImportRow next;
+
+        RowIterator(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        /** @return The next row, or null at the end of the file */
+        abstract ProductImportRow readRow() throws IOException;
+
+        @Override
+        public boolean hasNext() {
+            if (Objects.isNull(next)) {
+                try {
+                    next = readRow();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return Objects.nonNull(next);
+        }
+
+        @Override
+        public ProductImportRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ProductImportRow row = next;
+            next = null;
+            if (++rows % PROGRESS_INTERVAL == 0) {
+                log.info("Product import in progress - rows read: {}", rows);
+            }
+            return row;
+        }
+    }
+
+    private class NdjsonRowIterator extends RowIterator {
+
+        NdjsonRowIterator(BufferedReader reader) {
+            super(reader);
+        }
+
+        @Override
+        ProductImportRow readRow() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+            } while (Objects.nonNull(text) && text.isBlank());
+            if (Objects.isNull(text)) {
+                return null;
+            }
+            try {
+                return toRow(line, objectMapper.readValue(text, ProductRequestModel.class));
+            } catch (JsonProcessingException e) {
+                return toRejectedRow(line, e);
+            }
+        }
+    }
+
+    private class CsvRowIterator extends RowIterator {
+        private List<String> header;
+        private long recordLine;
+
+        CsvRowIterator(BufferedReader reader) {
+            super(reader);
+        }
+
+        @Override
+        ProductImportRow readRow() throws IOException {
+            if (Objects.isNull(header)) {
+                List<String> names = readRecord();
+                if (Objects.isNull(names)) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV import requires a header row");
+                }
+                // Spreadsheet exports start with a byte order mark, which would prefix the first column name
+                if (Objects.nonNull(names.getFirst()) && names.getFirst().startsWith(BYTE_ORDER_MARK)) {
+                    names.set(0, names.getFirst().substring(BYTE_ORDER_MARK.length()));
+                }
+                header = names.stream().map(name -> Objects.requireNonNullElse(name, "").trim()).toList();
+            }
+            List<String> values = readRecord();
+            if (Objects.isNull(values)) {
+                return null;
+            }
+            if (values.size() != header.size()) {
+                return ProductImportRow.builder().line(recordLine)
+                        .error("Expected " + header.size() + " fields but found " + values.size())
+                        .build();
+            }
+            Map<String, String> properties = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                properties.put(header.get(i), values.get(i));
+            }
+            try {
+                return toRow(recordLine, objectMapper.convertValue(properties, ProductRequestModel.class));
+            } catch (IllegalArgumentException e) {
+                return toRejectedRow(recordLine, e);
+            }
+        }
+
+        /**
+         * Reads one RFC 4180 record, skipping blank lines. Quoted fields may span lines,
+         * empty unquoted fields are read as null.
+         *
+         * @return The fields of the record, or null at the end of the file
+         */
+        private List<String> readRecord() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+            } while (Objects.nonNull(text) && text.isBlank());
+            if (Objects.isNull(text)) {
+                return null;
+            }
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean wasQuoted = false;
+            int i = 0;
+            while (true) {
+                if (i == text.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    text = reader.readLine();
+                    line++;
+                    if (Objects.isNull(text)) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unterminated quoted field at line " + line);
+                    }
+                    field.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = text.charAt(i++);
+                if (quoted) {
+                    if (c == '"' && i < text.length() && text.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    wasQuoted = true;
+                } else if (c == ',') {
+                    fields.add(toField(field, wasQuoted));
+                    field.setLength(0);
+                    wasQuoted = false;
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(toField(field, wasQuoted));
+            return fields;
+        }
+    }
+
+    private static String toField(StringBuilder field, boolean wasQuoted) {
+        return field.isEmpty() && !wasQuoted ? null : field.toString();
+    }
+}
@@ -0,0 +1,154 @@
+package com.stockassistant.server.handler;
+
+import com.stockassistant.server.domain.feature.idempotency.IdempotencyService;
+import com.stockassistant.server.domain.feature.idempotency.port.out.IdempotencyRepositoryPort;
+import com.stockassistant.server.domain.model.IdempotentResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IdempotencyFilterTest {
+
+    private final Map<String, IdempotentResponse> stored = new ConcurrentHashMap<>();
+
+    private final IdempotencyFilter idempotencyFilter = new IdempotencyFilter(
+            new IdempotencyService(new InMemoryIdempotencyRepository()), Jackson2ObjectMapperBuilder.json().build());
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    private int status = 201;
+
+    /** Creates a product, echoing the request body */
+    private final FilterChain controller = (request, response) -> {
+        executions.incrementAndGet();
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        httpResponse.setStatus(status);
+        httpResponse.setHeader(HttpHeaders.LOCATION, "/products/" + executions.get());
+        httpResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        httpResponse.getOutputStream().write(request.getInputStream().readAllBytes());
+    };
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(idempotencyFilter, "maxBodySize", DataSize.ofBytes(64));
+    }
+
+    @Test
+    void doFilter_Retry_ReplaysStoredResponseWithHeaders() throws Exception {
+        MockHttpServletResponse executed = filter(request("key", "{\"sku\":\"SKU-001\"}"));
+        MockHttpServletResponse replayed = filter(request("key", "{\"sku\":\"SKU-001\"}"));
+
+        assertEquals(1, executions.get());
+        assertNull(executed.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+        assertEquals(201, replayed.getStatus());
+        assertEquals("true", replayed.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+        assertEquals("/products/1", replayed.getHeader(HttpHeaders.LOCATION));
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, replayed.getContentType());
+        assertEquals(executed.getContentAsString(), replayed.getContentAsString());
+        assertEquals("{\"sku\":\"SKU-001\"}", replayed.getContentAsString());
+    }
+
+    @Test
+    void doFilter_KeyReusedForDifferentBody_Returns422() throws Exception {
+        filter(request("key", "{\"sku\":\"SKU-001\"}"));
+
+        MockHttpServletResponse response = filter(request("key", "{\"sku\":\"SKU-002\"}"));
+
+        assertEquals(422, response.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void doFilter_ServerError_NotReplayedToRetry() throws Exception {
+        status = 503;
+        MockHttpServletResponse failed = filter(request("key", "{}"));
+        status = 201;
+
+        MockHttpServletResponse retried = filter(request("key", "{}"));
+
+        assertEquals(503, failed.getStatus());
+        assertEquals(201, retried.getStatus());
+        assertNull(retried.getHeader(IdempotencyFilter.IDEMPOTENT_REPLAYED));
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void doFilter_BodyAboveLimit_Returns413WithoutExecuting() throws Exception {
+        String body = "{\"description\":\"" + "x".repeat(64) + "\"}";
+        MockHttpServletRequest chunked = new MockHttpServletRequest("POST", "/products") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        chunked.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, "chunked");
+        chunked.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        chunked.setContent(body.getBytes());
+
+        assertEquals(413, filter(request("key", body)).getStatus());
+        assertEquals(413, filter(chunked).getStatus());
+        assertEquals(0, executions.get());
+        assertEquals(Map.of(), stored);
+    }
+
+    @Test
+    void doFilter_WithoutKey_ExecutesEveryTime() throws Exception {
+        filter(request(null, "{}"));
+        filter(request(null, "{}"));
+
+        assertEquals(2, executions.get());
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(request, response, controller);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/products");
+        if (Objects.nonNull(key)) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY, key);
+        }
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(body.getBytes());
+        return request;
+    }
+
+    private final class InMemoryIdempotencyRepository implements IdempotencyRepositoryPort {
+        @Override
+        public Optional<IdempotentResponse> find(String key) {
+            return Optional.ofNullable(stored.get(key));
+        }
+
+        @Override
+        public void save(IdempotentResponse response) {
+            stored.putIfAbsent(response.key(), response);
+        }
+
+        @Override
+        public int deleteCreatedBefore(LocalDateTime createdBefore) {
+            return 0;
+        }
+    }
+}
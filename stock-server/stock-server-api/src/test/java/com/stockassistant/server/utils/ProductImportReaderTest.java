@@ -0,0 +1,102 @@
+package com.stockassistant.server.utils;
+
+import com.stockassistant.server.domain.model.ProductImportRow;
+import com.stockassistant.server.domain.model.enums.ProductCategoryEnum;
+import com.stockassistant.server.mapper.ProductMapperImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProductImportReaderTest {
+
+    private static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
+    private final ProductImportReader productImportReader =
+            new ProductImportReader(Jackson2ObjectMapperBuilder.json().build(), new ProductMapperImpl());
+
+    @Test
+    void read_QuotedFieldsAcrossLines_KeepsLineBreaksAndEscapedQuotes() {
+        List<ProductImportRow> rows = read("""
+                sku,name,description,price,category
+                SKU-001,"Bolt, zinc","Says ""hello""
+                over two lines",1.5,HARDWARE
+                SKU-002,Nut,,2,HARDWARE
+                """);
+
+        assertEquals(2, rows.size());
+        assertEquals("Bolt, zinc", rows.get(0).product().name());
+        assertEquals("Says \"hello\"\nover two lines", rows.get(0).product().description());
+        assertEquals(1.5f, rows.get(0).product().price());
+        assertEquals(ProductCategoryEnum.HARDWARE, rows.get(0).product().category());
+        assertEquals(2, rows.get(0).line());
+        assertNull(rows.get(1).product().description());
+        assertEquals(4, rows.get(1).line());
+    }
+
+    @Test
+    void read_FieldCountMismatch_RejectsRowAndGoesOn() {
+        List<ProductImportRow> rows = read("""
+                sku,name,price
+                SKU-001,Bolt
+                SKU-002,Nut,2
+                """);
+
+        assertEquals("Expected 3 fields but found 2", rows.get(0).error());
+        assertEquals(2, rows.get(0).line());
+        assertEquals("SKU-002", rows.get(1).product().sku());
+    }
+
+    @Test
+    void read_UnterminatedQuote_FailsWithBadRequest() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> read("""
+                sku,name,price
+                SKU-001,"Bolt,1
+                SKU-002,Nut,2
+                """));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+
+    @Test
+    void read_HeaderWithByteOrderMark_MatchesFirstColumn() {
+        List<ProductImportRow> rows = read("\uFEFFsku,name,price\nSKU-001,Bolt,1\n");
+
+        assertNull(rows.getFirst().error());
+        assertEquals("SKU-001", rows.getFirst().product().sku());
+    }
+
+    @Test
+    void read_NdjsonWithInvalidLine_RejectsLineOnly() {
+        List<ProductImportRow> rows = read("""
+                {"sku":"SKU-001","name":"Bolt","price":1}
+
+                {"sku":"SKU-002","name":
+                """, MediaType.APPLICATION_NDJSON);
+
+        assertEquals("SKU-001", rows.get(0).product().sku());
+        assertEquals(3, rows.get(1).line());
+        assertNull(rows.get(1).product());
+    }
+
+    private List<ProductImportRow> read(String content) {
+        return read(content, TEXT_CSV);
+    }
+
+    private List<ProductImportRow> read(String content, MediaType contentType) {
+        try (Stream<ProductImportRow> rows = productImportReader.read(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), contentType)) {
+            return rows.toList();
+        }
+    }
+}
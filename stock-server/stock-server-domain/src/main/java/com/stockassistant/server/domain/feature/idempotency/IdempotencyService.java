@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.feature.idempotency;
+
+import com.stockassistant.server.domain.feature.idempotency.port.in.IdempotencyUseCase;
+import com.stockassistant.server.domain.feature.idempotency.port.out.IdempotencyRepositoryPort;
+import com.stockassistant.server.domain.model.IdempotentResponse;
+import com.stockassistant.server.domain.model.excpetion.IdempotencyKeyReuseException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Service class executing write requests at most once per idempotency key.
+ * Responses below 500 are stored and replayed to the retries of the request, server errors are not so the
+ * request can be retried. Duplicates arriving while the request executes on this node wait for its response,
+ * duplicates reaching two nodes at the same time may both execute, the first stored response being kept.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyService implements IdempotencyUseCase {
+
+    /** The repository port the responses are stored through */
+    private final IdempotencyRepositoryPort idempotencyRepositoryPort;
+
+    /** The executions in progress on this node by idempotency key */
+    private final Map<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+
+    /** The time the responses are kept */
+    @Value("${stock.idempotency.retention:P1D}")
+    private Duration retention;
+
+    /**
+     * Executes a request once per idempotency key. Retries get the stored response without executing the request,
+     * duplicates arriving while it executes wait for its response.
+     *
+     * @param key The idempotency key sent by the client
+     * @param fingerprint The hash of the method, path and body of the request
+     * @param execution Executes the request and captures its response
+     * @return The response of the request, executed now or replayed
+     * @throws IdempotencyKeyReuseException if the key was used for a different request
+     */
+    @Override
+    public IdempotentResponse execute(String key, String fingerprint, Supplier<IdempotentResponse> execution) {
+        while (true) {
+            Optional<IdempotentResponse> stored = idempotencyRepositoryPort.find(key);
+            if (stored.isPresent()) {
+                return replay(stored.get(), fingerprint);
+            }
+            CompletableFuture<IdempotentResponse> execute = new CompletableFuture<>();
+            CompletableFuture<IdempotentResponse> running = inFlight.putIfAbsent(key, execute);
+            if (Objects.nonNull(running)) {
+                // Completed with null when the execution failed, the request is then executed again
+                IdempotentResponse response = running.join();
+                if (Objects.nonNull(response)) {
+                    return replay(response, fingerprint);
+                }
+                continue;
+            }
+            IdempotentResponse response = null;
+            try {
+                // Stored by an execution that ended between the lookup and the registration
+                stored = idempotencyRepositoryPort.find(key);
+                if (stored.isPresent()) {
+                    response = stored.get();
+                    return replay(response, fingerprint);
+                }
+                IdempotentResponse executed = execution.get().toBuilder()
+                        .key(key)
+                        .fingerprint(fingerprint)
+                        .createdAt(LocalDateTime.now())
+                        .build();
+                if (executed.status() < 500) {
+                    idempotencyRepositoryPort.save(executed);
+                    response = executed;
+                }
+                return executed;
+            } finally {
+                inFlight.remove(key, execute);
+                execute.complete(response);
+            }
+        }
+    }
+
+    /**
+     * Deletes the responses past their retention time, on schedule.
+     *
+     * @return The number of deleted responses
+     */
+    @Scheduled(fixedDelayString = "${stock.idempotency.purge-interval:PT1H}")
+    public int purge() {
+        int deleted = idempotencyRepositoryPort.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Idempotency keys purged - count: {}", deleted);
+        }
+        return deleted;
+    }
+
+    private static IdempotentResponse replay(IdempotentResponse response, String fingerprint) {
+        if (!response.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReuseException();
+        }
+        return response;
+    }
+}
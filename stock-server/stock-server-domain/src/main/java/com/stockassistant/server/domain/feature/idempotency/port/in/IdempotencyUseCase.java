@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.feature.idempotency.port.in;
+
+import com.stockassistant.server.domain.model.IdempotentResponse;
+
+import java.util.function.Supplier;
+
+/**
+ * Interface defining the use cases for idempotent write requests.
+ * This interface represents the input port for idempotency-related operations in the domain layer.
+ */
+public interface IdempotencyUseCase {
+    /**
+     * Executes a request once per idempotency key. Retries get the stored response without executing the request,
+     * duplicates arriving while it executes wait for its response.
+     *
+     * @param key The idempotency key sent by the client
+     * @param fingerprint The hash of the method, path and body of the request
+     * @param execution Executes the request and captures its response
+     * @return The response of the request, executed now or replayed
+     */
+    IdempotentResponse execute(String key, String fingerprint, Supplier<IdempotentResponse> execution);
+}
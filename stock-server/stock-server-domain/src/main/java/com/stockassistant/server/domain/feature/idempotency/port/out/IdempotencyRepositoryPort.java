@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.feature.idempotency.port.out;
+
+import com.stockassistant.server.domain.model.IdempotentResponse;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Interface defining the persistence operations for the responses of idempotent requests.
+ * This interface represents the output port for idempotency-related operations in the domain layer.
+ */
+public interface IdempotencyRepositoryPort {
+    /**
+     * Finds the stored response of an idempotency key.
+     *
+     * @param key The idempotency key
+     * @return An Optional containing the response if stored, empty otherwise
+     */
+    Optional<IdempotentResponse> find(String key);
+
+    /**
+     * Stores the response of an idempotency key. A response already stored under the key is kept.
+     *
+     * @param response The response to store
+     */
+    void save(IdempotentResponse response);
+
+    /**
+     * Deletes the responses stored before the given time.
+     *
+     * @param createdBefore The exclusive creation time bound
+     * @return The number of deleted responses
+     */
+    int deleteCreatedBefore(LocalDateTime createdBefore);
+}
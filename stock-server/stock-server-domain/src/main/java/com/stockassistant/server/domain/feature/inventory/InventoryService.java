@@ -12,15 +12,41 @@
 
 package com.stockassistant.server.domain.feature.inventory;
 
+import com.stockassistant.server.domain.feature.inventory.alert.LowStockAlertEngine;
+import com.stockassistant.server.domain.feature.inventory.coalescing.InventoryWriteCoalescer;
+import com.stockassistant.server.domain.feature.inventory.feed.InventoryChangeFeed;
+import com.stockassistant.server.domain.feature.inventory.feed.InventoryChangeSink;
 import com.stockassistant.server.domain.feature.inventory.port.in.InventoryUseCase;
+import com.stockassistant.server.domain.feature.inventory.projection.InventoryProjection;
 import com.stockassistant.server.domain.feature.inventory.port.out.InventoryRepositoryPort;
+import com.stockassistant.server.domain.model.CategoryValuation;
+import com.stockassistant.server.domain.model.InventoryChange;
+import com.stockassistant.server.domain.model.InventoryChangeResult;
 import com.stockassistant.server.domain.model.InventoryItem;
+import com.stockassistant.server.domain.model.LowStockAlert;
+import com.stockassistant.server.domain.model.ProductStock;
+import com.stockassistant.server.domain.model.ProductStockTotal;
+import com.stockassistant.server.domain.model.ReorderPoint;
+import com.stockassistant.server.domain.model.WarehouseUtilisation;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
+import com.stockassistant.server.domain.model.enums.InventoryChangeStatusEnum;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Service class for handling inventory-related business logic.
@@ -29,26 +55,89 @@ import java.util.UUID;
  */
 @Service
 @RequiredArgsConstructor
-public class InventoryService implements InventoryUseCase {
+public class InventoryService implements InventoryUseCase, SmartInitializingSingleton {
 
     /** The repository port for inventory persistence operations */
     private final InventoryRepositoryPort inventoryRepositoryPort;
 
+    /** The in-memory projection of the inventory quantities */
+    private final InventoryProjection inventoryProjection;
+
+    /** The engine raising and clearing the low-stock alerts */
+    private final LowStockAlertEngine lowStockAlertEngine;
+
+    /** The fan-out of the inventory changes to their subscribers */
+    private final InventoryChangeFeed inventoryChangeFeed;
+
+    /** The coalescer of bursty absolute quantity updates */
+    private final InventoryWriteCoalescer inventoryWriteCoalescer;
+
+    /** The number of changes applied per transaction by bulk updates */
+    @Value("${stock.inventory.batch.chunk-size:500}")
+    private int chunkSize;
+
     /**
      * Fetches a page of inventory items based on the provided criteria.
      *
      * @param pageRequest The pagination and sorting information
+     * @param countMode How the total is computed, none only tells whether more items follow
+     * @param warehouseId The UUID of the warehouse to filter by
+     * @param productId The UUID of the product to filter by
+     * @param asOf The point in time of the quantities, null for the current ones
+     * @return A page, or a slice when no total is computed, of inventory items matching the criteria
+     */
+    @Override
+    public Slice<InventoryItem> fetch(PageRequest pageRequest, CountModeEnum countMode, UUID warehouseId, UUID productId,
+                                      LocalDateTime asOf) {
+        Slice<InventoryItem> items = inventoryRepositoryPort.findAll(pageRequest, countMode, warehouseId, productId);
+        if (Objects.isNull(asOf)) {
+            return items;
+        }
+        // The rewound items keep the order of the slice, they replace its items one by one
+        Iterator<InventoryItem> rewound = inventoryRepositoryPort.rewind(items.getContent(), asOf).iterator();
+        return items.map(item -> rewound.next());
+    }
+
+    /**
+     * Fetches the window of inventory items following the given keyset position.
+     *
+     * @param position The keyset position to continue from
+     * @param limit The maximum number of items in the window
      * @param warehouseId The UUID of the warehouse to filter by
      * @param productId The UUID of the product to filter by
-     * @return A page of inventory items matching the criteria
+     * @param asOf The point in time of the quantities, null for the current ones
+     * @return A window of inventory items matching the criteria
      */
     @Override
-    public Page<InventoryItem> fetch(PageRequest pageRequest, UUID warehouseId, UUID productId) {
-        return inventoryRepositoryPort.findAll(pageRequest, warehouseId, productId);
+    public Window<InventoryItem> scroll(KeysetScrollPosition position, int limit, UUID warehouseId, UUID productId,
+                                        LocalDateTime asOf) {
+        Window<InventoryItem> items = inventoryRepositoryPort.scroll(position, limit, warehouseId, productId);
+        if (Objects.isNull(asOf)) {
+            return items;
+        }
+        Iterator<InventoryItem> rewound = inventoryRepositoryPort.rewind(items.getContent(), asOf).iterator();
+        return items.map(item -> rewound.next());
+    }
+
+    /**
+     * Counts the inventory items matching the given criteria.
+     *
+     * @param countMode Whether the total is counted or estimated by the query planner
+     * @param warehouseId The UUID of the warehouse to filter by
+     * @param productId The UUID of the product to filter by
+     * @return The number of matching inventory items
+     */
+    @Override
+    public long count(CountModeEnum countMode, UUID warehouseId, UUID productId) {
+        return countMode == CountModeEnum.ESTIMATED
+                ? inventoryRepositoryPort.estimateCount(warehouseId, productId)
+                : inventoryRepositoryPort.count(warehouseId, productId);
     }
 
     /**
      * Updates the quantity of a specific product in a warehouse.
+     * When coalescing is enabled, the update is batched with the other updates of its window and
+     * returns once the batch is committed.
      *
      * @param warehouseId The UUID of the warehouse
      * @param productId The UUID of the product
@@ -57,6 +146,191 @@ public class InventoryService implements InventoryUseCase {
      */
     @Override
     public InventoryItem update(UUID warehouseId, UUID productId, int quantity) {
-        return inventoryRepositoryPort.update(warehouseId, productId, quantity);
+        if (inventoryWriteCoalescer.isEnabled()) {
+            return inventoryWriteCoalescer.submit(warehouseId, productId, quantity,
+                    item -> applied(warehouseId, productId, item.quantity(), item.stockVersion(), item.changeId()));
+        }
+        InventoryItem item = inventoryRepositoryPort.update(warehouseId, productId, quantity);
+        applied(warehouseId, productId, item.quantity(), item.stockVersion(), item.changeId());
+        return item;
+    }
+
+    /**
+     * Atomically adds a signed delta to the quantity of a specific product in a warehouse.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @param delta The quantity to add, negative to remove stock
+     * @return The adjusted inventory item
+     */
+    @Override
+    public InventoryItem adjust(UUID warehouseId, UUID productId, int delta) {
+        InventoryItem item = inventoryRepositoryPort.adjust(warehouseId, productId, delta);
+        applied(warehouseId, productId, item.quantity(), item.stockVersion(), item.changeId());
+        return item;
+    }
+
+    /**
+     * Applies a bulk of quantity changes chunk by chunk.
+     * Invalid changes are reported without reaching the repository, the valid ones of each chunk
+     * are applied in one transaction so a failing chunk does not roll back the previous ones.
+     *
+     * @param changes The absolute or delta changes to apply, in order
+     * @return The outcome of each change, in the order of the changes
+     */
+    @Override
+    public List<InventoryChangeResult> updateAll(List<InventoryChange> changes) {
+        List<InventoryChangeResult> results = new ArrayList<>(changes.size());
+        for (int from = 0; from < changes.size(); from += chunkSize) {
+            List<InventoryChange> chunk = changes.subList(from, Math.min(from + chunkSize, changes.size()));
+            Iterator<InventoryChangeResult> applied = inventoryRepositoryPort
+                    .updateAll(chunk.stream().filter(InventoryChange::isValid).toList())
+                    .iterator();
+            for (InventoryChange change : chunk) {
+                InventoryChangeResult result = change.isValid() ? applied.next() : InventoryChangeResult.builder()
+                        .warehouseId(change.warehouseId())
+                        .productId(change.productId())
+                        .status(InventoryChangeStatusEnum.INVALID)
+                        .build();
+                if (result.status() == InventoryChangeStatusEnum.UPDATED) {
+                    applied(result.warehouseId(), result.productId(), result.quantity(), result.stockVersion(), result.changeId());
+                }
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Streams every inventory item matching the given criteria, ordered by id.
+     *
+     * @param warehouseId The UUID of the warehouse to filter by
+     * @param productId The UUID of the product to filter by
+     * @return A stream of the matching inventory items, to be closed by the caller
+     */
+    @Override
+    public Stream<InventoryItem> export(UUID warehouseId, UUID productId) {
+        return inventoryRepositoryPort.stream(warehouseId, productId);
+    }
+
+    /**
+     * Returns the stock of a product across the warehouses holding it, from the in-memory projection.
+     *
+     * @param productId The UUID of the product
+     * @param below The exclusive quantity threshold selecting the warehouses, null for every warehouse
+     * @return The total quantity of the product and the stock levels of the selected warehouses
+     */
+    @Override
+    public ProductStock getProductStock(UUID productId, Integer below) {
+        return ProductStock.builder()
+                .productId(productId)
+                .totalQuantity(inventoryProjection.totalQuantity(productId))
+                .levels(inventoryProjection.findLevels(productId, below))
+                .build();
+    }
+
+    /**
+     * Sums the quantity of each product across the warehouses in the database, largest totals first.
+     *
+     * @param pageRequest The page to read, its sort is ignored
+     * @param warehouseId The UUID of the warehouse to restrict the sums to
+     * @param category The product category to filter by
+     * @return A page of the product totals
+     */
+    @Override
+    public Page<ProductStockTotal> fetchStockByProduct(PageRequest pageRequest, UUID warehouseId, String category) {
+        return inventoryRepositoryPort.sumByProduct(pageRequest, warehouseId, category);
+    }
+
+    /**
+     * Sums the quantity held by each warehouse against its capacity in the database, most utilised first.
+     *
+     * @param pageRequest The page to read, its sort is ignored
+     * @param warehouseId The UUID of the warehouse to filter by
+     * @param location The case-insensitive partial location to filter by
+     * @return A page of the warehouse utilisations
+     */
+    @Override
+    public Page<WarehouseUtilisation> fetchUtilisation(PageRequest pageRequest, UUID warehouseId, String location) {
+        return inventoryRepositoryPort.sumByWarehouse(pageRequest, warehouseId, location);
+    }
+
+    /**
+     * Sums the quantity and the value at the current prices of the stock of each product category in the database.
+     *
+     * @param warehouseId The UUID of the warehouse to restrict the sums to
+     * @param category The product category to filter by
+     * @return The valuation of each category holding stock
+     */
+    @Override
+    public List<CategoryValuation> fetchValuation(UUID warehouseId, String category) {
+        return inventoryRepositoryPort.sumValueByCategory(warehouseId, category);
+    }
+
+    /**
+     * Sets or removes the reorder point of a product, or its override in a warehouse, and re-evaluates
+     * the low-stock alerts of the inventory items it applies to.
+     *
+     * @param productId The UUID of the product
+     * @param warehouseId The UUID of the warehouse, null for the reorder point of the product
+     * @param reorderPoint The new reorder point, null to remove it
+     * @return The reorder point as set
+     */
+    @Override
+    public ReorderPoint setReorderPoint(UUID productId, UUID warehouseId, Integer reorderPoint) {
+        inventoryRepositoryPort.updateReorderPoint(productId, warehouseId, reorderPoint);
+        lowStockAlertEngine.setReorderPoint(productId, warehouseId, reorderPoint);
+        return new ReorderPoint(productId, warehouseId, reorderPoint);
+    }
+
+    /**
+     * Fetches a page of the raised low-stock alerts, most urgent first.
+     *
+     * @param pageRequest The page to read, its sort is ignored
+     * @param warehouseId The UUID of the warehouse to filter by
+     * @param productId The UUID of the product to filter by
+     * @return A page of the raised alerts matching the filters
+     */
+    @Override
+    public Page<LowStockAlert> fetchLowStockAlerts(PageRequest pageRequest, UUID warehouseId, UUID productId) {
+        return lowStockAlertEngine.findAlerts(pageRequest, warehouseId, productId);
+    }
+
+    /**
+     * Subscribes to the quantity changes made through this node, optionally resuming after the last received one.
+     *
+     * @param warehouseId The UUID of the warehouse to filter by
+     * @param productId The UUID of the product to filter by
+     * @param lastEventId The id of the last change received before reconnecting, null for new changes only
+     * @param sink The receiver of the changes
+     * @return The subscription, to be cancelled once the sink is gone
+     */
+    @Override
+    public InventoryChangeFeed.Subscription subscribe(UUID warehouseId, UUID productId, Long lastEventId, InventoryChangeSink sink) {
+        return inventoryChangeFeed.subscribe(warehouseId, productId, lastEventId, sink);
+    }
+
+    /**
+     * Loads the inventory projection, then the low-stock alerts from it, once every singleton is created.
+     * This runs before the web server starts, so no request is served by an empty projection, and writes
+     * committed while the projection loads are kept.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        inventoryProjection.rebuild(inventoryRepositoryPort::streamLevels);
+        try (Stream<ReorderPoint> reorderPoints = inventoryRepositoryPort.streamReorderPoints()) {
+            lowStockAlertEngine.rebuild(reorderPoints);
+        }
+    }
+
+    /**
+     * Propagates a committed quantity to the projection, then to the low-stock alerts and the change feed
+     * unless a later write of the item already reached the projection.
+     */
+    private void applied(UUID warehouseId, UUID productId, int quantity, long stockVersion, long changeId) {
+        inventoryProjection.set(warehouseId, productId, quantity, stockVersion, () -> {
+            lowStockAlertEngine.evaluate(warehouseId, productId, quantity);
+            inventoryChangeFeed.publish(changeId, warehouseId, productId, quantity);
+        });
     }
 }
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.feature.inventory;
+
+import com.stockassistant.server.domain.feature.inventory.alert.LowStockAlertEngine;
+import com.stockassistant.server.domain.feature.inventory.feed.InventoryChangeFeed;
+import com.stockassistant.server.domain.feature.inventory.port.in.ReactiveInventoryUseCase;
+import com.stockassistant.server.domain.feature.inventory.port.out.ReactiveInventoryRepositoryPort;
+import com.stockassistant.server.domain.feature.inventory.projection.InventoryProjection;
+import com.stockassistant.server.domain.model.InventoryItem;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Service class for handling the inventory operations of the reactive stack.
+ * This service implements the ReactiveInventoryUseCase interface, it is only created by the reactive profile.
+ * Committed quantities reach the same in-memory projection, low-stock alerts and change feed as the ones
+ * written through {@link InventoryService}, none of them blocks.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveInventoryService implements ReactiveInventoryUseCase {
+
+    /** The reactive repository port for inventory persistence operations */
+    private final ReactiveInventoryRepositoryPort reactiveInventoryRepositoryPort;
+
+    /** The in-memory projection of the inventory quantities */
+    private final InventoryProjection inventoryProjection;
+
+    /** The engine raising and clearing the low-stock alerts */
+    private final LowStockAlertEngine lowStockAlertEngine;
+
+    /** The fan-out of the inventory changes to their subscribers */
+    private final InventoryChangeFeed inventoryChangeFeed;
+
+    /**
+     * Fetches a page of inventory items based on the provided criteria.
+     *
+     * @param pageRequest The pagination information, items are ordered by insertion
+     * @param countMode How the total is computed, none only tells whether more items follow
+     * @param warehouseId The UUID of the warehouse to filter by
+     * @param productId The UUID of the product to filter by
+     * @return A page, or a slice when no total is computed, of inventory items matching the criteria
+     */
+    @Override
+    public Mono<Slice<InventoryItem>> fetch(PageRequest pageRequest, CountModeEnum countMode, UUID warehouseId, UUID productId) {
+        return reactiveInventoryRepositoryPort.findAll(pageRequest, countMode, warehouseId, productId);
+    }
+
+    /**
+     * Updates the quantity of a specific product in a warehouse.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @param quantity The new quantity of the product
+     * @return The updated inventory item
+     */
+    @Override
+    public Mono<InventoryItem> update(UUID warehouseId, UUID productId, int quantity) {
+        return reactiveInventoryRepositoryPort.update(warehouseId, productId, quantity)
+                .doOnNext(item -> applied(warehouseId, productId, item.quantity(), item.stockVersion(), item.changeId()));
+    }
+
+    /**
+     * Atomically adds a signed delta to the quantity of a specific product in a warehouse.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @param delta The quantity to add, negative to remove stock
+     * @return The adjusted inventory item
+     */
+    @Override
+    public Mono<InventoryItem> adjust(UUID warehouseId, UUID productId, int delta) {
+        return reactiveInventoryRepositoryPort.adjust(warehouseId, productId, delta)
+                .doOnNext(item -> applied(warehouseId, productId, item.quantity(), item.stockVersion(), item.changeId()));
+    }
+
+    /**
+     * Propagates a committed quantity to the projection, then to the low-stock alerts and the change feed
+     * unless a later write of the item already reached the projection.
+     */
+    private void applied(UUID warehouseId, UUID productId, int quantity, long stockVersion, long changeId) {
+        inventoryProjection.set(warehouseId, productId, quantity, stockVersion, () -> {
+            lowStockAlertEngine.evaluate(warehouseId, productId, quantity);
+            inventoryChangeFeed.publish(changeId, warehouseId, productId, quantity);
+        });
+    }
+}
@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.feature.inventory.alert;
+
+import com.stockassistant.server.domain.feature.inventory.projection.InventoryProjection;
+import com.stockassistant.server.domain.model.LowStockAlert;
+import com.stockassistant.server.domain.model.LowStockAlertEvent;
+import com.stockassistant.server.domain.model.ReorderPoint;
+import com.stockassistant.server.domain.model.enums.LowStockAlertStateEnum;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Incremental low-stock alert engine. Each quantity change is checked against the reorder point of
+ * its own item only, an alert being raised or cleared when the quantity crosses it. The raised alerts
+ * are kept in a set sorted by urgency, so listing them never scans the inventory. Reorder points are
+ * set per product and optionally overridden per warehouse, the quantities of the items affected by
+ * a reorder point change are read from the inventory projection.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LowStockAlertEngine {
+
+    /** Most urgent first: the lowest share of the reorder point left, then by warehouse and product */
+    private static final Comparator<LowStockAlert> URGENCY = Comparator
+            .comparingDouble((LowStockAlert alert) -> (double) alert.quantity() / alert.reorderPoint())
+            .thenComparing(LowStockAlert::warehouseId)
+            .thenComparing(LowStockAlert::productId);
+
+    /** The projection holding the current quantities */
+    private final InventoryProjection inventoryProjection;
+
+    /** The publisher of the raised and cleared alerts */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** The reorder points of the products, applying to the warehouses without their own */
+    private final Map<UUID, Integer> productReorderPoints = new HashMap<>();
+
+    /** The reorder points overriding the one of the product in a warehouse */
+    private final Map<ItemKey, Integer> itemReorderPoints = new HashMap<>();
+
+    /** The raised alerts by item */
+    private final Map<ItemKey, LowStockAlert> alerts = new ConcurrentHashMap<>();
+
+    /** The raised alerts, most urgent first, read without locking */
+    private final NavigableSet<LowStockAlert> sortedAlerts = new ConcurrentSkipListSet<>(URGENCY);
+
+    /**
+     * Replaces the reorder points and recomputes the raised alerts from the inventory projection,
+     * which must be loaded first. No event is published for the alerts found.
+     *
+     * @param reorderPoints Every reorder point, of products and of warehouses
+     */
+    public synchronized void rebuild(Stream<ReorderPoint> reorderPoints) {
+        productReorderPoints.clear();
+        itemReorderPoints.clear();
+        alerts.clear();
+        sortedAlerts.clear();
+        reorderPoints.filter(reorderPoint -> Objects.nonNull(reorderPoint.reorderPoint()))
+                .forEach(reorderPoint -> {
+                    if (Objects.isNull(reorderPoint.warehouseId())) {
+                        productReorderPoints.put(reorderPoint.productId(), reorderPoint.reorderPoint());
+                    } else {
+                        itemReorderPoints.put(new ItemKey(reorderPoint.warehouseId(), reorderPoint.productId()),
+                                reorderPoint.reorderPoint());
+                    }
+                });
+        LocalDateTime now = LocalDateTime.now();
+        productReorderPoints.forEach((productId, reorderPoint) -> inventoryProjection.findLevels(productId, reorderPoint).stream()
+                .filter(level -> !itemReorderPoints.containsKey(new ItemKey(level.warehouseId(), productId)))
+                .forEach(level -> put(new LowStockAlert(level.warehouseId(), productId, level.quantity(), reorderPoint, now))));
+        itemReorderPoints.forEach((key, reorderPoint) -> inventoryProjection.quantity(key.warehouseId(), key.productId())
+                .ifPresent(quantity -> {
+                    if (quantity < reorderPoint) {
+                        put(new LowStockAlert(key.warehouseId(), key.productId(), quantity, reorderPoint, now));
+                    }
+                }));
+        log.info("Low-stock alerts loaded - reorder points: {}, raised alerts: {}",
+                productReorderPoints.size() + itemReorderPoints.size(), alerts.size());
+    }
+
+    /**
+     * Evaluates the new quantity of an item against its reorder point, raising or clearing its alert
+     * when the quantity crosses it and keeping the alert up to date otherwise.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @param quantity The new quantity of the item
+     */
+    public synchronized void evaluate(UUID warehouseId, UUID productId, int quantity) {
+        ItemKey key = new ItemKey(warehouseId, productId);
+        Integer reorderPoint = itemReorderPoints.getOrDefault(key, productReorderPoints.get(productId));
+        LowStockAlert current = alerts.get(key);
+        if (Objects.nonNull(reorderPoint) && quantity < reorderPoint) {
+            LowStockAlert alert = new LowStockAlert(warehouseId, productId, quantity, reorderPoint,
+                    Objects.isNull(current) ? LocalDateTime.now() : current.raisedAt());
+            remove(key);
+            put(alert);
+            if (Objects.isNull(current)) {
+                publish(alert, LowStockAlertStateEnum.RAISED);
+            }
+        } else if (Objects.nonNull(current)) {
+            remove(key);
+            publish(current.toBuilder().quantity(quantity).build(), LowStockAlertStateEnum.CLEARED);
+        }
+    }
+
+    /**
+     * Sets or removes a reorder point and re-evaluates the items it applies to.
+     *
+     * @param productId The UUID of the product
+     * @param warehouseId The UUID of the warehouse, null for the reorder point of the product
+     * @param reorderPoint The new reorder point, null to remove it
+     */
+    public synchronized void setReorderPoint(UUID productId, UUID warehouseId, Integer reorderPoint) {
+        if (Objects.nonNull(warehouseId)) {
+            ItemKey key = new ItemKey(warehouseId, productId);
+            if (Objects.isNull(reorderPoint)) {
+                itemReorderPoints.remove(key);
+            } else {
+                itemReorderPoints.put(key, reorderPoint);
+            }
+            inventoryProjection.quantity(warehouseId, productId)
+                    .ifPresent(quantity -> evaluate(warehouseId, productId, quantity));
+            return;
+        }
+        if (Objects.isNull(reorderPoint)) {
+            productReorderPoints.remove(productId);
+        } else {
+            productReorderPoints.put(productId, reorderPoint);
+        }
+        inventoryProjection.findLevels(productId, null)
+                .forEach(level -> evaluate(level.warehouseId(), productId, level.quantity()));
+    }
+
+    /**
+     * Retrieves a page of the raised alerts, most urgent first.
+     *
+     * @param pageRequest The page to read, its sort is ignored
+     * @param warehouseId The UUID of the warehouse to filter by
+     * @param productId The UUID of the product to filter by
+     * @return A page of the raised alerts matching the filters
+     */
+    public Page<LowStockAlert> findAlerts(PageRequest pageRequest, UUID warehouseId, UUID productId) {
+        Predicate<LowStockAlert> filter = alert -> (Objects.isNull(warehouseId) || warehouseId.equals(alert.warehouseId()))
+                && (Objects.isNull(productId) || productId.equals(alert.productId()));
+        List<LowStockAlert> content = sortedAlerts.stream()
+                .filter(filter)
+                .skip(pageRequest.getOffset())
+                .limit(pageRequest.getPageSize())
+                .toList();
+        return PageableExecutionUtils.getPage(content, pageRequest, () -> sortedAlerts.stream().filter(filter).count());
+    }
+
+    private void put(LowStockAlert alert) {
+        alerts.put(new ItemKey(alert.warehouseId(), alert.productId()), alert);
+        sortedAlerts.add(alert);
+    }
+
+    private void remove(ItemKey key) {
+        LowStockAlert removed = alerts.remove(key);
+        if (Objects.nonNull(removed)) {
+            sortedAlerts.remove(removed);
+        }
+    }
+
+    private void publish(LowStockAlert alert, LowStockAlertStateEnum state) {
+        log.info("Low-stock alert {} - warehouse: {}, product: {}, quantity: {}, reorder point: {}",
+                state, alert.warehouseId(), alert.productId(), alert.quantity(), alert.reorderPoint());
+        eventPublisher.publishEvent(new LowStockAlertEvent(alert, state));
+    }
+
+    private record ItemKey(UUID warehouseId, UUID productId) {
+    }
+}
@@ -0,0 +1,201 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.feature.inventory.coalescing;
+
+import com.stockassistant.server.domain.feature.inventory.port.out.InventoryRepositoryPort;
+import com.stockassistant.server.domain.model.InventoryChange;
+import com.stockassistant.server.domain.model.InventoryItem;
+import com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Collapses bursts of absolute quantity updates before they reach the database.
+ * The updates submitted within a window are gathered into one batch, keeping the last quantity of each
+ * item, and the batch is applied in one transaction. Callers are blocked until the transaction of their
+ * batch commits, so an acknowledged update is durable and a failed one is reported to every caller that
+ * submitted it. Batches are applied one at a time and in order, a later update of an item never being
+ * overwritten by an earlier one.
+ */
+@Slf4j
+@Component
+public class InventoryWriteCoalescer implements DisposableBean {
+
+    /** The repository port the batches are applied through */
+    private final InventoryRepositoryPort inventoryRepositoryPort;
+
+    /** Whether updates are coalesced, they are applied one by one otherwise */
+    private final boolean enabled;
+
+    /** The time the first update of a batch waits for others */
+    private final Duration window;
+
+    /** The number of items after which a batch is applied without waiting for the window */
+    private final int maxBatchSize;
+
+    /** The single thread applying the batches */
+    private final ScheduledExecutorService flusher;
+
+    /** The updates of the batch being gathered by item, guarded by the coalescer */
+    private Map<StockKey, Pending> pending = new LinkedHashMap<>();
+
+    /** Whether a flush of the batch being gathered is scheduled, guarded by the coalescer */
+    private boolean scheduled;
+
+    public InventoryWriteCoalescer(InventoryRepositoryPort inventoryRepositoryPort,
+                                   @Value("${stock.inventory.coalescing.enabled:false}") boolean enabled,
+                                   @Value("${stock.inventory.coalescing.window:PT0.02S}") Duration window,
+                                   @Value("${stock.inventory.coalescing.max-batch-size:500}") int maxBatchSize) {
+        this.inventoryRepositoryPort = inventoryRepositoryPort;
+        this.enabled = enabled;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "inventory-write-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Whether updates are coalesced.
+     *
+     * @return true if updates should be submitted to the coalescer
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Submits an absolute quantity update and waits until its batch is committed. Updates of the same item
+     * within a batch collapse to the last quantity and share its outcome.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @param quantity The new quantity of the product
+     * @param onApplied Called once per item of the batch once committed, before its callers are released
+     * @return The updated inventory item, holding the last quantity submitted within the batch
+     */
+    public InventoryItem submit(UUID warehouseId, UUID productId, int quantity, Consumer<InventoryItem> onApplied) {
+        CompletableFuture<InventoryItem> applied;
+        synchronized (this) {
+            Pending update = pending.computeIfAbsent(new StockKey(warehouseId, productId), key -> new Pending(onApplied));
+            update.quantity = quantity;
+            applied = update.applied;
+            if (pending.size() >= maxBatchSize) {
+                flusher.execute(this::flush);
+            } else if (!scheduled) {
+                scheduled = true;
+                flusher.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        try {
+            return applied.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Applies the batch being gathered in one transaction and releases its callers.
+     */
+    void flush() {
+        Map<StockKey, Pending> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+            scheduled = false;
+        }
+        List<InventoryChange> changes = batch.entrySet().stream()
+                .map(update -> InventoryChange.builder()
+                        .warehouseId(update.getKey().warehouseId())
+                        .productId(update.getKey().productId())
+                        .quantity(update.getValue().quantity)
+                        .build())
+                .toList();
+        Map<StockKey, InventoryItem> items;
+        try {
+            items = inventoryRepositoryPort.updateItems(changes).stream()
+                    .collect(Collectors.toMap(item -> new StockKey(item.warehouse().uuid(), item.product().uuid()), Function.identity()));
+        } catch (RuntimeException e) {
+            log.warn("Coalesced inventory update failed - items: {}", batch.size(), e);
+            batch.values().forEach(update -> update.applied.completeExceptionally(e));
+            return;
+        }
+        batch.forEach((key, update) -> {
+            InventoryItem item = items.get(key);
+            if (Objects.isNull(item)) {
+                update.applied.completeExceptionally(new ObjectNotFoundException());
+                return;
+            }
+            try {
+                update.onApplied.accept(item);
+            } catch (RuntimeException e) {
+                log.warn("Post-update processing failed - warehouseId: {}, productId: {}", key.warehouseId(), key.productId(), e);
+            }
+            update.applied.complete(item);
+        });
+        log.debug("Coalesced inventory update applied - items: {}", batch.size());
+    }
+
+    /**
+     * Applies the batch being gathered before the application stops.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        flusher.execute(this::flush);
+        flusher.shutdown();
+        if (!flusher.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Coalesced inventory updates still pending at shutdown");
+        }
+    }
+
+    private record StockKey(UUID warehouseId, UUID productId) {
+    }
+
+    /**
+     * The last update of an item within a batch and the outcome shared by its callers.
+     */
+    private static final class Pending {
+        private final CompletableFuture<InventoryItem> applied = new CompletableFuture<>();
+        private final Consumer<InventoryItem> onApplied;
+        private int quantity;
+
+        private Pending(Consumer<InventoryItem> onApplied) {
+            this.onApplied = onApplied;
+        }
+    }
+}
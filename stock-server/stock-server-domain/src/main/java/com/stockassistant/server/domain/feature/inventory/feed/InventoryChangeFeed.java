@@ -0,0 +1,293 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.feature.inventory.feed;
+
+import com.stockassistant.server.domain.model.InventoryChangeEvent;
+import com.stockassistant.server.domain.model.enums.ChangeFeedOverflowEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * In-process fan-out of the inventory changes to their subscribers.
+ * Publishing never blocks on a subscriber: each change is appended to the bounded buffer of the
+ * matching subscriptions, which are drained into their sinks by a virtual thread per subscription with
+ * pending changes, so a sink blocked on a slow client only delays its own subscription and subscriptions
+ * hold no thread while idle. A full buffer drops its oldest change or disconnects the subscriber,
+ * depending on the overflow policy. The changes are identified by their change records, so their ids
+ * survive restarts, and the latest ones are kept to let reconnecting subscribers resume after the last
+ * change they received, ahead of and regardless of the bound of the live buffer.
+ */
+@Slf4j
+@Component
+public class InventoryChangeFeed implements DisposableBean {
+
+    /** The number of latest changes kept for resuming subscribers */
+    private final int historySize;
+
+    /** The maximum number of changes buffered per subscription */
+    private final int bufferSize;
+
+    /** What happens to a subscription whose buffer is full */
+    private final ChangeFeedOverflowEnum overflowPolicy;
+
+    /** The virtual threads draining the subscription buffers into their sinks, one per draining subscription */
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** The latest changes, in publication order, guarded by the feed */
+    private final ArrayDeque<InventoryChangeEvent> history = new ArrayDeque<>();
+
+    /** The subscriptions to every change */
+    private final Set<Subscription> unfiltered = ConcurrentHashMap.newKeySet();
+
+    /** The subscriptions filtered by warehouse, and possibly by product, by warehouse UUID */
+    private final Map<UUID, Set<Subscription>> byWarehouse = new ConcurrentHashMap<>();
+
+    /** The subscriptions filtered by product only, by product UUID */
+    private final Map<UUID, Set<Subscription>> byProduct = new ConcurrentHashMap<>();
+
+    public InventoryChangeFeed(@Value("${stock.inventory.changes.history-size:10000}") int historySize,
+                               @Value("${stock.inventory.changes.buffer-size:256}") int bufferSize,
+                               @Value("${stock.inventory.changes.overflow-policy:DROP_OLDEST}") ChangeFeedOverflowEnum overflowPolicy) {
+        this.historySize = historySize;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Publishes a change to the subscriptions matching its warehouse and product.
+     * Only buffers are written, the sinks are called later by the dispatcher threads.
+     *
+     * @param changeId The id of the change record of the write
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @param quantity The quantity after the change
+     */
+    public synchronized void publish(long changeId, UUID warehouseId, UUID productId, int quantity) {
+        InventoryChangeEvent event = new InventoryChangeEvent(changeId, warehouseId, productId, quantity, LocalDateTime.now());
+        if (history.size() == historySize) {
+            history.pollFirst();
+        }
+        history.addLast(event);
+        unfiltered.forEach(subscription -> subscription.offer(event));
+        byWarehouse.getOrDefault(warehouseId, Set.of()).forEach(subscription -> {
+            if (subscription.matches(event)) {
+                subscription.offer(event);
+            }
+        });
+        byProduct.getOrDefault(productId, Set.of()).forEach(subscription -> subscription.offer(event));
+    }
+
+    /**
+     * Subscribes a sink to the changes matching the filters. When resuming, the kept changes
+     * published after the last received one are delivered first, the older ones are lost. A last
+     * change no longer kept, as after a restart, is followed by the kept changes of higher id.
+     *
+     * @param warehouseId The UUID of the warehouse to filter by
+     * @param productId The UUID of the product to filter by
+     * @param lastEventId The id of the last change received before reconnecting, null for new changes only
+     * @param sink The receiver of the changes
+     * @return The subscription, to be cancelled once the sink is gone
+     */
+    public synchronized Subscription subscribe(UUID warehouseId, UUID productId, Long lastEventId, InventoryChangeSink sink) {
+        Subscription subscription = new Subscription(warehouseId, productId, sink);
+        // Registered first so a subscription cancelled while replaying is unregistered
+        registry(subscription).add(subscription);
+        if (Objects.nonNull(lastEventId)) {
+            subscription.replay(resumedAfter(lastEventId).filter(subscription::matches).toList());
+        }
+        return subscription;
+    }
+
+    /**
+     * Returns the number of open subscriptions.
+     *
+     * @return The number of subscriptions
+     */
+    public int subscriptions() {
+        return unfiltered.size() + Stream.of(byWarehouse.values(), byProduct.values())
+                .flatMap(Collection::stream)
+                .mapToInt(Set::size)
+                .sum();
+    }
+
+    /**
+     * Closes every subscription and stops the dispatcher threads.
+     */
+    @Override
+    public void destroy() {
+        List<Subscription> open = Stream.of(Stream.of(unfiltered), byWarehouse.values().stream(), byProduct.values().stream())
+                .flatMap(sets -> sets)
+                .flatMap(Set::stream)
+                .toList();
+        open.forEach(Subscription::disconnect);
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Returns the kept changes published after the given one. Change records are numbered when written,
+     * not when committed, so a change may be published after one of higher id: the position of the last
+     * received change is followed rather than the order of the ids.
+     */
+    private Stream<InventoryChangeEvent> resumedAfter(long lastEventId) {
+        List<InventoryChangeEvent> kept = List.copyOf(history);
+        for (int i = kept.size() - 1; i >= 0; i--) {
+            if (kept.get(i).id() == lastEventId) {
+                return kept.subList(i + 1, kept.size()).stream();
+            }
+        }
+        return kept.stream().filter(event -> event.id() > lastEventId);
+    }
+
+    private Set<Subscription> registry(Subscription subscription) {
+        if (Objects.nonNull(subscription.warehouseId)) {
+            return byWarehouse.computeIfAbsent(subscription.warehouseId, key -> ConcurrentHashMap.newKeySet());
+        }
+        if (Objects.nonNull(subscription.productId)) {
+            return byProduct.computeIfAbsent(subscription.productId, key -> ConcurrentHashMap.newKeySet());
+        }
+        return unfiltered;
+    }
+
+    private void unregister(Subscription subscription) {
+        if (Objects.nonNull(subscription.warehouseId)) {
+            byWarehouse.computeIfPresent(subscription.warehouseId, (key, set) -> remove(set, subscription));
+        } else if (Objects.nonNull(subscription.productId)) {
+            byProduct.computeIfPresent(subscription.productId, (key, set) -> remove(set, subscription));
+        } else {
+            unfiltered.remove(subscription);
+        }
+    }
+
+    private static Set<Subscription> remove(Set<Subscription> set, Subscription subscription) {
+        set.remove(subscription);
+        return set.isEmpty() ? null : set;
+    }
+
+    /**
+     * A subscriber of the feed, with the kept changes replayed on resume and the bounded buffer of the
+     * live changes not yet delivered to its sink.
+     */
+    public final class Subscription {
+        private final UUID warehouseId;
+        private final UUID productId;
+        private final InventoryChangeSink sink;
+        private final ArrayDeque<InventoryChangeEvent> replayed = new ArrayDeque<>();
+        private final ArrayDeque<InventoryChangeEvent> buffer = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+        private long dropped;
+
+        private Subscription(UUID warehouseId, UUID productId, InventoryChangeSink sink) {
+            this.warehouseId = warehouseId;
+            this.productId = productId;
+            this.sink = sink;
+        }
+
+        /**
+         * Stops the delivery of the changes and forgets the subscription, without closing the sink.
+         */
+        public void cancel() {
+            unregister(this);
+            synchronized (this) {
+                closed = true;
+                replayed.clear();
+                buffer.clear();
+            }
+        }
+
+        private boolean matches(InventoryChangeEvent event) {
+            return (Objects.isNull(warehouseId) || warehouseId.equals(event.warehouseId()))
+                    && (Objects.isNull(productId) || productId.equals(event.productId()));
+        }
+
+        private void replay(List<InventoryChangeEvent> events) {
+            if (events.isEmpty()) {
+                return;
+            }
+            synchronized (this) {
+                replayed.addAll(events);
+                draining = true;
+            }
+            dispatcher.execute(this::drain);
+        }
+
+        private void offer(InventoryChangeEvent event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (buffer.size() == bufferSize) {
+                    if (overflowPolicy == ChangeFeedOverflowEnum.DISCONNECT) {
+                        log.info("Inventory change subscriber disconnected, buffer full - warehouseId: {}, productId: {}",
+                                warehouseId, productId);
+                        disconnect();
+                        return;
+                    }
+                    buffer.pollFirst();
+                    if (++dropped % bufferSize == 1) {
+                        log.info("Inventory changes dropped for a slow subscriber - warehouseId: {}, productId: {}, dropped: {}",
+                                warehouseId, productId, dropped);
+                    }
+                }
+                buffer.addLast(event);
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            dispatcher.execute(this::drain);
+        }
+
+        private void disconnect() {
+            cancel();
+            dispatcher.execute(sink::close);
+        }
+
+        private void drain() {
+            while (true) {
+                InventoryChangeEvent event;
+                synchronized (this) {
+                    event = replayed.isEmpty() ? buffer.pollFirst() : replayed.pollFirst();
+                    if (Objects.isNull(event)) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    sink.send(event);
+                } catch (IOException | RuntimeException e) {
+                    log.debug("Inventory change subscriber unreachable, subscription cancelled", e);
+                    cancel();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.feature.inventory.feed;
+
+import com.stockassistant.server.domain.model.InventoryChangeEvent;
+
+import java.io.IOException;
+
+/**
+ * Receiver of the inventory changes of a subscription, typically an open client connection.
+ * Calls are made by the dispatcher threads of the feed, one at a time per subscription.
+ */
+public interface InventoryChangeSink {
+
+    /**
+     * Delivers a change to the subscriber.
+     *
+     * @param event The change
+     * @throws IOException if the subscriber cannot be reached, the subscription is then cancelled
+     */
+    void send(InventoryChangeEvent event) throws IOException;
+
+    /**
+     * Ends the subscription on the side of the subscriber, when the feed disconnects it or shuts down.
+     */
+    void close();
+}
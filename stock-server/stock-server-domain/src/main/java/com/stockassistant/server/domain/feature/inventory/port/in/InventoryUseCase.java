@@ -12,11 +12,28 @@
 
 package com.stockassistant.server.domain.feature.inventory.port.in;
 
+import com.stockassistant.server.domain.feature.inventory.feed.InventoryChangeFeed;
+import com.stockassistant.server.domain.feature.inventory.feed.InventoryChangeSink;
+import com.stockassistant.server.domain.model.CategoryValuation;
+import com.stockassistant.server.domain.model.InventoryChange;
+import com.stockassistant.server.domain.model.InventoryChangeResult;
 import com.stockassistant.server.domain.model.InventoryItem;
+import com.stockassistant.server.domain.model.LowStockAlert;
+import com.stockassistant.server.domain.model.ProductStock;
+import com.stockassistant.server.domain.model.ProductStockTotal;
+import com.stockassistant.server.domain.model.ReorderPoint;
+import com.stockassistant.server.domain.model.WarehouseUtilisation;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Interface defining the use cases for inventory management.
@@ -27,11 +44,35 @@ public interface InventoryUseCase {
      * Fetches a page of inventory items based on the provided criteria.
      *
      * @param pageRequest The pagination and sorting information
+     * @param countMode How the total is computed, none only tells whether more items follow
      * @param warehouseId The UUID of the warehouse to filter by
      * @param productId The UUID of the product to filter by
-     * @return A page of inventory items matching the criteria
+     * @param asOf The point in time of the quantities, null for the current ones
+     * @return A page, or a slice when no total is computed, of inventory items matching the criteria
      */
-    Page<InventoryItem> fetch(PageRequest pageRequest, UUID warehouseId, UUID productId);
+    Slice<InventoryItem> fetch(PageRequest pageRequest, CountModeEnum countMode, UUID warehouseId, UUID productId, LocalDateTime asOf);
+
+    /**
+     * Fetches the window of inventory items following the given keyset position.
+     *
+     * @param position The keyset position to continue from
+     * @param limit The maximum number of items in the window
+     * @param warehouseId The UUID of the warehouse to filter by
+     * @param productId The UUID of the product to filter by
+     * @param asOf The point in time of the quantities, null for the current ones
+     * @return A window of inventory items matching the criteria
+     */
+    Window<InventoryItem> scroll(KeysetScrollPosition position, int limit, UUID warehouseId, UUID productId, LocalDateTime asOf);
+
+    /**
+     * Counts the inventory items matching the given criteria.
+     *
+     * @param countMode Whether the total is counted or estimated by the query planner
+     * @param warehouseId The UUID of the warehouse to filter by
+     * @param productId The UUID of the product to filter by
+     * @return The number of matching inventory items
+     */
+    long count(CountModeEnum countMode, UUID warehouseId, UUID productId);
 
     /**
      * Updates the quantity of a specific product in a warehouse.
@@ -42,4 +83,101 @@ public interface InventoryUseCase {
      * @return The updated inventory item
      */
     InventoryItem update(UUID warehouseId, UUID productId, int quantity);
+
+    /**
+     * Atomically adds a signed delta to the quantity of a specific product in a warehouse.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @param delta The quantity to add, negative to remove stock
+     * @return The adjusted inventory item
+     */
+    InventoryItem adjust(UUID warehouseId, UUID productId, int delta);
+
+    /**
+     * Applies a bulk of quantity changes, one transaction per chunk of changes.
+     *
+     * @param changes The absolute or delta changes to apply, in order
+     * @return The outcome of each change, in the order of the changes
+     */
+    List<InventoryChangeResult> updateAll(List<InventoryChange> changes);
+
+    /**
+     * Streams every inventory item matching the given criteria, ordered by id.
+     * The stream holds a database cursor and must be closed by the caller.
+     *
+     * @param warehouseId The UUID of the warehouse to filter by
+     * @param productId The UUID of the product to filter by
+     * @return A stream of the matching inventory items
+     */
+    Stream<InventoryItem> export(UUID warehouseId, UUID productId);
+
+    /**
+     * Returns the stock of a product across the warehouses holding it, from the in-memory projection.
+     *
+     * @param productId The UUID of the product
+     * @param below The exclusive quantity threshold selecting the warehouses, null for every warehouse
+     * @return The total quantity of the product and the stock levels of the selected warehouses
+     */
+    ProductStock getProductStock(UUID productId, Integer below);
+
+    /**
+     * Sums the quantity of each product across the warehouses in the database, largest totals first.
+     *
+     * @param pageRequest The page to read, its sort is ignored
+     * @param warehouseId The UUID of the warehouse to restrict the sums to
+     * @param category The product category to filter by
+     * @return A page of the product totals
+     */
+    Page<ProductStockTotal> fetchStockByProduct(PageRequest pageRequest, UUID warehouseId, String category);
+
+    /**
+     * Sums the quantity held by each warehouse against its capacity in the database, most utilised first.
+     *
+     * @param pageRequest The page to read, its sort is ignored
+     * @param warehouseId The UUID of the warehouse to filter by
+     * @param location The case-insensitive partial location to filter by
+     * @return A page of the warehouse utilisations
+     */
+    Page<WarehouseUtilisation> fetchUtilisation(PageRequest pageRequest, UUID warehouseId, String location);
+
+    /**
+     * Sums the quantity and the value at the current prices of the stock of each product category in the database.
+     *
+     * @param warehouseId The UUID of the warehouse to restrict the sums to
+     * @param category The product category to filter by
+     * @return The valuation of each category holding stock
+     */
+    List<CategoryValuation> fetchValuation(UUID warehouseId, String category);
+
+    /**
+     * Sets or removes the reorder point of a product, or its override in a warehouse.
+     *
+     * @param productId The UUID of the product
+     * @param warehouseId The UUID of the warehouse, null for the reorder point of the product
+     * @param reorderPoint The new reorder point, null to remove it
+     * @return The reorder point as set
+     */
+    ReorderPoint setReorderPoint(UUID productId, UUID warehouseId, Integer reorderPoint);
+
+    /**
+     * Fetches a page of the raised low-stock alerts, most urgent first.
+     *
+     * @param pageRequest The page to read, its sort is ignored
+     * @param warehouseId The UUID of the warehouse to filter by
+     * @param productId The UUID of the product to filter by
+     * @return A page of the raised alerts matching the filters
+     */
+    Page<LowStockAlert> fetchLowStockAlerts(PageRequest pageRequest, UUID warehouseId, UUID productId);
+
+    /**
+     * Subscribes to the quantity changes made through this node, optionally resuming after the last received one.
+     *
+     * @param warehouseId The UUID of the warehouse to filter by
+     * @param productId The UUID of the product to filter by
+     * @param lastEventId The id of the last change received before reconnecting, null for new changes only
+     * @param sink The receiver of the changes
+     * @return The subscription, to be cancelled once the sink is gone
+     */
+    InventoryChangeFeed.Subscription subscribe(UUID warehouseId, UUID productId, Long lastEventId, InventoryChangeSink sink);
 }
@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.feature.inventory.port.in;
+
+import com.stockassistant.server.domain.model.InventoryItem;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Interface defining the non-blocking use cases for inventory management.
+ * This interface represents the input port of the reactive stack, covering the inventory listing and the
+ * single-item quantity changes.
+ */
+public interface ReactiveInventoryUseCase {
+    /**
+     * Fetches a page of inventory items based on the provided criteria.
+     *
+     * @param pageRequest The pagination information, items are ordered by insertion
+     * @param countMode How the total is computed, none only tells whether more items follow
+     * @param warehouseId The UUID of the warehouse to filter by
+     * @param productId The UUID of the product to filter by
+     * @return A page, or a slice when no total is computed, of inventory items matching the criteria
+     */
+    Mono<Slice<InventoryItem>> fetch(PageRequest pageRequest, CountModeEnum countMode, UUID warehouseId, UUID productId);
+
+    /**
+     * Updates the quantity of a specific product in a warehouse.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @param quantity The new quantity of the product
+     * @return The updated inventory item, or an ObjectNotFoundException error if the item does not exist
+     */
+    Mono<InventoryItem> update(UUID warehouseId, UUID productId, int quantity);
+
+    /**
+     * Atomically adds a signed delta to the quantity of a specific product in a warehouse.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @param delta The quantity to add, negative to remove stock
+     * @return The adjusted inventory item, or an ObjectNotFoundException error if the item does not exist
+     * an InsufficientStockException error if the quantity would become negative and a StockLimitExceededException
+     * error if it would exceed the largest quantity an item can hold
+     */
+    Mono<InventoryItem> adjust(UUID warehouseId, UUID productId, int delta);
+}
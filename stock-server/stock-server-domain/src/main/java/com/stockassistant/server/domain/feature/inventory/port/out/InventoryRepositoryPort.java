@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.feature.inventory.port.out;
+
+import com.stockassistant.server.domain.model.CategoryValuation;
+import com.stockassistant.server.domain.model.InventoryChange;
+import com.stockassistant.server.domain.model.InventoryChangeResult;
+import com.stockassistant.server.domain.model.InventoryItem;
+import com.stockassistant.server.domain.model.ProductStockTotal;
+import com.stockassistant.server.domain.model.ReorderPoint;
+import com.stockassistant.server.domain.model.StockLevel;
+import com.stockassistant.server.domain.model.WarehouseUtilisation;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Interface defining the persistence operations for inventory items.
+ * This interface represents the output port for inventory-related operations in the domain layer.
+ */
+public interface InventoryRepositoryPort {
+    /**
+     * Retrieves a page of inventory items matching the given criteria.
+     *
+     * @param pageable The pagination and sorting information
+     * @param countMode How the total is computed, none only tells whether more items follow
+     * @param warehouseUUID The UUID of the warehouse to filter by
+     * @param productUUID The UUID of the product to filter by
+     * @return A page, or a slice when no total is computed, of inventory items matching the criteria
+     */
+    Slice<InventoryItem> findAll(Pageable pageable, CountModeEnum countMode, UUID warehouseUUID, UUID productUUID);
+
+    /**
+     * Retrieves the window of inventory items following the given keyset position, in insertion order.
+     *
+     * @param position The keyset position to continue from
+     * @param limit The maximum number of items in the window
+     * @param warehouseUUID The UUID of the warehouse to filter by
+     * @param productUUID The UUID of the product to filter by
+     * @return A window of inventory items matching the criteria
+     */
+    Window<InventoryItem> scroll(KeysetScrollPosition position, int limit, UUID warehouseUUID, UUID productUUID);
+
+    /**
+     * Counts the inventory items matching the given criteria.
+     *
+     * @param warehouseUUID The UUID of the warehouse to filter by
+     * @param productUUID The UUID of the product to filter by
+     * @return The number of matching inventory items
+     */
+    long count(UUID warehouseUUID, UUID productUUID);
+
+    /**
+     * Estimates the number of inventory items matching the given criteria from the query planner statistics.
+     *
+     * @param warehouseUUID The UUID of the warehouse to filter by
+     * @param productUUID The UUID of the product to filter by
+     * @return The estimated number of matching inventory items
+     */
+    long estimateCount(UUID warehouseUUID, UUID productUUID);
+
+    /**
+     * Saves an inventory item.
+     *
+     * @param item The inventory item to save
+     * @return The saved inventory item
+     */
+    InventoryItem save(InventoryItem item);
+
+    /**
+     * Updates the quantity of a specific product in a warehouse.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @param quantity The new quantity of the product
+     * @return The updated inventory item
+     */
+    InventoryItem update(UUID warehouseId, UUID productId, int quantity);
+
+    /**
+     * Atomically adds a signed delta to the quantity of a specific product in a warehouse.
+     * The non-negative guard is evaluated by the same statement that applies the change.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @param delta The quantity to add, negative to remove stock
+     * @return The adjusted inventory item
+     * @throws com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException if no item exists for the pair
+     * @throws com.stockassistant.server.domain.model.excpetion.InsufficientStockException if the quantity would become negative
+     * @throws com.stockassistant.server.domain.model.excpetion.StockLimitExceededException if the quantity would exceed the
+     *         largest quantity an item can hold
+     */
+    InventoryItem adjust(UUID warehouseId, UUID productId, int delta);
+
+    /**
+     * Applies a chunk of valid quantity changes in a single transaction.
+     * Changes on missing items or deltas that would make a quantity negative are reported, not thrown.
+     *
+     * @param changes The valid changes of the chunk, in order
+     * @return The outcome of each change, in the order of the changes
+     */
+    List<InventoryChangeResult> updateAll(List<InventoryChange> changes);
+
+    /**
+     * Applies absolute quantity changes in one transaction and returns the updated items.
+     *
+     * @param changes The absolute changes to apply, at most one per item
+     * @return The updated inventory items, items not found being left out
+     */
+    List<InventoryItem> updateItems(List<InventoryChange> changes);
+
+    /**
+     * Streams every inventory item matching the given criteria through a server-side cursor, ordered by id.
+     * The stream holds its own connection until it is closed.
+     *
+     * @param warehouseUUID The UUID of the warehouse to filter by
+     * @param productUUID The UUID of the product to filter by
+     * @return A stream of the matching inventory items
+     */
+    Stream<InventoryItem> stream(UUID warehouseUUID, UUID productUUID);
+
+    /**
+     * Streams the quantity of every inventory item through a server-side cursor, without loading the
+     * products and warehouses. The stream holds its own connection until it is closed.
+     *
+     * @return A stream of the stock levels, in no particular order
+     */
+    Stream<StockLevel> streamLevels();
+
+    /**
+     * Sums the quantity of each product across the warehouses, largest totals first.
+     *
+     * @param pageable The page to read, its sort is ignored
+     * @param warehouseUUID The UUID of the warehouse to restrict the sums to
+     * @param category The product category to filter by
+     * @return A page of the product totals
+     */
+    Page<ProductStockTotal> sumByProduct(Pageable pageable, UUID warehouseUUID, String category);
+
+    /**
+     * Sums the quantity held by each warehouse against its capacity, most utilised first.
+     *
+     * @param pageable The page to read, its sort is ignored
+     * @param warehouseUUID The UUID of the warehouse to filter by
+     * @param location The case-insensitive partial location to filter by
+     * @return A page of the warehouse utilisations
+     */
+    Page<WarehouseUtilisation> sumByWarehouse(Pageable pageable, UUID warehouseUUID, String location);
+
+    /**
+     * Sums the quantity and the value at the current prices of the stock of each product category.
+     *
+     * @param warehouseUUID The UUID of the warehouse to restrict the sums to
+     * @param category The product category to filter by
+     * @return The valuation of each category holding stock, ordered by category
+     */
+    List<CategoryValuation> sumValueByCategory(UUID warehouseUUID, String category);
+
+    /**
+     * Rewinds the quantities of inventory items to a point in time, from the stock ledger.
+     *
+     * @param items The inventory items, as currently stored
+     * @param asOf The point in time, inclusive
+     * @return The items in the same order, with the quantity held and the time of the last movement by then,
+     * a zero quantity for the items without recorded stock by then
+     */
+    List<InventoryItem> rewind(List<InventoryItem> items, LocalDateTime asOf);
+
+    /**
+     * Sets or removes the reorder point of a product, or its override in a warehouse.
+     *
+     * @param productId The UUID of the product
+     * @param warehouseId The UUID of the warehouse, null for the reorder point of the product
+     * @param reorderPoint The new reorder point, null to remove it
+     * @throws com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException if the product or inventory item is not found
+     */
+    void updateReorderPoint(UUID productId, UUID warehouseId, Integer reorderPoint);
+
+    /**
+     * Streams every reorder point set, of the products and of the inventory items, through server-side cursors.
+     * The stream holds its own connections until it is closed.
+     *
+     * @return A stream of the reorder points, those of the products first
+     */
+    Stream<ReorderPoint> streamReorderPoints();
+}
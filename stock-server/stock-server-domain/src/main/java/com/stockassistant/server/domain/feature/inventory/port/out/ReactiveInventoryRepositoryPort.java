@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.feature.inventory.port.out;
+
+import com.stockassistant.server.domain.model.InventoryItem;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Interface defining the non-blocking persistence operations for inventory items.
+ * This interface represents the output port of the reactive stack, the writes keep the same invariants as
+ * the ones of {@link InventoryRepositoryPort}: warehouse stock, stock ledger and outbox are written with the item.
+ */
+public interface ReactiveInventoryRepositoryPort {
+    /**
+     * Retrieves a page of inventory items matching the given criteria, in insertion order.
+     *
+     * @param pageable The pagination information
+     * @param countMode How the total is computed, none only tells whether more items follow
+     * @param warehouseUUID The UUID of the warehouse to filter by
+     * @param productUUID The UUID of the product to filter by
+     * @return A page, or a slice when no total is computed, of inventory items matching the criteria
+     */
+    Mono<Slice<InventoryItem>> findAll(Pageable pageable, CountModeEnum countMode, UUID warehouseUUID, UUID productUUID);
+
+    /**
+     * Sets the quantity of a specific product in a warehouse.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @param quantity The new quantity
+     * @return The updated inventory item, or an ObjectNotFoundException error if the item does not exist
+     */
+    Mono<InventoryItem> update(UUID warehouseId, UUID productId, int quantity);
+
+    /**
+     * Adds a signed delta to the quantity of a specific product in a warehouse, unless it would become negative.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @param delta The quantity to add, negative to remove stock
+     * @return The adjusted inventory item, or an ObjectNotFoundException error if the item does not exist
+     * an InsufficientStockException error if the quantity would become negative and a StockLimitExceededException
+     * error if it would exceed the largest quantity an item can hold
+     */
+    Mono<InventoryItem> adjust(UUID warehouseId, UUID productId, int delta);
+}
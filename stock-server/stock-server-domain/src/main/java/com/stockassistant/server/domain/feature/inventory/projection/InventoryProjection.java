@@ -0,0 +1,439 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.feature.inventory.projection;
+
+import com.stockassistant.server.domain.model.StockLevel;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Dense in-memory projection of the inventory quantities, answering stock totals and threshold
+ * queries without database access. Products and warehouses are mapped to int ids, the stock of each
+ * product is a sorted array of entries packing the warehouse id over the quantity, and running totals
+ * are kept by product and by warehouse, so no object is held per inventory item.
+ * Every entry keeps the stock version of its quantity: writes reach the projection after their commit,
+ * in any order, and a quantity older than the recorded one is ignored.
+ */
+@Component
+public class InventoryProjection {
+
+    /** The bits of an entry holding the quantity, the warehouse id being stored above */
+    private static final int QUANTITY_BITS = 32;
+    private static final long QUANTITY_MASK = (1L << QUANTITY_BITS) - 1;
+
+    /** The number of item stripes ordering the writes and their follow-up actions, a power of two */
+    private static final int STRIPES = 256;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** The locks serializing the writes of an item with their follow-up actions, an item always mapping to the same stripe */
+    private final Lock[] stripes = new Lock[STRIPES];
+
+    /** The current content of the projection, replaced as a whole on rebuild */
+    private State state = new State();
+
+    /** The writes recorded while a rebuild loads, replayed onto the loaded content, null outside rebuilds */
+    private List<StockLevel> recordedDuringRebuild;
+
+    public InventoryProjection() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Replaces the content of the projection with the stock levels of the database.
+     * The new content is built aside, reads are served by the previous content meanwhile. Writes recorded
+     * from before the levels are read until the new content is in place are replayed onto it, their
+     * versions telling whether the levels already hold them.
+     *
+     * @param levels Opens a stream of every inventory item, in any order
+     */
+    public synchronized void rebuild(Supplier<Stream<StockLevel>> levels) {
+        lock.writeLock().lock();
+        try {
+            recordedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        State loaded = new State();
+        try (Stream<StockLevel> stream = levels.get()) {
+            stream.forEach(loaded::append);
+            loaded.sort();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                recordedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            recordedDuringRebuild.forEach(level -> loaded.set(level.warehouseId(), level.productId(),
+                    level.quantity(), level.stockVersion()));
+            recordedDuringRebuild = null;
+            state = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records the quantity of a product in a warehouse as stored by a write, unless the projection holds a
+     * later write of the item. A recorded quantity is followed by the given action before any later write
+     * of the item is recorded, so the actions of an item see its quantities in commit order.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @param quantity The quantity now held
+     * @param stockVersion The stock version of the item once written
+     * @param onRecorded The action to run once the quantity is recorded
+     * @return true if the quantity was recorded, false if it was stale
+     */
+    public boolean set(UUID warehouseId, UUID productId, int quantity, long stockVersion, Runnable onRecorded) {
+        int hash = warehouseId.hashCode() * 31 + productId.hashCode();
+        Lock stripe = stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+        stripe.lock();
+        try {
+            boolean recorded;
+            lock.writeLock().lock();
+            try {
+                recorded = state.set(warehouseId, productId, quantity, stockVersion);
+                if (Objects.nonNull(recordedDuringRebuild)) {
+                    recordedDuringRebuild.add(new StockLevel(warehouseId, productId, quantity, stockVersion));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (recorded) {
+                onRecorded.run();
+            }
+            return recorded;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Returns the quantity of a product held across all warehouses.
+     *
+     * @param productId The UUID of the product
+     * @return The total quantity, 0 if the product is not stocked
+     */
+    public long totalQuantity(UUID productId) {
+        lock.readLock().lock();
+        try {
+            int product = state.products.find(productId);
+            return product < 0 ? 0 : state.productTotals[product];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the quantity of all products held in a warehouse.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @return The total quantity, 0 if the warehouse holds no inventory item
+     */
+    public long warehouseQuantity(UUID warehouseId) {
+        lock.readLock().lock();
+        try {
+            int warehouse = state.warehouses.find(warehouseId);
+            return warehouse < 0 ? 0 : state.warehouseTotals[warehouse];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the quantity of a product held in a warehouse.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @return The quantity, empty if the warehouse has no inventory item for the product
+     */
+    public OptionalInt quantity(UUID warehouseId, UUID productId) {
+        lock.readLock().lock();
+        try {
+            int product = state.products.find(productId);
+            int warehouse = state.warehouses.find(warehouseId);
+            if (product < 0 || warehouse < 0) {
+                return OptionalInt.empty();
+            }
+            int index = state.indexOf(product, warehouse);
+            return index < 0 ? OptionalInt.empty() : OptionalInt.of(quantityOf(state.entries[product][index]));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the stock levels of a product in the warehouses holding it, optionally only those below a threshold.
+     *
+     * @param productId The UUID of the product
+     * @param below The exclusive quantity threshold, null for every warehouse
+     * @return The stock levels, by ascending warehouse id
+     */
+    public List<StockLevel> findLevels(UUID productId, Integer below) {
+        lock.readLock().lock();
+        try {
+            int product = state.products.find(productId);
+            if (product < 0) {
+                return List.of();
+            }
+            long[] entries = state.entries[product];
+            long[] versions = state.versions[product];
+            List<StockLevel> levels = new ArrayList<>();
+            for (int i = 0; i < state.sizes[product]; i++) {
+                int quantity = quantityOf(entries[i]);
+                if (Objects.isNull(below) || quantity < below) {
+                    levels.add(new StockLevel(state.warehouses.uuid(warehouseOf(entries[i])), productId, quantity, versions[i]));
+                }
+            }
+            return levels;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long pack(int warehouse, int quantity) {
+        return (long) warehouse << QUANTITY_BITS | (quantity & QUANTITY_MASK);
+    }
+
+    private static int warehouseOf(long entry) {
+        return (int) (entry >>> QUANTITY_BITS);
+    }
+
+    private static int quantityOf(long entry) {
+        return (int) (entry & QUANTITY_MASK);
+    }
+
+    /**
+     * The content of the projection. Entries of a product are sorted by warehouse id once loaded,
+     * so the entry of a warehouse is found by binary search, the stock version of an entry being
+     * stored at the same index.
+     */
+    private static final class State {
+        private final UuidIndex products = new UuidIndex();
+        private final UuidIndex warehouses = new UuidIndex();
+
+        /** The entries of every product, by product id */
+        private long[][] entries = new long[16][];
+
+        /** The stock versions of the entries of every product, by product id */
+        private long[][] versions = new long[16][];
+
+        /** The number of entries of every product, by product id */
+        private int[] sizes = new int[16];
+
+        /** The quantity held of every product, by product id */
+        private long[] productTotals = new long[16];
+
+        /** The quantity held by every warehouse, by warehouse id */
+        private long[] warehouseTotals = new long[16];
+
+        private void append(StockLevel level) {
+            int product = addProduct(level.productId());
+            int warehouse = addWarehouse(level.warehouseId());
+            insert(product, sizes[product], pack(warehouse, level.quantity()), level.stockVersion());
+            productTotals[product] += level.quantity();
+            warehouseTotals[warehouse] += level.quantity();
+        }
+
+        /**
+         * Sorts the entries of every product by warehouse id, moving their versions along: the keys pack the
+         * warehouse id over the index of the entry, so the sorted keys tell where each entry comes from.
+         */
+        private void sort() {
+            for (int product = 0; product < products.size; product++) {
+                int size = sizes[product];
+                long[] keys = new long[size];
+                for (int i = 0; i < size; i++) {
+                    keys[i] = (long) warehouseOf(entries[product][i]) << QUANTITY_BITS | i;
+                }
+                Arrays.sort(keys);
+                long[] sortedEntries = new long[entries[product].length];
+                long[] sortedVersions = new long[entries[product].length];
+                for (int i = 0; i < size; i++) {
+                    int from = (int) (keys[i] & QUANTITY_MASK);
+                    sortedEntries[i] = entries[product][from];
+                    sortedVersions[i] = versions[product][from];
+                }
+                entries[product] = sortedEntries;
+                versions[product] = sortedVersions;
+            }
+        }
+
+        private boolean set(UUID warehouseId, UUID productId, int quantity, long stockVersion) {
+            int product = addProduct(productId);
+            int warehouse = addWarehouse(warehouseId);
+            int index = indexOf(product, warehouse);
+            int previous = 0;
+            if (index >= 0) {
+                if (versions[product][index] >= stockVersion) {
+                    return false;
+                }
+                previous = quantityOf(entries[product][index]);
+                entries[product][index] = pack(warehouse, quantity);
+                versions[product][index] = stockVersion;
+            } else {
+                insert(product, -index - 1, pack(warehouse, quantity), stockVersion);
+            }
+            productTotals[product] += quantity - previous;
+            warehouseTotals[warehouse] += quantity - previous;
+            return true;
+        }
+
+        /**
+         * @return The index of the entry of the warehouse, or (-(insertion point) - 1) if the product has none
+         */
+        private int indexOf(int product, int warehouse) {
+            int index = Arrays.binarySearch(entries[product], 0, sizes[product], pack(warehouse, 0));
+            if (index >= 0) {
+                return index;
+            }
+            int insertion = -index - 1;
+            return insertion < sizes[product] && warehouseOf(entries[product][insertion]) == warehouse ? insertion : index;
+        }
+
+        private void insert(int product, int index, long entry, long stockVersion) {
+            long[] productEntries = entries[product];
+            long[] productVersions = versions[product];
+            int size = sizes[product];
+            if (size == productEntries.length) {
+                productEntries = Arrays.copyOf(productEntries, size * 2);
+                productVersions = Arrays.copyOf(productVersions, size * 2);
+                entries[product] = productEntries;
+                versions[product] = productVersions;
+            }
+            System.arraycopy(productEntries, index, productEntries, index + 1, size - index);
+            System.arraycopy(productVersions, index, productVersions, index + 1, size - index);
+            productEntries[index] = entry;
+            productVersions[index] = stockVersion;
+            sizes[product] = size + 1;
+        }
+
+        private int addProduct(UUID productId) {
+            int product = products.add(productId);
+            if (product == entries.length) {
+                int capacity = product * 2;
+                entries = Arrays.copyOf(entries, capacity);
+                versions = Arrays.copyOf(versions, capacity);
+                sizes = Arrays.copyOf(sizes, capacity);
+                productTotals = Arrays.copyOf(productTotals, capacity);
+            }
+            if (Objects.isNull(entries[product])) {
+                entries[product] = new long[2];
+                versions[product] = new long[2];
+            }
+            return product;
+        }
+
+        private int addWarehouse(UUID warehouseId) {
+            int warehouse = warehouses.add(warehouseId);
+            if (warehouse == warehouseTotals.length) {
+                warehouseTotals = Arrays.copyOf(warehouseTotals, warehouse * 2);
+            }
+            return warehouse;
+        }
+    }
+
+    /**
+     * Open addressing map of UUIDs to dense int ids, storing the UUIDs as primitive long pairs.
+     */
+    private static final class UuidIndex {
+        private static final int EMPTY = -1;
+
+        /** The id in every slot, EMPTY if the slot is free */
+        private int[] slots = newSlots(16);
+
+        /** The most and least significant bits of every UUID, by id */
+        private long[] mostBits = new long[16];
+        private long[] leastBits = new long[16];
+        private int size;
+
+        private int find(UUID uuid) {
+            long most = uuid.getMostSignificantBits();
+            long least = uuid.getLeastSignificantBits();
+            int mask = slots.length - 1;
+            for (int slot = hash(most, least) & mask; ; slot = (slot + 1) & mask) {
+                int id = slots[slot];
+                if (id == EMPTY || (mostBits[id] == most && leastBits[id] == least)) {
+                    return id;
+                }
+            }
+        }
+
+        private int add(UUID uuid) {
+            int id = find(uuid);
+            if (id != EMPTY) {
+                return id;
+            }
+            if (size == mostBits.length) {
+                mostBits = Arrays.copyOf(mostBits, size * 2);
+                leastBits = Arrays.copyOf(leastBits, size * 2);
+            }
+            mostBits[size] = uuid.getMostSignificantBits();
+            leastBits[size] = uuid.getLeastSignificantBits();
+            // Keeps the load factor at or below one half
+            if ((size + 1) * 2 > slots.length) {
+                slots = newSlots(slots.length * 2);
+                for (int existing = 0; existing < size; existing++) {
+                    place(existing);
+                }
+            }
+            place(size);
+            return size++;
+        }
+
+        private UUID uuid(int id) {
+            return new UUID(mostBits[id], leastBits[id]);
+        }
+
+        private void place(int id) {
+            int mask = slots.length - 1;
+            int slot = hash(mostBits[id], leastBits[id]) & mask;
+            while (slots[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id;
+        }
+
+        private static int hash(long most, long least) {
+            long mixed = (most ^ least) * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32));
+        }
+
+        private static int[] newSlots(int capacity) {
+            int[] slots = new int[capacity];
+            Arrays.fill(slots, EMPTY);
+            return slots;
+        }
+    }
+}
@@ -14,15 +14,34 @@ package com.stockassistant.server.domain.feature.product;
 
 import com.stockassistant.server.domain.feature.product.port.in.ProductUseCase;
 import com.stockassistant.server.domain.feature.product.port.out.ProductRepositoryPort;
+import com.stockassistant.server.domain.feature.product.search.ProductSearchIndex;
 import com.stockassistant.server.domain.model.Product;
 import com.stockassistant.server.domain.model.ProductFilter;
+import com.stockassistant.server.domain.model.ProductImportReject;
+import com.stockassistant.server.domain.model.ProductImportReport;
+import com.stockassistant.server.domain.model.ProductImportRow;
 import com.stockassistant.server.domain.model.ProductRequest;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
+import com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for handling product-related business logic.
@@ -31,19 +50,85 @@ import java.util.UUID;
  */
 @Service
 @RequiredArgsConstructor
-public class ProductService implements ProductUseCase {
+public class ProductService implements ProductUseCase, SmartInitializingSingleton {
+    /** The pattern of a valid stock keeping unit */
+    private static final Pattern SKU_PATTERN = Pattern.compile("^[A-Z0-9-]{5,20}$");
+
+    /** The exclusive upper bound of a price, stored with 8 integer digits */
+    private static final float MAX_PRICE = 100_000_000f;
+
     /** The repository port for product persistence operations */
     private final ProductRepositoryPort productRepositoryPort;
 
+    /** The in-memory full-text index of the products */
+    private final ProductSearchIndex productSearchIndex;
+
+    /** The maximum number of rejected rows detailed in an import report */
+    @Value("${stock.product.import.max-reported-rejects:1000}")
+    private int maxReportedRejects;
+
     /**
      * Fetches a page of products based on the provided filter criteria.
      *
      * @param productFilter The filter criteria for the product search
-     * @return A page of products matching the filter criteria
+     * @param countMode How the total is computed, none only tells whether more items follow
+     * @return A page, or a slice when no total is computed, of products matching the filter criteria
+     */
+    @Override
+    public Slice<Product> fetch(ProductFilter productFilter, CountModeEnum countMode) {
+        return productRepositoryPort.findAll(productFilter, countMode);
+    }
+
+    /**
+     * Fetches the window of products following the given keyset position.
+     *
+     * @param productFilter The filter criteria for the product search
+     * @param position The keyset position to continue from
+     * @return A window of products matching the filter criteria
+     */
+    @Override
+    public Window<Product> scroll(ProductFilter productFilter, KeysetScrollPosition position) {
+        return productRepositoryPort.scroll(productFilter, position);
+    }
+
+    /**
+     * Counts the products matching the given filter criteria.
+     *
+     * @param productFilter The filter criteria for the product search
+     * @param countMode Whether the total is counted or estimated by the query planner
+     * @return The number of matching products
+     */
+    @Override
+    public long count(ProductFilter productFilter, CountModeEnum countMode) {
+        return countMode == CountModeEnum.ESTIMATED
+                ? productRepositoryPort.estimateCount(productFilter)
+                : productRepositoryPort.count(productFilter);
+    }
+
+    /**
+     * Retrieves a product by its UUID.
+     *
+     * @param id The UUID of the product
+     * @return The product
+     * @throws ObjectNotFoundException if the product does not exist
+     */
+    @Override
+    public Product get(UUID id) {
+        return productRepositoryPort.findById(id)
+                .orElseThrow(ObjectNotFoundException::new);
+    }
+
+    /**
+     * Retrieves a product by its SKU.
+     *
+     * @param sku The SKU of the product
+     * @return The product
+     * @throws ObjectNotFoundException if the product does not exist
      */
     @Override
-    public Page<Product> fetch(ProductFilter productFilter) {
-        return productRepositoryPort.findAll(productFilter);
+    public Product getBySku(String sku) {
+        return productRepositoryPort.findBySku(sku)
+                .orElseThrow(ObjectNotFoundException::new);
     }
 
     /**
@@ -54,7 +139,9 @@ public class ProductService implements ProductUseCase {
      */
     @Override
     public Product create(ProductRequest productRequest) {
-        return productRepositoryPort.save(productRequest);
+        Product product = productRepositoryPort.save(productRequest);
+        productSearchIndex.index(product);
+        return product;
     }
 
     /**
@@ -66,7 +153,9 @@ public class ProductService implements ProductUseCase {
      */
     @Override
     public Product update(UUID id, ProductRequest productRequest) {
-        return productRepositoryPort.update(id, productRequest);
+        Product product = productRepositoryPort.update(id, productRequest);
+        productSearchIndex.index(product);
+        return product;
     }
 
     /**
@@ -77,5 +166,107 @@ public class ProductService implements ProductUseCase {
     @Override
     public void delete(UUID id) {
         productRepositoryPort.deleteById(id);
+        productSearchIndex.remove(id);
+    }
+
+    /**
+     * Imports a stream of product rows, upserting the valid ones on their SKU.
+     * Rows are validated as they are streamed to the repository, so only the first rejects
+     * are retained in memory whatever the size of the file. The upserted products are indexed once the
+     * import is committed, so a failed import leaves the search index untouched.
+     *
+     * @param rows The rows read from the import file
+     * @return The import report with the created, updated and rejected counts
+     */
+    @Override
+    public ProductImportReport importProducts(Stream<ProductImportRow> rows) {
+        AtomicLong received = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        List<ProductImportReject> rejects = new ArrayList<>();
+        List<Product> upserted = new ArrayList<>();
+        ProductImportReport report = productRepositoryPort.importAll(rows
+                .filter(row -> {
+                    received.incrementAndGet();
+                    String reason = Objects.nonNull(row.error()) ? row.error() : validate(row.product());
+                    if (Objects.isNull(reason)) {
+                        return true;
+                    }
+                    if (rejected.getAndIncrement() < maxReportedRejects) {
+                        rejects.add(new ProductImportReject(row.line(), reason));
+                    }
+                    return false;
+                })
+                .map(ProductImportRow::product), upserted::add);
+        upserted.forEach(productSearchIndex::index);
+        return report.toBuilder()
+                .received(received.get())
+                .rejected(rejected.get())
+                .rejects(rejects)
+                .build();
+    }
+
+    /**
+     * Streams every product, ordered by id.
+     *
+     * @return A stream of all products, to be closed by the caller
+     */
+    @Override
+    public Stream<Product> export() {
+        return productRepositoryPort.stream();
+    }
+
+    /**
+     * Searches the products matching a free-text query over their name, description and SKU.
+     * The index ranks the matches, the products are then loaded in a single query.
+     *
+     * @param query The free-text query
+     * @param limit The maximum number of results
+     * @return The best matching products, best first
+     */
+    @Override
+    public List<Product> search(String query, int limit) {
+        List<UUID> uuids = productSearchIndex.search(query, limit);
+        Map<UUID, Product> products = productRepositoryPort.findAllByUuid(uuids).stream()
+                .collect(Collectors.toMap(Product::uuid, Function.identity()));
+        return uuids.stream()
+                .map(products::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Loads the search index from the catalogue once every singleton is created.
+     * This runs before the web server starts, so no search is served by an empty index.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try (Stream<Product> products = productRepositoryPort.stream()) {
+            productSearchIndex.rebuild(products);
+        }
+    }
+
+    /**
+     * Validates an imported product against the constraints of the product creation request.
+     *
+     * @param product The imported product
+     * @return The reason the product is invalid, null if it is valid
+     */
+    private String validate(ProductRequest product) {
+        if (Objects.isNull(product.sku()) || !SKU_PATTERN.matcher(product.sku()).matches()) {
+            return "sku must match " + SKU_PATTERN.pattern();
+        }
+        if (Objects.isNull(product.name()) || product.name().length() < 2 || product.name().length() > 100) {
+            return "name must be between 2 and 100 characters";
+        }
+        if (Objects.nonNull(product.description()) && product.description().length() > 500) {
+            return "description must be at most 500 characters";
+        }
+        if (Objects.isNull(product.price()) || product.price() < 0 || product.price() >= MAX_PRICE) {
+            return "price is required and must be between 0 and " + (long) MAX_PRICE + " excluded";
+        }
+        if (Objects.isNull(product.category())) {
+            return "category is required";
+        }
+        return null;
     }
 }
@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.feature.product;
+
+import com.stockassistant.server.domain.feature.product.port.in.ReactiveProductUseCase;
+import com.stockassistant.server.domain.feature.product.port.out.ReactiveProductRepositoryPort;
+import com.stockassistant.server.domain.model.Product;
+import com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Service class for handling the product lookups of the reactive stack.
+ * This service implements the ReactiveProductUseCase interface, it is only created by the reactive profile.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveProductService implements ReactiveProductUseCase {
+
+    /** The reactive repository port for product persistence operations */
+    private final ReactiveProductRepositoryPort reactiveProductRepositoryPort;
+
+    /**
+     * Retrieves a product by its UUID.
+     *
+     * @param id The UUID of the product
+     * @return The product, or an ObjectNotFoundException error if the product does not exist
+     */
+    @Override
+    public Mono<Product> get(UUID id) {
+        return reactiveProductRepositoryPort.findById(id)
+                .switchIfEmpty(Mono.error(ObjectNotFoundException::new));
+    }
+
+    /**
+     * Retrieves a product by its SKU.
+     *
+     * @param sku The SKU of the product
+     * @return The product, or an ObjectNotFoundException error if the product does not exist
+     */
+    @Override
+    public Mono<Product> getBySku(String sku) {
+        return reactiveProductRepositoryPort.findBySku(sku)
+                .switchIfEmpty(Mono.error(ObjectNotFoundException::new));
+    }
+}
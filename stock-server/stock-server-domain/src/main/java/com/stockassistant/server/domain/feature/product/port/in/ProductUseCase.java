@@ -14,11 +14,18 @@ package com.stockassistant.server.domain.feature.product.port.in;
 
 import com.stockassistant.server.domain.model.Product;
 import com.stockassistant.server.domain.model.ProductFilter;
+import com.stockassistant.server.domain.model.ProductImportReport;
+import com.stockassistant.server.domain.model.ProductImportRow;
 import com.stockassistant.server.domain.model.ProductRequest;
-import org.springframework.data.domain.Page;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Interface defining the use cases for product management.
@@ -29,9 +36,46 @@ public interface ProductUseCase {
      * Fetches a page of products based on the provided filter criteria.
      *
      * @param productFilter The filter criteria for the product search
-     * @return A page of products matching the filter criteria
+     * @param countMode How the total is computed, none only tells whether more items follow
+     * @return A page, or a slice when no total is computed, of products matching the filter criteria
      */
-    Page<Product> fetch(ProductFilter productFilter);
+    Slice<Product> fetch(ProductFilter productFilter, CountModeEnum countMode);
+
+    /**
+     * Fetches the window of products following the given keyset position.
+     *
+     * @param productFilter The filter criteria for the product search
+     * @param position The keyset position to continue from
+     * @return A window of products matching the filter criteria
+     */
+    Window<Product> scroll(ProductFilter productFilter, KeysetScrollPosition position);
+
+    /**
+     * Counts the products matching the given filter criteria.
+     *
+     * @param productFilter The filter criteria for the product search
+     * @param countMode Whether the total is counted or estimated by the query planner
+     * @return The number of matching products
+     */
+    long count(ProductFilter productFilter, CountModeEnum countMode);
+
+    /**
+     * Retrieves a product by its UUID.
+     *
+     * @param id The UUID of the product
+     * @return The product
+     * @throws com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException if the product does not exist
+     */
+    Product get(UUID id);
+
+    /**
+     * Retrieves a product by its SKU.
+     *
+     * @param sku The SKU of the product
+     * @return The product
+     * @throws com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException if the product does not exist
+     */
+    Product getBySku(String sku);
 
     /**
      * Creates a new product based on the provided request.
@@ -56,4 +100,31 @@ public interface ProductUseCase {
      * @param id The UUID of the product to delete
      */
     void delete(UUID id);
+
+    /**
+     * Imports a stream of product rows, upserting the valid ones on their SKU.
+     * The rows are consumed once, in order, so the stream may be backed by the uploaded file.
+     *
+     * @param rows The rows read from the import file
+     * @return The import report with the created, updated and rejected counts
+     */
+    ProductImportReport importProducts(Stream<ProductImportRow> rows);
+
+    /**
+     * Streams every product, ordered by id.
+     * The stream holds a database cursor and must be closed by the caller.
+     *
+     * @return A stream of all products
+     */
+    Stream<Product> export();
+
+    /**
+     * Searches the products matching a free-text query over their name, description and SKU.
+     * Misspelled terms match the indexed terms within a small edit distance.
+     *
+     * @param query The free-text query
+     * @param limit The maximum number of results
+     * @return The best matching products, best first
+     */
+    List<Product> search(String query, int limit);
 }
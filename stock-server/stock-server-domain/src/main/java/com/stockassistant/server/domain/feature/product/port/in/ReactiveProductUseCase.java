@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.feature.product.port.in;
+
+import com.stockassistant.server.domain.model.Product;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Interface defining the non-blocking use cases for product management.
+ * This interface represents the input port of the reactive stack, covering the product lookups.
+ */
+public interface ReactiveProductUseCase {
+    /**
+     * Retrieves a product by its UUID.
+     *
+     * @param id The UUID of the product
+     * @return The product, or an ObjectNotFoundException error if the product does not exist
+     */
+    Mono<Product> get(UUID id);
+
+    /**
+     * Retrieves a product by its SKU.
+     *
+     * @param sku The SKU of the product
+     * @return The product, or an ObjectNotFoundException error if the product does not exist
+     */
+    Mono<Product> getBySku(String sku);
+}
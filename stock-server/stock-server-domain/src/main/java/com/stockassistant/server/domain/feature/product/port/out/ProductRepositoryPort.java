@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.feature.product.port.out;
+
+import com.stockassistant.server.domain.model.Product;
+import com.stockassistant.server.domain.model.ProductFilter;
+import com.stockassistant.server.domain.model.ProductImportReport;
+import com.stockassistant.server.domain.model.ProductRequest;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Interface defining the persistence operations for products.
+ * This interface represents the output port for product-related operations in the domain layer.
+ */
+public interface ProductRepositoryPort {
+    /**
+     * Retrieves all products matching the given filter criteria.
+     *
+     * @param productFilter The filter criteria for the product search
+     * @param countMode How the total is computed, none only tells whether more items follow
+     * @return A page, or a slice when no total is computed, of products matching the filter criteria
+     */
+    Slice<Product> findAll(ProductFilter productFilter, CountModeEnum countMode);
+
+    /**
+     * Retrieves the window of products following the given keyset position.
+     * The sort and window size are taken from the filter's page request, the page number is ignored.
+     *
+     * @param productFilter The filter criteria for the product search
+     * @param position The keyset position to continue from
+     * @return A window of products matching the filter criteria
+     */
+    Window<Product> scroll(ProductFilter productFilter, KeysetScrollPosition position);
+
+    /**
+     * Counts the products matching the given filter criteria.
+     *
+     * @param productFilter The filter criteria for the product search
+     * @return The number of matching products
+     */
+    long count(ProductFilter productFilter);
+
+    /**
+     * Estimates the number of products matching the given filter criteria from the query planner statistics.
+     *
+     * @param productFilter The filter criteria for the product search
+     * @return The estimated number of matching products
+     */
+    long estimateCount(ProductFilter productFilter);
+
+    /**
+     * Retrieves a product by its UUID.
+     *
+     * @param id The UUID of the product
+     * @return The product if it exists
+     */
+    Optional<Product> findById(UUID id);
+
+    /**
+     * Retrieves a product by its SKU.
+     *
+     * @param sku The SKU of the product
+     * @return The product if it exists
+     */
+    Optional<Product> findBySku(String sku);
+
+    /**
+     * Saves a new product based on the provided request.
+     *
+     * @param productRequest The request containing product details
+     * @return The saved product
+     */
+    Product save(ProductRequest productRequest);
+
+    /**
+     * Updates an existing product with the specified ID.
+     *
+     * @param id The UUID of the product to update
+     * @param productRequest The request containing updated product details
+     * @return The updated product
+     */
+    Product update(UUID id, ProductRequest productRequest);
+
+    /**
+     * Deletes a product with the specified ID.
+     *
+     * @param id The UUID of the product to delete
+     */
+    void deleteById(UUID id);
+
+    /**
+     * Upserts a stream of valid products on their SKU in a single transaction.
+     * When the stream holds the same SKU more than once, the last occurrence wins.
+     *
+     * @param products The products to create or update
+     * @param upserted Receives every created or updated product, before the transaction commits
+     * @return A report holding the created and updated counts
+     */
+    ProductImportReport importAll(Stream<ProductRequest> products, Consumer<Product> upserted);
+
+    /**
+     * Streams every product through a server-side cursor, ordered by id.
+     * The stream holds its own connection until it is closed.
+     *
+     * @return A stream of all products
+     */
+    Stream<Product> stream();
+
+    /**
+     * Retrieves the products with the given UUIDs, in no particular order.
+     *
+     * @param uuids The UUIDs of the products
+     * @return The products found
+     */
+    List<Product> findAllByUuid(Collection<UUID> uuids);
+}
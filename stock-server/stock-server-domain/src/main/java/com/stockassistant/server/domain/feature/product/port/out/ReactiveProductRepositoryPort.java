@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.feature.product.port.out;
+
+import com.stockassistant.server.domain.model.Product;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Interface defining the non-blocking persistence operations for products.
+ * This interface represents the output port of the reactive stack for product lookups.
+ */
+public interface ReactiveProductRepositoryPort {
+    /**
+     * Finds a product by its UUID.
+     *
+     * @param id The UUID of the product
+     * @return The product if found, empty otherwise
+     */
+    Mono<Product> findById(UUID id);
+
+    /**
+     * Finds a product by its SKU.
+     *
+     * @param sku The SKU of the product
+     * @return The product if found, empty otherwise
+     */
+    Mono<Product> findBySku(String sku);
+}
@@ -0,0 +1,482 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.feature.product.search;
+
+import com.stockassistant.server.domain.model.Product;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over the name, description and SKU of the products.
+ * Query tokens match indexed terms exactly, by prefix, or within a small edit distance found through
+ * a trigram index of the terms. Matching products are ranked by field weight, match quality and
+ * term rarity.
+ */
+@Component
+public class ProductSearchIndex {
+
+    /** The field codes stored in the low bits of a posting */
+    private static final int FIELD_DESCRIPTION = 0;
+    private static final int FIELD_NAME = 1;
+    private static final int FIELD_SKU = 2;
+    private static final int FIELD_BITS = 2;
+    private static final int FIELD_MASK = (1 << FIELD_BITS) - 1;
+
+    /** The weight of a match in each field, indexed by field code */
+    private static final float[] FIELD_WEIGHTS = {1f, 2f, 3f};
+
+    /** The quality of a prefix match, an exact match being 1 */
+    private static final float PREFIX_QUALITY = 0.8f;
+
+    /** The maximum number of terms a query token expands to by prefix */
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    /**
+     * The relative cost of looking up a document in a posting list rather than scanning one posting.
+     * Tokens matching more postings than this many times the documents already matched only score those documents.
+     */
+    private static final int PROBE_COST = 32;
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    /** The score arrays of every searching thread, reused across queries to keep lookups allocation free */
+    private static final ThreadLocal<Accumulator> ACCUMULATOR = ThreadLocal.withInitial(Accumulator::new);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** The id of every indexed term, sorted for prefix lookups */
+    private final NavigableMap<String, Integer> termIds = new TreeMap<>();
+
+    /** The indexed terms, by term id */
+    private final List<String> terms = new ArrayList<>();
+
+    /** The postings of every term, by term id, each posting being the document id shifted over the field code */
+    private final List<IntList> postings = new ArrayList<>();
+
+    /** The ids of the terms holding every trigram */
+    private final Map<String, IntList> trigrams = new HashMap<>();
+
+    /** The document id of every indexed product */
+    private final Map<UUID, Integer> documentIds = new HashMap<>();
+
+    /** The product UUIDs, by document id */
+    private final List<UUID> documents = new ArrayList<>();
+
+    /** The document ids of the removed or replaced products */
+    private final BitSet removed = new BitSet();
+
+    /** The number of removed document ids, compacted away once they outnumber the live documents */
+    private int removedCount;
+
+    /**
+     * Replaces the content of the index with the given products.
+     *
+     * @param products All the products of the catalogue
+     */
+    public void rebuild(Stream<Product> products) {
+        lock.writeLock().lock();
+        try {
+            termIds.clear();
+            terms.clear();
+            postings.clear();
+            trigrams.clear();
+            documentIds.clear();
+            documents.clear();
+            removed.clear();
+            removedCount = 0;
+            products.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a created or updated product, replacing its previous version.
+     *
+     * @param product The product to index
+     */
+    public void index(Product product) {
+        lock.writeLock().lock();
+        try {
+            delete(product.uuid());
+            add(product);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a product from the index.
+     *
+     * @param uuid The UUID of the product to remove
+     */
+    public void remove(UUID uuid) {
+        lock.writeLock().lock();
+        try {
+            delete(uuid);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the products matching the given free-text query.
+     *
+     * @param query The free-text query, may contain typos
+     * @param limit The maximum number of results
+     * @return The UUIDs of the best matching products, best first
+     */
+    public List<UUID> search(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            double liveDocuments = Math.max(1, documentIds.size());
+            Accumulator accumulator = ACCUMULATOR.get().reset(documents.size(), terms.size());
+            List<Map<Integer, Float>> tokenMatches = new HashSet<>(tokenize(query)).stream()
+                    .map(token -> matchTerms(token, accumulator))
+                    .sorted(Comparator.comparingLong(this::postingCount))
+                    .toList();
+            for (Map<Integer, Float> matches : tokenMatches) {
+                boolean probe = accumulator.matched.size >= limit
+                        && (long) accumulator.matched.size * PROBE_COST < postingCount(matches);
+                matches.forEach((termId, quality) -> {
+                    IntList termPostings = postings.get(termId);
+                    float score = quality * (float) Math.log(1 + liveDocuments / termPostings.size);
+                    if (probe) {
+                        probePostings(termPostings, score, accumulator);
+                    } else {
+                        scanPostings(termPostings, score, accumulator);
+                    }
+                });
+                accumulator.endToken();
+            }
+            return accumulator.top(limit).stream().map(documents::get).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Scores every live document of a posting list.
+     */
+    private void scanPostings(IntList termPostings, float score, Accumulator accumulator) {
+        for (int i = 0; i < termPostings.size; i++) {
+            int posting = termPostings.values[i];
+            int document = posting >>> FIELD_BITS;
+            if (!removed.get(document)) {
+                accumulator.match(document, score * FIELD_WEIGHTS[posting & FIELD_MASK]);
+            }
+        }
+    }
+
+    /**
+     * Scores the documents already matched by the rarer tokens of the query, looking them up in a
+     * posting list far longer than the current matches. Postings are sorted, documents being appended.
+     */
+    private static void probePostings(IntList termPostings, float score, Accumulator accumulator) {
+        for (int i = 0; i < accumulator.matched.size; i++) {
+            int document = accumulator.matched.values[i];
+            int position = Arrays.binarySearch(termPostings.values, 0, termPostings.size, document << FIELD_BITS);
+            for (int j = position < 0 ? -position - 1 : position;
+                 j < termPostings.size && termPostings.values[j] >>> FIELD_BITS == document; j++) {
+                accumulator.match(document, score * FIELD_WEIGHTS[termPostings.values[j] & FIELD_MASK]);
+            }
+        }
+    }
+
+    private long postingCount(Map<Integer, Float> matches) {
+        long count = 0;
+        for (int termId : matches.keySet()) {
+            count += postings.get(termId).size;
+        }
+        return count;
+    }
+
+    /**
+     * Finds the indexed terms matching a query token and the quality of each match.
+     */
+    private Map<Integer, Float> matchTerms(String token, Accumulator accumulator) {
+        Map<Integer, Float> matches = new HashMap<>();
+        Integer exact = termIds.get(token);
+        if (Objects.nonNull(exact)) {
+            matches.put(exact, 1f);
+        }
+        if (token.length() >= 3) {
+            termIds.subMap(token, false, token + Character.MAX_VALUE, false).values().stream()
+                    .limit(MAX_PREFIX_EXPANSIONS)
+                    .forEach(termId -> matches.merge(termId, PREFIX_QUALITY, Math::max));
+        }
+        int maxEdits = token.length() < 4 ? 0 : token.length() < 8 ? 1 : 2;
+        if (maxEdits > 0) {
+            Set<String> tokenTrigrams = trigrams(token);
+            int[] shared = accumulator.sharedTrigrams;
+            IntList candidates = accumulator.candidates;
+            for (String trigram : tokenTrigrams) {
+                IntList termsWithTrigram = trigrams.get(trigram);
+                if (Objects.nonNull(termsWithTrigram)) {
+                    for (int i = 0; i < termsWithTrigram.size; i++) {
+                        if (shared[termsWithTrigram.values[i]]++ == 0) {
+                            candidates.add(termsWithTrigram.values[i]);
+                        }
+                    }
+                }
+            }
+            int minShared = Math.max(1, tokenTrigrams.size() - 3 * maxEdits);
+            for (int i = 0; i < candidates.size; i++) {
+                int termId = candidates.values[i];
+                String term = terms.get(termId);
+                if (shared[termId] >= minShared && Math.abs(term.length() - token.length()) <= maxEdits) {
+                    int distance = editDistance(token, term, maxEdits);
+                    if (distance > 0 && distance <= maxEdits) {
+                        matches.merge(termId, 1f / (1 + distance), Math::max);
+                    }
+                }
+                shared[termId] = 0;
+            }
+            candidates.size = 0;
+        }
+        return matches;
+    }
+
+    private void add(Product product) {
+        int document = documents.size();
+        documents.add(product.uuid());
+        documentIds.put(product.uuid(), document);
+        Set<Integer> added = new HashSet<>();
+        addField(document, FIELD_SKU, product.sku(), added);
+        addField(document, FIELD_NAME, product.name(), added);
+        addField(document, FIELD_DESCRIPTION, product.description(), added);
+    }
+
+    private void addField(int document, int field, String text, Set<Integer> added) {
+        for (String token : tokenize(text)) {
+            int posting = document << FIELD_BITS | field;
+            int termId = termId(token);
+            if (added.add(termId << FIELD_BITS | field)) {
+                postings.get(termId).add(posting);
+            }
+        }
+    }
+
+    private void delete(UUID uuid) {
+        Integer document = documentIds.remove(uuid);
+        if (Objects.nonNull(document)) {
+            removed.set(document);
+            removedCount++;
+        }
+    }
+
+    /**
+     * Renumbers the live documents once the removed ones outnumber them, so that products updated again
+     * and again do not grow the postings and score arrays. Live documents keep their relative order,
+     * which keeps every posting list sorted.
+     */
+    private void compactIfSparse() {
+        if (removedCount <= documentIds.size()) {
+            return;
+        }
+        int[] renumbered = new int[documents.size()];
+        List<UUID> live = new ArrayList<>(documentIds.size());
+        for (int document = 0; document < documents.size(); document++) {
+            if (!removed.get(document)) {
+                renumbered[document] = live.size();
+                documentIds.put(documents.get(document), live.size());
+                live.add(documents.get(document));
+            }
+        }
+        for (IntList termPostings : postings) {
+            int size = 0;
+            for (int i = 0; i < termPostings.size; i++) {
+                int posting = termPostings.values[i];
+                int document = posting >>> FIELD_BITS;
+                if (!removed.get(document)) {
+                    termPostings.values[size++] = renumbered[document] << FIELD_BITS | posting & FIELD_MASK;
+                }
+            }
+            termPostings.size = size;
+        }
+        documents.clear();
+        documents.addAll(live);
+        removed.clear();
+        removedCount = 0;
+    }
+
+    private int termId(String term) {
+        Integer termId = termIds.get(term);
+        if (Objects.isNull(termId)) {
+            termId = terms.size();
+            termIds.put(term, termId);
+            terms.add(term);
+            postings.add(new IntList());
+            for (String trigram : trigrams(term)) {
+                trigrams.computeIfAbsent(trigram, key -> new IntList()).add(termId);
+            }
+        }
+        return termId;
+    }
+
+    private static List<String> tokenize(String text) {
+        if (Objects.isNull(text)) {
+            return List.of();
+        }
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    /** The trigrams of a term padded with boundary markers, so that short terms still have trigrams */
+    private static Set<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            result.add(padded.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    /**
+     * Levenshtein distance between two terms, abandoned as soon as it exceeds the given bound.
+     *
+     * @return The distance, or a value greater than max if the terms are further apart
+     */
+    private static int editDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Dense score arrays indexed by document id, and trigram counters indexed by term id. A document
+     * scores the best of its matches for each query token, and the sum over the tokens.
+     * Only the touched entries are cleared between queries.
+     */
+    private static final class Accumulator {
+        private float[] scores = new float[0];
+        private float[] tokenScores = new float[0];
+        private int[] sharedTrigrams = new int[0];
+        private final IntList matched = new IntList();
+        private final IntList tokenMatched = new IntList();
+        private final IntList candidates = new IntList();
+
+        private Accumulator reset(int documents, int terms) {
+            if (scores.length < documents) {
+                scores = new float[documents];
+                tokenScores = new float[documents];
+            }
+            if (sharedTrigrams.length < terms) {
+                sharedTrigrams = new int[terms];
+            }
+            return this;
+        }
+
+        private void match(int document, float score) {
+            if (tokenScores[document] == 0) {
+                tokenMatched.add(document);
+            }
+            tokenScores[document] = Math.max(tokenScores[document], score);
+        }
+
+        private void endToken() {
+            for (int i = 0; i < tokenMatched.size; i++) {
+                int document = tokenMatched.values[i];
+                if (scores[document] == 0) {
+                    matched.add(document);
+                }
+                scores[document] += tokenScores[document];
+                tokenScores[document] = 0;
+            }
+            tokenMatched.size = 0;
+        }
+
+        /** @return The ids of the best scored documents, best first, clearing the scores */
+        private List<Integer> top(int limit) {
+            Comparator<Integer> byScore = Comparator.<Integer>comparingDouble(document -> scores[document])
+                    .thenComparing(Comparator.reverseOrder());
+            PriorityQueue<Integer> top = new PriorityQueue<>(byScore);
+            float floor = 0;
+            for (int i = 0; i < matched.size; i++) {
+                int document = matched.values[i];
+                if (top.size() < limit) {
+                    top.add(document);
+                    floor = scores[top.peek()];
+                } else if (scores[document] >= floor && byScore.compare(document, top.peek()) > 0) {
+                    top.poll();
+                    top.add(document);
+                    floor = scores[top.peek()];
+                }
+            }
+            List<Integer> results = new ArrayList<>(top.size());
+            while (!top.isEmpty()) {
+                results.add(top.poll());
+            }
+            for (int i = 0; i < matched.size; i++) {
+                scores[matched.values[i]] = 0;
+            }
+            matched.size = 0;
+            return results.reversed();
+        }
+    }
+
+    /**
+     * Growable array of primitive ints, keeping the postings free of boxing.
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
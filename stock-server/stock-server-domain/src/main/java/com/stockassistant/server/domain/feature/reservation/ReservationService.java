@@ -0,0 +1,413 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.feature.reservation;
+
+import com.stockassistant.server.domain.feature.inventory.port.in.InventoryUseCase;
+import com.stockassistant.server.domain.feature.inventory.projection.InventoryProjection;
+import com.stockassistant.server.domain.feature.reservation.port.in.ReservationUseCase;
+import com.stockassistant.server.domain.feature.reservation.port.out.ReservationRepositoryPort;
+import com.stockassistant.server.domain.model.Reservation;
+import com.stockassistant.server.domain.model.StockAvailability;
+import com.stockassistant.server.domain.model.enums.ReservationStatusEnum;
+import com.stockassistant.server.domain.model.excpetion.InsufficientStockException;
+import com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Service class holding stock for carts and orders before it is picked.
+ * Reservations are held in memory: each one is checked against the available stock, the quantity on hand
+ * of the inventory projection minus the quantity already reserved, under the lock of the stripe of its
+ * item, so reservations of different items rarely contend and those of one item never oversell it.
+ * Reservations are written behind to the database in batches, those created and ended between two writes
+ * never reaching it, and the outstanding ones are reloaded on startup. A crash loses the changes made
+ * since the last write: lost reservations are gone, lost releases and commits come back as reservations
+ * until they expire, which only understates the available stock. The reservations of an item must be
+ * served by a single node, the nodes do not share their reserved quantities.
+ */
+@Slf4j
+@Service
+public class ReservationService implements ReservationUseCase, SmartInitializingSingleton, DisposableBean {
+
+    /** The projection providing the quantities on hand */
+    private final InventoryProjection inventoryProjection;
+
+    /** The inventory use cases removing the committed quantities from the stock */
+    private final InventoryUseCase inventoryUseCase;
+
+    /** The repository port the reservations are written behind to */
+    private final ReservationRepositoryPort reservationRepositoryPort;
+
+    /** The time the stock is held when no time is requested */
+    private final Duration defaultTtl;
+
+    /** The longest time the stock may be held */
+    private final Duration maxTtl;
+
+    /** The maximum number of changes written per transaction */
+    private final int writeBatchSize;
+
+    /** The locks guarding the reserved quantities, an item always mapping to the same stripe */
+    private final Lock[] stripes;
+
+    /** The outstanding reservations by UUID, added and removed under the lock of their stripe */
+    private final Map<UUID, Reservation> reservations = new ConcurrentHashMap<>();
+
+    /** The quantity reserved per item, written under the lock of its stripe */
+    private final Map<StockKey, Integer> reserved = new ConcurrentHashMap<>();
+
+    /** The expiry times of the reservations, kept until due even if the reservation ended before */
+    private final DelayQueue<Expiry> expiries = new DelayQueue<>();
+
+    /** The changes not yet written, in order */
+    private final Queue<Write> pendingWrites = new ConcurrentLinkedQueue<>();
+
+    /** The changes of the batch being written, kept to be retried when the write fails, guarded by the service */
+    private final Map<UUID, Write> unwritten = new LinkedHashMap<>();
+
+    public ReservationService(InventoryProjection inventoryProjection,
+                              InventoryUseCase inventoryUseCase,
+                              ReservationRepositoryPort reservationRepositoryPort,
+                              @Value("${stock.reservation.default-ttl:PT15M}") Duration defaultTtl,
+                              @Value("${stock.reservation.max-ttl:P1D}") Duration maxTtl,
+                              @Value("${stock.reservation.write-behind.batch-size:5000}") int writeBatchSize,
+                              @Value("${stock.reservation.lock-stripes:1024}") int lockStripes) {
+        this.inventoryProjection = inventoryProjection;
+        this.inventoryUseCase = inventoryUseCase;
+        this.reservationRepositoryPort = reservationRepositoryPort;
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+        this.writeBatchSize = writeBatchSize;
+        // A power of two, so a stripe is selected by masking the hash of the item
+        this.stripes = new Lock[Integer.highestOneBit(Math.max(1, lockStripes - 1)) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Reserves a quantity of a product in a warehouse, if available.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @param quantity The quantity to hold
+     * @param ttl The time the stock is held, null for the default time, capped by the maximum time
+     * @param reference The identifier of the cart or order holding the stock
+     * @return The active reservation
+     */
+    @Override
+    public Reservation reserve(UUID warehouseId, UUID productId, int quantity, Duration ttl, String reference) {
+        Duration hold = Objects.isNull(ttl) ? defaultTtl : ttl.compareTo(maxTtl) > 0 ? maxTtl : ttl;
+        StockKey key = new StockKey(warehouseId, productId);
+        Lock lock = stripe(key);
+        lock.lock();
+        try {
+            int onHand = inventoryProjection.quantity(warehouseId, productId).orElseThrow(ObjectNotFoundException::new);
+            int held = reserved.getOrDefault(key, 0);
+            if (onHand - held < quantity) {
+                throw new InsufficientStockException();
+            }
+            LocalDateTime now = LocalDateTime.now();
+            Reservation reservation = Reservation.builder()
+                    .uuid(UUID.randomUUID())
+                    .warehouseId(warehouseId)
+                    .productId(productId)
+                    .quantity(quantity)
+                    .status(ReservationStatusEnum.ACTIVE)
+                    .reference(reference)
+                    .createdAt(now)
+                    .expiresAt(now.plus(hold))
+                    .build();
+            hold(key, reservation);
+            pendingWrites.add(new Write(reservation, true));
+            return reservation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves an outstanding reservation.
+     *
+     * @param uuid The UUID of the reservation
+     * @return The active reservation
+     */
+    @Override
+    public Reservation get(UUID uuid) {
+        return Optional.ofNullable(reservations.get(uuid)).orElseThrow(ObjectNotFoundException::new);
+    }
+
+    /**
+     * Gives the quantity of a reservation back to the available stock.
+     *
+     * @param uuid The UUID of the reservation
+     * @return The released reservation
+     */
+    @Override
+    public Reservation release(UUID uuid) {
+        return end(uuid, ReservationStatusEnum.RELEASED).orElseThrow(ObjectNotFoundException::new);
+    }
+
+    /**
+     * Removes the quantity of a reservation from the stock on hand and ends the reservation.
+     * The reservation is withdrawn while the stock is adjusted, so it can neither expire nor be released
+     * meanwhile, and its quantity stays reserved until the adjustment is done. A failed adjustment puts
+     * the reservation back.
+     *
+     * @param uuid The UUID of the reservation
+     * @return The committed reservation
+     */
+    @Override
+    public Reservation commit(UUID uuid) {
+        Reservation reservation = withdraw(uuid).orElseThrow(ObjectNotFoundException::new);
+        StockKey key = new StockKey(reservation.warehouseId(), reservation.productId());
+        try {
+            inventoryUseCase.adjust(reservation.warehouseId(), reservation.productId(), -reservation.quantity());
+        } catch (RuntimeException e) {
+            Lock lock = stripe(key);
+            lock.lock();
+            try {
+                // Its expiry may have been skipped while withdrawn
+                reservations.put(uuid, reservation);
+                expiries.add(Expiry.of(reservation));
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+        return unhold(key, reservation, ReservationStatusEnum.COMMITTED);
+    }
+
+    /**
+     * Returns the stock of a product in a warehouse that can still be reserved.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @return The quantities on hand, reserved and available
+     */
+    @Override
+    public StockAvailability getAvailability(UUID warehouseId, UUID productId) {
+        int onHand = inventoryProjection.quantity(warehouseId, productId).orElseThrow(ObjectNotFoundException::new);
+        int held = reserved.getOrDefault(new StockKey(warehouseId, productId), 0);
+        return StockAvailability.builder()
+                .warehouseId(warehouseId)
+                .productId(productId)
+                .onHand(onHand)
+                .reserved(held)
+                .available(onHand - held)
+                .build();
+    }
+
+    /**
+     * Ends the reservations past their expiry time, on schedule.
+     *
+     * @return The number of expired reservations
+     */
+    @Scheduled(fixedDelayString = "${stock.reservation.expiry-interval:PT1S}")
+    public int expire() {
+        int expired = 0;
+        for (Expiry expiry = expiries.poll(); Objects.nonNull(expiry); expiry = expiries.poll()) {
+            if (end(expiry.uuid(), ReservationStatusEnum.EXPIRED).isPresent()) {
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            log.info("Reservations expired - count: {}", expired);
+        }
+        return expired;
+    }
+
+    /**
+     * Writes the pending changes to the database in batches, on schedule. A reservation created and ended
+     * within a batch is not written at all. Full batches are followed by another one right away, a failed
+     * batch is kept and retried first on the next run.
+     *
+     * @return The number of changes written
+     */
+    @Scheduled(fixedDelayString = "${stock.reservation.write-behind.interval:PT0.2S}")
+    public synchronized int flush() {
+        int written = 0;
+        boolean full;
+        do {
+            while (unwritten.size() < writeBatchSize) {
+                Write write = pendingWrites.poll();
+                if (Objects.isNull(write)) {
+                    break;
+                }
+                UUID uuid = write.reservation().uuid();
+                if (!write.created() && unwritten.containsKey(uuid)) {
+                    unwritten.remove(uuid);
+                } else {
+                    unwritten.put(uuid, write);
+                }
+            }
+            if (unwritten.isEmpty()) {
+                return written;
+            }
+            full = unwritten.size() == writeBatchSize;
+            try {
+                reservationRepositoryPort.write(
+                        unwritten.values().stream().filter(Write::created).map(Write::reservation).toList(),
+                        unwritten.values().stream().filter(write -> !write.created()).map(write -> write.reservation().uuid()).toList());
+            } catch (RuntimeException e) {
+                log.warn("Reservation write failed, {} changes are retried on the next run, {} more are pending",
+                        unwritten.size(), pendingWrites.size(), e);
+                return written;
+            }
+            written += unwritten.size();
+            unwritten.clear();
+        } while (full);
+        return written;
+    }
+
+    /**
+     * Reloads the outstanding reservations once the singletons are created, before the web server starts
+     * and the schedules run, so no reservation is checked against a partially reloaded reserved quantity.
+     * Those expired while the application was stopped are ended by the first expiry run.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try (Stream<Reservation> outstanding = reservationRepositoryPort.streamAll()) {
+            outstanding.forEach(reservation -> {
+                StockKey key = new StockKey(reservation.warehouseId(), reservation.productId());
+                Lock lock = stripe(key);
+                lock.lock();
+                try {
+                    hold(key, reservation);
+                } finally {
+                    lock.unlock();
+                }
+            });
+        }
+        log.info("Reservations recovered - outstanding: {}", reservations.size());
+    }
+
+    /**
+     * Writes the pending changes before the application stops.
+     */
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    /**
+     * Returns the number of outstanding reservations.
+     *
+     * @return The number of reservations
+     */
+    public int outstanding() {
+        return reservations.size();
+    }
+
+    private Optional<Reservation> end(UUID uuid, ReservationStatusEnum status) {
+        return withdraw(uuid).map(reservation ->
+                unhold(new StockKey(reservation.warehouseId(), reservation.productId()), reservation, status));
+    }
+
+    /**
+     * Removes an outstanding reservation, its quantity staying reserved until unheld.
+     */
+    private Optional<Reservation> withdraw(UUID uuid) {
+        Reservation reservation = reservations.get(uuid);
+        if (Objects.isNull(reservation)) {
+            return Optional.empty();
+        }
+        Lock lock = stripe(new StockKey(reservation.warehouseId(), reservation.productId()));
+        lock.lock();
+        try {
+            return reservations.remove(uuid, reservation) ? Optional.of(reservation) : Optional.empty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds an outstanding reservation, the lock of its stripe being held.
+     */
+    private void hold(StockKey key, Reservation reservation) {
+        reserved.merge(key, reservation.quantity(), Integer::sum);
+        reservations.put(reservation.uuid(), reservation);
+        expiries.add(Expiry.of(reservation));
+    }
+
+    /**
+     * Gives back the quantity of a withdrawn reservation and queues its deletion.
+     */
+    private Reservation unhold(StockKey key, Reservation reservation, ReservationStatusEnum status) {
+        Lock lock = stripe(key);
+        lock.lock();
+        try {
+            reserved.computeIfPresent(key, (item, held) -> held == reservation.quantity() ? null : held - reservation.quantity());
+            pendingWrites.add(new Write(reservation, false));
+        } finally {
+            lock.unlock();
+        }
+        return reservation.toBuilder().status(status).build();
+    }
+
+    private Lock stripe(StockKey key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private record StockKey(UUID warehouseId, UUID productId) {
+    }
+
+    /**
+     * A change to write, the creation or the end of a reservation.
+     */
+    private record Write(Reservation reservation, boolean created) {
+    }
+
+    /**
+     * The expiry time of a reservation, in nano time.
+     */
+    private record Expiry(UUID uuid, long deadline) implements Delayed {
+
+        private static Expiry of(Reservation reservation) {
+            return new Expiry(reservation.uuid(),
+                    System.nanoTime() + Duration.between(LocalDateTime.now(), reservation.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deadline, ((Expiry) other).deadline());
+        }
+    }
+}
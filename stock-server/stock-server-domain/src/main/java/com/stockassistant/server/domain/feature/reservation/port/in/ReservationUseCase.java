@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.feature.reservation.port.in;
+
+import com.stockassistant.server.domain.model.Reservation;
+import com.stockassistant.server.domain.model.StockAvailability;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Interface defining the use cases for stock reservations.
+ * This interface represents the input port for reservation-related operations in the domain layer.
+ */
+public interface ReservationUseCase {
+    /**
+     * Reserves a quantity of a product in a warehouse.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @param quantity The quantity to hold
+     * @param ttl The time the stock is held, null for the default time
+     * @param reference The identifier of the cart or order holding the stock
+     * @return The active reservation
+     * @throws com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException if the inventory item is not found
+     * @throws com.stockassistant.server.domain.model.excpetion.InsufficientStockException if the available quantity is too low
+     */
+    Reservation reserve(UUID warehouseId, UUID productId, int quantity, Duration ttl, String reference);
+
+    /**
+     * Retrieves an outstanding reservation.
+     *
+     * @param uuid The UUID of the reservation
+     * @return The active reservation
+     * @throws com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException if no such reservation is outstanding
+     */
+    Reservation get(UUID uuid);
+
+    /**
+     * Gives the quantity of a reservation back to the available stock.
+     *
+     * @param uuid The UUID of the reservation
+     * @return The released reservation
+     * @throws com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException if no such reservation is outstanding
+     */
+    Reservation release(UUID uuid);
+
+    /**
+     * Removes the quantity of a reservation from the stock on hand and ends the reservation.
+     *
+     * @param uuid The UUID of the reservation
+     * @return The committed reservation
+     * @throws com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException if no such reservation is outstanding
+     * @throws com.stockassistant.server.domain.model.excpetion.InsufficientStockException if the stock on hand is too low
+     */
+    Reservation commit(UUID uuid);
+
+    /**
+     * Returns the stock of a product in a warehouse that can still be reserved.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @return The quantities on hand, reserved and available
+     * @throws com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException if the inventory item is not found
+     */
+    StockAvailability getAvailability(UUID warehouseId, UUID productId);
+}
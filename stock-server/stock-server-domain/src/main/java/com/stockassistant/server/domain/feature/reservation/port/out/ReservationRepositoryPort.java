@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.feature.reservation.port.out;
+
+import com.stockassistant.server.domain.model.Reservation;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Interface defining the persistence operations for stock reservations.
+ * This interface represents the output port for reservation-related operations in the domain layer.
+ * Only the outstanding reservations are stored, ended reservations are deleted.
+ */
+public interface ReservationRepositoryPort {
+    /**
+     * Stores new reservations and deletes ended ones, in one transaction.
+     *
+     * @param created The reservations created since the previous write
+     * @param ended The UUIDs of the stored reservations ended since the previous write
+     */
+    void write(List<Reservation> created, List<UUID> ended);
+
+    /**
+     * Streams every stored reservation.
+     * The stream holds its connection until it is closed.
+     *
+     * @return A stream of the outstanding reservations
+     */
+    Stream<Reservation> streamAll();
+}
@@ -17,9 +17,12 @@ import com.stockassistant.server.domain.feature.warehouse.port.out.WarehouseRepo
 import com.stockassistant.server.domain.model.Warehouse;
 import com.stockassistant.server.domain.model.WarehouseFilter;
 import com.stockassistant.server.domain.model.WarehouseRequest;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
@@ -39,11 +42,38 @@ public class WarehouseService implements WarehouseUseCase {
      * Fetches a page of warehouses based on the provided filter criteria.
      *
      * @param warehouseFilter The filter criteria for the warehouse search
-     * @return A page of warehouses matching the filter criteria
+     * @param countMode How the total is computed, none only tells whether more items follow
+     * @return A page, or a slice when no total is computed, of warehouses matching the filter criteria
      */
     @Override
-    public Page<Warehouse> fetch(WarehouseFilter warehouseFilter) {
-        return warehouseRepositoryPort.findAll(warehouseFilter);
+    public Slice<Warehouse> fetch(WarehouseFilter warehouseFilter, CountModeEnum countMode) {
+        return warehouseRepositoryPort.findAll(warehouseFilter, countMode);
+    }
+
+    /**
+     * Fetches the window of warehouses following the given keyset position.
+     *
+     * @param warehouseFilter The filter criteria for the warehouse search
+     * @param position The keyset position to continue from
+     * @return A window of warehouses matching the filter criteria
+     */
+    @Override
+    public Window<Warehouse> scroll(WarehouseFilter warehouseFilter, KeysetScrollPosition position) {
+        return warehouseRepositoryPort.scroll(warehouseFilter, position);
+    }
+
+    /**
+     * Counts the warehouses matching the given filter criteria.
+     *
+     * @param warehouseFilter The filter criteria for the warehouse search
+     * @param countMode Whether the total is counted or estimated by the query planner
+     * @return The number of matching warehouses
+     */
+    @Override
+    public long count(WarehouseFilter warehouseFilter, CountModeEnum countMode) {
+        return countMode == CountModeEnum.ESTIMATED
+                ? warehouseRepositoryPort.estimateCount(warehouseFilter)
+                : warehouseRepositoryPort.count(warehouseFilter);
     }
 
     /**
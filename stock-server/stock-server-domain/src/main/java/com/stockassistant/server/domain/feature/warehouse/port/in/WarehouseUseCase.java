@@ -15,8 +15,11 @@ package com.stockassistant.server.domain.feature.warehouse.port.in;
 import com.stockassistant.server.domain.model.Warehouse;
 import com.stockassistant.server.domain.model.WarehouseFilter;
 import com.stockassistant.server.domain.model.WarehouseRequest;
-import org.springframework.data.domain.Page;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 
 import java.util.UUID;
 
@@ -29,9 +32,28 @@ public interface WarehouseUseCase {
      * Fetches a page of warehouses based on the provided filter criteria.
      *
      * @param warehouseFilter The filter criteria for the warehouse search
-     * @return A page of warehouses matching the filter criteria
+     * @param countMode How the total is computed, none only tells whether more items follow
+     * @return A page, or a slice when no total is computed, of warehouses matching the filter criteria
      */
-    Page<Warehouse> fetch(WarehouseFilter warehouseFilter);
+    Slice<Warehouse> fetch(WarehouseFilter warehouseFilter, CountModeEnum countMode);
+
+    /**
+     * Fetches the window of warehouses following the given keyset position.
+     *
+     * @param warehouseFilter The filter criteria for the warehouse search
+     * @param position The keyset position to continue from
+     * @return A window of warehouses matching the filter criteria
+     */
+    Window<Warehouse> scroll(WarehouseFilter warehouseFilter, KeysetScrollPosition position);
+
+    /**
+     * Counts the warehouses matching the given filter criteria.
+     *
+     * @param warehouseFilter The filter criteria for the warehouse search
+     * @param countMode Whether the total is counted or estimated by the query planner
+     * @return The number of matching warehouses
+     */
+    long count(WarehouseFilter warehouseFilter, CountModeEnum countMode);
 
     /**
      * Creates a new warehouse based on the provided request.
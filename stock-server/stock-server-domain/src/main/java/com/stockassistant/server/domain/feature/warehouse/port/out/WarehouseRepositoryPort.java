@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.feature.warehouse.port.out;
+
+import com.stockassistant.server.domain.model.Warehouse;
+import com.stockassistant.server.domain.model.WarehouseFilter;
+import com.stockassistant.server.domain.model.WarehouseRequest;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Interface defining the persistence operations for warehouses.
+ * This interface represents the output port for warehouse-related operations in the domain layer.
+ */
+public interface WarehouseRepositoryPort {
+    /**
+     * Retrieves all warehouses matching the given filter criteria.
+     *
+     * @param warehouseFilter The filter criteria for the warehouse search
+     * @param countMode How the total is computed, none only tells whether more items follow
+     * @return A page, or a slice when no total is computed, of warehouses matching the filter criteria
+     */
+    Slice<Warehouse> findAll(WarehouseFilter warehouseFilter, CountModeEnum countMode);
+
+    /**
+     * Retrieves the window of warehouses following the given keyset position.
+     * The sort and window size are taken from the filter's page request, the page number is ignored.
+     *
+     * @param warehouseFilter The filter criteria for the warehouse search
+     * @param position The keyset position to continue from
+     * @return A window of warehouses matching the filter criteria
+     */
+    Window<Warehouse> scroll(WarehouseFilter warehouseFilter, KeysetScrollPosition position);
+
+    /**
+     * Counts the warehouses matching the given filter criteria.
+     *
+     * @param warehouseFilter The filter criteria for the warehouse search
+     * @return The number of matching warehouses
+     */
+    long count(WarehouseFilter warehouseFilter);
+
+    /**
+     * Estimates the number of warehouses matching the given filter criteria from the query planner statistics.
+     *
+     * @param warehouseFilter The filter criteria for the warehouse search
+     * @return The estimated number of matching warehouses
+     */
+    long estimateCount(WarehouseFilter warehouseFilter);
+
+    /**
+     * Saves a new warehouse based on the provided request.
+     *
+     * @param warehouseRequest The request containing warehouse details
+     * @return The saved warehouse
+     */
+    Warehouse save(WarehouseRequest warehouseRequest);
+
+    /**
+     * Updates an existing warehouse with the specified ID.
+     *
+     * @param id The UUID of the warehouse to update
+     * @param warehouseRequest The request containing updated warehouse details
+     * @return The updated warehouse
+     */
+    Warehouse update(UUID id, WarehouseRequest warehouseRequest);
+
+    /**
+     * Finds a warehouse by its ID.
+     *
+     * @param id The UUID of the warehouse to find
+     * @return An Optional containing the warehouse if found, empty otherwise
+     */
+    Optional<Warehouse> findById(UUID id);
+}
@@ -0,0 +1,33 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.model;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+
+/**
+ * Represents the value of the stock of a product category.
+ *
+ * @param category The product category
+ * @param totalQuantity The quantity held of the products of the category
+ * @param value The sum of the quantities multiplied by the product prices
+ */
+@Builder(toBuilder = true)
+public record CategoryValuation(
+        String category,
+        long totalQuantity,
+        BigDecimal value
+) {
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.model;
+
+import com.stockassistant.server.domain.model.enums.ChangeAggregateEnum;
+import com.stockassistant.server.domain.model.enums.ChangeOperationEnum;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Represents a write to the catalogue or the stock, as recorded in the outbox and relayed downstream.
+ *
+ * @param id The sequence number of the record, assigned by the outbox
+ * @param aggregate The kind of object written
+ * @param operation Whether the object was created, updated or deleted
+ * @param warehouseId The UUID of the warehouse, set for warehouse and inventory records
+ * @param productId The UUID of the product, set for product and inventory records
+ * @param payload The written values as a JSON object
+ * @param createdAt The time the write was recorded
+ */
+@Builder(toBuilder = true)
+public record ChangeRecord(
+        long id,
+        ChangeAggregateEnum aggregate,
+        ChangeOperationEnum operation,
+        UUID warehouseId,
+        UUID productId,
+        String payload,
+        LocalDateTime createdAt
+) {
+}
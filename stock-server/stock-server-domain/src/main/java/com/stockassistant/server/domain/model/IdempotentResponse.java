@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.model;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents the response of a write request executed under an idempotency key, replayed to the retries of the request.
+ *
+ * @param key The idempotency key sent by the client
+ * @param fingerprint The hash of the method, path and body of the request
+ * @param status The HTTP status of the response
+ * @param contentType The content type of the body, null without body
+ * @param location The Location header of the response, null if not set
+ * @param body The body of the response
+ * @param createdAt The timestamp when the request was executed
+ */
+@Builder(toBuilder = true)
+public record IdempotentResponse(
+        String key,
+        String fingerprint,
+        int status,
+        String contentType,
+        String location,
+        byte[] body,
+        LocalDateTime createdAt
+) {
+}
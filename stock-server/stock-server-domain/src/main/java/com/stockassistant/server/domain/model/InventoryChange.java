@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.model;
+
+import lombok.Builder;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Represents a requested quantity change for one inventory item.
+ * This record class carries either an absolute quantity or a signed delta, never both.
+ *
+ * @param warehouseId The UUID of the warehouse
+ * @param productId The UUID of the product
+ * @param quantity The new absolute quantity, null for a delta change
+ * @param delta The signed quantity to add, null for an absolute change
+ */
+@Builder(toBuilder = true)
+public record InventoryChange(
+        UUID warehouseId,
+        UUID productId,
+        Integer quantity,
+        Integer delta
+) {
+    /** The largest delta accepted in either direction, far below the range of a quantity */
+    public static final int MAX_DELTA = 1_000_000_000;
+
+    /**
+     * Checks that the change targets an item and carries exactly one non-negative quantity or one bounded delta.
+     *
+     * @return true if the change can be applied, false otherwise
+     */
+    public boolean isValid() {
+        return Objects.nonNull(warehouseId)
+                && Objects.nonNull(productId)
+                && (Objects.isNull(quantity) != Objects.isNull(delta))
+                && (Objects.isNull(quantity) || quantity >= 0)
+                && (Objects.isNull(delta) || Math.abs(delta) <= MAX_DELTA);
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.model;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Represents a change of the quantity of a product in a warehouse, as streamed to the change subscribers.
+ *
+ * @param id The id of the change record of the write, unique across nodes and restarts
+ * @param warehouseId The UUID of the warehouse
+ * @param productId The UUID of the product
+ * @param quantity The quantity after the change
+ * @param changedAt The time the change was published
+ */
+@Builder(toBuilder = true)
+public record InventoryChangeEvent(
+        long id,
+        UUID warehouseId,
+        UUID productId,
+        int quantity,
+        LocalDateTime changedAt
+) {
+}
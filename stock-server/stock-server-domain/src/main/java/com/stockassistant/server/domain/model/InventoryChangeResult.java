@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.model;
+
+import com.stockassistant.server.domain.model.enums.InventoryChangeStatusEnum;
+import lombok.Builder;
+
+import java.util.UUID;
+
+/**
+ * Represents the outcome of one inventory change of a bulk update.
+ *
+ * @param warehouseId The UUID of the warehouse
+ * @param productId The UUID of the product
+ * @param status The outcome of the change
+ * @param quantity The quantity of the item once its chunk is applied, null unless updated
+ * @param stockVersion The stock version of the item once its chunk is applied, null unless updated
+ * @param changeId The id of the change record of the item in its chunk, null unless updated
+ */
+@Builder(toBuilder = true)
+public record InventoryChangeResult(
+        UUID warehouseId,
+        UUID productId,
+        InventoryChangeStatusEnum status,
+        Integer quantity,
+        Long stockVersion,
+        Long changeId
+) {
+}
@@ -26,12 +26,16 @@ import java.util.UUID;
  * @param warehouse The warehouse where the product is stored
  * @param quantity The current quantity of the product in the warehouse
  * @param lastStockUpdate Timestamp of the last stock update
+ * @param stockVersion The stock version of the item, incremented by every quantity write
+ * @param changeId The id of the change record of the write returning the item, null for items read
  */
 @Builder(toBuilder = true)
 public record InventoryItem(
         Product product,
         Warehouse warehouse,
         int quantity,
-        LocalDateTime lastStockUpdate
+        LocalDateTime lastStockUpdate,
+        long stockVersion,
+        Long changeId
 ) {
 }
@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.model;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Represents the stock of a product in a warehouse being below its reorder point.
+ *
+ * @param warehouseId The UUID of the warehouse
+ * @param productId The UUID of the product
+ * @param quantity The current quantity
+ * @param reorderPoint The reorder point the quantity is below
+ * @param raisedAt The time the quantity went below the reorder point
+ */
+@Builder(toBuilder = true)
+public record LowStockAlert(
+        UUID warehouseId,
+        UUID productId,
+        int quantity,
+        int reorderPoint,
+        LocalDateTime raisedAt
+) {
+}
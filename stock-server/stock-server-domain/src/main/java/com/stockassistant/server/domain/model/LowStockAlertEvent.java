@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.model;
+
+import com.stockassistant.server.domain.model.enums.LowStockAlertStateEnum;
+import lombok.Builder;
+
+/**
+ * Event published when the stock of a product in a warehouse crosses its reorder point.
+ *
+ * @param alert The alert, as it was when cleared
+ * @param state Whether the stock went below or back to the reorder point
+ */
+@Builder(toBuilder = true)
+public record LowStockAlertEvent(
+        LowStockAlert alert,
+        LowStockAlertStateEnum state
+) {
+}
@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.model;
+
+import lombok.Builder;
+
+/**
+ * Represents a row rejected by a product import.
+ *
+ * @param line The line number of the row in the file
+ * @param reason The reason the row was rejected
+ */
+@Builder(toBuilder = true)
+public record ProductImportReject(
+        long line,
+        String reason
+) {
+}
@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.model;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Represents the outcome of a product import.
+ *
+ * @param received Number of data rows read from the file
+ * @param created Number of products created
+ * @param updated Number of existing products updated, matched on their SKU
+ * @param rejected Number of rows rejected
+ * @param rejects Details of the first rejected rows, capped to keep the report bounded
+ */
+@Builder(toBuilder = true)
+public record ProductImportReport(
+        long received,
+        long created,
+        long updated,
+        long rejected,
+        List<ProductImportReject> rejects
+) {
+}
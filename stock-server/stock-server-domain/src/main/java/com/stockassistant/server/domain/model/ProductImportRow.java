@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.model;
+
+import lombok.Builder;
+
+/**
+ * Represents a data row read from a product import file.
+ * This record class carries either the parsed product or the reason it could not be parsed.
+ *
+ * @param line The line number of the row in the file
+ * @param product The parsed product, null if the row could not be parsed
+ * @param error The reason the row could not be parsed, null otherwise
+ */
+@Builder(toBuilder = true)
+public record ProductImportRow(
+        long line,
+        ProductRequest product,
+        String error
+) {
+}
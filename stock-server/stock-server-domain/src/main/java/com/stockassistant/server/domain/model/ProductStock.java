@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.model;
+
+import lombok.Builder;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Represents the stock of a product across the warehouses holding it.
+ *
+ * @param productId The UUID of the product
+ * @param totalQuantity The quantity held across all warehouses
+ * @param levels The quantity held by each selected warehouse
+ */
+@Builder(toBuilder = true)
+public record ProductStock(
+        UUID productId,
+        long totalQuantity,
+        List<StockLevel> levels
+) {
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.model;
+
+import lombok.Builder;
+
+import java.util.UUID;
+
+/**
+ * Represents the quantity of a product held across the warehouses.
+ *
+ * @param productId The UUID of the product
+ * @param sku The SKU of the product
+ * @param name The name of the product
+ * @param totalQuantity The quantity held across the selected warehouses
+ * @param warehouses The number of selected warehouses with an inventory item for the product
+ */
+@Builder(toBuilder = true)
+public record ProductStockTotal(
+        UUID productId,
+        String sku,
+        String name,
+        long totalQuantity,
+        long warehouses
+) {
+}
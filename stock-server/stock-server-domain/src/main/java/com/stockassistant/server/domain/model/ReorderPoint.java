@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.model;
+
+import lombok.Builder;
+
+import java.util.UUID;
+
+/**
+ * Represents the reorder point of a product, for all the warehouses or for a single one.
+ * The reorder point of a warehouse overrides the reorder point of the product.
+ *
+ * @param productId The UUID of the product
+ * @param warehouseId The UUID of the warehouse, null for the reorder point of the product
+ * @param reorderPoint The quantity under which the stock is low, null when not set
+ */
+@Builder(toBuilder = true)
+public record ReorderPoint(
+        UUID productId,
+        UUID warehouseId,
+        Integer reorderPoint
+) {
+
+    /**
+     * Creates the reorder point of a product for all the warehouses.
+     *
+     * @param productId The UUID of the product
+     * @param reorderPoint The quantity under which the stock is low
+     */
+    public ReorderPoint(UUID productId, Integer reorderPoint) {
+        this(productId, null, reorderPoint);
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.model;
+
+import com.stockassistant.server.domain.model.enums.ReservationStatusEnum;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Represents a quantity of a product held in a warehouse for a cart or an order before it is picked.
+ *
+ * @param uuid The unique identifier of the reservation
+ * @param warehouseId The UUID of the warehouse
+ * @param productId The UUID of the product
+ * @param quantity The quantity held
+ * @param status The state of the reservation
+ * @param reference The identifier of the cart or order holding the stock
+ * @param createdAt The time the stock was reserved
+ * @param expiresAt The time the reservation expires if neither committed nor released
+ */
+@Builder(toBuilder = true)
+public record Reservation(
+        UUID uuid,
+        UUID warehouseId,
+        UUID productId,
+        int quantity,
+        ReservationStatusEnum status,
+        String reference,
+        LocalDateTime createdAt,
+        LocalDateTime expiresAt
+) {
+}
@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.model;
+
+import lombok.Builder;
+
+import java.util.UUID;
+
+/**
+ * Represents the stock of a product in a warehouse that can still be reserved.
+ *
+ * @param warehouseId The UUID of the warehouse
+ * @param productId The UUID of the product
+ * @param onHand The quantity held in the warehouse
+ * @param reserved The quantity held by the outstanding reservations
+ * @param available The quantity on hand minus the quantity reserved
+ */
+@Builder(toBuilder = true)
+public record StockAvailability(
+        UUID warehouseId,
+        UUID productId,
+        int onHand,
+        int reserved,
+        int available
+) {
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.model;
+
+import lombok.Builder;
+
+import java.util.UUID;
+
+/**
+ * Represents the quantity of a product held in a warehouse.
+ *
+ * @param warehouseId The UUID of the warehouse
+ * @param productId The UUID of the product
+ * @param quantity The quantity held
+ * @param stockVersion The stock version of the item, incremented by every quantity write
+ */
+@Builder(toBuilder = true)
+public record StockLevel(
+        UUID warehouseId,
+        UUID productId,
+        int quantity,
+        long stockVersion
+) {
+}
@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.model;
+
+import com.stockassistant.server.domain.model.enums.StockMovementReasonEnum;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Represents a change of the quantity of a product in a warehouse, as recorded in the stock ledger.
+ *
+ * @param warehouseId The UUID of the warehouse
+ * @param productId The UUID of the product
+ * @param delta The signed quantity change
+ * @param reason The kind of write causing the change
+ * @param createdAt The time the change was recorded
+ */
+@Builder(toBuilder = true)
+public record StockMovement(
+        UUID warehouseId,
+        UUID productId,
+        int delta,
+        StockMovementReasonEnum reason,
+        LocalDateTime createdAt
+) {
+}
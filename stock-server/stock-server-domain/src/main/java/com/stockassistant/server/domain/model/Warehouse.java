@@ -26,6 +26,7 @@ import java.util.UUID;
  * @param name Name of the warehouse
  * @param location Physical location of the warehouse
  * @param capacity Maximum storage capacity of the warehouse
+ * @param stockQuantity Total quantity of the inventory items held by the warehouse
  * @param createdAt Timestamp when the warehouse was created
  * @param updatedAt Timestamp when the warehouse was last updated
  */
@@ -35,8 +36,17 @@ public record Warehouse(
         String name,
         String location,
         int capacity,
+        long stockQuantity,
         LocalDateTime createdAt,
         LocalDateTime updatedAt
 ) {
 
+    /**
+     * Returns the stock quantity as a percentage of the capacity.
+     *
+     * @return The utilisation percentage, null if the capacity is zero
+     */
+    public Double utilisation() {
+        return capacity > 0 ? stockQuantity * 100.0 / capacity : null;
+    }
 }
\ No newline at end of file
@@ -25,6 +25,8 @@ import java.util.UUID;
  * @param name Name of the warehouse to filter by
  * @param location Location of the warehouse to filter by
  * @param capacity Capacity of the warehouse to filter by
+ * @param minUtilisation Lowest utilisation percentage of the warehouses to filter by, inclusive
+ * @param maxUtilisation Highest utilisation percentage of the warehouses to filter by, inclusive
  * @param pageRequest Pagination and sorting information
  */
 @Builder(toBuilder = true)
@@ -33,6 +35,8 @@ public record WarehouseFilter(
         String name,
         String location,
         Integer capacity,
+        Double minUtilisation,
+        Double maxUtilisation,
         PageRequest pageRequest
 ) {
 
@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.model;
+
+import lombok.Builder;
+
+import java.util.UUID;
+
+/**
+ * Represents the quantity held by a warehouse against its capacity.
+ *
+ * @param warehouseId The UUID of the warehouse
+ * @param name The name of the warehouse
+ * @param capacity The capacity of the warehouse
+ * @param totalQuantity The quantity of all products held by the warehouse
+ * @param utilisation The total quantity as a percentage of the capacity, null if the capacity is zero
+ */
+@Builder(toBuilder = true)
+public record WarehouseUtilisation(
+        UUID warehouseId,
+        String name,
+        int capacity,
+        long totalQuantity,
+        Double utilisation
+) {
+}
@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.model.enums;
+
+/**
+ * Enumeration representing the kinds of objects whose writes are recorded in the outbox.
+ */
+public enum ChangeAggregateEnum {
+    /** A product of the catalogue */
+    PRODUCT,
+
+    /** A warehouse */
+    WAREHOUSE,
+
+    /** The stock of a product in a warehouse */
+    INVENTORY
+}
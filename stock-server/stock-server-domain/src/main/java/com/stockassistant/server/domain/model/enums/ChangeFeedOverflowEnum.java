@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.model.enums;
+
+/**
+ * Enumeration representing how the change feed treats a subscriber whose buffer is full.
+ */
+public enum ChangeFeedOverflowEnum {
+    /** The oldest buffered change is dropped to make room for the new one */
+    DROP_OLDEST,
+
+    /** The subscriber is disconnected, it may resume from its last received change */
+    DISCONNECT
+}
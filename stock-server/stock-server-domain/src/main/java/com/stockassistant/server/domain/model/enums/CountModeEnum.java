@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.model.enums;
+
+/**
+ * Enumeration representing how a listing computes the total number of matching items.
+ */
+public enum CountModeEnum {
+    /** The total is counted, counts of recent identical filters are reused */
+    EXACT,
+
+    /** The total is the row estimate of the query planner */
+    ESTIMATED,
+
+    /** No total is computed, the listing only tells whether more items follow */
+    NONE
+}
@@ -0,0 +1,31 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.model.enums;
+
+/**
+ * Enumeration representing the outcome of an inventory change in a bulk update.
+ */
+public enum InventoryChangeStatusEnum {
+    /** The change was applied */
+    UPDATED,
+
+    /** No inventory item exists for the warehouse and product */
+    NOT_FOUND,
+
+    /** The delta would have made the quantity negative */
+    INSUFFICIENT_STOCK,
+
+    /** The change carries neither or both of quantity and delta, a negative quantity, an out-of-range delta,
+     * or a delta that would raise the quantity above the largest quantity an item can hold */
+    INVALID
+}
@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.domain.model.enums;
+
+/**
+ * Enumeration representing the crossing of a reorder point by a stock quantity.
+ */
+public enum LowStockAlertStateEnum {
+    /** The quantity went below the reorder point */
+    RAISED,
+
+    /** The quantity went back to or above the reorder point, or the reorder point was removed */
+    CLEARED
+}
@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.model.enums;
+
+/**
+ * Enumeration representing the states of a stock reservation.
+ */
+public enum ReservationStatusEnum {
+    /** The stock is held */
+    ACTIVE,
+
+    /** The stock was given back to the available stock */
+    RELEASED,
+
+    /** The stock was removed from the stock on hand */
+    COMMITTED,
+
+    /** The stock was given back once the reservation expired */
+    EXPIRED
+}
@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.model.enums;
+
+/**
+ * Enumeration representing the reasons of the stock movements recorded in the ledger.
+ */
+public enum StockMovementReasonEnum {
+    /** The inventory item was created with its initial quantity */
+    INITIAL,
+
+    /** The quantity was set to an absolute value, the delta is the difference with the previous one */
+    SET,
+
+    /** A signed delta was added to the quantity */
+    ADJUSTMENT
+}
@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.model.excpetion;
+
+/**
+ * Exception thrown when an idempotency key is reused for a different request.
+ * This exception is typically thrown when a client sends the same key with another
+ * method, path or body than the request first executed under that key.
+ */
+public class IdempotencyKeyReuseException extends RuntimeException {
+    /**
+     * Constructs a new IdempotencyKeyReuseException with no detail message.
+     */
+    public IdempotencyKeyReuseException() {
+        super();
+    }
+}
@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.model.excpetion;
+
+/**
+ * Exception thrown when a stock change would leave a negative quantity.
+ * This exception is typically thrown when a decrement exceeds the quantity
+ * currently held for a product in a warehouse.
+ */
+public class InsufficientStockException extends RuntimeException {
+    /**
+     * Constructs a new InsufficientStockException with no detail message.
+     */
+    public InsufficientStockException() {
+        super();
+    }
+}
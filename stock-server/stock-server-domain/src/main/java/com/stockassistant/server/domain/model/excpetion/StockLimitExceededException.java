@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.domain.model.excpetion;
+
+/**
+ * Exception thrown when a stock change would raise a quantity above the largest quantity an item can hold.
+ * This exception is typically thrown when an increment added to the quantity currently held
+ * for a product in a warehouse exceeds the range of a quantity.
+ */
+public class StockLimitExceededException extends RuntimeException {
+    /**
+     * Constructs a new StockLimitExceededException with no detail message.
+     */
+    public StockLimitExceededException() {
+        super();
+    }
+}
@@ -0,0 +1,147 @@
+package com.stockassistant.server.domain.feature.idempotency;
+
+import com.stockassistant.server.domain.feature.idempotency.port.out.IdempotencyRepositoryPort;
+import com.stockassistant.server.domain.model.IdempotentResponse;
+import com.stockassistant.server.domain.model.excpetion.IdempotencyKeyReuseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRepositoryPort idempotencyRepositoryPort;
+
+    @InjectMocks
+    private IdempotencyService idempotencyService;
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void execute_DuplicateWhileInFlight_WaitsAndReplaysResponse() throws Exception {
+        CountDownLatch executing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        CompletableFuture<IdempotentResponse> first = CompletableFuture.supplyAsync(
+                () -> idempotencyService.execute("key", "fingerprint", () -> {
+                    executions.incrementAndGet();
+                    executing.countDown();
+                    await(release);
+                    return response(201);
+                }), callers);
+        executing.await(5, TimeUnit.SECONDS);
+
+        CompletableFuture<Thread> caller = new CompletableFuture<>();
+        CompletableFuture<IdempotentResponse> duplicate = CompletableFuture.supplyAsync(() -> {
+            caller.complete(Thread.currentThread());
+            return idempotencyService.execute("key", "fingerprint", () -> {
+                executions.incrementAndGet();
+                return response(201);
+            });
+        }, callers);
+        Thread thread = caller.join();
+        while (thread.getState() != Thread.State.WAITING && !duplicate.isDone()) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+        verify(idempotencyRepositoryPort).save(any());
+    }
+
+    @Test
+    void execute_StoredResponseOfDifferentRequest_ThrowsKeyReuse() {
+        when(idempotencyRepositoryPort.find("key")).thenReturn(Optional.of(response(201).toBuilder()
+                .key("key")
+                .fingerprint("fingerprint")
+                .build()));
+        AtomicInteger executions = new AtomicInteger();
+
+        assertThrows(IdempotencyKeyReuseException.class, () -> idempotencyService.execute("key", "other", () -> {
+            executions.incrementAndGet();
+            return response(201);
+        }));
+        IdempotentResponse replayed = idempotencyService.execute("key", "fingerprint", () -> {
+            executions.incrementAndGet();
+            return response(201);
+        });
+
+        assertEquals(201, replayed.status());
+        assertEquals(0, executions.get());
+    }
+
+    @Test
+    void execute_ServerError_NotStoredSoRetryExecutesAgain() {
+        AtomicInteger executions = new AtomicInteger();
+
+        IdempotentResponse failed = idempotencyService.execute("key", "fingerprint", () -> {
+            executions.incrementAndGet();
+            return response(503);
+        });
+        IdempotentResponse retried = idempotencyService.execute("key", "fingerprint", () -> {
+            executions.incrementAndGet();
+            return response(201);
+        });
+
+        assertEquals(503, failed.status());
+        assertEquals(201, retried.status());
+        assertEquals(2, executions.get());
+        verify(idempotencyRepositoryPort, times(1)).save(any());
+    }
+
+    @Test
+    void execute_ExecutionThrows_DuplicateExecutesAgain() {
+        IllegalStateException failure = new IllegalStateException("Connection lost");
+
+        assertSame(failure, assertThrows(IllegalStateException.class,
+                () -> idempotencyService.execute("key", "fingerprint", () -> {
+                    throw failure;
+                })));
+        IdempotentResponse retried = idempotencyService.execute("key", "fingerprint", () -> response(200));
+
+        assertEquals(200, retried.status());
+        verify(idempotencyRepositoryPort, times(1)).save(any());
+    }
+
+    private static IdempotentResponse response(int status) {
+        return IdempotentResponse.builder()
+                .status(status)
+                .contentType("application/json")
+                .body("{}".getBytes())
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
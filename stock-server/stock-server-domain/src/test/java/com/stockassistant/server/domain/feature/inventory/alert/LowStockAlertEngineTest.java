@@ -0,0 +1,111 @@
+package com.stockassistant.server.domain.feature.inventory.alert;
+
+import com.stockassistant.server.domain.feature.inventory.projection.InventoryProjection;
+import com.stockassistant.server.domain.model.LowStockAlert;
+import com.stockassistant.server.domain.model.LowStockAlertEvent;
+import com.stockassistant.server.domain.model.ReorderPoint;
+import com.stockassistant.server.domain.model.enums.LowStockAlertStateEnum;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LowStockAlertEngineTest {
+
+    private static final UUID WAREHOUSE = UUID.randomUUID();
+    private static final UUID OTHER_WAREHOUSE = UUID.randomUUID();
+    private static final UUID PRODUCT = UUID.randomUUID();
+    private static final UUID OTHER_PRODUCT = UUID.randomUUID();
+
+    private final InventoryProjection projection = new InventoryProjection();
+
+    private final List<LowStockAlertEvent> events = new ArrayList<>();
+
+    private final LowStockAlertEngine engine = new LowStockAlertEngine(projection, event -> events.add((LowStockAlertEvent) event));
+
+    @Test
+    void evaluate_QuantityCrossesReorderPoint_RaisesAndClearsOnce() {
+        engine.setReorderPoint(PRODUCT, null, 10);
+
+        engine.evaluate(WAREHOUSE, PRODUCT, 12);
+        engine.evaluate(WAREHOUSE, PRODUCT, 8);
+        LowStockAlert raised = alerts(null, null).getFirst();
+        engine.evaluate(WAREHOUSE, PRODUCT, 5);
+        LowStockAlert lowered = alerts(null, null).getFirst();
+        engine.evaluate(WAREHOUSE, PRODUCT, 10);
+
+        assertEquals(List.of(LowStockAlertStateEnum.RAISED, LowStockAlertStateEnum.CLEARED),
+                events.stream().map(LowStockAlertEvent::state).toList());
+        assertEquals(8, events.getFirst().alert().quantity());
+        assertEquals(10, events.getLast().alert().quantity());
+        assertEquals(5, lowered.quantity());
+        assertEquals(raised.raisedAt(), lowered.raisedAt());
+        assertTrue(alerts(null, null).isEmpty());
+    }
+
+    @Test
+    void setReorderPoint_WarehouseOverride_AppliesToItsItemOnly() {
+        projection.set(WAREHOUSE, PRODUCT, 5, 1, () -> { });
+        projection.set(OTHER_WAREHOUSE, PRODUCT, 5, 1, () -> { });
+
+        engine.setReorderPoint(PRODUCT, null, 3);
+        engine.setReorderPoint(PRODUCT, WAREHOUSE, 8);
+
+        assertEquals(List.of(WAREHOUSE), alerts(null, null).stream().map(LowStockAlert::warehouseId).toList());
+
+        engine.setReorderPoint(PRODUCT, WAREHOUSE, null);
+
+        assertTrue(alerts(null, null).isEmpty());
+        assertEquals(List.of(LowStockAlertStateEnum.RAISED, LowStockAlertStateEnum.CLEARED),
+                events.stream().map(LowStockAlertEvent::state).toList());
+    }
+
+    @Test
+    void rebuild_LoadedProjection_RaisesAlertsWithoutPublishing() {
+        projection.set(WAREHOUSE, PRODUCT, 5, 1, () -> { });
+        projection.set(OTHER_WAREHOUSE, PRODUCT, 5, 1, () -> { });
+        projection.set(WAREHOUSE, OTHER_PRODUCT, 1, 1, () -> { });
+        engine.evaluate(WAREHOUSE, OTHER_PRODUCT, 1);
+
+        engine.rebuild(Stream.of(
+                new ReorderPoint(PRODUCT, 10),
+                new ReorderPoint(PRODUCT, OTHER_WAREHOUSE, 2),
+                new ReorderPoint(OTHER_PRODUCT, null)));
+
+        assertEquals(List.of(new Item(WAREHOUSE, PRODUCT)), alerts(null, null).stream()
+                .map(alert -> new Item(alert.warehouseId(), alert.productId())).toList());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void findAlerts_SeveralAlerts_MostUrgentFirstAndFiltered() {
+        engine.setReorderPoint(PRODUCT, null, 10);
+        engine.setReorderPoint(OTHER_PRODUCT, null, 4);
+        engine.evaluate(WAREHOUSE, PRODUCT, 6);
+        engine.evaluate(OTHER_WAREHOUSE, PRODUCT, 2);
+        engine.evaluate(WAREHOUSE, OTHER_PRODUCT, 3);
+
+        assertEquals(List.of(2, 6, 3), alerts(null, null).stream().map(LowStockAlert::quantity).toList());
+        assertEquals(List.of(6, 3), alerts(WAREHOUSE, null).stream().map(LowStockAlert::quantity).toList());
+        assertEquals(List.of(3), alerts(null, OTHER_PRODUCT).stream().map(LowStockAlert::quantity).toList());
+
+        Page<LowStockAlert> page = engine.findAlerts(PageRequest.of(1, 2), null, null);
+
+        assertEquals(3, page.getTotalElements());
+        assertEquals(List.of(3), page.getContent().stream().map(LowStockAlert::quantity).toList());
+    }
+
+    private List<LowStockAlert> alerts(UUID warehouseId, UUID productId) {
+        return engine.findAlerts(PageRequest.of(0, 10), warehouseId, productId).getContent();
+    }
+
+    private record Item(UUID warehouseId, UUID productId) {
+    }
+}
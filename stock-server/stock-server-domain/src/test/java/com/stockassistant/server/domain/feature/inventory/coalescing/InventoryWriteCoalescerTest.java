@@ -0,0 +1,141 @@
+package com.stockassistant.server.domain.feature.inventory.coalescing;
+
+import com.stockassistant.server.domain.feature.inventory.port.out.InventoryRepositoryPort;
+import com.stockassistant.server.domain.model.InventoryChange;
+import com.stockassistant.server.domain.model.InventoryItem;
+import com.stockassistant.server.domain.model.Product;
+import com.stockassistant.server.domain.model.Warehouse;
+import com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryWriteCoalescerTest {
+
+    private static final UUID WAREHOUSE = UUID.randomUUID();
+    private static final UUID PRODUCT = UUID.randomUUID();
+    private static final UUID OTHER_PRODUCT = UUID.randomUUID();
+
+    @Mock
+    private InventoryRepositoryPort inventoryRepositoryPort;
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    private InventoryWriteCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        coalescer.destroy();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void submit_SameItemWithinWindow_AppliesLastQuantityOnce() throws Exception {
+        coalescer = new InventoryWriteCoalescer(inventoryRepositoryPort, true, Duration.ofMillis(500), 500);
+        when(inventoryRepositoryPort.updateItems(anyList())).thenAnswer(invocation -> items(invocation.getArgument(0)));
+        List<InventoryItem> appliedItems = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<InventoryItem> first = submitWaiting(PRODUCT, 5, appliedItems);
+        CompletableFuture<InventoryItem> last = submitWaiting(PRODUCT, 9, appliedItems);
+
+        assertEquals(9, first.get(5, TimeUnit.SECONDS).quantity());
+        assertEquals(9, last.get(5, TimeUnit.SECONDS).quantity());
+        ArgumentCaptor<List<InventoryChange>> changes = ArgumentCaptor.captor();
+        verify(inventoryRepositoryPort, times(1)).updateItems(changes.capture());
+        assertEquals(List.of(new InventoryChange(WAREHOUSE, PRODUCT, 9, null)), changes.getValue());
+        assertEquals(1, appliedItems.size());
+    }
+
+    @Test
+    void submit_BatchFails_ReportsFailureToEveryCaller() throws Exception {
+        coalescer = new InventoryWriteCoalescer(inventoryRepositoryPort, true, Duration.ofMillis(500), 500);
+        IllegalStateException failure = new IllegalStateException("Connection lost");
+        when(inventoryRepositoryPort.updateItems(anyList())).thenThrow(failure);
+        List<InventoryItem> appliedItems = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<InventoryItem> first = submitWaiting(PRODUCT, 5, appliedItems);
+        CompletableFuture<InventoryItem> other = submitWaiting(OTHER_PRODUCT, 3, appliedItems);
+
+        assertSame(failure, assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS)).getCause());
+        assertSame(failure, assertThrows(ExecutionException.class, () -> other.get(5, TimeUnit.SECONDS)).getCause());
+        assertEquals(List.of(), appliedItems);
+    }
+
+    @Test
+    void submit_ItemNotFound_ReportsNotFoundToItsCallersOnly() throws Exception {
+        coalescer = new InventoryWriteCoalescer(inventoryRepositoryPort, true, Duration.ofMillis(500), 500);
+        when(inventoryRepositoryPort.updateItems(anyList())).thenAnswer(invocation -> items(invocation.getArgument(0)).stream()
+                .filter(item -> PRODUCT.equals(item.product().uuid()))
+                .toList());
+        List<InventoryItem> appliedItems = new CopyOnWriteArrayList<>();
+
+        CompletableFuture<InventoryItem> found = submitWaiting(PRODUCT, 5, appliedItems);
+        CompletableFuture<InventoryItem> missing = submitWaiting(OTHER_PRODUCT, 3, appliedItems);
+
+        assertEquals(5, found.get(5, TimeUnit.SECONDS).quantity());
+        assertEquals(ObjectNotFoundException.class,
+                assertThrows(ExecutionException.class, () -> missing.get(5, TimeUnit.SECONDS)).getCause().getClass());
+        assertEquals(List.of(PRODUCT), appliedItems.stream().map(item -> item.product().uuid()).toList());
+    }
+
+    @Test
+    void submit_FullBatch_AppliesWithoutWaitingForWindow() {
+        coalescer = new InventoryWriteCoalescer(inventoryRepositoryPort, true, Duration.ofHours(1), 1);
+        when(inventoryRepositoryPort.updateItems(anyList())).thenAnswer(invocation -> items(invocation.getArgument(0)));
+
+        InventoryItem item = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> coalescer.submit(WAREHOUSE, PRODUCT, 4, applied -> { }));
+
+        assertEquals(4, item.quantity());
+    }
+
+    /**
+     * Submits an update from another thread and returns once the caller is waiting for its batch.
+     */
+    private CompletableFuture<InventoryItem> submitWaiting(UUID productId, int quantity, List<InventoryItem> appliedItems)
+            throws InterruptedException {
+        CompletableFuture<Thread> caller = new CompletableFuture<>();
+        CompletableFuture<InventoryItem> result = CompletableFuture.supplyAsync(() -> {
+            caller.complete(Thread.currentThread());
+            return coalescer.submit(WAREHOUSE, productId, quantity, appliedItems::add);
+        }, callers);
+        Thread thread = caller.join();
+        while (thread.getState() != Thread.State.WAITING && !result.isDone()) {
+            Thread.sleep(1);
+        }
+        return result;
+    }
+
+    private static List<InventoryItem> items(List<InventoryChange> changes) {
+        return changes.stream()
+                .map(change -> InventoryItem.builder()
+                        .warehouse(Warehouse.builder().uuid(change.warehouseId()).build())
+                        .product(Product.builder().uuid(change.productId()).build())
+                        .quantity(change.quantity())
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,140 @@
+package com.stockassistant.server.domain.feature.inventory.feed;
+
+import com.stockassistant.server.domain.model.InventoryChangeEvent;
+import com.stockassistant.server.domain.model.enums.ChangeFeedOverflowEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InventoryChangeFeedTest {
+
+    private static final UUID WAREHOUSE = UUID.randomUUID();
+    private static final UUID PRODUCT = UUID.randomUUID();
+
+    private InventoryChangeFeed feed;
+
+    @AfterEach
+    void tearDown() {
+        feed.destroy();
+    }
+
+    @Test
+    void subscribe_ReplayLargerThanBuffer_DeliversWholeReplayWithoutDisconnecting() throws InterruptedException {
+        feed = new InventoryChangeFeed(1000, 4, ChangeFeedOverflowEnum.DISCONNECT);
+        LongStream.rangeClosed(1, 100).forEach(id -> feed.publish(id, WAREHOUSE, PRODUCT, (int) id));
+        RecordingSink sink = new RecordingSink(99);
+
+        feed.subscribe(null, null, 1L, sink);
+
+        assertTrue(sink.await());
+        assertEquals(LongStream.rangeClosed(2, 100).boxed().toList(), sink.ids());
+        assertFalse(sink.closed);
+    }
+
+    @Test
+    void subscribe_LastChangePublishedBeforeLowerIds_ResumesAfterItsPosition() throws InterruptedException {
+        feed = new InventoryChangeFeed(1000, 16, ChangeFeedOverflowEnum.DROP_OLDEST);
+        // Change records are numbered when written, a change committing later is published later
+        for (long id : new long[]{10, 12, 11, 13}) {
+            feed.publish(id, WAREHOUSE, PRODUCT, 1);
+        }
+        RecordingSink sink = new RecordingSink(2);
+
+        feed.subscribe(WAREHOUSE, null, 12L, sink);
+
+        assertTrue(sink.await());
+        assertEquals(List.of(11L, 13L), sink.ids());
+    }
+
+    @Test
+    void subscribe_LastChangeNoLongerKept_ResumesWithHigherIds() throws InterruptedException {
+        feed = new InventoryChangeFeed(1000, 16, ChangeFeedOverflowEnum.DROP_OLDEST);
+        feed.publish(41, WAREHOUSE, PRODUCT, 1);
+        feed.publish(42, WAREHOUSE, PRODUCT, 2);
+        RecordingSink sink = new RecordingSink(1);
+
+        feed.subscribe(null, PRODUCT, 41L, sink);
+
+        assertTrue(sink.await());
+        assertEquals(List.of(42L), sink.ids());
+
+        RecordingSink restarted = new RecordingSink(2);
+        feed.subscribe(null, null, 7L, restarted);
+
+        assertTrue(restarted.await());
+        assertEquals(List.of(41L, 42L), restarted.ids());
+    }
+
+    @Test
+    void publish_BlockedSubscriber_DoesNotDelayOthers() throws InterruptedException {
+        feed = new InventoryChangeFeed(1000, 16, ChangeFeedOverflowEnum.DROP_OLDEST);
+        CountDownLatch release = new CountDownLatch(1);
+        List<BlockedSink> blocked = LongStream.range(0, 32)
+                .mapToObj(i -> new BlockedSink(release))
+                .toList();
+        blocked.forEach(sink -> feed.subscribe(null, null, null, sink));
+        RecordingSink sink = new RecordingSink(3);
+        feed.subscribe(null, null, null, sink);
+
+        LongStream.rangeClosed(1, 3).forEach(id -> feed.publish(id, WAREHOUSE, PRODUCT, 1));
+
+        assertTrue(sink.await());
+        release.countDown();
+        assertEquals(List.of(1L, 2L, 3L), sink.ids());
+    }
+
+    private static class RecordingSink implements InventoryChangeSink {
+        private final List<InventoryChangeEvent> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch received;
+        private volatile boolean closed;
+
+        private RecordingSink(int expected) {
+            received = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void send(InventoryChangeEvent event) {
+            events.add(event);
+            received.countDown();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        private boolean await() throws InterruptedException {
+            return received.await(5, TimeUnit.SECONDS);
+        }
+
+        private List<Long> ids() {
+            return events.stream().map(InventoryChangeEvent::id).toList();
+        }
+    }
+
+    private record BlockedSink(CountDownLatch release) implements InventoryChangeSink {
+        @Override
+        public void send(InventoryChangeEvent event) throws InterruptedIOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
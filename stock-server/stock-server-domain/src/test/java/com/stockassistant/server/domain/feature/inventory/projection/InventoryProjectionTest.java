@@ -0,0 +1,126 @@
+package com.stockassistant.server.domain.feature.inventory.projection;
+
+import com.stockassistant.server.domain.model.StockLevel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InventoryProjectionTest {
+
+    private static final int PRODUCTS = 50;
+    private static final int WAREHOUSES = 40;
+
+    private final InventoryProjection projection = new InventoryProjection();
+
+    private final List<UUID> products = IntStream.range(0, PRODUCTS).mapToObj(i -> UUID.randomUUID()).toList();
+
+    private final List<UUID> warehouses = IntStream.range(0, WAREHOUSES).mapToObj(i -> UUID.randomUUID()).toList();
+
+    @Test
+    void rebuild_UnorderedLevelsBeyondInitialCapacity_AnswersQuantitiesAndTotals() {
+        List<StockLevel> levels = new ArrayList<>();
+        for (int p = 0; p < PRODUCTS; p++) {
+            for (int w = 0; w < WAREHOUSES; w++) {
+                levels.add(new StockLevel(warehouses.get(w), products.get(p), p * WAREHOUSES + w, 1));
+            }
+        }
+        Collections.shuffle(levels, new Random(7));
+
+        projection.rebuild(levels::stream);
+
+        assertEquals(OptionalInt.of(3 * WAREHOUSES + 5), projection.quantity(warehouses.get(5), products.get(3)));
+        assertEquals(IntStream.range(0, WAREHOUSES).mapToLong(w -> 3L * WAREHOUSES + w).sum(),
+                projection.totalQuantity(products.get(3)));
+        assertEquals(IntStream.range(0, PRODUCTS).mapToLong(p -> (long) p * WAREHOUSES + 5).sum(),
+                projection.warehouseQuantity(warehouses.get(5)));
+        assertEquals(List.of(0, 1, 2), projection.findLevels(products.getFirst(), 3).stream()
+                .map(StockLevel::quantity).sorted().toList());
+        assertEquals(WAREHOUSES, projection.findLevels(products.getLast(), null).size());
+    }
+
+    @Test
+    void set_NewItemsBeyondInitialCapacity_KeepsEveryEntry() {
+        for (int p = 0; p < PRODUCTS; p++) {
+            for (int w = WAREHOUSES - 1; w >= 0; w--) {
+                assertTrue(projection.set(warehouses.get(w), products.get(p), w + 1, 1, () -> { }));
+            }
+        }
+
+        for (int w = 0; w < WAREHOUSES; w++) {
+            assertEquals(OptionalInt.of(w + 1), projection.quantity(warehouses.get(w), products.get(PRODUCTS - 1)));
+        }
+        assertEquals((long) PRODUCTS * WAREHOUSES, projection.warehouseQuantity(warehouses.getLast()));
+    }
+
+    @Test
+    void set_QuantitiesAboveIntRange_KeepsLongTotals() {
+        projection.set(warehouses.get(0), products.get(0), Integer.MAX_VALUE, 1, () -> { });
+        projection.set(warehouses.get(1), products.get(0), Integer.MAX_VALUE, 1, () -> { });
+
+        assertEquals(2L * Integer.MAX_VALUE, projection.totalQuantity(products.get(0)));
+        assertEquals(OptionalInt.of(Integer.MAX_VALUE), projection.quantity(warehouses.get(1), products.get(0)));
+    }
+
+    @Test
+    void set_StaleVersion_IsIgnoredWithoutFollowUp() {
+        AtomicInteger followUps = new AtomicInteger();
+        projection.set(warehouses.get(0), products.get(0), 10, 2, followUps::incrementAndGet);
+
+        assertFalse(projection.set(warehouses.get(0), products.get(0), 4, 1, followUps::incrementAndGet));
+        assertFalse(projection.set(warehouses.get(0), products.get(0), 4, 2, followUps::incrementAndGet));
+
+        assertEquals(OptionalInt.of(10), projection.quantity(warehouses.get(0), products.get(0)));
+        assertEquals(10, projection.totalQuantity(products.get(0)));
+        assertEquals(1, followUps.get());
+    }
+
+    @Test
+    void rebuild_WritesDuringLoad_KeepsTheLatestVersionOfEachItem() {
+        UUID written = products.get(0);
+        UUID stale = products.get(1);
+        UUID warehouse = warehouses.get(0);
+        List<StockLevel> levels = List.of(
+                new StockLevel(warehouse, written, 5, 3),
+                new StockLevel(warehouse, stale, 9, 2));
+
+        projection.rebuild(() -> levels.stream().peek(level -> {
+            if (level.productId().equals(written)) {
+                // Committed while the snapshot streams, the snapshot holds the previous version
+                projection.set(warehouse, written, 7, 4, () -> { });
+                // Committed before the snapshot was read, the snapshot already holds it
+                projection.set(warehouse, stale, 1, 1, () -> { });
+            }
+        }));
+
+        assertEquals(OptionalInt.of(7), projection.quantity(warehouse, written));
+        assertEquals(OptionalInt.of(9), projection.quantity(warehouse, stale));
+        assertEquals(16, projection.warehouseQuantity(warehouse));
+    }
+
+    @Test
+    void rebuild_FailingLoad_KeepsPreviousContent() {
+        projection.set(warehouses.get(0), products.get(0), 3, 1, () -> { });
+
+        assertThrows(IllegalStateException.class, () -> projection.rebuild(() -> Stream.<StockLevel>of(
+                new StockLevel(warehouses.get(0), products.get(0), 8, 2)).peek(level -> {
+            throw new IllegalStateException("Connection lost");
+        })));
+        projection.set(warehouses.get(1), products.get(0), 2, 1, () -> { });
+
+        assertEquals(OptionalInt.of(3), projection.quantity(warehouses.get(0), products.get(0)));
+        assertEquals(5, projection.totalQuantity(products.get(0)));
+    }
+}
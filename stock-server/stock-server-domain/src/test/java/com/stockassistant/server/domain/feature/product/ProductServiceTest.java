@@ -0,0 +1,104 @@
+package com.stockassistant.server.domain.feature.product;
+
+import com.stockassistant.server.domain.feature.product.port.out.ProductRepositoryPort;
+import com.stockassistant.server.domain.feature.product.search.ProductSearchIndex;
+import com.stockassistant.server.domain.model.Product;
+import com.stockassistant.server.domain.model.ProductImportReject;
+import com.stockassistant.server.domain.model.ProductImportReport;
+import com.stockassistant.server.domain.model.ProductImportRow;
+import com.stockassistant.server.domain.model.ProductRequest;
+import com.stockassistant.server.domain.model.enums.ProductCategoryEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductServiceTest {
+
+    @Mock
+    private ProductRepositoryPort productRepositoryPort;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @InjectMocks
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(productService, "maxReportedRejects", 10);
+    }
+
+    @Test
+    void importProducts_RowsViolatingColumnConstraints_RejectedBeforeReachingRepository() {
+        when(productRepositoryPort.importAll(any(), any())).thenAnswer(invocation -> ProductImportReport.builder()
+                .created(invocation.<Stream<ProductRequest>>getArgument(0).count())
+                .build());
+
+        ProductImportReport report = productService.importProducts(Stream.of(
+                row(1, product("SKU-001", 9.99f, ProductCategoryEnum.HARDWARE)),
+                row(2, product("SKU-002", 9.99f, null)),
+                row(3, product("SKU-003", 100_000_000f, ProductCategoryEnum.HARDWARE)),
+                row(4, product("SKU-004", 99_999_990f, ProductCategoryEnum.HARDWARE))));
+
+        assertEquals(4, report.received());
+        assertEquals(2, report.created());
+        assertEquals(2, report.rejected());
+        assertEquals(List.of(2L, 3L), report.rejects().stream().map(ProductImportReject::line).toList());
+        assertEquals("category is required", report.rejects().getFirst().reason());
+    }
+
+    @Test
+    void importProducts_ImportCommitted_IndexesUpsertedProductsOnly() {
+        Product upserted = Product.builder().uuid(UUID.randomUUID()).sku("SKU-001").name("Product").build();
+        when(productRepositoryPort.importAll(any(), any())).thenAnswer(invocation -> {
+            invocation.<Consumer<Product>>getArgument(1).accept(upserted);
+            return ProductImportReport.builder().updated(1).build();
+        });
+
+        productService.importProducts(Stream.of(row(1, product("SKU-001", 9.99f, ProductCategoryEnum.HARDWARE))));
+
+        verify(productSearchIndex).index(upserted);
+        verifyNoMoreInteractions(productSearchIndex);
+        verify(productRepositoryPort, never()).stream();
+    }
+
+    @Test
+    void importProducts_ImportFails_LeavesIndexUntouched() {
+        when(productRepositoryPort.importAll(any(), any())).thenAnswer(invocation -> {
+            invocation.<Consumer<Product>>getArgument(1).accept(Product.builder().uuid(UUID.randomUUID()).build());
+            throw new IllegalStateException("Unique constraint violated");
+        });
+
+        assertThrows(IllegalStateException.class, () -> productService.importProducts(
+                Stream.of(row(1, product("SKU-001", 9.99f, ProductCategoryEnum.HARDWARE)))));
+
+        verifyNoInteractions(productSearchIndex);
+    }
+
+    private static ProductImportRow row(long line, ProductRequest product) {
+        return ProductImportRow.builder().line(line).product(product).build();
+    }
+
+    private static ProductRequest product(String sku, float price, ProductCategoryEnum category) {
+        return ProductRequest.builder().sku(sku).name("Product").price(price).category(category).build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.stockassistant.server.domain.feature.product.search;
+
+import com.stockassistant.server.domain.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProductSearchIndexTest {
+
+    private static final Product HAMMER = product("HAM-001", "Claw hammer", "Forged steel head");
+    private static final Product SCREWDRIVER = product("SCR-001", "Screwdriver", "Fits a hammer drill");
+    private static final Product BOLT = product("BLT-001", "Bolt", null);
+    private static final Product BOAT = product("BOT-001", "Boat", null);
+
+    private final ProductSearchIndex productSearchIndex = new ProductSearchIndex();
+
+    @Test
+    void search_PrefixAndTypos_MatchIndexedTerms() {
+        productSearchIndex.rebuild(Stream.of(HAMMER, SCREWDRIVER));
+
+        assertEquals(List.of(HAMMER.uuid()), productSearchIndex.search("claw", 10));
+        assertEquals(List.of(SCREWDRIVER.uuid()), productSearchIndex.search("screwd", 10));
+        assertEquals(List.of(HAMMER.uuid()), productSearchIndex.search("forgd", 10));
+        assertEquals(List.of(SCREWDRIVER.uuid()), productSearchIndex.search("screwdirver", 10));
+        assertEquals(HAMMER.uuid(), productSearchIndex.search("ham-001", 10).getFirst());
+        assertEquals(List.of(), productSearchIndex.search("xyz", 10));
+    }
+
+    @Test
+    void search_ShortTokens_MatchWithoutTypos() {
+        productSearchIndex.rebuild(Stream.of(BOLT, BOAT));
+
+        assertEquals(List.of(BOLT.uuid()), productSearchIndex.search("bol", 10));
+        assertEquals(List.of(), productSearchIndex.search("olt", 10));
+        assertEquals(List.of(), productSearchIndex.search("bo", 10));
+    }
+
+    @Test
+    void search_SeveralMatches_RankedByFieldMatchQualityAndTokensMatched() {
+        productSearchIndex.rebuild(Stream.of(SCREWDRIVER, HAMMER, BOAT, BOLT));
+
+        assertEquals(List.of(HAMMER.uuid(), SCREWDRIVER.uuid()), productSearchIndex.search("hammer", 10));
+        assertEquals(List.of(BOLT.uuid(), BOAT.uuid()), productSearchIndex.search("bolt", 10));
+        assertEquals(List.of(SCREWDRIVER.uuid(), HAMMER.uuid()), productSearchIndex.search("hammer drill", 10));
+        assertEquals(List.of(HAMMER.uuid()), productSearchIndex.search("hammer", 1));
+    }
+
+    @Test
+    void search_CommonTokenAfterRareOne_OnlyScoresRareMatches() {
+        Product anvil = product("ANV-001", "Anvil", "Heavy tool");
+        productSearchIndex.rebuild(Stream.concat(
+                IntStream.range(0, 100).mapToObj(i -> product("TOL-" + i, "Item " + i, "Handy tool")),
+                Stream.of(anvil)));
+
+        assertEquals(List.of(anvil.uuid()), productSearchIndex.search("tool anvil", 1));
+        assertEquals(anvil.uuid(), productSearchIndex.search("anvil tool", 10).getFirst());
+        assertEquals(10, productSearchIndex.search("tool", 10).size());
+    }
+
+    @Test
+    void index_UpdatedProduct_ReplacesPreviousTerms() {
+        productSearchIndex.rebuild(Stream.of(HAMMER));
+
+        productSearchIndex.index(HAMMER.toBuilder().name("Sledgehammer").build());
+
+        assertEquals(List.of(), productSearchIndex.search("claw", 10));
+        assertEquals(List.of(HAMMER.uuid()), productSearchIndex.search("sledgehammer", 10));
+    }
+
+    @Test
+    void remove_IndexedProduct_NoLongerMatches() {
+        productSearchIndex.rebuild(Stream.of(HAMMER, SCREWDRIVER));
+
+        productSearchIndex.remove(HAMMER.uuid());
+        productSearchIndex.remove(UUID.randomUUID());
+
+        assertEquals(List.of(SCREWDRIVER.uuid()), productSearchIndex.search("hammer", 10));
+    }
+
+    @Test
+    void index_RepeatedUpdates_CompactsWithoutLosingOtherProducts() {
+        productSearchIndex.rebuild(Stream.of(HAMMER, SCREWDRIVER, BOLT));
+
+        for (int i = 0; i < 10; i++) {
+            productSearchIndex.index(HAMMER.toBuilder().name("Mallet " + i).build());
+        }
+        productSearchIndex.remove(BOLT.uuid());
+
+        assertEquals(List.of(HAMMER.uuid()), productSearchIndex.search("mallet 9", 10));
+        assertEquals(List.of(HAMMER.uuid()), productSearchIndex.search("mallet", 10));
+        assertEquals(List.of(SCREWDRIVER.uuid()), productSearchIndex.search("screwdriver", 10));
+        assertEquals(List.of(), productSearchIndex.search("bolt", 10));
+        assertEquals(List.of(), productSearchIndex.search("claw", 10));
+    }
+
+    @Test
+    void rebuild_NewCatalogue_ReplacesContent() {
+        productSearchIndex.rebuild(Stream.of(HAMMER));
+
+        productSearchIndex.rebuild(Stream.of(BOLT));
+
+        assertEquals(List.of(), productSearchIndex.search("hammer", 10));
+        assertEquals(List.of(BOLT.uuid()), productSearchIndex.search("bolt", 10));
+    }
+
+    private static Product product(String sku, String name, String description) {
+        return Product.builder().uuid(UUID.randomUUID()).sku(sku).name(name).description(description).build();
+    }
+}
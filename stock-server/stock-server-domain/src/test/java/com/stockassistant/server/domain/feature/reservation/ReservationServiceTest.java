@@ -0,0 +1,149 @@
+package com.stockassistant.server.domain.feature.reservation;
+
+import com.stockassistant.server.domain.feature.inventory.port.in.InventoryUseCase;
+import com.stockassistant.server.domain.feature.inventory.projection.InventoryProjection;
+import com.stockassistant.server.domain.feature.reservation.port.out.ReservationRepositoryPort;
+import com.stockassistant.server.domain.model.Reservation;
+import com.stockassistant.server.domain.model.StockAvailability;
+import com.stockassistant.server.domain.model.enums.ReservationStatusEnum;
+import com.stockassistant.server.domain.model.excpetion.InsufficientStockException;
+import com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationServiceTest {
+
+    private static final UUID WAREHOUSE = UUID.randomUUID();
+    private static final UUID PRODUCT = UUID.randomUUID();
+
+    private final InventoryProjection inventoryProjection = new InventoryProjection();
+
+    @Mock
+    private InventoryUseCase inventoryUseCase;
+
+    @Mock
+    private ReservationRepositoryPort reservationRepositoryPort;
+
+    private ReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        inventoryProjection.set(WAREHOUSE, PRODUCT, 100, 1, () -> { });
+        reservationService = new ReservationService(inventoryProjection, inventoryUseCase, reservationRepositoryPort,
+                Duration.ofMinutes(15), Duration.ofDays(1), 5000, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reservationService.destroy();
+    }
+
+    @Test
+    void reserve_ConcurrentRequests_NeverOversell() throws InterruptedException {
+        AtomicInteger granted = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < 250; i++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        reservationService.reserve(WAREHOUSE, PRODUCT, 1, null, "cart");
+                        granted.incrementAndGet();
+                    } catch (InsufficientStockException e) {
+                        refused.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        StockAvailability availability = reservationService.getAvailability(WAREHOUSE, PRODUCT);
+        assertEquals(100, granted.get());
+        assertEquals(150, refused.get());
+        assertEquals(100, availability.reserved());
+        assertEquals(0, availability.available());
+    }
+
+    @Test
+    void commit_Reservation_AdjustsStockAndFreesReservedQuantity() {
+        Reservation reservation = reservationService.reserve(WAREHOUSE, PRODUCT, 5, null, "order");
+
+        Reservation committed = reservationService.commit(reservation.uuid());
+
+        verify(inventoryUseCase).adjust(WAREHOUSE, PRODUCT, -5);
+        assertEquals(ReservationStatusEnum.COMMITTED, committed.status());
+        assertEquals(0, reservationService.getAvailability(WAREHOUSE, PRODUCT).reserved());
+        assertEquals(0, reservationService.outstanding());
+    }
+
+    @Test
+    void commit_AdjustmentFails_PutsReservationBack() {
+        Reservation reservation = reservationService.reserve(WAREHOUSE, PRODUCT, 5, null, "order");
+        doThrow(new InsufficientStockException()).when(inventoryUseCase).adjust(WAREHOUSE, PRODUCT, -5);
+
+        assertThrows(InsufficientStockException.class, () -> reservationService.commit(reservation.uuid()));
+
+        assertEquals(reservation, reservationService.get(reservation.uuid()));
+        assertEquals(5, reservationService.getAvailability(WAREHOUSE, PRODUCT).reserved());
+    }
+
+    @Test
+    void expire_PastExpiry_EndsOutstandingReservationsOnly() {
+        Reservation expired = reservationService.reserve(WAREHOUSE, PRODUCT, 5, Duration.ZERO, "cart");
+        Reservation released = reservationService.reserve(WAREHOUSE, PRODUCT, 3, Duration.ZERO, "cart");
+        reservationService.reserve(WAREHOUSE, PRODUCT, 7, null, "cart");
+        reservationService.release(released.uuid());
+
+        assertEquals(1, reservationService.expire());
+
+        assertThrows(ObjectNotFoundException.class, () -> reservationService.get(expired.uuid()));
+        assertEquals(7, reservationService.getAvailability(WAREHOUSE, PRODUCT).reserved());
+        assertEquals(1, reservationService.outstanding());
+    }
+
+    @Test
+    void flush_ReservationEndedBeforeWrite_IsNotWritten() {
+        Reservation kept = reservationService.reserve(WAREHOUSE, PRODUCT, 5, null, "cart");
+        Reservation released = reservationService.reserve(WAREHOUSE, PRODUCT, 3, null, "cart");
+        reservationService.release(released.uuid());
+
+        assertEquals(1, reservationService.flush());
+
+        verify(reservationRepositoryPort).write(List.of(kept), List.of());
+    }
+
+    @Test
+    void reserve_UnknownItem_DoesNotWrite() {
+        assertThrows(ObjectNotFoundException.class,
+                () -> reservationService.reserve(WAREHOUSE, UUID.randomUUID(), 1, null, "cart"));
+
+        assertEquals(0, reservationService.flush());
+        verifyNoInteractions(reservationRepositoryPort);
+    }
+}
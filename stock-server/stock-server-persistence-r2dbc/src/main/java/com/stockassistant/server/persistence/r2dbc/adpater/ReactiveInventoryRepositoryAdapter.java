@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.r2dbc.adpater;
+
+import com.stockassistant.server.domain.feature.inventory.port.out.ReactiveInventoryRepositoryPort;
+import com.stockassistant.server.domain.model.InventoryItem;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
+import com.stockassistant.server.domain.model.excpetion.InsufficientStockException;
+import com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException;
+import com.stockassistant.server.domain.model.excpetion.StockLimitExceededException;
+import com.stockassistant.server.persistence.r2dbc.repository.ReactiveInventoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Adapter class that implements the ReactiveInventoryRepositoryPort interface over R2DBC.
+ * Pages follow the rules of the JPA adapter: one extra item is read to tell whether more follow, and the
+ * count query only runs when the page does not already reveal the total. Estimated counts are served exactly.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveInventoryRepositoryAdapter implements ReactiveInventoryRepositoryPort {
+    /** The non-blocking repository of the inventory items */
+    private final ReactiveInventoryRepository reactiveInventoryRepository;
+
+    @Override
+    public Mono<Slice<InventoryItem>> findAll(Pageable pageable, CountModeEnum countMode, UUID warehouseUUID, UUID productUUID) {
+        return reactiveInventoryRepository.findAll(warehouseUUID, productUUID, pageable.getPageSize() + 1, pageable.getOffset())
+                .collectList()
+                .flatMap(items -> {
+                    boolean hasNext = items.size() > pageable.getPageSize();
+                    List<InventoryItem> content = hasNext ? items.subList(0, pageable.getPageSize()) : items;
+                    if (countMode == CountModeEnum.NONE) {
+                        return Mono.just(new SliceImpl<>(content, pageable, hasNext));
+                    }
+                    if (!hasNext && (!content.isEmpty() || pageable.getOffset() == 0)) {
+                        return Mono.just(new PageImpl<>(content, pageable, pageable.getOffset() + content.size()));
+                    }
+                    return reactiveInventoryRepository.count(warehouseUUID, productUUID)
+                            .map(total -> new PageImpl<>(content, pageable, total));
+                });
+    }
+
+    @Override
+    public Mono<InventoryItem> update(UUID warehouseId, UUID productId, int quantity) {
+        return reactiveInventoryRepository.updateQuantity(warehouseId, productId, quantity)
+                .switchIfEmpty(Mono.error(ObjectNotFoundException::new));
+    }
+
+    @Override
+    public Mono<InventoryItem> adjust(UUID warehouseId, UUID productId, int delta) {
+        return reactiveInventoryRepository.adjustQuantity(warehouseId, productId, delta)
+                .switchIfEmpty(reactiveInventoryRepository.exists(warehouseId, productId)
+                        .flatMap(exists -> Mono.error(!exists ? new ObjectNotFoundException()
+                                : delta > 0 ? new StockLimitExceededException() : new InsufficientStockException())));
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.r2dbc.adpater;
+
+import com.stockassistant.server.domain.feature.product.port.out.ReactiveProductRepositoryPort;
+import com.stockassistant.server.domain.model.Product;
+import com.stockassistant.server.persistence.r2dbc.repository.ReactiveProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Adapter class that implements the ReactiveProductRepositoryPort interface over R2DBC.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveProductRepositoryAdapter implements ReactiveProductRepositoryPort {
+    /** The non-blocking repository of the products */
+    private final ReactiveProductRepository reactiveProductRepository;
+
+    @Override
+    public Mono<Product> findById(UUID id) {
+        return reactiveProductRepository.findByUuid(id);
+    }
+
+    @Override
+    public Mono<Product> findBySku(String sku) {
+        return reactiveProductRepository.findBySku(sku);
+    }
+}
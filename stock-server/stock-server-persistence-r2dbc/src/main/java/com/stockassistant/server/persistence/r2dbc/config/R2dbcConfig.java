@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.r2dbc.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configuration of the non-blocking database access of the reactive profile.
+ * The connection pool is created here rather than by the R2DBC auto-configuration, which the starter excludes
+ * as no R2DBC URL is configured outside the reactive profile. The pool is not a bean: Spring Boot backs off the
+ * JDBC data source once a connection factory bean exists, and the JPA stack still serves the scheduled jobs.
+ * The statements of the reactive adapters are atomic on their own, no reactive transaction manager is needed.
+ */
+@Slf4j
+@Configuration
+@Profile("reactive")
+public class R2dbcConfig implements DisposableBean {
+
+    /** The R2DBC URL of the database */
+    @Value("${stock.r2dbc.url}")
+    private String url;
+
+    /** The database user */
+    @Value("${stock.r2dbc.username}")
+    private String username;
+
+    /** The password of the database user */
+    @Value("${stock.r2dbc.password}")
+    private String password;
+
+    /** The maximum number of pooled connections */
+    @Value("${stock.r2dbc.pool.max-size:10}")
+    private int maxSize;
+
+    /** The time after which a request waiting for a connection fails */
+    @Value("${stock.r2dbc.pool.acquire-timeout:PT20S}")
+    private Duration acquireTimeout;
+
+    /** The pool of non-blocking connections, created with the database client */
+    private ConnectionPool connectionPool;
+
+    /**
+     * Creates the client running the statements of the reactive adapters over a pool of non-blocking connections.
+     *
+     * @return The database client
+     */
+    @Bean
+    public DatabaseClient databaseClient() {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        log.info("R2DBC connection pool created - maxSize: {}, acquireTimeout: {}", maxSize, acquireTimeout);
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("stock-r2dbc")
+                .initialSize(Math.min(2, maxSize))
+                .maxSize(maxSize)
+                .maxAcquireTime(acquireTimeout)
+                .build());
+        return DatabaseClient.create(connectionPool);
+    }
+
+    /**
+     * Closes the pooled connections with the context.
+     */
+    @Override
+    public void destroy() {
+        if (Objects.nonNull(connectionPool)) {
+            connectionPool.dispose();
+        }
+    }
+}
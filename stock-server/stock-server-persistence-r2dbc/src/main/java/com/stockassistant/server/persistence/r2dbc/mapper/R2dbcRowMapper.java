@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.r2dbc.mapper;
+
+import com.stockassistant.server.domain.model.InventoryItem;
+import com.stockassistant.server.domain.model.Product;
+import com.stockassistant.server.domain.model.Warehouse;
+import com.stockassistant.server.domain.model.enums.ProductCategoryEnum;
+import com.stockassistant.server.domain.model.enums.UnitOfMeasureEnum;
+import io.r2dbc.spi.Readable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Maps the rows read through R2DBC into domain models.
+ * The statements select the product and warehouse columns under the aliases of {@link #PRODUCT_COLUMNS}
+ * and {@link #WAREHOUSE_COLUMNS}, the warehouse stock under warehouse_stock_quantity.
+ */
+public final class R2dbcRowMapper {
+
+    /** The columns of the product aliased product, prefixed by product_ */
+    public static final String PRODUCT_COLUMNS = """
+                product.uuid AS product_uuid, product.sku AS product_sku, product.name AS product_name,
+                product.description AS product_description, product.category AS product_category,
+                product.unit_of_measure AS product_unit_of_measure, product.price AS product_price,
+                product.created_at AS product_created_at, product.updated_at AS product_updated_at
+            """;
+
+    /** The columns of the warehouse aliased warehouse but its stock, prefixed by warehouse_ */
+    public static final String WAREHOUSE_COLUMNS = """
+                warehouse.uuid AS warehouse_uuid, warehouse.name AS warehouse_name,
+                warehouse.location AS warehouse_location, warehouse.capacity AS warehouse_capacity,
+                warehouse.created_at AS warehouse_created_at, warehouse.updated_at AS warehouse_updated_at
+            """;
+
+    private R2dbcRowMapper() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Maps a row of {@link #PRODUCT_COLUMNS} into a product.
+     *
+     * @param row The row read
+     * @return The product
+     */
+    public static Product toProduct(Readable row) {
+        String category = row.get("product_category", String.class);
+        String unitOfMeasure = row.get("product_unit_of_measure", String.class);
+        BigDecimal price = row.get("product_price", BigDecimal.class);
+        return Product.builder()
+                .uuid(row.get("product_uuid", UUID.class))
+                .sku(row.get("product_sku", String.class))
+                .name(row.get("product_name", String.class))
+                .description(row.get("product_description", String.class))
+                .category(Objects.isNull(category) ? null : ProductCategoryEnum.valueOf(category))
+                .unitOfMeasure(Objects.isNull(unitOfMeasure) ? null : UnitOfMeasureEnum.valueOf(unitOfMeasure))
+                .price(Objects.isNull(price) ? null : price.floatValue())
+                .createdAt(row.get("product_created_at", LocalDateTime.class))
+                .updatedAt(row.get("product_updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    /**
+     * Maps a row of {@link #WAREHOUSE_COLUMNS} and warehouse_stock_quantity into a warehouse.
+     *
+     * @param row The row read
+     * @return The warehouse
+     */
+    public static Warehouse toWarehouse(Readable row) {
+        return Warehouse.builder()
+                .uuid(row.get("warehouse_uuid", UUID.class))
+                .name(row.get("warehouse_name", String.class))
+                .location(row.get("warehouse_location", String.class))
+                .capacity(Objects.requireNonNullElse(row.get("warehouse_capacity", Integer.class), 0))
+                .stockQuantity(Objects.requireNonNullElse(row.get("warehouse_stock_quantity", Long.class), 0L))
+                .createdAt(row.get("warehouse_created_at", LocalDateTime.class))
+                .updatedAt(row.get("warehouse_updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    /**
+     * Maps a row holding quantity, last_stock_update, stock_version and the product and warehouse columns into an inventory item.
+     *
+     * @param row The row read
+     * @return The inventory item
+     */
+    public static InventoryItem toInventoryItem(Readable row) {
+        return InventoryItem.builder()
+                .product(toProduct(row))
+                .warehouse(toWarehouse(row))
+                .quantity(Objects.requireNonNullElse(row.get("quantity", Integer.class), 0))
+                .lastStockUpdate(row.get("last_stock_update", LocalDateTime.class))
+                .stockVersion(Objects.requireNonNullElse(row.get("stock_version", Long.class), 0L))
+                .build();
+    }
+
+    /**
+     * Maps a row of a quantity change, holding the inventory item columns and the change_id of its change record.
+     *
+     * @param row The row read
+     * @return The inventory item with the id of its change record
+     */
+    public static InventoryItem toChangedInventoryItem(Readable row) {
+        return toInventoryItem(row).toBuilder()
+                .changeId(row.get("change_id", Long.class))
+                .build();
+    }
+}
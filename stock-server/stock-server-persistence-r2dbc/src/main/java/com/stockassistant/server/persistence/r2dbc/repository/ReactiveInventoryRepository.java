@@ -0,0 +1,251 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.r2dbc.repository;
+
+import com.stockassistant.server.domain.model.InventoryItem;
+import com.stockassistant.server.persistence.r2dbc.mapper.R2dbcRowMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking repository of the inventory items.
+ * Each quantity change is a single statement whose data-modifying CTEs also add the change to the stock of
+ * the warehouse, the stock ledger and the outbox: the statement is atomic on its own, so a change costs one
+ * round trip and holds its connection for that round trip only.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveInventoryRepository {
+
+    /** The inventory items joined with their product and warehouse */
+    private static final String FROM_ITEMS = """
+                FROM inventory inventory
+                JOIN product product ON product.id = inventory.product_id
+                JOIN warehouses warehouse ON warehouse.id = inventory.warehouse_id
+            """;
+
+    /** Selects the inventory items with their product and warehouse */
+    private static final String SELECT_ITEMS = "SELECT inventory.quantity AS quantity, inventory.last_stock_update AS last_stock_update, "
+            + "inventory.stock_version AS stock_version, warehouse.stock_quantity AS warehouse_stock_quantity, "
+            + R2dbcRowMapper.PRODUCT_COLUMNS + ", " + R2dbcRowMapper.WAREHOUSE_COLUMNS + FROM_ITEMS;
+
+    /** The conditions of the optional filters, by parameter name */
+    private static final Map<String, String> FILTERS = Map.of(
+            "warehouseId", "warehouse.uuid = :warehouseId",
+            "productId", "product.uuid = :productId");
+
+    /** Counts the inventory items */
+    private static final String COUNT_ITEMS = "SELECT COUNT(*) " + FROM_ITEMS;
+
+    /** Checks whether an inventory item exists */
+    private static final String EXISTS = "SELECT EXISTS (SELECT 1 " + FROM_ITEMS + """
+                WHERE warehouse.uuid = :warehouseId AND product.uuid = :productId)
+            """;
+
+    /** Sets the quantity of an item locked beforehand, so the delta is computed against the committed quantity */
+    private static final String UPDATE_QUANTITY = """
+                WITH locked AS (
+                    SELECT inventory.id, inventory.quantity
+            """ + FROM_ITEMS + """
+                    WHERE warehouse.uuid = :warehouseId AND product.uuid = :productId
+                    FOR UPDATE OF inventory
+                ), updated AS (
+                    UPDATE inventory inventory
+                    SET quantity = :quantity, last_stock_update = LOCALTIMESTAMP, stock_version = inventory.stock_version + 1
+                    FROM locked
+                    WHERE inventory.id = locked.id
+                    RETURNING inventory.product_id, inventory.warehouse_id, inventory.quantity, inventory.last_stock_update,
+                              inventory.stock_version,
+                              inventory.quantity - locked.quantity AS delta
+                )
+            """;
+
+    /**
+     * Adds a delta to the quantity of an item unless it would become negative or leave the range of a quantity,
+     * checked in BIGINT so the guard itself cannot overflow. As in the JPA adapter the guard
+     * is part of the update predicate, concurrent adjustments serialize on the row lock.
+     */
+    private static final String ADJUST_QUANTITY = """
+                WITH updated AS (
+                    UPDATE inventory inventory
+                    SET quantity = inventory.quantity + :delta, last_stock_update = LOCALTIMESTAMP,
+                        stock_version = inventory.stock_version + 1
+                    FROM product product, warehouses warehouse
+                    WHERE inventory.product_id = product.id AND inventory.warehouse_id = warehouse.id
+                      AND warehouse.uuid = :warehouseId AND product.uuid = :productId
+                      AND CAST(inventory.quantity AS BIGINT) + :delta BETWEEN 0 AND 2147483647
+                    RETURNING inventory.product_id, inventory.warehouse_id, inventory.quantity, inventory.last_stock_update,
+                              inventory.stock_version,
+                              CAST(:delta AS INTEGER) AS delta
+                )
+            """;
+
+    /**
+     * Writes the effects of the updated item: the stock of its warehouse, a stock movement and an outbox record
+     * whose payload matches the JSON written by the JPA adapter, then returns the item.
+     */
+    private static final String APPLY_CHANGE = """
+                , stock AS (
+                    UPDATE warehouses warehouse
+                    SET stock_quantity = warehouse.stock_quantity + updated.delta
+                    FROM updated
+                    WHERE warehouse.id = updated.warehouse_id AND updated.delta <> 0
+                    RETURNING warehouse.id, warehouse.stock_quantity
+                ), movement AS (
+                    INSERT INTO stock_movement (warehouse_id, product_id, delta, reason, created_at)
+                    SELECT :warehouseId, :productId, updated.delta, :reason, LOCALTIMESTAMP
+                    FROM updated
+                ), change AS (
+                    INSERT INTO outbox (aggregate, operation, warehouse_id, product_id, payload, created_at)
+                    SELECT 'INVENTORY', 'UPDATED', :warehouseId, :productId,
+                           json_build_object('quantity', updated.quantity, 'delta', updated.delta)::text, LOCALTIMESTAMP
+                    FROM updated
+                    RETURNING outbox.id
+                )
+                SELECT inventory.quantity AS quantity, inventory.last_stock_update AS last_stock_update,
+                       inventory.stock_version AS stock_version, change.id AS change_id,
+                       COALESCE(stock.stock_quantity, warehouse.stock_quantity) AS warehouse_stock_quantity,
+            """ + R2dbcRowMapper.PRODUCT_COLUMNS + ", " + R2dbcRowMapper.WAREHOUSE_COLUMNS + """
+                FROM updated inventory
+                JOIN product product ON product.id = inventory.product_id
+                JOIN warehouses warehouse ON warehouse.id = inventory.warehouse_id
+                LEFT JOIN stock ON stock.id = warehouse.id
+                CROSS JOIN change
+            """;
+
+    /** The client running the statements */
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Finds the inventory items matching the given UUIDs, in insertion order.
+     *
+     * @param warehouseId The UUID of the warehouse to filter by, null for every warehouse
+     * @param productId The UUID of the product to filter by, null for every product
+     * @param limit The maximum number of items
+     * @param offset The number of items to skip
+     * @return The matching inventory items
+     */
+    public Flux<InventoryItem> findAll(UUID warehouseId, UUID productId, int limit, long offset) {
+        Map<String, UUID> filters = toFilters(warehouseId, productId);
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(SELECT_ITEMS + toWhere(filters)
+                        + " ORDER BY inventory.id LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset);
+        return bindAll(spec, filters)
+                .map(R2dbcRowMapper::toInventoryItem)
+                .all();
+    }
+
+    /**
+     * Counts the inventory items matching the given UUIDs.
+     *
+     * @param warehouseId The UUID of the warehouse to filter by, null for every warehouse
+     * @param productId The UUID of the product to filter by, null for every product
+     * @return The number of matching inventory items
+     */
+    public Mono<Long> count(UUID warehouseId, UUID productId) {
+        Map<String, UUID> filters = toFilters(warehouseId, productId);
+        return bindAll(databaseClient.sql(COUNT_ITEMS + toWhere(filters)), filters)
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Checks whether an inventory item exists for the given warehouse and product UUIDs.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @return true if the item exists, false otherwise
+     */
+    public Mono<Boolean> exists(UUID warehouseId, UUID productId) {
+        return databaseClient.sql(EXISTS)
+                .bind("warehouseId", warehouseId)
+                .bind("productId", productId)
+                .map(row -> row.get(0, Boolean.class))
+                .one();
+    }
+
+    /**
+     * Sets the quantity of a specific product in a warehouse and records the change.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @param quantity The new quantity
+     * @return The updated inventory item with the id of its change record, empty if not found
+     */
+    public Mono<InventoryItem> updateQuantity(UUID warehouseId, UUID productId, int quantity) {
+        return databaseClient.sql(UPDATE_QUANTITY + APPLY_CHANGE)
+                .bind("warehouseId", warehouseId)
+                .bind("productId", productId)
+                .bind("quantity", quantity)
+                .bind("reason", "SET")
+                .map(R2dbcRowMapper::toChangedInventoryItem)
+                .one();
+    }
+
+    /**
+     * Adds a signed delta to the quantity of a specific product in a warehouse, unless it would become
+     * negative, and records the change.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @param delta The quantity to add, negative to remove stock
+     * @return The adjusted inventory item with the id of its change record, empty if not found or the guard
+     *         rejected the change
+     */
+    public Mono<InventoryItem> adjustQuantity(UUID warehouseId, UUID productId, int delta) {
+        return databaseClient.sql(ADJUST_QUANTITY + APPLY_CHANGE)
+                .bind("warehouseId", warehouseId)
+                .bind("productId", productId)
+                .bind("delta", delta)
+                .bind("reason", "ADJUSTMENT")
+                .map(R2dbcRowMapper::toChangedInventoryItem)
+                .one();
+    }
+
+    private static Map<String, UUID> toFilters(UUID warehouseId, UUID productId) {
+        Map<String, UUID> filters = new LinkedHashMap<>();
+        if (Objects.nonNull(warehouseId)) {
+            filters.put("warehouseId", warehouseId);
+        }
+        if (Objects.nonNull(productId)) {
+            filters.put("productId", productId);
+        }
+        return filters;
+    }
+
+    private static String toWhere(Map<String, UUID> filters) {
+        return filters.isEmpty() ? "" : filters.keySet().stream()
+                .map(FILTERS::get)
+                .collect(Collectors.joining(" AND ", " WHERE ", ""));
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindAll(DatabaseClient.GenericExecuteSpec spec, Map<String, UUID> filters) {
+        for (Map.Entry<String, UUID> filter : filters.entrySet()) {
+            spec = spec.bind(filter.getKey(), filter.getValue());
+        }
+        return spec;
+    }
+}
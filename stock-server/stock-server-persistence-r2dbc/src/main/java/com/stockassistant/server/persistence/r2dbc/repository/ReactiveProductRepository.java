@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.r2dbc.repository;
+
+import com.stockassistant.server.domain.model.Product;
+import com.stockassistant.server.persistence.r2dbc.mapper.R2dbcRowMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Non-blocking repository of the products.
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveProductRepository {
+
+    /** Selects the products */
+    private static final String SELECT_PRODUCTS = "SELECT " + R2dbcRowMapper.PRODUCT_COLUMNS + " FROM product product";
+
+    /** The client running the statements */
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Finds a product by its UUID.
+     *
+     * @param uuid The UUID of the product
+     * @return The product, empty if not found
+     */
+    public Mono<Product> findByUuid(UUID uuid) {
+        return databaseClient.sql(SELECT_PRODUCTS + " WHERE product.uuid = :uuid")
+                .bind("uuid", uuid)
+                .map(R2dbcRowMapper::toProduct)
+                .one();
+    }
+
+    /**
+     * Finds a product by its SKU.
+     *
+     * @param sku The SKU of the product
+     * @return The product, empty if not found
+     */
+    public Mono<Product> findBySku(String sku) {
+        return databaseClient.sql(SELECT_PRODUCTS + " WHERE product.sku = :sku")
+                .bind("sku", sku)
+                .map(R2dbcRowMapper::toProduct)
+                .one();
+    }
+}
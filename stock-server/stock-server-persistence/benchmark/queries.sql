@@ -0,0 +1,63 @@
+-- ================================
+-- Representative statements of the repository adapters, included by query-plans.sql.
+-- ================================
+
+\echo '--- Inventory listing filtered by warehouse, page data and count'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT inventory.*, product.*, warehouse.*
+FROM inventory inventory
+JOIN product product ON product.id = inventory.product_id
+JOIN warehouses warehouse ON warehouse.id = inventory.warehouse_id
+WHERE warehouse.uuid = :'warehouse_uuid'
+ORDER BY inventory.id
+LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(inventory.id)
+FROM inventory inventory
+JOIN warehouses warehouse ON warehouse.id = inventory.warehouse_id
+WHERE warehouse.uuid = :'warehouse_uuid';
+
+\echo '--- Inventory listing filtered by product'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT inventory.*, product.*, warehouse.*
+FROM inventory inventory
+JOIN product product ON product.id = inventory.product_id
+JOIN warehouses warehouse ON warehouse.id = inventory.warehouse_id
+WHERE product.uuid = :'product_uuid'
+ORDER BY inventory.id
+LIMIT 20;
+
+\echo '--- Quantity update of a (warehouse, product) pair'
+BEGIN;
+EXPLAIN (ANALYZE, BUFFERS)
+UPDATE inventory inventory
+SET quantity = inventory.quantity + 1, last_stock_update = LOCALTIMESTAMP
+FROM product product, warehouses warehouse
+WHERE inventory.product_id = product.id AND inventory.warehouse_id = warehouse.id
+  AND product.uuid = :'product_uuid' AND warehouse.uuid = :'warehouse_uuid';
+ROLLBACK;
+
+\echo '--- Product listing filtered by name'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT *
+FROM product
+WHERE lower(name) LIKE '%model 4242%'
+ORDER BY created_at, id
+LIMIT 20;
+
+\echo '--- Product listing, keyset slice on the default sort'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT *
+FROM product
+WHERE created_at > :'keyset_created_at' OR (created_at = :'keyset_created_at' AND id > :keyset_id)
+ORDER BY created_at, id
+LIMIT 21;
+
+\echo '--- Warehouse listing filtered by name and location'
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT *
+FROM warehouses
+WHERE lower(name) LIKE '%house 42%' AND lower(location) LIKE '%district 42%'
+ORDER BY created_at, id
+LIMIT 20;
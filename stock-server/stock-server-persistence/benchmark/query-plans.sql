@@ -0,0 +1,56 @@
+-- ================================
+-- Query plans of the listing and update patterns before and after V2__query_indexes.sql.
+--
+-- Run against an empty scratch database, the script creates and seeds its own schema:
+--   createdb stock_benchmark
+--   psql -d stock_benchmark -f stock-server-persistence/benchmark/query-plans.sql > query-plans.txt
+-- The output captured on PostgreSQL 15.6 is kept next to this script in query-plans.txt.
+--
+-- Dataset: 100 000 products, 1 000 warehouses, 1 000 000 inventory items.
+-- ================================
+\set ON_ERROR_STOP on
+\timing on
+
+\ir ../src/main/resources/db/migration/V1__baseline.sql
+
+INSERT INTO product (category, created_at, description, name, sku, unit_of_measure, updated_at, uuid, price)
+SELECT (ARRAY ['ELECTRONICS', 'HARDWARE', 'CONSUMABLES'])[1 + n % 3],
+       TIMESTAMP '2024-01-01' + n * INTERVAL '1 minute',
+       'Benchmark product ' || n,
+       (ARRAY ['Drill', 'Phone', 'Battery', 'Cable', 'Wipes'])[1 + n % 5] || ' Model ' || n,
+       'SKU-' || lpad(n::text, 8, '0'),
+       'UNIT',
+       TIMESTAMP '2024-01-01' + n * INTERVAL '1 minute',
+       gen_random_uuid(),
+       round((random() * 495 + 5)::numeric, 2)
+FROM generate_series(1, 100000) AS n;
+
+INSERT INTO warehouses (capacity, created_at, location, name, updated_at, uuid)
+SELECT 100000,
+       TIMESTAMP '2024-01-01' + n * INTERVAL '1 hour',
+       (ARRAY ['New York', 'Los Angeles', 'Chicago', 'Houston', 'Miami'])[1 + n % 5] || ' District ' || n,
+       'Warehouse ' || n,
+       TIMESTAMP '2024-01-01' + n * INTERVAL '1 hour',
+       gen_random_uuid()
+FROM generate_series(1, 1000) AS n;
+
+-- Every product is stocked in 10 warehouses
+INSERT INTO inventory (last_stock_update, quantity, uuid, product_id, warehouse_id)
+SELECT LOCALTIMESTAMP, (random() * 100)::int, gen_random_uuid(), p, 1 + (p * 7 + w * 100) % 1000
+FROM generate_series(1, 100000) AS p, generate_series(0, 9) AS w;
+
+ANALYZE;
+
+-- Warehouse 501 stocks product 50000, so the pair update hits an existing item
+SELECT uuid AS warehouse_uuid FROM warehouses WHERE id = 501 \gset
+SELECT uuid AS product_uuid FROM product WHERE id = 50000 \gset
+SELECT created_at AS keyset_created_at, id AS keyset_id FROM product WHERE id = 50000 \gset
+
+\echo '================================ BEFORE (baseline schema) ================================'
+\ir queries.sql
+
+\ir ../src/main/resources/db/migration/V2__query_indexes.sql
+ANALYZE;
+
+\echo '================================ AFTER (V2__query_indexes.sql) ================================'
+\ir queries.sql
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.adpater;
+
+import com.stockassistant.server.domain.feature.idempotency.port.out.IdempotencyRepositoryPort;
+import com.stockassistant.server.domain.model.IdempotentResponse;
+import com.stockassistant.server.persistence.cache.IdempotencyCache;
+import com.stockassistant.server.persistence.repository.IdempotentResponseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Adapter class that implements the IdempotencyRepositoryPort interface.
+ * Responses are read from the in-memory cache first and from the database on a miss,
+ * they are written to both.
+ */
+@Service
+@RequiredArgsConstructor
+public class IdempotencyRepositoryAdapter implements IdempotencyRepositoryPort {
+
+    /** The repository for the stored responses */
+    private final IdempotentResponseRepository idempotentResponseRepository;
+
+    /** The bounded cache of the recent responses */
+    private final IdempotencyCache idempotencyCache;
+
+    @Override
+    public Optional<IdempotentResponse> find(String key) {
+        Optional<IdempotentResponse> cached = idempotencyCache.get(key);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Optional<IdempotentResponse> stored = idempotentResponseRepository.find(key);
+        stored.ifPresent(idempotencyCache::put);
+        return stored;
+    }
+
+    @Override
+    public void save(IdempotentResponse response) {
+        if (idempotentResponseRepository.insert(response)) {
+            idempotencyCache.put(response);
+        } else {
+            // Executed on another node meanwhile, its response is the one replayed
+            idempotentResponseRepository.find(response.key()).ifPresent(idempotencyCache::put);
+        }
+    }
+
+    @Override
+    public int deleteCreatedBefore(LocalDateTime createdBefore) {
+        return idempotentResponseRepository.deleteCreatedBefore(createdBefore);
+    }
+}
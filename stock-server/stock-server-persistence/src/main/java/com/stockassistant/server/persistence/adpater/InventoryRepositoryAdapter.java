@@ -1,62 +1,393 @@
 package com.stockassistant.server.persistence.adpater;
 
 import com.stockassistant.server.domain.feature.inventory.port.out.InventoryRepositoryPort;
+import com.stockassistant.server.domain.model.CategoryValuation;
+import com.stockassistant.server.domain.model.ChangeRecord;
+import com.stockassistant.server.domain.model.InventoryChange;
+import com.stockassistant.server.domain.model.InventoryChangeResult;
 import com.stockassistant.server.domain.model.InventoryItem;
+import com.stockassistant.server.domain.model.ProductStockTotal;
+import com.stockassistant.server.domain.model.ReorderPoint;
+import com.stockassistant.server.domain.model.StockLevel;
+import com.stockassistant.server.domain.model.StockMovement;
+import com.stockassistant.server.domain.model.WarehouseUtilisation;
+import com.stockassistant.server.domain.model.enums.ChangeAggregateEnum;
+import com.stockassistant.server.domain.model.enums.ChangeOperationEnum;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
+import com.stockassistant.server.domain.model.enums.InventoryChangeStatusEnum;
+import com.stockassistant.server.domain.model.enums.StockMovementReasonEnum;
+import com.stockassistant.server.domain.model.excpetion.InsufficientStockException;
 import com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException;
-import com.stockassistant.server.domain.model.excpetion.OperationFailedException;
+import com.stockassistant.server.domain.model.excpetion.StockLimitExceededException;
 import com.stockassistant.server.persistence.entity.InventoryItemEntity;
+import com.stockassistant.server.persistence.entity.ProductEntity;
 import com.stockassistant.server.persistence.mapper.InventoryEntityMapper;
+import com.stockassistant.server.persistence.cache.CountCache;
+import com.stockassistant.server.persistence.cache.ListingCache;
+import com.stockassistant.server.persistence.cache.WarehouseDirectory;
+import com.stockassistant.server.persistence.projection.InventoryItemRow;
+import com.stockassistant.server.persistence.projection.InventoryQuantityRow;
+import com.stockassistant.server.persistence.repository.EntityStreamRepository;
+import com.stockassistant.server.persistence.repository.InventoryAggregateRepository;
+import com.stockassistant.server.persistence.repository.InventoryBatchRepository;
 import com.stockassistant.server.persistence.repository.InventoryRepository;
+import com.stockassistant.server.persistence.repository.OutboxRepository;
+import com.stockassistant.server.persistence.repository.ProductRepository;
+import com.stockassistant.server.persistence.repository.RowEstimateRepository;
+import com.stockassistant.server.persistence.repository.StockLedgerRepository;
+import com.stockassistant.server.persistence.repository.WarehouseStockRepository;
 import com.stockassistant.server.persistence.specification.InventorySpecification;
+import com.stockassistant.server.persistence.utils.PageUtils;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class InventoryRepositoryAdapter implements InventoryRepositoryPort {
+    /** Selects the quantity of every inventory item with the UUIDs of its warehouse and product only */
+    private static final String STOCK_LEVELS = """
+            SELECT new com.stockassistant.server.domain.model.StockLevel(w.uuid, p.uuid, i.quantity, i.stockVersion)
+            FROM InventoryItemEntity i JOIN i.warehouse w JOIN i.product p
+            """;
+
+    /** Selects the reorder points set on the products */
+    private static final String PRODUCT_REORDER_POINTS = """
+            SELECT new com.stockassistant.server.domain.model.ReorderPoint(p.uuid, p.reorderPoint)
+            FROM ProductEntity p WHERE p.reorderPoint IS NOT NULL
+            """;
+
+    /** Selects the reorder points overriding the product ones on the inventory items */
+    private static final String ITEM_REORDER_POINTS = """
+            SELECT new com.stockassistant.server.domain.model.ReorderPoint(p.uuid, w.uuid, i.reorderPoint)
+            FROM InventoryItemEntity i JOIN i.warehouse w JOIN i.product p WHERE i.reorderPoint IS NOT NULL
+            """;
+
     private final InventoryRepository inventoryRepository;
     private final InventoryEntityMapper inventoryEntityMapper;
+    private final InventoryBatchRepository inventoryBatchRepository;
+    private final EntityStreamRepository entityStreamRepository;
+    private final CountCache countCache;
+    private final RowEstimateRepository rowEstimateRepository;
+    private final ListingCache listingCache;
+    private final InventoryAggregateRepository inventoryAggregateRepository;
+    private final WarehouseStockRepository warehouseStockRepository;
+    private final WarehouseDirectory warehouseDirectory;
+    private final ProductRepository productRepository;
+    private final OutboxRepository outboxRepository;
+    private final StockLedgerRepository stockLedgerRepository;
 
     @Override
-    public Page<InventoryItem> findAll(Pageable pageable, UUID warehouseUUID, UUID productUUID) {
-        Specification<InventoryItemEntity> specification = Specification.where(null);
+    public Slice<InventoryItem> findAll(Pageable pageable, CountModeEnum countMode, UUID warehouseUUID, UUID productUUID) {
+        return listingCache.get(ListingCache.Aggregate.INVENTORY, () -> PageUtils.toSlice(
+                inventoryRepository.findBy(
+                                toSpecification(warehouseUUID, productUUID)
+                                        .and(InventorySpecification.fetchProductAndWarehouse()),
+                                query -> query.sortBy(pageable.getSort())
+                                        .limit(pageable.getPageSize())
+                                        .scroll(PageUtils.toScrollPosition(pageable)))
+                        .map(inventoryEntityMapper::toInventoryItem),
+                pageable, countMode,
+                () -> count(warehouseUUID, productUUID),
+                () -> estimateCount(warehouseUUID, productUUID)), pageable, countMode, warehouseUUID, productUUID);
+    }
+
+    @Override
+    public Window<InventoryItem> scroll(KeysetScrollPosition position, int limit, UUID warehouseUUID, UUID productUUID) {
+        return inventoryRepository.findBy(
+                        toSpecification(warehouseUUID, productUUID)
+                                .and(InventorySpecification.fetchProductAndWarehouse()),
+                        query -> query.sortBy(Sort.unsorted())
+                                .limit(limit)
+                                .scroll(position))
+                .map(inventoryEntityMapper::toInventoryItem);
+    }
+
+    @Override
+    public long count(UUID warehouseUUID, UUID productUUID) {
+        return countCache.get(new InventoryKey(warehouseUUID, productUUID),
+                () -> inventoryRepository.count(toSpecification(warehouseUUID, productUUID)));
+    }
 
+    @Override
+    public long estimateCount(UUID warehouseUUID, UUID productUUID) {
+        Map<String, Object> conditions = new LinkedHashMap<>();
         if (Objects.nonNull(warehouseUUID)) {
-            specification = specification.and(InventorySpecification.hasWarehouseUUID(warehouseUUID));
+            conditions.put("warehouse_id = (SELECT id FROM warehouses WHERE uuid = ?)", warehouseUUID);
         }
         if (Objects.nonNull(productUUID)) {
-            specification = specification.and(InventorySpecification.hasProductUUID(productUUID));
+            conditions.put("product_id = (SELECT id FROM product WHERE uuid = ?)", productUUID);
+        }
+        return rowEstimateRepository.estimate("inventory", conditions)
+                .orElseGet(() -> count(warehouseUUID, productUUID));
+    }
+
+    @Override
+    @Transactional
+    public InventoryItem save(InventoryItem item) {
+        InventoryItem saved = inventoryEntityMapper.toInventoryItem(inventoryRepository.save(inventoryEntityMapper.toInventoryItemEntity(item)));
+        addStock(Map.of(item.warehouse().uuid(), (long) item.quantity()));
+        outboxRepository.append(List.of(toChangeRecord(ChangeOperationEnum.CREATED, item.warehouse().uuid(),
+                item.product().uuid(), item.quantity(), item.quantity())));
+        stockLedgerRepository.append(List.of(toMovement(item.warehouse().uuid(), item.product().uuid(),
+                item.quantity(), StockMovementReasonEnum.INITIAL)));
+        listingCache.bump(ListingCache.Aggregate.INVENTORY);
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public InventoryItem update(UUID warehouseId, UUID productId, int quantity) {
+        InventoryItemRow updated = inventoryRepository.updateQuantity(warehouseId, productId, quantity)
+                .orElseThrow(ObjectNotFoundException::new);
+        return applied(updated);
+    }
+
+    @Override
+    @Transactional
+    public InventoryItem adjust(UUID warehouseId, UUID productId, int delta) {
+        InventoryItemRow adjusted = inventoryRepository.adjustQuantity(warehouseId, productId, delta)
+                .orElseThrow(() -> inventoryRepository.existsByWarehouseAndProduct(warehouseId, productId)
+                        ? delta > 0 ? new StockLimitExceededException() : new InsufficientStockException()
+                        : new ObjectNotFoundException());
+        return applied(adjusted);
+    }
+
+    @Override
+    @Transactional
+    public List<InventoryChangeResult> updateAll(List<InventoryChange> changes) {
+        if (changes.isEmpty()) {
+            return List.of();
+        }
+        Map<InventoryKey, InventoryQuantityRow> rows = toRows(inventoryBatchRepository.lockQuantities(changes));
+        List<InventoryChange> found = changes.stream()
+                .filter(change -> rows.containsKey(InventoryKey.of(change)))
+                .toList();
+        int[] updated = inventoryBatchRepository.updateQuantities(
+                found.stream().map(change -> rows.get(InventoryKey.of(change)).getId()).toList(), found);
+        listingCache.bump(ListingCache.Aggregate.INVENTORY);
+        Map<InventoryKey, InventoryQuantityRow> updatedRows = found.isEmpty() ? Map.of()
+                : toRows(inventoryBatchRepository.findQuantities(found));
+        addStock(updatedRows.entrySet().stream()
+                .collect(Collectors.groupingBy(row -> row.getKey().warehouseId(),
+                        Collectors.summingLong(row -> row.getValue().getQuantity() - rows.get(row.getKey()).getQuantity()))));
+        // One movement per applied change, replayed from the locked quantities, and one record per changed item
+        Map<InventoryKey, Integer> applied = new LinkedHashMap<>();
+        List<StockMovement> movements = new ArrayList<>();
+        for (int i = 0; i < found.size(); i++) {
+            if (updated[i] != 0) {
+                InventoryChange change = found.get(i);
+                InventoryKey key = InventoryKey.of(change);
+                int before = applied.getOrDefault(key, rows.get(key).getQuantity());
+                int after = Objects.nonNull(change.quantity()) ? change.quantity() : before + change.delta();
+                applied.put(key, after);
+                movements.add(toMovement(key.warehouseId(), key.productId(), after - before,
+                        Objects.nonNull(change.quantity()) ? StockMovementReasonEnum.SET : StockMovementReasonEnum.ADJUSTMENT));
+            }
+        }
+        stockLedgerRepository.append(movements);
+        List<InventoryKey> changedKeys = List.copyOf(applied.keySet());
+        List<Long> changeIds = outboxRepository.append(changedKeys.stream()
+                .map(key -> toChangeRecord(ChangeOperationEnum.UPDATED, key.warehouseId(), key.productId(),
+                        updatedRows.get(key).getQuantity(), updatedRows.get(key).getQuantity() - rows.get(key).getQuantity()))
+                .toList());
+        Map<InventoryKey, Long> changeIdsByKey = new HashMap<>();
+        for (int i = 0; i < changedKeys.size(); i++) {
+            changeIdsByKey.put(changedKeys.get(i), changeIds.get(i));
+        }
+
+        List<InventoryChangeResult> results = new ArrayList<>(changes.size());
+        int index = 0;
+        for (InventoryChange change : changes) {
+            InventoryChangeResult.InventoryChangeResultBuilder result = InventoryChangeResult.builder()
+                    .warehouseId(change.warehouseId())
+                    .productId(change.productId());
+            if (!rows.containsKey(InventoryKey.of(change))) {
+                result.status(InventoryChangeStatusEnum.NOT_FOUND);
+            } else if (updated[index++] == 0) {
+                // An increment can only be rejected for leaving the range of a quantity
+                result.status(Objects.nonNull(change.delta()) && change.delta() > 0
+                        ? InventoryChangeStatusEnum.INVALID : InventoryChangeStatusEnum.INSUFFICIENT_STOCK);
+            } else {
+                InventoryQuantityRow row = updatedRows.get(InventoryKey.of(change));
+                result.status(InventoryChangeStatusEnum.UPDATED).quantity(row.getQuantity()).stockVersion(row.getStockVersion())
+                        .changeId(changeIdsByKey.get(InventoryKey.of(change)));
+            }
+            results.add(result.build());
         }
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public List<InventoryItem> updateItems(List<InventoryChange> changes) {
+        Map<InventoryKey, Long> updated = updateAll(changes).stream()
+                .filter(result -> result.status() == InventoryChangeStatusEnum.UPDATED)
+                .collect(Collectors.toMap(result -> new InventoryKey(result.warehouseId(), result.productId()),
+                        InventoryChangeResult::changeId, (first, second) -> first));
+        if (updated.isEmpty()) {
+            return List.of();
+        }
+        return inventoryBatchRepository.findItems(changes.stream()
+                        .filter(change -> updated.containsKey(InventoryKey.of(change)))
+                        .toList()).stream()
+                .map(item -> inventoryEntityMapper.toInventoryItem(item).toBuilder()
+                        .changeId(updated.get(new InventoryKey(item.getWarehouse().getUuid(), item.getProduct().getUuid())))
+                        .build())
+                .toList();
+    }
 
-        return inventoryRepository.findAll(
-                        specification,
-                        pageable)
+    @Override
+    public Stream<InventoryItem> stream(UUID warehouseUUID, UUID productUUID) {
+        return entityStreamRepository.stream(InventoryItemEntity.class,
+                        toSpecification(warehouseUUID, productUUID)
+                                .and(InventorySpecification.fetchProductAndWarehouse()))
                 .map(inventoryEntityMapper::toInventoryItem);
+    }
 
+    @Override
+    public Stream<StockLevel> streamLevels() {
+        return entityStreamRepository.stream(STOCK_LEVELS, StockLevel.class);
     }
 
     @Override
-    public InventoryItem save(InventoryItem item) {
-        return inventoryEntityMapper.toInventoryItem(inventoryRepository.save(inventoryEntityMapper.toInventoryItemEntity(item)));
+    public Page<ProductStockTotal> sumByProduct(Pageable pageable, UUID warehouseUUID, String category) {
+        return inventoryAggregateRepository.sumByProduct(pageable, warehouseUUID, category);
     }
 
     @Override
-    public InventoryItem update(UUID warehouseId, UUID productId, int quantity) {
-        int updated = inventoryRepository.updateQuantity(warehouseId, productId, quantity);
-        if (updated == 0) {
-            throw new OperationFailedException();
+    public Page<WarehouseUtilisation> sumByWarehouse(Pageable pageable, UUID warehouseUUID, String location) {
+        return inventoryAggregateRepository.sumByWarehouse(pageable, warehouseUUID, location);
+    }
+
+    @Override
+    public List<CategoryValuation> sumValueByCategory(UUID warehouseUUID, String category) {
+        return inventoryAggregateRepository.sumValueByCategory(warehouseUUID, category);
+    }
+
+    @Override
+    public List<InventoryItem> rewind(List<InventoryItem> items, LocalDateTime asOf) {
+        Map<StockLedgerRepository.ItemKey, StockLedgerRepository.LedgerLevel> levels = stockLedgerRepository.findLevels(
+                items.stream().map(item -> new StockLedgerRepository.ItemKey(item.warehouse().uuid(), item.product().uuid())).toList(),
+                asOf);
+        return items.stream()
+                .map(item -> {
+                    StockLedgerRepository.LedgerLevel level = levels.get(
+                            new StockLedgerRepository.ItemKey(item.warehouse().uuid(), item.product().uuid()));
+                    // Without snapshot nor movement by then, the item did not hold stock yet
+                    return Objects.isNull(level)
+                            ? item.toBuilder().quantity(0).lastStockUpdate(null).build()
+                            : item.toBuilder().quantity(level.quantity()).lastStockUpdate(level.lastMovementAt()).build();
+                })
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public void updateReorderPoint(UUID productId, UUID warehouseId, Integer reorderPoint) {
+        if (Objects.isNull(warehouseId)) {
+            ProductEntity product = productRepository.findByUuid(productId).orElseThrow(ObjectNotFoundException::new);
+            product.setReorderPoint(reorderPoint);
+            productRepository.save(product);
+            outboxRepository.append(List.of(OutboxRepository.record(ChangeAggregateEnum.PRODUCT, ChangeOperationEnum.UPDATED,
+                    null, productId, "reorderPoint", reorderPoint)));
+            listingCache.bump(ListingCache.Aggregate.PRODUCT);
+            return;
         }
-        InventoryItemEntity entity = inventoryRepository
-                .findByWarehouseAndProduct(warehouseId, productId)
+        InventoryItemEntity item = inventoryRepository.findByWarehouseAndProduct(warehouseId, productId)
                 .orElseThrow(ObjectNotFoundException::new);
+        item.setReorderPoint(reorderPoint);
+        inventoryRepository.save(item);
+        outboxRepository.append(List.of(OutboxRepository.record(ChangeAggregateEnum.INVENTORY, ChangeOperationEnum.UPDATED,
+                warehouseId, productId, "reorderPoint", reorderPoint)));
+        listingCache.bump(ListingCache.Aggregate.INVENTORY);
+    }
+
+    @Override
+    public Stream<ReorderPoint> streamReorderPoints() {
+        // Concatenated lazily, the item cursor is only opened once the product one is drained
+        return Stream.of(PRODUCT_REORDER_POINTS, ITEM_REORDER_POINTS)
+                .flatMap(query -> entityStreamRepository.stream(query, ReorderPoint.class));
+    }
+
+    private Specification<InventoryItemEntity> toSpecification(UUID warehouseUUID, UUID productUUID) {
+        Specification<InventoryItemEntity> specification = Specification.where(null);
 
-        return inventoryEntityMapper.toInventoryItem(entity);
+        if (Objects.nonNull(warehouseUUID)) {
+            specification = specification.and(InventorySpecification.hasWarehouseUUID(warehouseUUID));
+        }
+        if (Objects.nonNull(productUUID)) {
+            specification = specification.and(InventorySpecification.hasProductUUID(productUUID));
+        }
+        return specification;
+    }
+
+    /**
+     * Builds the change record of a quantity change of an inventory item.
+     */
+    private static ChangeRecord toChangeRecord(ChangeOperationEnum operation, UUID warehouseId, UUID productId,
+                                               int quantity, int delta) {
+        return OutboxRepository.record(ChangeAggregateEnum.INVENTORY, operation, warehouseId, productId,
+                "quantity", quantity,
+                "delta", delta);
+    }
+
+    private static StockMovement toMovement(UUID warehouseId, UUID productId, int delta, StockMovementReasonEnum reason) {
+        return StockMovement.builder()
+                .warehouseId(warehouseId)
+                .productId(productId)
+                .delta(delta)
+                .reason(reason)
+                .build();
+    }
+
+    /**
+     * Adds the net quantity changes of the warehouses to their running totals, in the current transaction,
+     * and to the warehouse snapshot once it commits.
+     */
+    private void addStock(Map<UUID, Long> deltas) {
+        warehouseStockRepository.addStock(deltas);
+        warehouseDirectory.addStock(deltas);
+    }
+
+    /**
+     * Publishes a single item change whose stock, movement and outbox record the update statement wrote itself.
+     */
+    private InventoryItem applied(InventoryItemRow row) {
+        warehouseDirectory.addStock(Map.of(row.getWarehouseUuid(), (long) row.getDelta()));
+        listingCache.bump(ListingCache.Aggregate.INVENTORY);
+        return inventoryEntityMapper.toInventoryItem(row);
+    }
+
+    private static Map<InventoryKey, InventoryQuantityRow> toRows(List<InventoryQuantityRow> rows) {
+        return rows.stream()
+                .collect(Collectors.toMap(row -> new InventoryKey(row.getWarehouseUuid(), row.getProductUuid()),
+                        Function.identity()));
+    }
+
+    private record InventoryKey(UUID warehouseId, UUID productId) {
+        private static InventoryKey of(InventoryChange change) {
+            return new InventoryKey(change.warehouseId(), change.productId());
+        }
     }
 
 }
@@ -13,21 +13,46 @@
 package com.stockassistant.server.persistence.adpater;
 
 import com.stockassistant.server.domain.feature.product.port.out.ProductRepositoryPort;
+import com.stockassistant.server.domain.model.ChangeRecord;
 import com.stockassistant.server.domain.model.Product;
 import com.stockassistant.server.domain.model.ProductFilter;
+import com.stockassistant.server.domain.model.ProductImportReport;
 import com.stockassistant.server.domain.model.ProductRequest;
+import com.stockassistant.server.domain.model.enums.ChangeAggregateEnum;
+import com.stockassistant.server.domain.model.enums.ChangeOperationEnum;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
 import com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException;
+import com.stockassistant.server.persistence.cache.CountCache;
+import com.stockassistant.server.persistence.cache.ListingCache;
+import com.stockassistant.server.persistence.cache.ProductCache;
 import com.stockassistant.server.persistence.entity.ProductEntity;
 import com.stockassistant.server.persistence.mapper.ProductEntityMapper;
+import com.stockassistant.server.persistence.repository.EntityStreamRepository;
+import com.stockassistant.server.persistence.repository.OutboxRepository;
+import com.stockassistant.server.persistence.repository.ProductImportRepository;
 import com.stockassistant.server.persistence.repository.ProductRepository;
+import com.stockassistant.server.persistence.repository.RowEstimateRepository;
 import com.stockassistant.server.persistence.specification.ProductSpecification;
+import com.stockassistant.server.persistence.utils.PageUtils;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Adapter class that implements the ProductRepositoryPort interface.
@@ -43,14 +68,143 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
     /** The mapper for converting between domain models and persistence entities */
     private final ProductEntityMapper productEntityMapper;
 
+    /** The repository for bulk product imports */
+    private final ProductImportRepository productImportRepository;
+
+    /** The repository streaming entities through a server-side cursor */
+    private final EntityStreamRepository entityStreamRepository;
+
+    /** The cache of the products by UUID and SKU */
+    private final ProductCache productCache;
+
+    /** The cache of the exact product counts by filter */
+    private final CountCache countCache;
+
+    /** The repository estimating row counts from the planner statistics */
+    private final RowEstimateRepository rowEstimateRepository;
+
+    /** The cache of the product listings */
+    private final ListingCache listingCache;
+
+    /** The outbox recording every product write */
+    private final OutboxRepository outboxRepository;
+
+    /**
+     * Retrieves a product by its UUID, from the cache when possible.
+     *
+     * @param id The UUID of the product
+     * @return The product if it exists
+     */
+    @Override
+    public Optional<Product> findById(UUID id) {
+        return productCache.getByUuid(id, () -> productRepository.findByUuid(id).map(productEntityMapper::toProduct));
+    }
+
+    /**
+     * Retrieves a product by its SKU, from the cache when possible.
+     *
+     * @param sku The SKU of the product
+     * @return The product if it exists
+     */
+    @Override
+    public Optional<Product> findBySku(String sku) {
+        return productCache.getBySku(sku, () -> productRepository.findBySku(sku).map(productEntityMapper::toProduct));
+    }
+
     /**
      * Retrieves all products matching the given filter criteria.
+     * The page is read with one extra row, the total is only counted when it cannot be derived from the page.
+     * Listings are cached until the next product write.
      *
      * @param productFilter The filter criteria for the product search
-     * @return A page of products matching the filter criteria
+     * @param countMode How the total is computed, none only tells whether more products follow
+     * @return A page, or a slice when no total is computed, of products matching the filter criteria
      */
     @Override
-    public Page<Product> findAll(ProductFilter productFilter) {
+    public Slice<Product> findAll(ProductFilter productFilter, CountModeEnum countMode) {
+        PageRequest pageRequest = productFilter.pageRequest();
+        return listingCache.get(ListingCache.Aggregate.PRODUCT, () -> PageUtils.toSlice(
+                productRepository.findBy(
+                                toSpecification(productFilter),
+                                query -> query.sortBy(pageRequest.getSort())
+                                        .limit(pageRequest.getPageSize())
+                                        .scroll(PageUtils.toScrollPosition(pageRequest)))
+                        .map(productEntityMapper::toProduct),
+                pageRequest, countMode,
+                () -> count(productFilter),
+                () -> estimateCount(productFilter)), productFilter, countMode);
+    }
+
+    /**
+     * Retrieves the window of products following the given keyset position.
+     * The entity id is appended to the requested sort so the keyset is always unique.
+     *
+     * @param productFilter The filter criteria for the product search
+     * @param position The keyset position to continue from
+     * @return A window of products matching the filter criteria
+     */
+    @Override
+    public Window<Product> scroll(ProductFilter productFilter, KeysetScrollPosition position) {
+        return productRepository.findBy(
+                        toSpecification(productFilter),
+                        query -> query.sortBy(productFilter.pageRequest().getSort())
+                                .limit(productFilter.pageRequest().getPageSize())
+                                .scroll(position))
+                .map(productEntityMapper::toProduct);
+    }
+
+    /**
+     * Counts the products matching the given filter criteria.
+     * Counts are cached for a short time, repeated listings of the same filter count once.
+     *
+     * @param productFilter The filter criteria for the product search
+     * @return The number of matching products
+     */
+    @Override
+    public long count(ProductFilter productFilter) {
+        return countCache.get(productFilter.toBuilder().pageRequest(null).build(),
+                () -> productRepository.count(toSpecification(productFilter)));
+    }
+
+    /**
+     * Estimates the number of products matching the given filter criteria from the planner statistics,
+     * falling back to the exact count when the database provides no estimate.
+     *
+     * @param productFilter The filter criteria for the product search
+     * @return The estimated number of matching products
+     */
+    @Override
+    public long estimateCount(ProductFilter productFilter) {
+        Map<String, Object> conditions = new LinkedHashMap<>();
+        if (Objects.nonNull(productFilter.uuid())) {
+            conditions.put("uuid = ?", productFilter.uuid());
+        }
+        if (Objects.nonNull(productFilter.name())) {
+            conditions.put("lower(name) LIKE ?", "%" + productFilter.name().toLowerCase() + "%");
+        }
+        if (Objects.nonNull(productFilter.sku())) {
+            conditions.put("sku = ?", productFilter.sku());
+        }
+        if (Objects.nonNull(productFilter.unitOfMeasure())) {
+            conditions.put("unit_of_measure = ?", productFilter.unitOfMeasure());
+        }
+        if (Objects.nonNull(productFilter.category())) {
+            conditions.put("category = ?", productFilter.category());
+        }
+        if (Objects.nonNull(productFilter.price())) {
+            conditions.put("price = ?", productFilter.price());
+        }
+        return rowEstimateRepository.estimate("product", conditions)
+                .orElseGet(() -> count(productFilter));
+    }
+
+    /**
+     * Builds the specification matching the given filter criteria.
+     *
+     * @param productFilter The filter criteria for the product search
+     * @return The specification combining all non-null criteria
+     */
+    private Specification<ProductEntity> toSpecification(ProductFilter productFilter) {
         Specification<ProductEntity> specification = Specification.where(null);
 
         if (Objects.nonNull(productFilter.uuid())) {
@@ -71,10 +225,7 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
         if (Objects.nonNull(productFilter.price())) {
             specification = specification.and(ProductSpecification.hasPrice(productFilter.price()));
         }
-        return productRepository.findAll(
-                        specification,
-                        productFilter.pageRequest())
-                .map(productEntityMapper::toProduct);
+        return specification;
     }
 
     /**
@@ -84,14 +235,18 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
      * @return The saved product
      */
     @Override
+    @Transactional
     public Product save(ProductRequest productRequest) {
         ProductEntity productEntity = productEntityMapper.mapProductRequestToProductEntity(productRequest);
         ProductEntity savedEntity = productRepository.save(productEntity);
+        outboxRepository.append(List.of(toChangeRecord(ChangeOperationEnum.CREATED, savedEntity)));
+        listingCache.bump(ListingCache.Aggregate.PRODUCT);
         return productEntityMapper.toProduct(savedEntity);
     }
 
     /**
      * Updates an existing product with the specified ID.
+     * The cached entries are evicted under the previous and the new SKU.
      *
      * @param id The UUID of the product to update
      * @param productRequest The request containing updated product details
@@ -99,10 +254,12 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
      * @throws ObjectNotFoundException if the product with the given ID is not found
      */
     @Override
+    @Transactional
     public Product update(UUID id,
                           ProductRequest productRequest) {
         return productRepository.findByUuid(id)
                 .map(existingProduct -> {
+                    String previousSku = existingProduct.getSku();
                     ProductEntity productEntity = productEntityMapper.mapProductRequestToProductEntity(productRequest);
                     existingProduct.setName(productEntity.getName());
                     existingProduct.setDescription(productEntity.getDescription());
@@ -110,6 +267,10 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
                     existingProduct.setSku(productEntity.getSku());
                     existingProduct.setUnitOfMeasure(productEntity.getUnitOfMeasure());
                     ProductEntity savedEntity = productRepository.save(existingProduct);
+                    outboxRepository.append(List.of(toChangeRecord(ChangeOperationEnum.UPDATED, savedEntity)));
+                    productCache.evict(id, previousSku);
+                    productCache.evict(id, savedEntity.getSku());
+                    listingCache.bump(ListingCache.Aggregate.PRODUCT);
                     return productEntityMapper.toProduct(savedEntity);
                 })
                 .orElseThrow(ObjectNotFoundException::new);
@@ -121,7 +282,80 @@ public class ProductRepositoryAdapter implements ProductRepositoryPort {
      * @param id The UUID of the product to delete
      */
     @Override
+    @Transactional
     public void deleteById(UUID id) {
-        productRepository.deleteByUuid(id);
+        productRepository.findByUuid(id).ifPresent(existingProduct -> {
+            productRepository.delete(existingProduct);
+            outboxRepository.append(List.of(OutboxRepository.record(ChangeAggregateEnum.PRODUCT, ChangeOperationEnum.DELETED,
+                    null, id, "sku", existingProduct.getSku())));
+            productCache.evict(id, existingProduct.getSku());
+            listingCache.bump(ListingCache.Aggregate.PRODUCT);
+        });
+    }
+
+    /**
+     * Upserts a stream of valid products on their SKU in a single transaction.
+     * The whole product cache and the cached counts are evicted rather than registering an eviction per imported row.
+     *
+     * @param products The products to create or update
+     * @param upserted Receives every created or updated product, before the transaction commits
+     * @return A report holding the created and updated counts
+     */
+    @Override
+    @Transactional
+    public ProductImportReport importAll(Stream<ProductRequest> products, Consumer<Product> upserted) {
+        ProductImportReport report = productImportRepository.importAll(products, upserted);
+        productCache.clear();
+        countCache.clear();
+        listingCache.bump(ListingCache.Aggregate.PRODUCT);
+        return report;
+    }
+
+    /**
+     * Builds the change record of a created or updated product, holding its identifying and pricing values.
+     */
+    private static ChangeRecord toChangeRecord(ChangeOperationEnum operation, ProductEntity product) {
+        return OutboxRepository.record(ChangeAggregateEnum.PRODUCT, operation, null, product.getUuid(),
+                "sku", product.getSku(),
+                "name", product.getName(),
+                "price", product.getPrice(),
+                "category", product.getCategory(),
+                "unitOfMeasure", product.getUnitOfMeasure());
+    }
+
+    /**
+     * Streams every product through a server-side cursor, ordered by id.
+     *
+     * @return A stream of all products, to be closed by the caller
+     */
+    @Override
+    public Stream<Product> stream() {
+        return entityStreamRepository.stream(ProductEntity.class, Specification.where(null))
+                .map(productEntityMapper::toProduct);
+    }
+
+    /**
+     * Retrieves the products with the given UUIDs.
+     * Cached products are served from the cache, the others are loaded in a single query and cached.
+     *
+     * @param uuids The UUIDs of the products
+     * @return The products found, in no particular order
+     */
+    @Override
+    public List<Product> findAllByUuid(Collection<UUID> uuids) {
+        List<Product> products = new ArrayList<>(uuids.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID uuid : uuids) {
+            productCache.peek(uuid).ifPresentOrElse(products::add, () -> missing.add(uuid));
+        }
+        if (!missing.isEmpty()) {
+            productRepository.findAllByUuidIn(missing).stream()
+                    .map(productEntityMapper::toProduct)
+                    .forEach(product -> {
+                        productCache.put(product);
+                        products.add(product);
+                    });
+        }
+        return products;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.adpater;
+
+import com.stockassistant.server.domain.feature.reservation.port.out.ReservationRepositoryPort;
+import com.stockassistant.server.domain.model.Reservation;
+import com.stockassistant.server.persistence.repository.ReservationRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Adapter class that implements the ReservationRepositoryPort interface.
+ * This class acts as a bridge between the domain layer and the persistence layer,
+ * storing the outstanding reservations written behind by the reservation service.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReservationRepositoryAdapter implements ReservationRepositoryPort {
+
+    /** The repository for reservation persistence operations */
+    private final ReservationRepository reservationRepository;
+
+    /**
+     * Stores new reservations and deletes ended ones, in one transaction.
+     *
+     * @param created The reservations created since the previous write
+     * @param ended The UUIDs of the stored reservations ended since the previous write
+     */
+    @Override
+    @Transactional
+    public void write(List<Reservation> created, List<UUID> ended) {
+        reservationRepository.insertAll(created);
+        reservationRepository.deleteAll(ended);
+    }
+
+    /**
+     * Streams every stored reservation.
+     *
+     * @return A stream of the outstanding reservations, to be closed by the caller
+     */
+    @Override
+    public Stream<Reservation> streamAll() {
+        return reservationRepository.streamAll();
+    }
+}
@@ -13,19 +13,38 @@
 package com.stockassistant.server.persistence.adpater;
 
 import com.stockassistant.server.domain.feature.warehouse.port.out.WarehouseRepositoryPort;
+import com.stockassistant.server.domain.model.ChangeRecord;
 import com.stockassistant.server.domain.model.Warehouse;
 import com.stockassistant.server.domain.model.WarehouseFilter;
 import com.stockassistant.server.domain.model.WarehouseRequest;
+import com.stockassistant.server.domain.model.enums.ChangeAggregateEnum;
+import com.stockassistant.server.domain.model.enums.ChangeOperationEnum;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
+import com.stockassistant.server.persistence.cache.CountCache;
+import com.stockassistant.server.persistence.cache.ListingCache;
+import com.stockassistant.server.persistence.cache.WarehouseDirectory;
 import com.stockassistant.server.persistence.entity.WarehouseEntity;
 import com.stockassistant.server.persistence.mapper.WarehouseEntityMapper;
+import com.stockassistant.server.persistence.repository.OutboxRepository;
+import com.stockassistant.server.persistence.repository.RowEstimateRepository;
 import com.stockassistant.server.persistence.repository.WarehouseRepository;
 import com.stockassistant.server.persistence.specification.WarehouseSpecification;
+import com.stockassistant.server.persistence.utils.PageUtils;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -45,14 +64,127 @@ public class WarehouseRepositoryAdapter implements WarehouseRepositoryPort {
     /** The mapper for converting between domain models and persistence entities */
     private final WarehouseEntityMapper warehouseEntityMapper;
 
+    /** The in-memory snapshot of all warehouses */
+    private final WarehouseDirectory warehouseDirectory;
+
+    /** The cache of the exact warehouse counts by filter, when not served by the snapshot */
+    private final CountCache countCache;
+
+    /** The repository estimating row counts from the planner statistics */
+    private final RowEstimateRepository rowEstimateRepository;
+
+    /** The cache of the warehouse listings not served by the snapshot */
+    private final ListingCache listingCache;
+
+    /** The outbox recording every warehouse write */
+    private final OutboxRepository outboxRepository;
+
     /**
      * Retrieves all warehouses matching the given filter criteria.
+     * Served from the in-memory snapshot, where the total is always exact, or by SQL when the table
+     * is too large or the sort is not supported. SQL listings are cached until the next warehouse or
+     * inventory write, the latter changing the stock of the warehouses.
+     *
+     * @param warehouseFilter The filter criteria for the warehouse search
+     * @param countMode How the total is computed, none only tells whether more warehouses follow
+     * @return A page, or a slice when no total is computed, of warehouses matching the filter criteria
+     */
+    @Override
+    public Slice<Warehouse> findAll(WarehouseFilter warehouseFilter, CountModeEnum countMode) {
+        PageRequest pageRequest = warehouseFilter.pageRequest();
+        return warehouseDirectory.current()
+                .filter(snapshot -> snapshot.supports(pageRequest.getSort()))
+                .<Slice<Warehouse>>map(snapshot -> {
+                    Page<Warehouse> page = snapshot.findAll(warehouseFilter);
+                    return countMode == CountModeEnum.NONE ? new SliceImpl<>(page.getContent(), pageRequest, page.hasNext()) : page;
+                })
+                .orElseGet(() -> listingCache.get(ListingCache.Aggregate.WAREHOUSE, () -> PageUtils.toSlice(
+                        warehouseRepository.findBy(
+                                        toSpecification(warehouseFilter),
+                                        query -> query.sortBy(pageRequest.getSort())
+                                                .limit(pageRequest.getPageSize())
+                                                .scroll(PageUtils.toScrollPosition(pageRequest)))
+                                .map(warehouseEntityMapper::toWarehouse),
+                        pageRequest, countMode,
+                        () -> count(warehouseFilter),
+                        () -> estimateCount(warehouseFilter)), warehouseFilter, countMode));
+    }
+
+    /**
+     * Retrieves the window of warehouses following the given keyset position.
+     * The entity id is appended to the requested sort so the keyset is always unique.
+     *
+     * @param warehouseFilter The filter criteria for the warehouse search
+     * @param position The keyset position to continue from
+     * @return A window of warehouses matching the filter criteria
+     */
+    @Override
+    public Window<Warehouse> scroll(WarehouseFilter warehouseFilter, KeysetScrollPosition position) {
+        return warehouseRepository.findBy(
+                        toSpecification(warehouseFilter),
+                        query -> query.sortBy(warehouseFilter.pageRequest().getSort())
+                                .limit(warehouseFilter.pageRequest().getPageSize())
+                                .scroll(position))
+                .map(warehouseEntityMapper::toWarehouse);
+    }
+
+    /**
+     * Counts the warehouses matching the given filter criteria.
+     *
+     * @param warehouseFilter The filter criteria for the warehouse search
+     * @return The number of matching warehouses
+     */
+    @Override
+    public long count(WarehouseFilter warehouseFilter) {
+        return warehouseDirectory.current()
+                .map(snapshot -> snapshot.count(warehouseFilter))
+                .orElseGet(() -> countCache.get(warehouseFilter.toBuilder().pageRequest(null).build(),
+                        () -> warehouseRepository.count(toSpecification(warehouseFilter))));
+    }
+
+    /**
+     * Estimates the number of warehouses matching the given filter criteria.
+     * The snapshot counts exactly, otherwise the planner statistics are used, falling back to the exact
+     * count when the database provides no estimate.
      *
      * @param warehouseFilter The filter criteria for the warehouse search
-     * @return A page of warehouses matching the filter criteria
+     * @return The estimated number of matching warehouses
      */
     @Override
-    public Page<Warehouse> findAll(WarehouseFilter warehouseFilter) {
+    public long estimateCount(WarehouseFilter warehouseFilter) {
+        if (warehouseDirectory.current().isPresent()) {
+            return count(warehouseFilter);
+        }
+        Map<String, Object> conditions = new LinkedHashMap<>();
+        if (Objects.nonNull(warehouseFilter.uuid())) {
+            conditions.put("uuid = ?", warehouseFilter.uuid());
+        }
+        if (Objects.nonNull(warehouseFilter.name())) {
+            conditions.put("lower(name) LIKE ?", "%" + warehouseFilter.name().toLowerCase() + "%");
+        }
+        if (Objects.nonNull(warehouseFilter.location())) {
+            conditions.put("lower(location) LIKE ?", "%" + warehouseFilter.location().toLowerCase() + "%");
+        }
+        if (Objects.nonNull(warehouseFilter.capacity())) {
+            conditions.put("capacity = ?", warehouseFilter.capacity());
+        }
+        if (Objects.nonNull(warehouseFilter.minUtilisation())) {
+            conditions.put(WarehouseEntity.UTILISATION + " >= ?", warehouseFilter.minUtilisation());
+        }
+        if (Objects.nonNull(warehouseFilter.maxUtilisation())) {
+            conditions.put(WarehouseEntity.UTILISATION + " <= ?", warehouseFilter.maxUtilisation());
+        }
+        return rowEstimateRepository.estimate("warehouses", conditions)
+                .orElseGet(() -> count(warehouseFilter));
+    }
+
+    /**
+     * Builds the specification matching the given filter criteria.
+     *
+     * @param warehouseFilter The filter criteria for the warehouse search
+     * @return The specification combining all non-null criteria
+     */
+    private Specification<WarehouseEntity> toSpecification(WarehouseFilter warehouseFilter) {
         Specification<WarehouseEntity> specification = Specification.where(null);
         if (Objects.nonNull(warehouseFilter.uuid())) {
             specification = specification.and(WarehouseSpecification.hasUUID(warehouseFilter.uuid()));
@@ -66,10 +198,13 @@ public class WarehouseRepositoryAdapter implements WarehouseRepositoryPort {
         if (Objects.nonNull(warehouseFilter.capacity())) {
             specification = specification.and(WarehouseSpecification.hasCapacity(warehouseFilter.capacity()));
         }
-        return warehouseRepository.findAll(
-                        specification,
-                        warehouseFilter.pageRequest())
-                .map(warehouseEntityMapper::toWarehouse);
+        if (Objects.nonNull(warehouseFilter.minUtilisation())) {
+            specification = specification.and(WarehouseSpecification.hasUtilisationAtLeast(warehouseFilter.minUtilisation()));
+        }
+        if (Objects.nonNull(warehouseFilter.maxUtilisation())) {
+            specification = specification.and(WarehouseSpecification.hasUtilisationAtMost(warehouseFilter.maxUtilisation()));
+        }
+        return specification;
     }
 
     /**
@@ -79,9 +214,14 @@ public class WarehouseRepositoryAdapter implements WarehouseRepositoryPort {
      * @return The saved warehouse
      */
     @Override
+    @Transactional
     public Warehouse save(WarehouseRequest warehouseRequest) {
         WarehouseEntity entity = warehouseEntityMapper.toWarehouseEntity(warehouseRequest);
-        return warehouseEntityMapper.toWarehouse(warehouseRepository.save(entity));
+        Warehouse warehouse = warehouseEntityMapper.toWarehouse(warehouseRepository.save(entity));
+        outboxRepository.append(List.of(toChangeRecord(ChangeOperationEnum.CREATED, warehouse)));
+        warehouseDirectory.put(warehouse);
+        listingCache.bump(ListingCache.Aggregate.WAREHOUSE);
+        return warehouse;
     }
 
     /**
@@ -93,6 +233,7 @@ public class WarehouseRepositoryAdapter implements WarehouseRepositoryPort {
      * @throws EntityNotFoundException if the warehouse with the given ID is not found
      */
     @Override
+    @Transactional
     public Warehouse update(UUID id,
                             WarehouseRequest warehouseRequest) {
         return warehouseRepository.findByUuid(id)
@@ -100,20 +241,36 @@ public class WarehouseRepositoryAdapter implements WarehouseRepositoryPort {
                     existingEntity.setName(warehouseRequest.name());
                     existingEntity.setLocation(warehouseRequest.location());
                     existingEntity.setCapacity(warehouseRequest.capacity());
-                    return warehouseEntityMapper.toWarehouse(warehouseRepository.save(existingEntity));
+                    Warehouse warehouse = warehouseEntityMapper.toWarehouse(warehouseRepository.save(existingEntity));
+                    outboxRepository.append(List.of(toChangeRecord(ChangeOperationEnum.UPDATED, warehouse)));
+                    warehouseDirectory.put(warehouse);
+                    listingCache.bump(ListingCache.Aggregate.WAREHOUSE);
+                    return warehouse;
                 })
                 .orElseThrow(() -> new EntityNotFoundException("Warehouse not found with id: " + id));
     }
 
     /**
-     * Finds a warehouse by its ID.
+     * Builds the change record of a created or updated warehouse, holding its descriptive values.
+     */
+    private static ChangeRecord toChangeRecord(ChangeOperationEnum operation, Warehouse warehouse) {
+        return OutboxRepository.record(ChangeAggregateEnum.WAREHOUSE, operation, warehouse.uuid(), null,
+                "name", warehouse.name(),
+                "location", warehouse.location(),
+                "capacity", warehouse.capacity());
+    }
+
+    /**
+     * Finds a warehouse by its ID, from the in-memory snapshot when available.
      *
      * @param id The UUID of the warehouse to find
      * @return An Optional containing the warehouse if found, empty otherwise
      */
     @Override
     public Optional<Warehouse> findById(UUID id) {
-        return warehouseRepository.findByUuid(id)
-                .map(warehouseEntityMapper::toWarehouse);
+        return warehouseDirectory.current()
+                .map(snapshot -> snapshot.findById(id))
+                .orElseGet(() -> warehouseRepository.findByUuid(id)
+                        .map(warehouseEntityMapper::toWarehouse));
     }
 }
\ No newline at end of file
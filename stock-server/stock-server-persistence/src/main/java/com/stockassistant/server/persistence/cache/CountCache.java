@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of the exact totals of the listings, keyed by filter.
+ * Entries expire quickly and are not evicted on writes, a listing total may lag the writes
+ * of the last seconds. Bounded by size, the filters requested most often stay cached.
+ */
+@Component
+public class CountCache {
+
+    /** The name of the cache of the exact totals */
+    public static final String COUNTS = "counts";
+
+    private final Cache counts;
+
+    public CountCache(CacheManager cacheManager) {
+        this.counts = Objects.requireNonNull(cacheManager.getCache(COUNTS));
+    }
+
+    /**
+     * Returns the cached total of the given filter, counting it on a miss.
+     *
+     * @param filter The filter criteria, without paging, used as the cache key
+     * @param counter The database count of the matching rows
+     * @return The number of matching rows
+     */
+    public long get(Object filter, LongSupplier counter) {
+        Long cached = counts.get(filter, Long.class);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        long count = counter.getAsLong();
+        counts.put(filter, count);
+        return count;
+    }
+
+    /**
+     * Evicts every total, after bulk changes.
+     */
+    public void clear() {
+        counts.clear();
+    }
+}
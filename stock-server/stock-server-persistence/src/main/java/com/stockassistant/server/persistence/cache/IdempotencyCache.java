@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.cache;
+
+import com.stockassistant.server.domain.model.IdempotentResponse;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Bounded in-memory cache of the responses of idempotent requests, keyed by idempotency key.
+ * Bounded by the size of the bodies, the most recent responses stay cached and retries of older
+ * ones fall back to the database.
+ */
+@Component
+public class IdempotencyCache {
+
+    /** The name of the cache of the responses */
+    public static final String RESPONSES = "idempotent-responses";
+
+    /** The assumed size of a cached response besides its body, key, fingerprint and headers */
+    private static final int ENTRY_OVERHEAD = 512;
+
+    private final Cache responses;
+
+    public IdempotencyCache(CacheManager cacheManager) {
+        this.responses = Objects.requireNonNull(cacheManager.getCache(RESPONSES));
+    }
+
+    /**
+     * Returns the cached response of an idempotency key.
+     *
+     * @param key The idempotency key
+     * @return An Optional containing the response if cached, empty otherwise
+     */
+    public Optional<IdempotentResponse> get(String key) {
+        return Optional.ofNullable(responses.get(key, IdempotentResponse.class));
+    }
+
+    /**
+     * Caches a response under its idempotency key.
+     *
+     * @param response The response as stored in the database
+     */
+    public void put(IdempotentResponse response) {
+        responses.put(response.key(), response);
+    }
+
+    /**
+     * Weighs a cache entry by the size of the response in bytes.
+     *
+     * @param key The cache key
+     * @param value The cached response
+     * @return The weight of the entry
+     */
+    public static int weigh(Object key, Object value) {
+        return ENTRY_OVERHEAD + (value instanceof IdempotentResponse response ? response.body().length : 0);
+    }
+}
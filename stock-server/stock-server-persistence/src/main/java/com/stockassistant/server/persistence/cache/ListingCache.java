@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the listing results, keyed by query and by the versions of the aggregates they read.
+ * Every write bumps the version of its aggregate, so listings cached before the write are no longer
+ * reachable and age out of the cache. Versions are local to the instance, writes of other instances
+ * are only picked up once the entries expire.
+ */
+@Component
+public class ListingCache {
+
+    /** The name of the cache of the listing results */
+    public static final String LISTINGS = "listings";
+
+    /**
+     * The aggregates whose writes invalidate listings.
+     */
+    public enum Aggregate {
+        PRODUCT,
+        WAREHOUSE,
+        INVENTORY
+    }
+
+    /**
+     * The aggregates read by the listings of each aggregate, inventory items embed their product and warehouse,
+     * warehouses embed the running total of their inventory quantities
+     */
+    private static final Map<Aggregate, Set<Aggregate>> DEPENDENCIES = Map.of(
+            Aggregate.PRODUCT, Set.of(Aggregate.PRODUCT),
+            Aggregate.WAREHOUSE, Set.of(Aggregate.WAREHOUSE, Aggregate.INVENTORY),
+            Aggregate.INVENTORY, Set.of(Aggregate.INVENTORY, Aggregate.PRODUCT, Aggregate.WAREHOUSE));
+
+    private final Cache listings;
+
+    private final Map<Aggregate, AtomicLong> versions = new EnumMap<>(Aggregate.class);
+
+    public ListingCache(CacheManager cacheManager) {
+        this.listings = Objects.requireNonNull(cacheManager.getCache(LISTINGS));
+        for (Aggregate aggregate : Aggregate.values()) {
+            versions.put(aggregate, new AtomicLong());
+        }
+    }
+
+    /**
+     * Returns the cached listing of the given query, loading it on a miss.
+     *
+     * @param aggregate The aggregate listed
+     * @param loader The database query of the listing
+     * @param query The normalised query, filters, paging, sort and count mode
+     * @param <T> The item type
+     * @return The listing
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Slice<T> get(Aggregate aggregate, Supplier<Slice<T>> loader, Object... query) {
+        ListingKey key = new ListingKey(aggregate, Arrays.asList(query), versionsOf(aggregate));
+        Slice<T> cached = listings.get(key, Slice.class);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        Slice<T> loaded = loader.get();
+        listings.put(key, loaded);
+        return loaded;
+    }
+
+    /**
+     * Bumps the version of an aggregate after a write. The version is bumped at once and again
+     * after the commit of the current transaction, so a listing loaded before the commit is not served.
+     *
+     * @param aggregate The written aggregate
+     */
+    public void bump(Aggregate aggregate) {
+        AtomicLong version = versions.get(aggregate);
+        version.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Evicts every listing.
+     */
+    public void clear() {
+        listings.clear();
+    }
+
+    /**
+     * Weighs a cache entry by the number of items it holds, the key and page counting as one.
+     *
+     * @param key The cache key
+     * @param value The cached listing
+     * @return The weight of the entry
+     */
+    public static int weigh(Object key, Object value) {
+        return 1 + (value instanceof Slice<?> slice ? slice.getNumberOfElements() : 0);
+    }
+
+    private List<Long> versionsOf(Aggregate aggregate) {
+        return DEPENDENCIES.get(aggregate).stream()
+                .sorted()
+                .map(dependency -> versions.get(dependency).get())
+                .toList();
+    }
+
+    private record ListingKey(Aggregate aggregate, List<Object> query, List<Long> versions) {
+    }
+}
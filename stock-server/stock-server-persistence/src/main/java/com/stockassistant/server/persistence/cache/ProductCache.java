@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.cache;
+
+import com.stockassistant.server.domain.model.Product;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the products, keyed by UUID and by SKU.
+ * Both keys hold the same product, a product loaded through one key is cached under both.
+ * Only existing products are cached, lookups of unknown keys always reach the database.
+ * Within a transaction entries are evicted at once and again after its commit, so a product
+ * reloaded by a concurrent lookup before the commit is not served for the rest of its lifetime.
+ */
+@Component
+public class ProductCache {
+
+    /** The name of the cache of the products by UUID */
+    public static final String BY_UUID = "products";
+
+    /** The name of the cache of the products by SKU */
+    public static final String BY_SKU = "productsBySku";
+
+    private final Cache byUuid;
+    private final Cache bySku;
+
+    public ProductCache(CacheManager cacheManager) {
+        this.byUuid = Objects.requireNonNull(cacheManager.getCache(BY_UUID));
+        this.bySku = Objects.requireNonNull(cacheManager.getCache(BY_SKU));
+    }
+
+    /**
+     * Returns the cached product with the given UUID, loading it on a miss.
+     *
+     * @param uuid The UUID of the product
+     * @param loader The database lookup of the product
+     * @return The product if it exists
+     */
+    public Optional<Product> getByUuid(UUID uuid, Supplier<Optional<Product>> loader) {
+        return get(byUuid, uuid, loader);
+    }
+
+    /**
+     * Returns the cached product with the given SKU, loading it on a miss.
+     *
+     * @param sku The SKU of the product
+     * @param loader The database lookup of the product
+     * @return The product if it exists
+     */
+    public Optional<Product> getBySku(String sku, Supplier<Optional<Product>> loader) {
+        return get(bySku, sku, loader);
+    }
+
+    /**
+     * Returns the cached product with the given UUID, without loading it.
+     *
+     * @param uuid The UUID of the product
+     * @return The product if it is cached
+     */
+    public Optional<Product> peek(UUID uuid) {
+        return Optional.ofNullable(byUuid.get(uuid, Product.class));
+    }
+
+    /**
+     * Caches a product under its UUID and SKU.
+     *
+     * @param product The product to cache
+     */
+    public void put(Product product) {
+        byUuid.put(product.uuid(), product);
+        bySku.put(product.sku(), product);
+    }
+
+    /**
+     * Evicts the entries of a product, under its UUID and under the given SKU.
+     *
+     * @param uuid The UUID of the product
+     * @param sku The SKU of the product, may be null if unknown
+     */
+    public void evict(UUID uuid, String sku) {
+        atOnceAndAfterCommit(() -> {
+            byUuid.evict(uuid);
+            if (Objects.nonNull(sku)) {
+                bySku.evict(sku);
+            }
+        });
+    }
+
+    /**
+     * Evicts every product, after bulk changes to the catalogue.
+     */
+    public void clear() {
+        atOnceAndAfterCommit(() -> {
+            byUuid.clear();
+            bySku.clear();
+        });
+    }
+
+    private static void atOnceAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private Optional<Product> get(Cache cache, Object key, Supplier<Optional<Product>> loader) {
+        Product cached = cache.get(key, Product.class);
+        if (Objects.nonNull(cached)) {
+            return Optional.of(cached);
+        }
+        Optional<Product> loaded = loader.get();
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+}
@@ -0,0 +1,272 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.cache;
+
+import com.stockassistant.server.domain.model.Warehouse;
+import com.stockassistant.server.domain.model.WarehouseFilter;
+import com.stockassistant.server.persistence.mapper.WarehouseEntityMapper;
+import com.stockassistant.server.persistence.repository.WarehouseRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * In-memory directory of all the warehouses, serving lookups, filters, sorting and paging without
+ * database access. The directory is an immutable snapshot, replaced atomically on every write and
+ * reloaded once it is older than the refresh interval to pick up the writes of other instances.
+ * The stock of the warehouses follows the inventory writes of this instance through addStock.
+ * When the table holds more than the maximum size, no snapshot is kept and callers fall back to SQL.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarehouseDirectory {
+
+    /** The comparators of the sortable warehouse properties */
+    private static final Map<String, Comparator<Warehouse>> SORTABLE = Map.of(
+            "uuid", Comparator.comparing(Warehouse::uuid),
+            "name", Comparator.comparing(Warehouse::name, Comparator.nullsLast(Comparator.naturalOrder())),
+            "location", Comparator.comparing(Warehouse::location, Comparator.nullsLast(Comparator.naturalOrder())),
+            "capacity", Comparator.comparingInt(Warehouse::capacity),
+            "stockQuantity", Comparator.comparingLong(Warehouse::stockQuantity),
+            "utilisation", Comparator.comparing(Warehouse::utilisation, Comparator.nullsLast(Comparator.naturalOrder())),
+            "createdAt", Comparator.comparing(Warehouse::createdAt, Comparator.nullsLast(Comparator.naturalOrder())),
+            "updatedAt", Comparator.comparing(Warehouse::updatedAt, Comparator.nullsLast(Comparator.naturalOrder())));
+
+    /** The repository the snapshots are loaded from */
+    private final WarehouseRepository warehouseRepository;
+
+    /** The mapper for converting persistence entities into domain models */
+    private final WarehouseEntityMapper warehouseEntityMapper;
+
+    /** The current snapshot, null until first loaded */
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    /** The maximum number of warehouses held in memory */
+    @Value("${stock.warehouse.snapshot.max-size:10000}")
+    private int maxSize;
+
+    /** The age after which the snapshot is reloaded from the database */
+    @Value("${stock.warehouse.snapshot.refresh-interval:PT5M}")
+    private Duration refreshInterval;
+
+    /**
+     * Returns the current snapshot, loading it when missing or stale.
+     *
+     * @return The snapshot, or empty if the table is too large to be held in memory
+     */
+    public Optional<Snapshot> current() {
+        Snapshot current = snapshot.get();
+        if (Objects.isNull(current) || System.nanoTime() - current.loadedAt() > refreshInterval.toNanos()) {
+            Snapshot loaded = load();
+            // Not published if a write replaced the snapshot meanwhile, the next read reloads it
+            snapshot.compareAndSet(current, loaded);
+            current = loaded;
+        }
+        return current.complete() ? Optional.of(current) : Optional.empty();
+    }
+
+    /**
+     * Publishes a created or updated warehouse in a new snapshot.
+     *
+     * @param warehouse The warehouse as stored in the database
+     */
+    public void put(Warehouse warehouse) {
+        snapshot.updateAndGet(current -> Objects.isNull(current) || !current.complete() ? current : current.with(warehouse, maxSize));
+    }
+
+    /**
+     * Adds inventory quantity changes to the stock of the warehouses of the snapshot. Within a transaction
+     * the changes are published after its commit, so rolled back changes never reach the snapshot.
+     *
+     * @param deltas The net quantity change of each warehouse
+     */
+    public void addStock(Map<UUID, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Runnable publish = () -> snapshot.updateAndGet(
+                current -> Objects.isNull(current) || !current.complete() ? current : current.withStock(deltas));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
+    }
+
+    /**
+     * Drops the current snapshot, the next read reloads it from the database.
+     */
+    public void invalidate() {
+        snapshot.set(null);
+    }
+
+    private Snapshot load() {
+        long loadedAt = System.nanoTime();
+        if (warehouseRepository.count() > maxSize) {
+            return Snapshot.incomplete(loadedAt);
+        }
+        Map<UUID, Warehouse> warehouses = new HashMap<>();
+        warehouseRepository.findAll().stream()
+                .map(warehouseEntityMapper::toWarehouse)
+                .forEach(warehouse -> warehouses.put(warehouse.uuid(), warehouse));
+        return new Snapshot(Map.copyOf(warehouses), true, loadedAt);
+    }
+
+    /**
+     * Immutable view of all the warehouses at a point in time.
+     *
+     * @param warehouses The warehouses by UUID
+     * @param complete Whether the snapshot holds every warehouse
+     * @param loadedAt The nano time the snapshot was loaded from the database
+     */
+    public record Snapshot(Map<UUID, Warehouse> warehouses, boolean complete, long loadedAt) {
+
+        private static Snapshot incomplete(long loadedAt) {
+            return new Snapshot(Map.of(), false, loadedAt);
+        }
+
+        private Snapshot with(Warehouse warehouse, int maxSize) {
+            if (!warehouses.containsKey(warehouse.uuid()) && warehouses.size() >= maxSize) {
+                return incomplete(loadedAt);
+            }
+            Map<UUID, Warehouse> updated = new HashMap<>(warehouses);
+            // The stock is maintained by addStock, the warehouse may have been read before the latest changes
+            Warehouse existing = warehouses.get(warehouse.uuid());
+            updated.put(warehouse.uuid(), Objects.isNull(existing) ? warehouse
+                    : warehouse.toBuilder().stockQuantity(existing.stockQuantity()).build());
+            return new Snapshot(Map.copyOf(updated), true, loadedAt);
+        }
+
+        private Snapshot withStock(Map<UUID, Long> deltas) {
+            Map<UUID, Warehouse> updated = new HashMap<>(warehouses);
+            deltas.forEach((uuid, delta) -> updated.computeIfPresent(uuid,
+                    (key, warehouse) -> warehouse.toBuilder().stockQuantity(warehouse.stockQuantity() + delta).build()));
+            return new Snapshot(Map.copyOf(updated), true, loadedAt);
+        }
+
+        /**
+         * Finds a warehouse by its UUID.
+         *
+         * @param uuid The UUID of the warehouse
+         * @return The warehouse if it exists
+         */
+        public Optional<Warehouse> findById(UUID uuid) {
+            return Optional.ofNullable(warehouses.get(uuid));
+        }
+
+        /**
+         * Whether the given sort only references sortable properties.
+         *
+         * @param sort The requested sort
+         * @return true if the snapshot can apply the sort
+         */
+        public boolean supports(Sort sort) {
+            return sort.stream().allMatch(order -> SORTABLE.containsKey(order.getProperty()));
+        }
+
+        /**
+         * Retrieves a page of the warehouses matching the filter, with the same matching rules as the
+         * SQL specifications: exact UUID and capacity, case-insensitive partial name and location,
+         * inclusive utilisation bounds never matching warehouses without capacity.
+         *
+         * @param warehouseFilter The filter criteria and page request
+         * @return A page of the matching warehouses
+         */
+        public Page<Warehouse> findAll(WarehouseFilter warehouseFilter) {
+            PageRequest pageRequest = warehouseFilter.pageRequest();
+            List<Warehouse> matching = warehouses.values().stream()
+                    .filter(toPredicate(warehouseFilter))
+                    .sorted(toComparator(pageRequest.getSort()))
+                    .toList();
+            int from = (int) Math.min(pageRequest.getOffset(), matching.size());
+            int to = Math.min(from + pageRequest.getPageSize(), matching.size());
+            return new PageImpl<>(matching.subList(from, to), pageRequest, matching.size());
+        }
+
+        /**
+         * Counts the warehouses matching the filter.
+         *
+         * @param warehouseFilter The filter criteria
+         * @return The number of matching warehouses
+         */
+        public long count(WarehouseFilter warehouseFilter) {
+            return warehouses.values().stream()
+                    .filter(toPredicate(warehouseFilter))
+                    .count();
+        }
+
+        private static Predicate<Warehouse> toPredicate(WarehouseFilter warehouseFilter) {
+            Predicate<Warehouse> predicate = warehouse -> true;
+            if (Objects.nonNull(warehouseFilter.uuid())) {
+                predicate = predicate.and(warehouse -> warehouseFilter.uuid().equals(warehouse.uuid()));
+            }
+            if (Objects.nonNull(warehouseFilter.name())) {
+                predicate = predicate.and(contains(Warehouse::name, warehouseFilter.name()));
+            }
+            if (Objects.nonNull(warehouseFilter.location())) {
+                predicate = predicate.and(contains(Warehouse::location, warehouseFilter.location()));
+            }
+            if (Objects.nonNull(warehouseFilter.capacity())) {
+                predicate = predicate.and(warehouse -> warehouse.capacity() == warehouseFilter.capacity());
+            }
+            if (Objects.nonNull(warehouseFilter.minUtilisation())) {
+                predicate = predicate.and(warehouse -> Objects.nonNull(warehouse.utilisation())
+                        && warehouse.utilisation() >= warehouseFilter.minUtilisation());
+            }
+            if (Objects.nonNull(warehouseFilter.maxUtilisation())) {
+                predicate = predicate.and(warehouse -> Objects.nonNull(warehouse.utilisation())
+                        && warehouse.utilisation() <= warehouseFilter.maxUtilisation());
+            }
+            return predicate;
+        }
+
+        private static Predicate<Warehouse> contains(Function<Warehouse, String> property, String value) {
+            String lowerValue = value.toLowerCase(Locale.ROOT);
+            return warehouse -> Objects.nonNull(property.apply(warehouse))
+                    && property.apply(warehouse).toLowerCase(Locale.ROOT).contains(lowerValue);
+        }
+
+        private static Comparator<Warehouse> toComparator(Sort sort) {
+            Comparator<Warehouse> comparator = (first, second) -> 0;
+            for (Sort.Order order : sort) {
+                Comparator<Warehouse> property = SORTABLE.get(order.getProperty());
+                comparator = comparator.thenComparing(order.isAscending() ? property : property.reversed());
+            }
+            return comparator.thenComparing(SORTABLE.get("uuid"));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.stockassistant.server.persistence.cache.CountCache;
+import com.stockassistant.server.persistence.cache.IdempotencyCache;
+import com.stockassistant.server.persistence.cache.ListingCache;
+import com.stockassistant.server.persistence.cache.ProductCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the in-memory caches of the persistence layer.
+ * Caches are declared upfront so that the actuator binds their hit, miss and eviction metrics at startup.
+ */
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Bounded Caffeine caches of the catalogue, evicted by size and by age.
+     *
+     * @param maximumSize The maximum number of entries of each cache
+     * @param expireAfterWrite The time after which an entry is reloaded from the database
+     * @param countMaximumSize The maximum number of cached listing totals
+     * @param countExpireAfterWrite The time after which a listing total is counted again
+     * @param listingMemoryBudget The memory held by the cached listings
+     * @param listingItemSize The assumed average size of a cached item, converting the budget into items
+     * @param listingExpireAfterWrite The time after which a listing is loaded again, bounding the staleness
+     *                                of the writes of other instances
+     * @param idempotencyMemoryBudget The memory held by the cached responses of idempotent requests
+     * @param idempotencyRetention The time the responses of idempotent requests are replayed
+     * @return The cache manager holding the product, count, listing and idempotency caches
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${stock.product.cache.maximum-size:100000}") long maximumSize,
+                                     @Value("${stock.product.cache.expire-after-write:PT10M}") Duration expireAfterWrite,
+                                     @Value("${stock.count.cache.maximum-size:10000}") long countMaximumSize,
+                                     @Value("${stock.count.cache.expire-after-write:PT30S}") Duration countExpireAfterWrite,
+                                     @Value("${stock.listing.cache.memory-budget:32MB}") DataSize listingMemoryBudget,
+                                     @Value("${stock.listing.cache.item-size:1KB}") DataSize listingItemSize,
+                                     @Value("${stock.listing.cache.expire-after-write:PT1M}") Duration listingExpireAfterWrite,
+                                     @Value("${stock.idempotency.cache.memory-budget:16MB}") DataSize idempotencyMemoryBudget,
+                                     @Value("${stock.idempotency.retention:P1D}") Duration idempotencyRetention) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(ProductCache.BY_UUID, ProductCache.BY_SKU);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(CountCache.COUNTS, Caffeine.newBuilder()
+                .maximumSize(countMaximumSize)
+                .expireAfterWrite(countExpireAfterWrite)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(ListingCache.LISTINGS, Caffeine.newBuilder()
+                .maximumWeight(listingMemoryBudget.toBytes() / listingItemSize.toBytes())
+                .weigher(ListingCache::weigh)
+                .expireAfterWrite(listingExpireAfterWrite)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(IdempotencyCache.RESPONSES, Caffeine.newBuilder()
+                .maximumWeight(idempotencyMemoryBudget.toBytes())
+                .weigher(IdempotencyCache::weigh)
+                .expireAfterWrite(idempotencyRetention)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
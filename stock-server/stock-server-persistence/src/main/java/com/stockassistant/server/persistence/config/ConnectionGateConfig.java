@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.config;
+
+import com.stockassistant.server.persistence.datasource.GatedDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuration of the gate queuing the borrowers of database connections.
+ * The gate is enabled by the virtual-threads profile of the starter: with one thread per request, the number of
+ * threads blocked on the database is no longer bounded by the request pool but by the number of clients.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "stock.datasource.gate.enabled", havingValue = "true")
+public class ConnectionGateConfig {
+
+    /**
+     * Wraps the data source into a gate admitting as many borrowers as the pool holds connections.
+     *
+     * @param environment The environment providing the pool size and the gate settings
+     * @return The post-processor wrapping the data source
+     */
+    @Bean
+    public static BeanPostProcessor connectionGatePostProcessor(Environment environment) {
+        int permits = environment.getProperty("stock.datasource.gate.permits", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        Duration acquireTimeout = environment.getProperty("stock.datasource.gate.acquire-timeout", Duration.class,
+                Duration.ofSeconds(60));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof GatedDataSource)) {
+                    log.info("Database connections gated - dataSource: {}, permits: {}, acquireTimeout: {}",
+                            beanName, permits, acquireTimeout);
+                    return new GatedDataSource(dataSource, permits, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the versioned schema migrations.
+ * Databases created by init-db.sh already hold the baseline schema without a migration history,
+ * they are baselined at version 1 so that only the later migrations are applied.
+ */
+@Configuration
+public class FlywayConfig {
+
+    /** The version of the baseline schema created by init-db.sh */
+    private static final String BASELINE_VERSION = "1";
+
+    /**
+     * Baselines existing schemas on the first migration.
+     *
+     * @return The customizer of the Flyway configuration
+     */
+    @Bean
+    public FlywayConfigurationCustomizer baselineCustomizer() {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion(BASELINE_VERSION);
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Data source admitting at most as many borrowers as the pool holds connections.
+ * Callers queue on a fair semaphore before reaching the pool, so thousands of virtual threads park cheaply
+ * in arrival order instead of spinning on the pool and failing once its connection timeout elapses.
+ * A permit is held from the borrowing of a connection to its close. A thread borrowing a second connection
+ * while holding one is not gated, it would otherwise wait on itself.
+ */
+public class GatedDataSource extends DelegatingDataSource {
+
+    /** The number of connections borrowed by the current thread through the gate */
+    private final ThreadLocal<int[]> held = ThreadLocal.withInitial(() -> new int[1]);
+
+    /** The permits, one per pooled connection */
+    private final Semaphore permits;
+
+    /** The longest time a caller queues for a permit */
+    private final Duration acquireTimeout;
+
+    public GatedDataSource(DataSource dataSource, int permits, Duration acquireTimeout) {
+        super(dataSource);
+        this.permits = new Semaphore(permits, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return gate(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return gate(() -> super.getConnection(username, password));
+    }
+
+    /**
+     * Returns the number of callers queued for a permit.
+     *
+     * @return An estimate of the queue length
+     */
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    private Connection gate(ConnectionSupplier borrow) throws SQLException {
+        int[] count = held.get();
+        if (count[0] > 0) {
+            return track(borrow.get(), count, false);
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException("No database connection available after " + acquireTimeout
+                        + ", " + permits.getQueueLength() + " callers queued");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while queued for a database connection", e);
+        }
+        try {
+            return track(borrow.get(), count, true);
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Wraps a borrowed connection to give its permit back, once, when it is closed.
+     */
+    private Connection track(Connection connection, int[] count, boolean permit) {
+        count[0]++;
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && closed.compareAndSet(false, true)) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        } finally {
+                            // The count of the borrowing thread, whichever thread closes the connection
+                            count[0]--;
+                            if (permit) {
+                                permits.release();
+                            }
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing the stored response of an idempotent request in the database.
+ * This class maps to the 'idempotent_response' table, rows are written and read
+ * by {@link com.stockassistant.server.persistence.repository.IdempotentResponseRepository}.
+ */
+@Entity
+@Table(name = "idempotent_response")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class IdempotentResponseEntity {
+    /** The idempotency key sent by the client */
+    @Id
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
+    /** The hash of the method, path and body of the request */
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    /** The HTTP status of the response */
+    @Column(nullable = false)
+    private short status;
+
+    /** The content type of the body */
+    @Column(name = "content_type")
+    private String contentType;
+
+    /** The Location header of the response */
+    @Column(length = 2048)
+    private String location;
+
+    /** The body of the response */
+    @Column(nullable = false, length = 16_777_216)
+    private byte[] body;
+
+    /** The timestamp when the request was executed */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
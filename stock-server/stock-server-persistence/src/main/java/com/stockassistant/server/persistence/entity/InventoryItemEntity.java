@@ -14,6 +14,7 @@ package com.stockassistant.server.persistence.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -24,7 +25,10 @@ import java.util.UUID;
  * to represent the stock of a product in a specific warehouse.
  */
 @Entity
-@Table(name = "inventory")
+@Table(name = "inventory",
+        uniqueConstraints = @UniqueConstraint(name = "inventory_warehouse_product_uk",
+                columnNames = {"warehouse_id", "product_id"}),
+        indexes = @Index(name = "inventory_product_id_idx", columnList = "product_id"))
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
@@ -46,6 +50,15 @@ public class InventoryItemEntity {
     @Column(name = "last_stock_update", nullable = false)
     private LocalDateTime lastStockUpdate;
 
+    /** The version of the quantity, incremented by every quantity write */
+    @ColumnDefault("0")
+    @Column(name = "stock_version", nullable = false, insertable = false, updatable = false)
+    private long stockVersion;
+
+    /** The reorder point overriding the one of the product in this warehouse */
+    @Column(name = "reorder_point")
+    private Integer reorderPoint;
+
     /** The product associated with this inventory item */
     @ManyToOne(fetch = FetchType.LAZY)
     private ProductEntity product;
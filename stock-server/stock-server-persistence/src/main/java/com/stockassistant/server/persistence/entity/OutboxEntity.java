@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.entity;
+
+import com.stockassistant.server.domain.model.enums.ChangeAggregateEnum;
+import com.stockassistant.server.domain.model.enums.ChangeOperationEnum;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity class representing a change record of the outbox in the database.
+ * This class maps to the 'outbox' table, records are written and relayed in batches
+ * by {@link com.stockassistant.server.persistence.repository.OutboxRepository}.
+ */
+@Entity
+@Table(name = "outbox")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class OutboxEntity {
+    /** The sequence number of the change record */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** The kind of object written */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ChangeAggregateEnum aggregate;
+
+    /** Whether the object was created, updated or deleted */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ChangeOperationEnum operation;
+
+    /** The UUID of the warehouse, set for warehouse and inventory records */
+    @Column(name = "warehouse_id")
+    private UUID warehouseId;
+
+    /** The UUID of the product, set for product and inventory records */
+    @Column(name = "product_id")
+    private UUID productId;
+
+    /** The written values as a JSON object */
+    @Column(length = 4000)
+    private String payload;
+
+    /** The timestamp when the write was recorded */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /** The timestamp when the record was relayed, null while pending */
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+}
@@ -70,6 +70,10 @@ public class ProductEntity {
     @Column(name = "unit_of_measure", length = 10)
     private UnitOfMeasureEnum unitOfMeasure;
 
+    /** The quantity below which the stock of the product in a warehouse raises a low-stock alert */
+    @Column(name = "reorder_point")
+    private Integer reorderPoint;
+
     /** The timestamp when the product was created */
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
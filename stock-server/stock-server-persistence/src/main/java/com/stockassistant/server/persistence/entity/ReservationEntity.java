@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity class representing an outstanding stock reservation in the database.
+ * This class maps to the 'reservation' table, rows are written and deleted in batches
+ * by {@link com.stockassistant.server.persistence.repository.ReservationRepository}.
+ */
+@Entity
+@Table(name = "reservation")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ReservationEntity {
+    /** The unique identifier of the reservation */
+    @Id
+    private UUID uuid;
+
+    /** The UUID of the warehouse */
+    @Column(name = "warehouse_id", nullable = false)
+    private UUID warehouseId;
+
+    /** The UUID of the product */
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    /** The quantity held */
+    @Column(nullable = false)
+    private int quantity;
+
+    /** The identifier of the cart or order holding the stock */
+    private String reference;
+
+    /** The timestamp when the stock was reserved */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /** The timestamp when the reservation expires */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.entity;
+
+import com.stockassistant.server.domain.model.enums.StockMovementReasonEnum;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity class representing a movement of the stock ledger in the database.
+ * This class maps to the append-only 'stock_movement' table, movements are written in batches
+ * by {@link com.stockassistant.server.persistence.repository.StockLedgerRepository}.
+ */
+@Entity
+@Table(name = "stock_movement")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class StockMovementEntity {
+    /** The sequence number of the movement */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** The UUID of the warehouse */
+    @Column(name = "warehouse_id", nullable = false)
+    private UUID warehouseId;
+
+    /** The UUID of the product */
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    /** The signed quantity change */
+    @Column(nullable = false)
+    private int delta;
+
+    /** The kind of write causing the change */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StockMovementReasonEnum reason;
+
+    /** The timestamp when the change was recorded */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity class representing a snapshot of the stock ledger in the database.
+ * This class maps to the 'stock_snapshot' table, each row holds the quantity of an inventory item
+ * summed from its movements up to the time the snapshot was taken.
+ */
+@Entity
+@Table(name = "stock_snapshot")
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class StockSnapshotEntity {
+    /** The unique identifier of the snapshot */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** The UUID of the warehouse */
+    @Column(name = "warehouse_id", nullable = false)
+    private UUID warehouseId;
+
+    /** The UUID of the product */
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    /** The quantity held when the snapshot was taken */
+    @Column(nullable = false)
+    private int quantity;
+
+    /** The timestamp of the latest movement included in the snapshot */
+    @Column(name = "last_movement_at")
+    private LocalDateTime lastMovementAt;
+
+    /** The timestamp up to which the movements are included */
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+}
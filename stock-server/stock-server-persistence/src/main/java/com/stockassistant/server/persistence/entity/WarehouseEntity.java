@@ -14,7 +14,9 @@ package com.stockassistant.server.persistence.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Formula;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -31,6 +33,9 @@ import java.util.UUID;
 @AllArgsConstructor
 @Data
 public class WarehouseEntity {
+    /** The SQL expression of the utilisation, matching the warehouses_utilisation_id_idx index */
+    public static final String UTILISATION = "CASE WHEN capacity > 0 THEN stock_quantity * 100.0 / capacity END";
+
     /** The unique identifier of the warehouse in the database */
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -52,6 +57,15 @@ public class WarehouseEntity {
     @Column(nullable = false)
     private Integer capacity;
 
+    /** The running total of the inventory quantities held by the warehouse, written by the inventory updates only */
+    @ColumnDefault("0")
+    @Column(name = "stock_quantity", nullable = false, insertable = false, updatable = false)
+    private long stockQuantity;
+
+    /** The stock quantity as a percentage of the capacity, null if the capacity is zero */
+    @Formula(UTILISATION)
+    private Double utilisation;
+
     /** The timestamp when the warehouse was created */
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -0,0 +1,197 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.job;
+
+import com.stockassistant.server.domain.model.ChangeRecord;
+import com.stockassistant.server.persistence.outbox.ChangeSink;
+import com.stockassistant.server.persistence.repository.OutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background job relaying the pending outbox records to the change sink.
+ * Each batch is claimed, published and stamped in one short transaction, so a failing sink rolls the
+ * claim back and the batch is relayed again on the next run. Full batches are followed by another one
+ * right away, the relay only waits for the next run once the outbox is drained. Several workers, on
+ * this node or others, may relay concurrently, the claims skipping the records locked by the others;
+ * a single worker keeps the records published in id order.
+ */
+@Slf4j
+@Component
+public class OutboxRelay implements DisposableBean {
+
+    /** The number of published records deleted per statement by the purge */
+    private static final int PURGE_CHUNK_SIZE = 10_000;
+
+    /** The repository claiming and stamping the records */
+    private final OutboxRepository outboxRepository;
+
+    /** The destination of the records */
+    private final ChangeSink changeSink;
+
+    /** The template running each batch in its own transaction */
+    private final TransactionTemplate transactionTemplate;
+
+    /** Whether the scheduled relay runs */
+    private final boolean enabled;
+
+    /** The maximum number of records claimed and published per transaction */
+    private final int batchSize;
+
+    /** The number of workers relaying concurrently, each holding a connection while it runs */
+    private final int parallelism;
+
+    /** The time published records are kept as a change feed before being purged */
+    private final Duration retention;
+
+    /** The threads running the workers, kept for the lifetime of the relay, null with a single worker */
+    private final ExecutorService workers;
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       ChangeSink changeSink,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${stock.outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${stock.outbox.relay.batch-size:1000}") int batchSize,
+                       @Value("${stock.outbox.relay.parallelism:1}") int parallelism,
+                       @Value("${stock.outbox.retention:P7D}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.changeSink = changeSink;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.retention = retention;
+        this.workers = parallelism > 1 ? Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * Runs a relay on schedule, unless disabled.
+     */
+    @Scheduled(fixedDelayString = "${stock.outbox.relay.interval:PT1S}")
+    public void scheduledRelay() {
+        if (enabled) {
+            relay();
+        }
+    }
+
+    /**
+     * Purges the records published before the retention period, on schedule unless disabled.
+     */
+    @Scheduled(initialDelayString = "${stock.outbox.purge.initial-delay:PT10M}",
+            fixedDelayString = "${stock.outbox.purge.interval:PT1H}")
+    public void scheduledPurge() {
+        if (enabled) {
+            purge();
+        }
+    }
+
+    /**
+     * Relays the pending records until the outbox is drained.
+     *
+     * @return The number of published records
+     */
+    public long relay() {
+        long start = System.nanoTime();
+        long published;
+        if (parallelism == 1) {
+            published = relayUntilDrained();
+        } else {
+            List<CompletableFuture<Long>> runs = new ArrayList<>();
+            for (int i = 0; i < parallelism; i++) {
+                runs.add(CompletableFuture.supplyAsync(this::relayUntilDrained, workers));
+            }
+            published = runs.stream().mapToLong(CompletableFuture::join).sum();
+        }
+        if (published > 0) {
+            log.info("Outbox relayed - records: {}, duration: {} ms", published, (System.nanoTime() - start) / 1_000_000);
+        }
+        return published;
+    }
+
+    /**
+     * Deletes the records published before the retention period, chunk by chunk.
+     *
+     * @return The number of deleted records
+     */
+    public long purge() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = Objects.requireNonNull(transactionTemplate.execute(status -> outboxRepository.purge(before, PURGE_CHUNK_SIZE)));
+            purged += deleted;
+        } while (deleted == PURGE_CHUNK_SIZE);
+        log.info("Outbox purged - records: {}, published before: {}", purged, before);
+        return purged;
+    }
+
+    /**
+     * Stops the workers before the application stops, letting a running relay finish its batch.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        if (Objects.nonNull(workers)) {
+            workers.shutdown();
+            if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Outbox relay workers still running at shutdown");
+            }
+        }
+    }
+
+    private long relayUntilDrained() {
+        long published = 0;
+        try {
+            int batch;
+            do {
+                batch = Objects.requireNonNull(transactionTemplate.execute(status -> relayBatch()));
+                published += batch;
+            } while (batch == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed, the pending records are retried on the next run", e);
+        }
+        return published;
+    }
+
+    private int relayBatch() {
+        List<ChangeRecord> records = outboxRepository.claim(batchSize);
+        if (records.isEmpty()) {
+            return 0;
+        }
+        try {
+            changeSink.publish(records);
+        } catch (Exception e) {
+            throw new IllegalStateException("Change sink failed to publish " + records.size() + " records", e);
+        }
+        outboxRepository.markPublished(records.stream().map(ChangeRecord::id).toList());
+        return records.size();
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.job;
+
+import com.stockassistant.server.persistence.repository.StockLedgerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Background job compacting the stock ledger into snapshots.
+ * Each run takes a snapshot of the items moved since the previous run once they have accumulated enough
+ * movements after their latest snapshot, which bounds the movements replayed by point in time queries.
+ * Movements are stamped with the start time of their transaction, so a run only covers the movements
+ * recorded before the configured lag: it must exceed the longest inventory write transaction, otherwise
+ * a movement committed after the snapshot covering its time would be left out of the later quantities.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StockSnapshotJob {
+
+    /** The number of items snapshotted per transaction */
+    private static final int CHUNK_SIZE = 1_000;
+
+    /** The repository of the ledger */
+    private final StockLedgerRepository stockLedgerRepository;
+
+    /** The template running each chunk in its own transaction */
+    private final TransactionTemplate transactionTemplate;
+
+    /** Whether the scheduled compaction runs */
+    @Value("${stock.ledger.snapshot.enabled:true}")
+    private boolean enabled;
+
+    /** The number of movements following the latest snapshot of an item before a new one is taken */
+    @Value("${stock.ledger.snapshot.min-movements:64}")
+    private int minMovements;
+
+    /** The age of the most recent movements covered by a run */
+    @Value("${stock.ledger.snapshot.lag:PT1M}")
+    private Duration lag;
+
+    /** The time up to which the movements were compacted, null until the first run */
+    private LocalDateTime compactedUntil;
+
+    /**
+     * Runs a compaction on schedule, unless disabled.
+     */
+    @Scheduled(initialDelayString = "${stock.ledger.snapshot.initial-delay:PT1M}",
+            fixedDelayString = "${stock.ledger.snapshot.interval:PT15M}")
+    public void scheduledCompaction() {
+        if (enabled) {
+            compact();
+        }
+    }
+
+    /**
+     * Takes a snapshot of the items moved since the previous run having enough movements after their latest snapshot.
+     *
+     * @return The number of snapshots taken
+     */
+    public synchronized long compact() {
+        long start = System.nanoTime();
+        LocalDateTime until = stockLedgerRepository.currentTime().minus(lag);
+        if (Objects.isNull(compactedUntil)) {
+            compactedUntil = stockLedgerRepository.findLastSnapshotTime().orElse(StockLedgerRepository.LEDGER_START);
+        }
+        if (!until.isAfter(compactedUntil)) {
+            return 0;
+        }
+        List<StockLedgerRepository.ItemKey> moved = stockLedgerRepository.findMovedItems(compactedUntil, until);
+        long taken = 0;
+        for (int from = 0; from < moved.size(); from += CHUNK_SIZE) {
+            List<StockLedgerRepository.ItemKey> chunk = moved.subList(from, Math.min(from + CHUNK_SIZE, moved.size()));
+            taken += Objects.requireNonNull(transactionTemplate.execute(status -> {
+                Map<StockLedgerRepository.ItemKey, StockLedgerRepository.LedgerLevel> due =
+                        stockLedgerRepository.findLevels(chunk, until).entrySet().stream()
+                                .filter(level -> level.getValue().movements() >= minMovements)
+                                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                stockLedgerRepository.insertSnapshots(due, until);
+                return due.size();
+            }));
+        }
+        compactedUntil = until;
+        log.info("Stock ledger compacted - moved items: {}, snapshots: {}, until: {}, duration: {} ms",
+                moved.size(), taken, until, (System.nanoTime() - start) / 1_000_000);
+        return taken;
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.job;
+
+import com.stockassistant.server.persistence.cache.ListingCache;
+import com.stockassistant.server.persistence.cache.WarehouseDirectory;
+import com.stockassistant.server.persistence.repository.WarehouseStockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Background job reconciling the running stock totals of the warehouses with the inventory table.
+ * The warehouse ids are split into ranges verified in parallel, each range comparing the totals
+ * with one GROUP BY statement and resetting only the drifted warehouses, one short transaction each.
+ * Drift is not expected, it reveals writes that bypassed the repository adapters.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarehouseStockVerifier {
+
+    /** The repository comparing and reconciling the running totals */
+    private final WarehouseStockRepository warehouseStockRepository;
+
+    /** The in-memory snapshot of the warehouses, reloaded after a reconciliation */
+    private final WarehouseDirectory warehouseDirectory;
+
+    /** The cache of the warehouse listings, invalidated after a reconciliation */
+    private final ListingCache listingCache;
+
+    /** Whether the scheduled verification runs */
+    @Value("${stock.warehouse.stock-verifier.enabled:true}")
+    private boolean enabled;
+
+    /** The number of warehouse ids verified by one statement */
+    @Value("${stock.warehouse.stock-verifier.chunk-size:1000}")
+    private int chunkSize;
+
+    /** The number of chunks verified concurrently, each holding a connection while it runs */
+    @Value("${stock.warehouse.stock-verifier.parallelism:4}")
+    private int parallelism;
+
+    /**
+     * Runs a verification on schedule, unless disabled.
+     */
+    @Scheduled(initialDelayString = "${stock.warehouse.stock-verifier.initial-delay:PT5M}",
+            fixedDelayString = "${stock.warehouse.stock-verifier.interval:PT1H}")
+    public void scheduledVerify() {
+        if (enabled) {
+            verify();
+        }
+    }
+
+    /**
+     * Verifies the running total of every warehouse and reconciles the drifted ones.
+     *
+     * @return The number of reconciled warehouses
+     */
+    public int verify() {
+        long start = System.nanoTime();
+        int reconciled = warehouseStockRepository.findIdRange()
+                .map(range -> {
+                    List<CompletableFuture<Integer>> chunks = new ArrayList<>();
+                    try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+                        for (long from = range.minId(); from <= range.maxId(); from += chunkSize) {
+                            long to = Math.min(from + chunkSize - 1, range.maxId());
+                            long chunkFrom = from;
+                            chunks.add(CompletableFuture.supplyAsync(() -> verifyChunk(chunkFrom, to), executor));
+                        }
+                    }
+                    return chunks.stream().mapToInt(CompletableFuture::join).sum();
+                })
+                .orElse(0);
+        if (reconciled > 0) {
+            warehouseDirectory.invalidate();
+            listingCache.bump(ListingCache.Aggregate.WAREHOUSE);
+        }
+        log.info("Warehouse stock verification completed - reconciled: {}, duration: {} ms",
+                reconciled, (System.nanoTime() - start) / 1_000_000);
+        return reconciled;
+    }
+
+    private int verifyChunk(long fromId, long toId) {
+        List<WarehouseStockRepository.StockDrift> drifts = warehouseStockRepository.findDrifts(fromId, toId);
+        for (WarehouseStockRepository.StockDrift drift : drifts) {
+            log.warn("Warehouse stock drifted - warehouse: {}, recorded: {}, actual: {}",
+                    drift.uuid(), drift.recordedQuantity(), drift.actualQuantity());
+            warehouseStockRepository.reconcile(drift.id());
+        }
+        return drifts.size();
+    }
+}
@@ -14,7 +14,9 @@ package com.stockassistant.server.persistence.mapper;
 
 import com.stockassistant.server.domain.model.InventoryItem;
 import com.stockassistant.server.persistence.entity.InventoryItemEntity;
+import com.stockassistant.server.persistence.projection.InventoryItemRow;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 /**
  * Mapper interface for converting between InventoryItem domain models and InventoryItemEntity persistence entities.
@@ -29,13 +31,40 @@ public interface InventoryEntityMapper {
      * @param item The persistence entity to convert
      * @return The converted InventoryItem domain model
      */
+    @Mapping(target = "changeId", ignore = true)
     InventoryItem toInventoryItem(InventoryItemEntity item);
 
+    /**
+     * Converts an InventoryItemRow projection to an InventoryItem domain model.
+     *
+     * @param row The joined inventory row to convert
+     * @return The converted InventoryItem domain model
+     */
+    @Mapping(target = "product.uuid", source = "productUuid")
+    @Mapping(target = "product.sku", source = "productSku")
+    @Mapping(target = "product.name", source = "productName")
+    @Mapping(target = "product.description", source = "productDescription")
+    @Mapping(target = "product.category", source = "productCategory")
+    @Mapping(target = "product.unitOfMeasure", source = "productUnitOfMeasure")
+    @Mapping(target = "product.price", source = "productPrice")
+    @Mapping(target = "product.createdAt", source = "productCreatedAt")
+    @Mapping(target = "product.updatedAt", source = "productUpdatedAt")
+    @Mapping(target = "warehouse.uuid", source = "warehouseUuid")
+    @Mapping(target = "warehouse.name", source = "warehouseName")
+    @Mapping(target = "warehouse.location", source = "warehouseLocation")
+    @Mapping(target = "warehouse.capacity", source = "warehouseCapacity")
+    @Mapping(target = "warehouse.createdAt", source = "warehouseCreatedAt")
+    @Mapping(target = "warehouse.updatedAt", source = "warehouseUpdatedAt")
+    InventoryItem toInventoryItem(InventoryItemRow row);
+
     /**
      * Converts an InventoryItem domain model to an InventoryItemEntity.
+     * The reorder points are only written through their own update.
      *
      * @param item The domain model to convert
      * @return The converted InventoryItemEntity
      */
+    @Mapping(target = "reorderPoint", ignore = true)
+    @Mapping(target = "product.reorderPoint", ignore = true)
     InventoryItemEntity toInventoryItemEntity(InventoryItem item);
 }
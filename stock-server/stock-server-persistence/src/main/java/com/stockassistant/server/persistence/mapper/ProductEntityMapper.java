@@ -16,6 +16,7 @@ import com.stockassistant.server.domain.model.Product;
 import com.stockassistant.server.domain.model.ProductRequest;
 import com.stockassistant.server.persistence.entity.ProductEntity;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 /**
  * Mapper interface for converting between Product domain models and ProductEntity persistence entities.
@@ -33,9 +34,11 @@ public interface ProductEntityMapper {
 
     /**
      * Converts a ProductRequest to a ProductEntity.
+     * The reorder point is only written through its own update.
      *
      * @param productRequest The request containing product details
      * @return The converted ProductEntity
      */
+    @Mapping(target = "reorderPoint", ignore = true)
     ProductEntity mapProductRequestToProductEntity(ProductRequest productRequest);
 }
@@ -34,17 +34,22 @@ public interface WarehouseEntityMapper {
 
     /**
      * Converts a Warehouse domain model to a WarehouseEntity.
+     * The utilisation is computed by the database from the stock quantity.
      *
      * @param warehouse The domain model to convert
      * @return The converted WarehouseEntity
      */
+    @Mapping(target = "utilisation", ignore = true)
     WarehouseEntity toWarehouseEntity(Warehouse warehouse);
 
     /**
      * Converts a WarehouseRequest to a WarehouseEntity.
+     * The stock quantity is only written by the inventory updates, the utilisation is computed from it.
      *
      * @param warehouse The request containing warehouse details
      * @return The converted WarehouseEntity
      */
+    @Mapping(target = "stockQuantity", ignore = true)
+    @Mapping(target = "utilisation", ignore = true)
     WarehouseEntity toWarehouseEntity(WarehouseRequest warehouse);
 }
@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.outbox;
+
+import com.stockassistant.server.domain.model.ChangeRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Sink standing in for a message broker, holding the change records in a bounded in-memory topic
+ * that consumers poll. A batch is rejected when the topic cannot take it whole, the records then
+ * stay pending in the outbox until the consumers catch up.
+ */
+@Component
+@ConditionalOnProperty(name = "stock.outbox.sink", havingValue = "broker")
+public class BrokerChangeSink implements ChangeSink {
+
+    /** The records not yet consumed, oldest first */
+    private final BlockingQueue<ChangeRecord> topic;
+
+    public BrokerChangeSink(@Value("${stock.outbox.sink.broker.capacity:100000}") int capacity) {
+        this.topic = new LinkedBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public synchronized void publish(List<ChangeRecord> records) {
+        if (topic.remainingCapacity() < records.size()) {
+            throw new IllegalStateException("Broker topic full, " + records.size() + " change records rejected");
+        }
+        topic.addAll(records);
+    }
+
+    /**
+     * Consumes the oldest records of the topic.
+     *
+     * @param maxRecords The maximum number of records to consume
+     * @return The consumed records, empty if the topic is empty
+     */
+    public List<ChangeRecord> poll(int maxRecords) {
+        List<ChangeRecord> records = new ArrayList<>(Math.min(maxRecords, topic.size()));
+        topic.drainTo(records, maxRecords);
+        return records;
+    }
+}
@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.outbox;
+
+import com.stockassistant.server.domain.model.ChangeRecord;
+
+import java.util.List;
+
+/**
+ * Destination of the change records relayed from the outbox, selected by the stock.outbox.sink property.
+ * A batch is only stamped as published once the sink returns, a failing batch is relayed again later,
+ * so sinks receive every record at least once and in id order within a batch.
+ */
+public interface ChangeSink {
+
+    /**
+     * Publishes a batch of change records.
+     *
+     * @param records The records, in id order
+     * @throws Exception if the batch could not be published, it is then retried
+     */
+    void publish(List<ChangeRecord> records) throws Exception;
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.stockassistant.server.domain.model.ChangeRecord;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Sink appending the change records to a newline-delimited JSON file, one line per record.
+ * Each batch is written with a single call and forced to disk before it is stamped as published.
+ */
+@Component
+@ConditionalOnProperty(name = "stock.outbox.sink", havingValue = "file")
+public class FileChangeSink implements ChangeSink, DisposableBean {
+
+    /** The serializer of the lines */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /** The file the records are appended to */
+    @Value("${stock.outbox.sink.file.path:outbox.ndjson}")
+    private Path path;
+
+    /** The open file, null until the first batch */
+    private FileChannel channel;
+
+    @Override
+    public synchronized void publish(List<ChangeRecord> records) throws IOException {
+        if (Objects.isNull(channel)) {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        StringBuilder lines = new StringBuilder(records.size() * 256);
+        for (ChangeRecord record : records) {
+            lines.append(toLine(record)).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    @Override
+    public synchronized void destroy() throws IOException {
+        if (Objects.nonNull(channel)) {
+            channel.close();
+        }
+    }
+
+    private static String toLine(ChangeRecord record) throws IOException {
+        ObjectNode line = OBJECT_MAPPER.createObjectNode()
+                .put("id", record.id())
+                .put("aggregate", record.aggregate().name())
+                .put("operation", record.operation().name())
+                .put("warehouseId", Objects.toString(record.warehouseId(), null))
+                .put("productId", Objects.toString(record.productId(), null))
+                .put("createdAt", record.createdAt().toString());
+        line.set("payload", Objects.isNull(record.payload()) ? null : OBJECT_MAPPER.readTree(record.payload()));
+        return OBJECT_MAPPER.writeValueAsString(line);
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.outbox;
+
+import com.stockassistant.server.domain.model.ChangeRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sink publishing each change record as an application event to the in-process listeners.
+ * Listeners run on the relay thread, a throwing listener makes the whole batch be relayed again.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "stock.outbox.sink", havingValue = "listener", matchIfMissing = true)
+public class ListenerChangeSink implements ChangeSink {
+
+    /** The publisher of the application events */
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<ChangeRecord> records) {
+        records.forEach(eventPublisher::publishEvent);
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.projection;
+
+import com.stockassistant.server.persistence.entity.enums.ProductCategoryEnum;
+import com.stockassistant.server.persistence.entity.enums.UnitOfMeasureEnum;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of an inventory row joined with its product and warehouse.
+ * This interface is returned by native statements that produce the complete inventory item
+ * in a single round trip, such as the RETURNING clause of the quantity update.
+ */
+public interface InventoryItemRow {
+    /** @return The current quantity of the product in the warehouse */
+    Integer getQuantity();
+
+    /** @return The timestamp of the last stock update */
+    LocalDateTime getLastStockUpdate();
+
+    /** @return The version of the quantity */
+    Long getStockVersion();
+
+    /** @return The quantity change applied by the update */
+    Integer getDelta();
+
+    /** @return The id of the change record of the update */
+    Long getChangeId();
+
+    /** @return The universally unique identifier of the product */
+    UUID getProductUuid();
+
+    /** @return The stock keeping unit (SKU) of the product */
+    String getProductSku();
+
+    /** @return The name of the product */
+    String getProductName();
+
+    /** @return The description of the product */
+    String getProductDescription();
+
+    /** @return The category of the product */
+    ProductCategoryEnum getProductCategory();
+
+    /** @return The unit of measure for the product */
+    UnitOfMeasureEnum getProductUnitOfMeasure();
+
+    /** @return The price of the product */
+    Float getProductPrice();
+
+    /** @return The timestamp when the product was created */
+    LocalDateTime getProductCreatedAt();
+
+    /** @return The timestamp when the product was last updated */
+    LocalDateTime getProductUpdatedAt();
+
+    /** @return The universally unique identifier of the warehouse */
+    UUID getWarehouseUuid();
+
+    /** @return The name of the warehouse */
+    String getWarehouseName();
+
+    /** @return The physical location of the warehouse */
+    String getWarehouseLocation();
+
+    /** @return The maximum capacity of the warehouse */
+    Integer getWarehouseCapacity();
+
+    /** @return The timestamp when the warehouse was created */
+    LocalDateTime getWarehouseCreatedAt();
+
+    /** @return The timestamp when the warehouse was last updated */
+    LocalDateTime getWarehouseUpdatedAt();
+}
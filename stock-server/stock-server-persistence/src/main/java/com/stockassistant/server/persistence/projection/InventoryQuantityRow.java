@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.projection;
+
+import java.util.UUID;
+
+/**
+ * Projection of the identity and quantity of an inventory row.
+ * This interface is used by bulk updates to resolve the rows targeted by a chunk of changes
+ * and to read back their quantities once the chunk is applied.
+ */
+public interface InventoryQuantityRow {
+    /** @return The database identifier of the inventory item */
+    Long getId();
+
+    /** @return The universally unique identifier of the warehouse */
+    UUID getWarehouseUuid();
+
+    /** @return The universally unique identifier of the product */
+    UUID getProductUuid();
+
+    /** @return The current quantity of the product in the warehouse */
+    Integer getQuantity();
+
+    /** @return The version of the quantity */
+    Long getStockVersion();
+}
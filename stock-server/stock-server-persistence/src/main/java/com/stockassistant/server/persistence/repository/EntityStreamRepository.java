@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.SelectionQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Repository streaming entities through a server-side cursor.
+ * Each stream runs in its own stateless session and read transaction, so no persistence context
+ * grows with the result and the connection is held only until the stream is closed.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EntityStreamRepository {
+    /** The entity factory opening the stateless sessions */
+    private final EntityManagerFactory entityManagerFactory;
+
+    /** The number of rows fetched per round trip by the cursor */
+    @Value("${stock.export.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * Streams the entities matching the given specification, ordered by id.
+     *
+     * @param type The entity class
+     * @param specification The criteria for filtering the entities, may declare fetch joins
+     * @param <E> The entity type
+     * @return A stream of the matching entities, to be closed by the caller
+     */
+    public <E> Stream<E> stream(Class<E> type, Specification<E> specification) {
+        return stream(session -> {
+            CriteriaBuilder builder = session.getCriteriaBuilder();
+            CriteriaQuery<E> query = builder.createQuery(type);
+            Root<E> root = query.from(type);
+            Predicate predicate = specification.toPredicate(root, query, builder);
+            if (Objects.nonNull(predicate)) {
+                query.where(predicate);
+            }
+            query.select(root).orderBy(builder.asc(root.get("id")));
+            return session.createQuery(query);
+        });
+    }
+
+    /**
+     * Streams the rows of an HQL query, typically a projection selecting a few columns.
+     *
+     * @param query The HQL select query
+     * @param type The result type
+     * @param <R> The result type
+     * @return A stream of the query results, to be closed by the caller
+     */
+    public <R> Stream<R> stream(String query, Class<R> type) {
+        return stream(session -> session.createSelectionQuery(query, type));
+    }
+
+    private <R> Stream<R> stream(Function<StatelessSession, SelectionQuery<R>> queryFactory) {
+        StatelessSession session = entityManagerFactory.unwrap(SessionFactory.class).openStatelessSession();
+        try {
+            Transaction transaction = session.beginTransaction();
+            return queryFactory.apply(session)
+                    .setFetchSize(fetchSize)
+                    .getResultStream()
+                    .onClose(() -> {
+                        transaction.commit();
+                        session.close();
+                    });
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+}
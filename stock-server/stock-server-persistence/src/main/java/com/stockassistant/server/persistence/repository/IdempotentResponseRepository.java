@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.repository;
+
+import com.stockassistant.server.domain.model.IdempotentResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository of the responses of the requests executed under an idempotency key.
+ */
+@Repository
+@RequiredArgsConstructor
+public class IdempotentResponseRepository {
+    /** Selects the response of a key */
+    private static final String SELECT = """
+                SELECT idempotency_key, fingerprint, status, content_type, location, body, created_at
+                FROM idempotent_response
+                WHERE idempotency_key = ?
+            """;
+
+    /** Stores a response */
+    private static final String INSERT = """
+                INSERT INTO idempotent_response (idempotency_key, fingerprint, status, content_type, location, body, created_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    /** Deletes the responses past the retention period */
+    private static final String DELETE_CREATED_BEFORE = "DELETE FROM idempotent_response WHERE created_at < ?";
+
+    /** The JDBC template bound to the current transaction */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Finds the response of an idempotency key.
+     *
+     * @param key The idempotency key
+     * @return An Optional containing the response if stored, empty otherwise
+     */
+    public Optional<IdempotentResponse> find(String key) {
+        return jdbcTemplate.query(SELECT, IdempotentResponseRepository::toResponse, key).stream().findFirst();
+    }
+
+    /**
+     * Stores a response, unless a response is already stored under its key.
+     *
+     * @param response The response to store
+     * @return true if stored, false if the key was taken
+     */
+    public boolean insert(IdempotentResponse response) {
+        try {
+            jdbcTemplate.update(INSERT, response.key(), response.fingerprint(), response.status(), response.contentType(),
+                    response.location(), response.body(), Timestamp.valueOf(response.createdAt()));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Deletes the responses stored before the given time.
+     *
+     * @param createdBefore The exclusive creation time bound
+     * @return The number of deleted responses
+     */
+    public int deleteCreatedBefore(LocalDateTime createdBefore) {
+        return jdbcTemplate.update(DELETE_CREATED_BEFORE, Timestamp.valueOf(createdBefore));
+    }
+
+    private static IdempotentResponse toResponse(ResultSet resultSet, int rowNum) throws SQLException {
+        return IdempotentResponse.builder()
+                .key(resultSet.getString("idempotency_key"))
+                .fingerprint(resultSet.getString("fingerprint"))
+                .status(resultSet.getInt("status"))
+                .contentType(resultSet.getString("content_type"))
+                .location(resultSet.getString("location"))
+                .body(resultSet.getBytes("body"))
+                .createdAt(resultSet.getTimestamp("created_at").toLocalDateTime())
+                .build();
+    }
+}
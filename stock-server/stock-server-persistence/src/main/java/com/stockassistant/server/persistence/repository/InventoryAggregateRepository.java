@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.repository;
+
+import com.stockassistant.server.domain.model.CategoryValuation;
+import com.stockassistant.server.domain.model.ProductStockTotal;
+import com.stockassistant.server.domain.model.WarehouseUtilisation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Repository computing stock aggregates with GROUP BY queries, so only one row per group leaves the
+ * database. Filters are added to the statements only when given, and pages are read with LIMIT and
+ * OFFSET, the total being counted only when the page does not tell it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InventoryAggregateRepository {
+    /** Restricts the inventory items to a warehouse without joining the warehouses */
+    private static final String WAREHOUSE_CONDITION = "i.warehouse_id = (SELECT id FROM warehouses WHERE uuid = ?)";
+
+    /** The JDBC template running the aggregate queries */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Sums the quantities of each product across the warehouses, largest totals first.
+     *
+     * @param pageable The page to read, its sort is ignored
+     * @param warehouseUUID The UUID of the warehouse to restrict the sum to
+     * @param category The product category to filter by
+     * @return A page of the product totals, products without inventory items are left out
+     */
+    public Page<ProductStockTotal> sumByProduct(Pageable pageable, UUID warehouseUUID, String category) {
+        Conditions conditions = new Conditions()
+                .add(WAREHOUSE_CONDITION, warehouseUUID)
+                .add("p.category = ?", category);
+        String from = " FROM inventory i JOIN product p ON p.id = i.product_id" + conditions.where();
+        List<ProductStockTotal> totals = jdbcTemplate.query("""
+                        SELECT p.uuid, p.sku, p.name, SUM(i.quantity) AS total_quantity, COUNT(*) AS warehouses
+                        """ + from + """
+                         GROUP BY p.id, p.uuid, p.sku, p.name
+                        ORDER BY total_quantity DESC, p.id
+                        LIMIT ? OFFSET ?""",
+                (rs, rowNum) -> ProductStockTotal.builder()
+                        .productId(rs.getObject("uuid", UUID.class))
+                        .sku(rs.getString("sku"))
+                        .name(rs.getString("name"))
+                        .totalQuantity(rs.getLong("total_quantity"))
+                        .warehouses(rs.getLong("warehouses"))
+                        .build(),
+                conditions.withPage(pageable));
+        return PageableExecutionUtils.getPage(totals, pageable,
+                () -> count("SELECT COUNT(DISTINCT i.product_id)" + from, conditions));
+    }
+
+    /**
+     * Sums the quantities held by each warehouse against its capacity, most utilised first.
+     *
+     * @param pageable The page to read, its sort is ignored
+     * @param warehouseUUID The UUID of the warehouse to filter by
+     * @param location The case-insensitive partial location to filter by
+     * @return A page of the warehouse utilisations, warehouses without inventory items included
+     */
+    public Page<WarehouseUtilisation> sumByWarehouse(Pageable pageable, UUID warehouseUUID, String location) {
+        Conditions conditions = new Conditions()
+                .add("w.uuid = ?", warehouseUUID)
+                .add("LOWER(w.location) LIKE ?", Objects.isNull(location) ? null : "%" + location.toLowerCase(Locale.ROOT) + "%");
+        List<WarehouseUtilisation> utilisations = jdbcTemplate.query("""
+                        SELECT w.uuid, w.name, w.capacity, COALESCE(SUM(i.quantity), 0) AS total_quantity,
+                               CASE WHEN w.capacity > 0 THEN 100.0 * COALESCE(SUM(i.quantity), 0) / w.capacity END AS utilisation
+                        FROM warehouses w LEFT JOIN inventory i ON i.warehouse_id = w.id
+                        """ + conditions.where() + """
+                         GROUP BY w.id, w.uuid, w.name, w.capacity
+                        ORDER BY utilisation DESC NULLS LAST, w.id
+                        LIMIT ? OFFSET ?""",
+                (rs, rowNum) -> {
+                    double utilisation = rs.getDouble("utilisation");
+                    return WarehouseUtilisation.builder()
+                            .warehouseId(rs.getObject("uuid", UUID.class))
+                            .name(rs.getString("name"))
+                            .capacity(rs.getInt("capacity"))
+                            .totalQuantity(rs.getLong("total_quantity"))
+                            .utilisation(rs.wasNull() ? null : utilisation)
+                            .build();
+                },
+                conditions.withPage(pageable));
+        return PageableExecutionUtils.getPage(utilisations, pageable,
+                () -> count("SELECT COUNT(*) FROM warehouses w" + conditions.where(), conditions));
+    }
+
+    /**
+     * Sums the quantities and their value at the current product prices for each product category.
+     *
+     * @param warehouseUUID The UUID of the warehouse to restrict the sums to
+     * @param category The product category to filter by
+     * @return The valuation of each category holding inventory items, ordered by category
+     */
+    public List<CategoryValuation> sumValueByCategory(UUID warehouseUUID, String category) {
+        Conditions conditions = new Conditions()
+                .add(WAREHOUSE_CONDITION, warehouseUUID)
+                .add("p.category = ?", category);
+        return jdbcTemplate.query("""
+                        SELECT p.category, SUM(i.quantity) AS total_quantity, SUM(i.quantity * p.price) AS total_value
+                        FROM inventory i JOIN product p ON p.id = i.product_id
+                        """ + conditions.where() + """
+                         GROUP BY p.category
+                        ORDER BY p.category""",
+                (rs, rowNum) -> CategoryValuation.builder()
+                        .category(rs.getString("category"))
+                        .totalQuantity(rs.getLong("total_quantity"))
+                        .value(Objects.requireNonNullElse(rs.getBigDecimal("total_value"), BigDecimal.ZERO))
+                        .build(),
+                conditions.values().toArray());
+    }
+
+    private long count(String sql, Conditions conditions) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, conditions.values().toArray());
+        return Objects.requireNonNullElse(count, 0L);
+    }
+
+    /**
+     * The conditions of a WHERE clause and their parameter values, in order.
+     */
+    private static final class Conditions {
+        private final List<String> clauses = new ArrayList<>();
+        private final List<Object> values = new ArrayList<>();
+
+        /** Adds the condition only when its value is given */
+        private Conditions add(String clause, Object value) {
+            if (Objects.nonNull(value)) {
+                clauses.add(clause);
+                values.add(value);
+            }
+            return this;
+        }
+
+        private String where() {
+            return clauses.isEmpty() ? "" : " WHERE " + String.join(" AND ", clauses);
+        }
+
+        private List<Object> values() {
+            return values;
+        }
+
+        private Object[] withPage(Pageable pageable) {
+            List<Object> parameters = new ArrayList<>(values);
+            parameters.add(pageable.getPageSize());
+            parameters.add(pageable.getOffset());
+            return parameters.toArray();
+        }
+    }
+}
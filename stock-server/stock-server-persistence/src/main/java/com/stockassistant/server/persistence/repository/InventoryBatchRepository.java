@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.repository;
+
+import com.stockassistant.server.domain.model.InventoryChange;
+import com.stockassistant.server.persistence.entity.InventoryItemEntity;
+import com.stockassistant.server.persistence.projection.InventoryQuantityRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Repository resolving and applying the inventory rows of bulk quantity changes.
+ * Rows are matched on the exact warehouse and product pairs of the changes, so a chunk spanning several
+ * warehouses never reads nor locks the items of the other combinations. Absolute and delta changes share
+ * one statement so a whole chunk is sent as a single batch, the non-negative guard is part of the update
+ * predicate as for single adjustments.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InventoryBatchRepository {
+    /**
+     * Sets the absolute quantity when given, adds the delta otherwise, unless the result would be negative or leave
+     * the range of a quantity, the guard being computed in BIGINT so it cannot overflow itself
+     */
+    private static final String UPDATE_QUANTITY = """
+                UPDATE inventory
+                SET quantity = COALESCE(?, quantity + ?), last_stock_update = LOCALTIMESTAMP, stock_version = stock_version + 1
+                WHERE id = ? AND COALESCE(?, CAST(quantity AS BIGINT) + ?) BETWEEN 0 AND 2147483647
+            """;
+
+    /** Selects the identity and quantity of inventory rows, completed with the pair condition */
+    private static final String SELECT_QUANTITIES = """
+                SELECT inventoryItemEntity.id AS id, warehouse.uuid AS warehouseUuid,
+                       product.uuid AS productUuid, inventoryItemEntity.quantity AS quantity,
+                       inventoryItemEntity.stockVersion AS stockVersion
+                FROM InventoryItemEntity inventoryItemEntity
+                JOIN inventoryItemEntity.product product
+                JOIN inventoryItemEntity.warehouse warehouse
+            """;
+
+    /** Selects inventory items with their product and warehouse, completed with the pair condition */
+    private static final String SELECT_ITEMS = """
+                SELECT inventoryItemEntity
+                FROM InventoryItemEntity inventoryItemEntity
+                JOIN FETCH inventoryItemEntity.product product
+                JOIN FETCH inventoryItemEntity.warehouse warehouse
+            """;
+
+    /** The entity manager bound to the current transaction */
+    private final EntityManager entityManager;
+
+    /** The JDBC template bound to the current transaction */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Finds the inventory items targeted by the given changes.
+     * The products and warehouses are fetched in the same query.
+     *
+     * @param changes The changes, each naming a warehouse and a product
+     * @return The inventory items of the targeted pairs
+     */
+    public List<InventoryItemEntity> findItems(Collection<InventoryChange> changes) {
+        return withPairs(entityManager.createQuery(SELECT_ITEMS + pairCondition(changes), InventoryItemEntity.class), changes)
+                .getResultList();
+    }
+
+    /**
+     * Finds the identity and quantity of the inventory items targeted by the given changes.
+     *
+     * @param changes The changes, each naming a warehouse and a product
+     * @return The rows of the targeted pairs
+     */
+    public List<InventoryQuantityRow> findQuantities(Collection<InventoryChange> changes) {
+        return withPairs(entityManager.createQuery(SELECT_QUANTITIES + pairCondition(changes), Tuple.class), changes)
+                .getResultList().stream()
+                .<InventoryQuantityRow>map(QuantityRow::of)
+                .toList();
+    }
+
+    /**
+     * Finds and locks the inventory items targeted by the given changes until the end of the transaction.
+     * Rows are locked in id order, so concurrent writers of overlapping items wait instead of deadlocking,
+     * and the returned quantities stay the current ones while the transaction changes them.
+     *
+     * @param changes The changes, each naming a warehouse and a product
+     * @return The rows of the targeted pairs, ordered by id
+     */
+    public List<InventoryQuantityRow> lockQuantities(Collection<InventoryChange> changes) {
+        return withPairs(entityManager.createQuery(SELECT_QUANTITIES + pairCondition(changes)
+                        + " ORDER BY inventoryItemEntity.id", Tuple.class), changes)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList().stream()
+                .<InventoryQuantityRow>map(QuantityRow::of)
+                .toList();
+    }
+
+    /**
+     * Applies the given changes in one JDBC batch.
+     *
+     * @param ids The database identifiers of the targeted inventory items, in the order of the changes
+     * @param changes The valid absolute or delta changes to apply
+     * @return The number of updated rows of each change, 0 when the guard rejected it
+     */
+    public int[] updateQuantities(List<Long> ids, List<InventoryChange> changes) {
+        return jdbcTemplate.batchUpdate(UPDATE_QUANTITY, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int index) throws SQLException {
+                InventoryChange change = changes.get(index);
+                statement.setObject(1, change.quantity(), Types.INTEGER);
+                statement.setObject(2, change.delta(), Types.INTEGER);
+                statement.setLong(3, ids.get(index));
+                statement.setObject(4, change.quantity(), Types.INTEGER);
+                statement.setObject(5, change.delta(), Types.INTEGER);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return changes.size();
+            }
+        });
+    }
+
+    /**
+     * Builds the condition matching the exact pairs of the changes as one row value list,
+     * which the database resolves through the unique warehouse and product index.
+     */
+    private static String pairCondition(Collection<InventoryChange> changes) {
+        return IntStream.range(0, pairs(changes).size())
+                .mapToObj(index -> "(:warehouseId" + index + ", :productId" + index + ")")
+                .collect(Collectors.joining(", ", " WHERE (warehouse.uuid, product.uuid) IN (", ")"));
+    }
+
+    private static <T> TypedQuery<T> withPairs(TypedQuery<T> query, Collection<InventoryChange> changes) {
+        List<Pair> pairs = pairs(changes);
+        for (int index = 0; index < pairs.size(); index++) {
+            query.setParameter("warehouseId" + index, pairs.get(index).warehouseId());
+            query.setParameter("productId" + index, pairs.get(index).productId());
+        }
+        return query;
+    }
+
+    private static List<Pair> pairs(Collection<InventoryChange> changes) {
+        return changes.stream()
+                .map(change -> new Pair(change.warehouseId(), change.productId()))
+                .distinct()
+                .toList();
+    }
+
+    private record Pair(UUID warehouseId, UUID productId) {
+    }
+
+    private record QuantityRow(Long id, UUID warehouseUuid, UUID productUuid, Integer quantity, Long stockVersion)
+            implements InventoryQuantityRow {
+        private static QuantityRow of(Tuple tuple) {
+            return new QuantityRow(tuple.get("id", Long.class), tuple.get("warehouseUuid", UUID.class),
+                    tuple.get("productUuid", UUID.class), tuple.get("quantity", Integer.class),
+                    tuple.get("stockVersion", Long.class));
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public UUID getWarehouseUuid() {
+            return warehouseUuid;
+        }
+
+        @Override
+        public UUID getProductUuid() {
+            return productUuid;
+        }
+
+        @Override
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        @Override
+        public Long getStockVersion() {
+            return stockVersion;
+        }
+    }
+}
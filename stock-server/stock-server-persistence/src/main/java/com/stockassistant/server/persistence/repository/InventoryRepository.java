@@ -13,12 +13,13 @@
 package com.stockassistant.server.persistence.repository;
 
 import com.stockassistant.server.persistence.entity.InventoryItemEntity;
+import com.stockassistant.server.persistence.projection.InventoryItemRow;
 import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -31,7 +32,44 @@ import java.util.UUID;
  * for inventory item entities.
  */
 @Repository
-public interface InventoryRepository extends JpaRepository<InventoryItemEntity, Long> {
+public interface InventoryRepository extends JpaRepository<InventoryItemEntity, Long>, JpaSpecificationExecutor<InventoryItemEntity> {
+    /**
+     * Writes the effects of the item updated by the preceding CTE in the same statement: the stock of its
+     * warehouse, a stock movement and an outbox record whose payload matches the JSON of the batch updates,
+     * then returns the joined item, aliased to the {@link InventoryItemRow} properties.
+     */
+    String APPLY_CHANGE = """
+                , stock AS (
+                    UPDATE warehouses warehouse
+                    SET stock_quantity = warehouse.stock_quantity + updated.delta
+                    FROM updated
+                    WHERE warehouse.id = updated.warehouse_id AND updated.delta <> 0
+                ), movement AS (
+                    INSERT INTO stock_movement (warehouse_id, product_id, delta, reason, created_at)
+                    SELECT :warehouseId, :productId, updated.delta, updated.reason, LOCALTIMESTAMP
+                    FROM updated
+                ), change AS (
+                    INSERT INTO outbox (aggregate, operation, warehouse_id, product_id, payload, created_at)
+                    SELECT 'INVENTORY', 'UPDATED', :warehouseId, :productId,
+                           json_build_object('quantity', updated.quantity, 'delta', updated.delta)::text, LOCALTIMESTAMP
+                    FROM updated
+                    RETURNING outbox.id
+                )
+                SELECT inventory.quantity AS "quantity", inventory.last_stock_update AS "lastStockUpdate",
+                       inventory.stock_version AS "stockVersion", inventory.delta AS "delta", change.id AS "changeId",
+                       product.uuid AS "productUuid", product.sku AS "productSku", product.name AS "productName",
+                       product.description AS "productDescription", product.category AS "productCategory",
+                       product.unit_of_measure AS "productUnitOfMeasure", product.price AS "productPrice",
+                       product.created_at AS "productCreatedAt", product.updated_at AS "productUpdatedAt",
+                       warehouse.uuid AS "warehouseUuid", warehouse.name AS "warehouseName",
+                       warehouse.location AS "warehouseLocation", warehouse.capacity AS "warehouseCapacity",
+                       warehouse.created_at AS "warehouseCreatedAt", warehouse.updated_at AS "warehouseUpdatedAt"
+                FROM updated inventory
+                JOIN product product ON product.id = inventory.product_id
+                JOIN warehouses warehouse ON warehouse.id = inventory.warehouse_id
+                CROSS JOIN change
+            """;
+
     /**
      * Retrieves all inventory items matching the given specification with pagination.
      *
@@ -43,6 +81,7 @@ public interface InventoryRepository extends JpaRepository<InventoryItemEntity,
 
     /**
      * Finds an inventory item by its associated warehouse and product UUIDs.
+     * The product and warehouse are fetched in the same query.
      *
      * @param warehouseId The UUID of the warehouse
      * @param productId The UUID of the product
@@ -51,24 +90,80 @@ public interface InventoryRepository extends JpaRepository<InventoryItemEntity,
     @Query("""
                 SELECT inventoryItemEntity
                 FROM InventoryItemEntity inventoryItemEntity
-                WHERE inventoryItemEntity.product.uuid = :productId AND inventoryItemEntity.warehouse.uuid = :warehouseId
+                JOIN FETCH inventoryItemEntity.product product
+                JOIN FETCH inventoryItemEntity.warehouse warehouse
+                WHERE product.uuid = :productId AND warehouse.uuid = :warehouseId
             """)
     Optional<InventoryItemEntity> findByWarehouseAndProduct(UUID warehouseId, UUID productId);
 
     /**
-     * Updates the quantity of a specific product in a warehouse.
+     * Updates the quantity of a specific product in a warehouse, stamps the stock update time and records
+     * the change. The row is locked first so the delta is computed against the committed quantity, and the
+     * warehouse stock, the stock movement and the outbox record are written in the same statement.
      *
      * @param warehouseId The UUID of the warehouse
      * @param productId The UUID of the product
      * @param quantity The new quantity of the product
-     * @return The number of affected rows
+     * @return An Optional containing the updated inventory item if found, empty otherwise
+     */
+    @Transactional
+    @Query(value = """
+                WITH locked AS (
+                    SELECT inventory.id, inventory.quantity
+                    FROM inventory inventory
+                    JOIN product product ON product.id = inventory.product_id
+                    JOIN warehouses warehouse ON warehouse.id = inventory.warehouse_id
+                    WHERE warehouse.uuid = :warehouseId AND product.uuid = :productId
+                    FOR UPDATE OF inventory
+                ), updated AS (
+                    UPDATE inventory inventory
+                    SET quantity = :quantity, last_stock_update = LOCALTIMESTAMP, stock_version = inventory.stock_version + 1
+                    FROM locked
+                    WHERE inventory.id = locked.id
+                    RETURNING inventory.product_id, inventory.warehouse_id, inventory.quantity, inventory.last_stock_update,
+                              inventory.stock_version, inventory.quantity - locked.quantity AS delta, 'SET' AS reason
+                )
+            """ + APPLY_CHANGE, nativeQuery = true)
+    Optional<InventoryItemRow> updateQuantity(UUID warehouseId, UUID productId, Integer quantity);
+
+    /**
+     * Adds a signed delta to the quantity of a specific product in a warehouse, unless it would become negative,
+     * and records the change in the same statement.
+     * The guard is part of the update predicate, so concurrent adjustments serialize on the row lock
+     * and each one is checked against the committed quantity of the previous one.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @param delta The quantity to add, negative to remove stock
+     * @return An Optional containing the adjusted inventory item, empty if not found or the guard rejected the change
      */
-    @Modifying
     @Transactional
+    @Query(value = """
+                WITH updated AS (
+                    UPDATE inventory inventory
+                    SET quantity = inventory.quantity + :delta, last_stock_update = LOCALTIMESTAMP,
+                        stock_version = inventory.stock_version + 1
+                    FROM product product, warehouses warehouse
+                    WHERE inventory.product_id = product.id AND inventory.warehouse_id = warehouse.id
+                      AND warehouse.uuid = :warehouseId AND product.uuid = :productId
+                      AND CAST(inventory.quantity AS BIGINT) + :delta BETWEEN 0 AND 2147483647
+                    RETURNING inventory.product_id, inventory.warehouse_id, inventory.quantity, inventory.last_stock_update,
+                              inventory.stock_version, CAST(:delta AS INTEGER) AS delta, 'ADJUSTMENT' AS reason
+                )
+            """ + APPLY_CHANGE, nativeQuery = true)
+    Optional<InventoryItemRow> adjustQuantity(UUID warehouseId, UUID productId, Integer delta);
+
+    /**
+     * Checks whether an inventory item exists for the given warehouse and product UUIDs.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     * @return true if the item exists, false otherwise
+     */
     @Query("""
-                UPDATE InventoryItemEntity inventoryItemEntity
-                SET inventoryItemEntity.quantity = :quantity
+                SELECT COUNT(inventoryItemEntity) > 0
+                FROM InventoryItemEntity inventoryItemEntity
                 WHERE inventoryItemEntity.product.uuid = :productId AND inventoryItemEntity.warehouse.uuid = :warehouseId
             """)
-    int updateQuantity(UUID warehouseId, UUID productId, Integer quantity);
+    boolean existsByWarehouseAndProduct(UUID warehouseId, UUID productId);
 }
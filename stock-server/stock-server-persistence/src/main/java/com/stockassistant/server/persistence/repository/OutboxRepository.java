@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockassistant.server.domain.model.ChangeRecord;
+import com.stockassistant.server.domain.model.enums.ChangeAggregateEnum;
+import com.stockassistant.server.domain.model.enums.ChangeOperationEnum;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Repository of the outbox, the change records of the catalogue and stock writes.
+ * Records are appended as JDBC batches in the transaction of the write they describe, so a rolled
+ * back write leaves no record. The relay claims pending records with FOR UPDATE SKIP LOCKED, so
+ * concurrent relays never claim the same records and never wait for each other.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+    /** Appends a change record, stamped with the time of the transaction */
+    private static final String INSERT = """
+                INSERT INTO outbox (aggregate, operation, warehouse_id, product_id, payload, created_at)
+                VALUES (?, ?, ?, ?, ?, LOCALTIMESTAMP)
+            """;
+
+    /** Locks the oldest pending records not already claimed by another relay */
+    private static final String CLAIM = """
+                SELECT id, aggregate, operation, warehouse_id, product_id, payload, created_at
+                FROM outbox
+                WHERE published_at IS NULL
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            """;
+
+    /** Stamps the claimed records as published */
+    private static final String MARK_PUBLISHED = "UPDATE outbox SET published_at = LOCALTIMESTAMP WHERE id = ANY (?)";
+
+    /** Deletes a chunk of the records published before the given time */
+    private static final String PURGE = """
+                DELETE FROM outbox
+                WHERE id IN (SELECT id FROM outbox WHERE published_at < ? LIMIT ?)
+            """;
+
+    /** The serializer of the payloads, which only hold plain values */
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /** The JDBC template bound to the current transaction */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Builds a change record to append.
+     *
+     * @param aggregate The kind of object written
+     * @param operation Whether the object was created, updated or deleted
+     * @param warehouseId The UUID of the warehouse, null for product records
+     * @param productId The UUID of the product, null for warehouse records
+     * @param payload The written values, as alternating property names and values
+     * @return The change record, without id nor creation time
+     */
+    public static ChangeRecord record(ChangeAggregateEnum aggregate, ChangeOperationEnum operation,
+                                      UUID warehouseId, UUID productId, Object... payload) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < payload.length; i += 2) {
+            values.put((String) payload[i], payload[i + 1]);
+        }
+        try {
+            return ChangeRecord.builder()
+                    .aggregate(aggregate)
+                    .operation(operation)
+                    .warehouseId(warehouseId)
+                    .productId(productId)
+                    .payload(OBJECT_MAPPER.writeValueAsString(values))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Appends change records in one JDBC batch. Must be called within the transaction of the writes.
+     *
+     * @param records The change records, in the order of the writes
+     * @return The ids of the appended records, in the order of the records
+     */
+    public List<Long> append(List<ChangeRecord> records) {
+        if (records.isEmpty()) {
+            return List.of();
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT, new String[]{"id"}), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int index) throws SQLException {
+                ChangeRecord record = records.get(index);
+                statement.setString(1, record.aggregate().name());
+                statement.setString(2, record.operation().name());
+                statement.setObject(3, record.warehouseId());
+                statement.setObject(4, record.productId());
+                statement.setString(5, record.payload());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return records.size();
+            }
+        }, keyHolder);
+        return keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.get("id")).longValue())
+                .toList();
+    }
+
+    /**
+     * Claims the oldest pending records until the end of the transaction.
+     *
+     * @param limit The maximum number of records to claim
+     * @return The claimed records, in id order
+     */
+    public List<ChangeRecord> claim(int limit) {
+        return jdbcTemplate.query(CLAIM, OutboxRepository::toRecord, limit);
+    }
+
+    /**
+     * Stamps claimed records as published.
+     *
+     * @param ids The ids of the records
+     */
+    public void markPublished(List<Long> ids) {
+        jdbcTemplate.update(MARK_PUBLISHED, statement ->
+                statement.setArray(1, statement.getConnection().createArrayOf("bigint", ids.toArray())));
+    }
+
+    /**
+     * Deletes a chunk of the records published before the given time.
+     *
+     * @param before The exclusive publication time limit
+     * @param limit The maximum number of records to delete
+     * @return The number of deleted records
+     */
+    public int purge(LocalDateTime before, int limit) {
+        return jdbcTemplate.update(PURGE, Timestamp.valueOf(before), limit);
+    }
+
+    private static ChangeRecord toRecord(ResultSet resultSet, int rowNum) throws SQLException {
+        return ChangeRecord.builder()
+                .id(resultSet.getLong("id"))
+                .aggregate(ChangeAggregateEnum.valueOf(resultSet.getString("aggregate")))
+                .operation(ChangeOperationEnum.valueOf(resultSet.getString("operation")))
+                .warehouseId(resultSet.getObject("warehouse_id", UUID.class))
+                .productId(resultSet.getObject("product_id", UUID.class))
+                .payload(resultSet.getString("payload"))
+                .createdAt(resultSet.getTimestamp("created_at").toLocalDateTime())
+                .build();
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.repository;
+
+import com.stockassistant.server.domain.model.Product;
+import com.stockassistant.server.domain.model.ProductImportReport;
+import com.stockassistant.server.domain.model.ProductRequest;
+import com.stockassistant.server.domain.model.enums.ProductCategoryEnum;
+import com.stockassistant.server.domain.model.enums.UnitOfMeasureEnum;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Repository loading product catalogues through the PostgreSQL COPY protocol.
+ * Products are streamed into a transaction-scoped staging table, then merged into the product table
+ * with a single set-based upsert on the SKU, which also appends the change records of the written
+ * products to the outbox. Must be called within a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductImportRepository {
+    /** The number of buffered CSV bytes sent to the server per COPY message */
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    /** The staging table, dropped when the import transaction ends */
+    private static final String CREATE_STAGING = """
+                CREATE TEMPORARY TABLE product_import (
+                    line BIGINT, sku TEXT, name TEXT, description TEXT, price REAL, category TEXT, unit_of_measure TEXT
+                ) ON COMMIT DROP
+            """;
+
+    /** Streams CSV rows into the staging table, empty unquoted fields being NULL */
+    private static final String COPY_STAGING = "COPY product_import FROM STDIN WITH (FORMAT csv)";
+
+    /** Upserts the last staged occurrence of every SKU, records each written product in the outbox and returns the written products */
+    private static final String UPSERT = """
+                WITH upserted AS (
+                    INSERT INTO product (uuid, sku, name, description, price, category, unit_of_measure, created_at, updated_at)
+                    SELECT DISTINCT ON (sku) gen_random_uuid(), sku, name, description, price, category, unit_of_measure,
+                           LOCALTIMESTAMP, LOCALTIMESTAMP
+                    FROM product_import
+                    ORDER BY sku, line DESC
+                    ON CONFLICT (sku) DO UPDATE
+                    SET name = EXCLUDED.name, description = EXCLUDED.description, price = EXCLUDED.price,
+                        category = EXCLUDED.category, unit_of_measure = EXCLUDED.unit_of_measure,
+                        updated_at = EXCLUDED.updated_at
+                    RETURNING uuid, sku, name, description, price, category, unit_of_measure, xmax = 0 AS created
+                ), outboxed AS (
+                    INSERT INTO outbox (aggregate, operation, product_id, payload, created_at)
+                    SELECT 'PRODUCT', CASE WHEN created THEN 'CREATED' ELSE 'UPDATED' END, uuid,
+                           json_build_object('sku', sku, 'name', name, 'price', price, 'category', category,
+                                             'unitOfMeasure', unit_of_measure)::text,
+                           LOCALTIMESTAMP
+                    FROM upserted
+                )
+                SELECT uuid, sku, name, description, price, category, unit_of_measure, created
+                FROM upserted
+            """;
+
+    /** The JDBC template bound to the current transaction */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stages the given products with COPY and upserts them on their SKU.
+     *
+     * @param products The valid products to import, consumed once
+     * @param upserted Receives every created or updated product as the upsert result is read
+     * @return A report holding the created and updated counts
+     */
+    public ProductImportReport importAll(Stream<ProductRequest> products, Consumer<Product> upserted) {
+        jdbcTemplate.execute(CREATE_STAGING);
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> copy(connection.unwrap(PGConnection.class), products));
+        AtomicLong created = new AtomicLong();
+        AtomicLong updated = new AtomicLong();
+        jdbcTemplate.query(UPSERT, (RowCallbackHandler) resultSet -> {
+            (resultSet.getBoolean("created") ? created : updated).incrementAndGet();
+            upserted.accept(toProduct(resultSet));
+        });
+        return ProductImportReport.builder()
+                .created(created.get())
+                .updated(updated.get())
+                .build();
+    }
+
+    private static Product toProduct(ResultSet resultSet) throws SQLException {
+        String unitOfMeasure = resultSet.getString("unit_of_measure");
+        return Product.builder()
+                .uuid(resultSet.getObject("uuid", UUID.class))
+                .sku(resultSet.getString("sku"))
+                .name(resultSet.getString("name"))
+                .description(resultSet.getString("description"))
+                .price(resultSet.getFloat("price"))
+                .category(ProductCategoryEnum.valueOf(resultSet.getString("category")))
+                .unitOfMeasure(Objects.isNull(unitOfMeasure) ? null : UnitOfMeasureEnum.valueOf(unitOfMeasure))
+                .build();
+    }
+
+    private long copy(PGConnection connection, Stream<ProductRequest> products) throws SQLException {
+        CopyIn copyIn = connection.getCopyAPI().copyIn(COPY_STAGING);
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(COPY_BUFFER_SIZE * 2);
+            long line = 0;
+            Iterator<ProductRequest> iterator = products.iterator();
+            while (iterator.hasNext()) {
+                buffer.writeBytes(toCsv(++line, iterator.next()).getBytes(StandardCharsets.UTF_8));
+                if (buffer.size() >= COPY_BUFFER_SIZE) {
+                    copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+                    buffer.reset();
+                }
+            }
+            copyIn.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static String toCsv(long line, ProductRequest product) {
+        return String.join(",",
+                Long.toString(line),
+                quote(product.sku()),
+                quote(product.name()),
+                quote(product.description()),
+                product.price().toString(),
+                Objects.isNull(product.category()) ? "" : product.category().name(),
+                Objects.isNull(product.unitOfMeasure()) ? "" : product.unitOfMeasure().name()) + "\n";
+    }
+
+    /** Quotes a text value so that an empty string is not read back as NULL */
+    private static String quote(String value) {
+        return Objects.isNull(value) ? "" : "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -17,10 +17,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -30,7 +33,7 @@ import java.util.UUID;
  * for product entities.
  */
 @Repository
-public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
+public interface ProductRepository extends JpaRepository<ProductEntity, Long>, JpaSpecificationExecutor<ProductEntity> {
 
     /**
      * Retrieves all products matching the given specification with pagination.
@@ -50,10 +53,26 @@ public interface ProductRepository extends JpaRepository<ProductEntity, Long> {
      */
     Optional<ProductEntity> findByUuid(UUID uuid);
 
+    /**
+     * Finds a product by its SKU.
+     *
+     * @param sku The SKU of the product to find
+     * @return An Optional containing the product if found, empty otherwise
+     */
+    Optional<ProductEntity> findBySku(String sku);
+
     /**
      * Deletes a product by its UUID.
      *
      * @param uuid The UUID of the product to delete
      */
     void deleteByUuid(UUID uuid);
+
+    /**
+     * Finds the products with the given UUIDs.
+     *
+     * @param uuids The UUIDs of the products
+     * @return The products found
+     */
+    List<ProductEntity> findAllByUuidIn(Collection<UUID> uuids);
 }
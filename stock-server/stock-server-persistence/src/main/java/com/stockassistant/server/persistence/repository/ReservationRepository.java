@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.repository;
+
+import com.stockassistant.server.domain.model.Reservation;
+import com.stockassistant.server.domain.model.enums.ReservationStatusEnum;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Repository of the outstanding stock reservations.
+ * Reservations are inserted and deleted as JDBC batches, so a write-behind flush costs one round trip
+ * per statement whatever the number of reservations it holds.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReservationRepository {
+    /** Stores a new reservation */
+    private static final String INSERT = """
+                INSERT INTO reservation (uuid, warehouse_id, product_id, quantity, reference, created_at, expires_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    /** Deletes an ended reservation */
+    private static final String DELETE = "DELETE FROM reservation WHERE uuid = ?";
+
+    /** Selects every stored reservation */
+    private static final String SELECT_ALL = """
+                SELECT uuid, warehouse_id, product_id, quantity, reference, created_at, expires_at
+                FROM reservation
+            """;
+
+    /** The number of rows fetched per round trip when streaming */
+    private static final int FETCH_SIZE = 10_000;
+
+    /** The JDBC template bound to the current transaction */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts reservations in one JDBC batch.
+     *
+     * @param reservations The reservations to store
+     */
+    public void insertAll(List<Reservation> reservations) {
+        if (reservations.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int index) throws SQLException {
+                Reservation reservation = reservations.get(index);
+                statement.setObject(1, reservation.uuid());
+                statement.setObject(2, reservation.warehouseId());
+                statement.setObject(3, reservation.productId());
+                statement.setInt(4, reservation.quantity());
+                statement.setString(5, reservation.reference());
+                statement.setTimestamp(6, Timestamp.valueOf(reservation.createdAt()));
+                statement.setTimestamp(7, Timestamp.valueOf(reservation.expiresAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return reservations.size();
+            }
+        });
+    }
+
+    /**
+     * Deletes reservations in one JDBC batch.
+     *
+     * @param uuids The UUIDs of the reservations
+     */
+    public void deleteAll(List<UUID> uuids) {
+        if (uuids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int index) throws SQLException {
+                statement.setObject(1, uuids.get(index));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return uuids.size();
+            }
+        });
+    }
+
+    /**
+     * Streams every stored reservation. The stream holds its connection until it is closed.
+     *
+     * @return A stream of the reservations
+     */
+    public Stream<Reservation> streamAll() {
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_ALL);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, ReservationRepository::toReservation);
+    }
+
+    private static Reservation toReservation(ResultSet resultSet, int rowNum) throws SQLException {
+        return Reservation.builder()
+                .uuid(resultSet.getObject("uuid", UUID.class))
+                .warehouseId(resultSet.getObject("warehouse_id", UUID.class))
+                .productId(resultSet.getObject("product_id", UUID.class))
+                .quantity(resultSet.getInt("quantity"))
+                .status(ReservationStatusEnum.ACTIVE)
+                .reference(resultSet.getString("reference"))
+                .createdAt(resultSet.getTimestamp("created_at").toLocalDateTime())
+                .expiresAt(resultSet.getTimestamp("expires_at").toLocalDateTime())
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Repository estimating row counts from the PostgreSQL planner statistics instead of counting them.
+ * An unfiltered table is estimated from pg_class.reltuples, a filtered one from the row estimate
+ * of the top node of its EXPLAIN plan. Both are refreshed by autovacuum and may be off by a few percent,
+ * more for filters the statistics do not describe well. Other databases get no estimate.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RowEstimateRepository {
+    /** The row estimate of the top plan node */
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    /** The JDBC template running the statistics queries */
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Whether the database is PostgreSQL, resolved on first use */
+    private volatile Boolean postgres;
+
+    /**
+     * Estimates the number of rows of a table matching the given conditions.
+     *
+     * @param table The table name
+     * @param conditions The SQL conditions, each with one parameter, and their values
+     * @return The estimated number of rows, or empty if the database provides no estimate
+     */
+    public OptionalLong estimate(String table, Map<String, Object> conditions) {
+        if (!isPostgres()) {
+            return OptionalLong.empty();
+        }
+        if (conditions.isEmpty()) {
+            Long reltuples = jdbcTemplate.queryForObject(
+                    "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)", Long.class, table);
+            // reltuples is -1 until the table is first vacuumed or analyzed
+            if (Objects.nonNull(reltuples) && reltuples >= 0) {
+                return OptionalLong.of(reltuples);
+            }
+        }
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions.keySet());
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN SELECT 1 FROM " + table + where, String.class,
+                conditions.values().toArray());
+        Matcher rows = PLAN_ROWS.matcher(plan.isEmpty() ? "" : plan.getFirst());
+        return rows.find() ? OptionalLong.of(Long.parseLong(rows.group(1))) : OptionalLong.empty();
+    }
+
+    private boolean isPostgres() {
+        if (Objects.isNull(postgres)) {
+            DataSource dataSource = Objects.requireNonNull(jdbcTemplate.getDataSource());
+            try {
+                postgres = "PostgreSQL".equals(JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+            } catch (MetaDataAccessException e) {
+                postgres = false;
+            }
+        }
+        return postgres;
+    }
+}
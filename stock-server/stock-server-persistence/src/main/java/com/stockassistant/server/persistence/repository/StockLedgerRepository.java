@@ -0,0 +1,277 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+package com.stockassistant.server.persistence.repository;
+
+import com.stockassistant.server.domain.model.StockMovement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Repository of the stock ledger, the append-only movements of the inventory quantities and their snapshots.
+ * Movements are appended as JDBC batches in the transaction of the change they record. The quantity of an
+ * item at a point in time is its latest snapshot taken by then plus the movements that follow it, each part
+ * read through an index seek, so point in time queries never replay the whole history of an item.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StockLedgerRepository {
+    /** The lower time bound of the items without snapshot, before any recorded movement */
+    public static final LocalDateTime LEDGER_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /** The maximum number of items sought per statement */
+    private static final int SEEK_CHUNK_SIZE = 100;
+
+    /** Appends a movement, stamped with the time of the transaction */
+    private static final String INSERT_MOVEMENT = """
+                INSERT INTO stock_movement (warehouse_id, product_id, delta, reason, created_at)
+                VALUES (?, ?, ?, ?, LOCALTIMESTAMP)
+            """;
+
+    /** Seeks the latest snapshot of an item taken at or before the given time */
+    private static final String LATEST_SNAPSHOT = """
+                (SELECT warehouse_id, product_id, quantity, last_movement_at, taken_at
+                 FROM stock_snapshot
+                 WHERE warehouse_id = ? AND product_id = ? AND taken_at <= ?
+                 ORDER BY taken_at DESC
+                 LIMIT 1)
+            """;
+
+    /** Sums the movements of the items within their time ranges */
+    private static final String TAIL = """
+                SELECT warehouse_id, product_id, SUM(delta) AS delta, COUNT(*) AS movements, MAX(created_at) AS last_movement_at
+                FROM stock_movement
+                WHERE %s
+                GROUP BY warehouse_id, product_id
+            """;
+
+    /** The time range of the movements of one item */
+    private static final String TAIL_RANGE = "(warehouse_id = ? AND product_id = ? AND created_at > ? AND created_at <= ?)";
+
+    /** Lists the items moved within a time range */
+    private static final String MOVED_ITEMS = """
+                SELECT DISTINCT warehouse_id, product_id
+                FROM stock_movement
+                WHERE created_at > ? AND created_at <= ?
+            """;
+
+    /** Stores the quantity of an item at a point in time */
+    private static final String INSERT_SNAPSHOT = """
+                INSERT INTO stock_snapshot (warehouse_id, product_id, quantity, last_movement_at, taken_at)
+                VALUES (?, ?, ?, ?, ?)
+            """;
+
+    /** The JDBC template bound to the current transaction */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Appends movements in one JDBC batch. Must be called within the transaction of the changes.
+     *
+     * @param movements The movements, in the order of the changes
+     */
+    public void append(List<StockMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_MOVEMENT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int index) throws SQLException {
+                StockMovement movement = movements.get(index);
+                statement.setObject(1, movement.warehouseId());
+                statement.setObject(2, movement.productId());
+                statement.setInt(3, movement.delta());
+                statement.setString(4, movement.reason().name());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return movements.size();
+            }
+        });
+    }
+
+    /**
+     * Computes the quantities of items at a point in time from their latest snapshot and the movements following it.
+     *
+     * @param items The items to compute
+     * @param asOf The point in time, inclusive
+     * @return The ledger level of each item having a snapshot or a movement by then
+     */
+    public Map<ItemKey, LedgerLevel> findLevels(Collection<ItemKey> items, LocalDateTime asOf) {
+        List<ItemKey> keys = List.copyOf(items);
+        Map<ItemKey, LedgerLevel> levels = new HashMap<>();
+        for (int from = 0; from < keys.size(); from += SEEK_CHUNK_SIZE) {
+            List<ItemKey> chunk = keys.subList(from, Math.min(from + SEEK_CHUNK_SIZE, keys.size()));
+            Map<ItemKey, Snapshot> snapshots = findSnapshots(chunk, asOf);
+            Map<ItemKey, LedgerLevel> tails = findTails(chunk, snapshots, asOf);
+            for (ItemKey key : chunk) {
+                Snapshot snapshot = snapshots.get(key);
+                LedgerLevel tail = tails.get(key);
+                if (Objects.isNull(tail)) {
+                    if (Objects.nonNull(snapshot)) {
+                        levels.put(key, new LedgerLevel(snapshot.quantity(), snapshot.lastMovementAt(), 0));
+                    }
+                } else {
+                    int base = Objects.isNull(snapshot) ? 0 : snapshot.quantity();
+                    levels.put(key, new LedgerLevel(base + tail.quantity(), tail.lastMovementAt(), tail.movements()));
+                }
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Lists the items having movements recorded within a time range.
+     *
+     * @param after The exclusive start of the range
+     * @param until The inclusive end of the range
+     * @return The moved items
+     */
+    public List<ItemKey> findMovedItems(LocalDateTime after, LocalDateTime until) {
+        return jdbcTemplate.query(MOVED_ITEMS, StockLedgerRepository::toItemKey,
+                Timestamp.valueOf(after), Timestamp.valueOf(until));
+    }
+
+    /**
+     * Stores snapshots of item quantities in one JDBC batch.
+     *
+     * @param levels The ledger level of each item
+     * @param takenAt The point in time the levels were computed at
+     */
+    public void insertSnapshots(Map<ItemKey, LedgerLevel> levels, LocalDateTime takenAt) {
+        if (levels.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<ItemKey, LedgerLevel>> entries = List.copyOf(levels.entrySet());
+        jdbcTemplate.batchUpdate(INSERT_SNAPSHOT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int index) throws SQLException {
+                Map.Entry<ItemKey, LedgerLevel> entry = entries.get(index);
+                statement.setObject(1, entry.getKey().warehouseId());
+                statement.setObject(2, entry.getKey().productId());
+                statement.setInt(3, entry.getValue().quantity());
+                statement.setTimestamp(4, Optional.ofNullable(entry.getValue().lastMovementAt()).map(Timestamp::valueOf).orElse(null));
+                statement.setTimestamp(5, Timestamp.valueOf(takenAt));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+    }
+
+    /**
+     * Finds the time the latest snapshot was taken.
+     *
+     * @return The time of the latest snapshot, empty if none was taken yet
+     */
+    public Optional<LocalDateTime> findLastSnapshotTime() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT MAX(taken_at) FROM stock_snapshot", Timestamp.class))
+                .map(Timestamp::toLocalDateTime);
+    }
+
+    /**
+     * Reads the current time of the database, the clock the movements are stamped with.
+     *
+     * @return The current database time
+     */
+    public LocalDateTime currentTime() {
+        return Objects.requireNonNull(jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", Timestamp.class)).toLocalDateTime();
+    }
+
+    private Map<ItemKey, Snapshot> findSnapshots(List<ItemKey> items, LocalDateTime asOf) {
+        List<Object> arguments = new ArrayList<>();
+        for (ItemKey item : items) {
+            arguments.add(item.warehouseId());
+            arguments.add(item.productId());
+            arguments.add(Timestamp.valueOf(asOf));
+        }
+        Map<ItemKey, Snapshot> snapshots = new HashMap<>();
+        jdbcTemplate.query(items.stream().map(item -> LATEST_SNAPSHOT).collect(Collectors.joining(" UNION ALL ")),
+                resultSet -> {
+                    snapshots.put(toItemKey(resultSet, 0), new Snapshot(
+                            resultSet.getInt("quantity"),
+                            toLocalDateTime(resultSet.getTimestamp("last_movement_at")),
+                            resultSet.getTimestamp("taken_at").toLocalDateTime()));
+                },
+                arguments.toArray());
+        return snapshots;
+    }
+
+    private Map<ItemKey, LedgerLevel> findTails(List<ItemKey> items, Map<ItemKey, Snapshot> snapshots, LocalDateTime asOf) {
+        List<Object> arguments = new ArrayList<>();
+        for (ItemKey item : items) {
+            arguments.add(item.warehouseId());
+            arguments.add(item.productId());
+            arguments.add(Timestamp.valueOf(Optional.ofNullable(snapshots.get(item)).map(Snapshot::takenAt).orElse(LEDGER_START)));
+            arguments.add(Timestamp.valueOf(asOf));
+        }
+        Map<ItemKey, LedgerLevel> tails = new HashMap<>();
+        jdbcTemplate.query(TAIL.formatted(items.stream().map(item -> TAIL_RANGE).collect(Collectors.joining(" OR "))),
+                resultSet -> {
+                    tails.put(toItemKey(resultSet, 0), new LedgerLevel(
+                            resultSet.getInt("delta"),
+                            resultSet.getTimestamp("last_movement_at").toLocalDateTime(),
+                            resultSet.getLong("movements")));
+                },
+                arguments.toArray());
+        return tails;
+    }
+
+    private static ItemKey toItemKey(ResultSet resultSet, int rowNum) throws SQLException {
+        return new ItemKey(resultSet.getObject("warehouse_id", UUID.class), resultSet.getObject("product_id", UUID.class));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return Objects.isNull(timestamp) ? null : timestamp.toLocalDateTime();
+    }
+
+    /**
+     * Identifies the inventory item of a product in a warehouse in the ledger.
+     *
+     * @param warehouseId The UUID of the warehouse
+     * @param productId The UUID of the product
+     */
+    public record ItemKey(UUID warehouseId, UUID productId) {
+    }
+
+    /**
+     * Quantity of an item at a point in time, as computed from the ledger.
+     *
+     * @param quantity The quantity held
+     * @param lastMovementAt The time of the latest movement by then, null if unknown
+     * @param movements The number of movements replayed after the latest snapshot
+     */
+    public record LedgerLevel(int quantity, LocalDateTime lastMovementAt, long movements) {
+    }
+
+    private record Snapshot(int quantity, LocalDateTime lastMovementAt, LocalDateTime takenAt) {
+    }
+}
@@ -17,6 +17,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -28,7 +29,7 @@ import java.util.UUID;
  * for warehouse entities.
  */
 @Repository
-public interface WarehouseRepository extends JpaRepository<WarehouseEntity, Long> {
+public interface WarehouseRepository extends JpaRepository<WarehouseEntity, Long>, JpaSpecificationExecutor<WarehouseEntity> {
     /**
      * Finds a warehouse by its UUID.
      *
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.repository;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository maintaining the running total of the inventory quantities of each warehouse.
+ * The inventory writes add their net change in the transaction of the change, after locking the
+ * inventory rows, so the warehouse row is always the second lock taken and the total never drifts
+ * from the committed quantities. The verifier queries compare and reconcile it with the inventory table.
+ */
+@Repository
+@RequiredArgsConstructor
+public class WarehouseStockRepository {
+    /** Adds a net quantity change to the running total of a warehouse */
+    private static final String ADD_STOCK = "UPDATE warehouses SET stock_quantity = stock_quantity + ? WHERE uuid = ?";
+
+    /** Finds the warehouses of an id range whose running total differs from the sum of their inventory quantities */
+    private static final String FIND_DRIFTS = """
+                SELECT w.id, w.uuid, w.stock_quantity, COALESCE(SUM(i.quantity), 0) AS actual_quantity
+                FROM warehouses w LEFT JOIN inventory i ON i.warehouse_id = w.id
+                WHERE w.id BETWEEN ? AND ?
+                GROUP BY w.id, w.uuid, w.stock_quantity
+                HAVING w.stock_quantity <> COALESCE(SUM(i.quantity), 0)
+                ORDER BY w.id
+            """;
+
+    /** Recomputes the running total of a warehouse from the committed inventory quantities */
+    private static final String RECOMPUTE_STOCK = """
+                UPDATE warehouses
+                SET stock_quantity = (SELECT COALESCE(SUM(quantity), 0) FROM inventory WHERE warehouse_id = ?)
+                WHERE id = ?
+            """;
+
+    /** The JDBC template bound to the current transaction */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the net quantity change of each warehouse to its running total in one JDBC batch.
+     * Warehouses are updated in UUID order, so concurrent writers lock them in the same order.
+     *
+     * @param deltas The net quantity change of each warehouse, zero changes are skipped
+     */
+    public void addStock(Map<UUID, Long> deltas) {
+        List<Object[]> parameters = deltas.entrySet().stream()
+                .filter(delta -> delta.getValue() != 0)
+                .sorted(Map.Entry.comparingByKey())
+                .map(delta -> new Object[]{delta.getValue(), delta.getKey()})
+                .toList();
+        if (!parameters.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_STOCK, parameters);
+        }
+    }
+
+    /**
+     * Returns the lowest and highest warehouse ids, bounding the chunks of a verification.
+     *
+     * @return The id range, or empty if there is no warehouse
+     */
+    public Optional<IdRange> findIdRange() {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS min_id, MAX(id) AS max_id FROM warehouses");
+        return bounds.get("min_id") instanceof Number minId && bounds.get("max_id") instanceof Number maxId
+                ? Optional.of(new IdRange(minId.longValue(), maxId.longValue()))
+                : Optional.empty();
+    }
+
+    /**
+     * Finds the warehouses of an id range whose running total differs from their inventory quantities.
+     * The comparison reads a single statement snapshot in which both sides are consistent, so every
+     * returned warehouse has drifted and is not merely being written.
+     *
+     * @param fromId The lowest warehouse id of the range, inclusive
+     * @param toId The highest warehouse id of the range, inclusive
+     * @return The drifted warehouses, ordered by id
+     */
+    public List<StockDrift> findDrifts(long fromId, long toId) {
+        return jdbcTemplate.query(FIND_DRIFTS,
+                (rs, rowNum) -> new StockDrift(rs.getLong("id"), rs.getObject("uuid", UUID.class),
+                        rs.getLong("stock_quantity"), rs.getLong("actual_quantity")),
+                fromId, toId);
+    }
+
+    /**
+     * Resets the running total of a warehouse to the sum of its committed inventory quantities.
+     * The warehouse row is locked first, so writers holding it commit before the sum is read and
+     * writers that have not reached it yet add their change on top of the recomputed total.
+     *
+     * @param id The database identifier of the warehouse
+     */
+    @Transactional
+    public void reconcile(long id) {
+        jdbcTemplate.queryForList("SELECT id FROM warehouses WHERE id = ? FOR UPDATE", Long.class, id);
+        jdbcTemplate.update(RECOMPUTE_STOCK, id, id);
+    }
+
+    /**
+     * The bounds of the warehouse ids.
+     *
+     * @param minId The lowest warehouse id
+     * @param maxId The highest warehouse id
+     */
+    public record IdRange(long minId, long maxId) {
+    }
+
+    /**
+     * A warehouse whose running total differs from the sum of its inventory quantities.
+     *
+     * @param id The database identifier of the warehouse
+     * @param uuid The UUID of the warehouse
+     * @param recordedQuantity The running total
+     * @param actualQuantity The sum of the inventory quantities
+     */
+    public record StockDrift(long id, UUID uuid, long recordedQuantity, long actualQuantity) {
+    }
+}
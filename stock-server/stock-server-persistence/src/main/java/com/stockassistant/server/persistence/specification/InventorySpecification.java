@@ -31,6 +31,22 @@ public class InventorySpecification {
         throw new IllegalStateException("Utility class");
     }
 
+    /**
+     * Creates a specification fetching the product and warehouse of each inventory item in the same query.
+     * The fetch joins are skipped for count queries, which have nothing to fetch.
+     *
+     * @return A Specification adding the fetch joins without restricting the result
+     */
+    public static Specification<InventoryItemEntity> fetchProductAndWarehouse() {
+        return (root, query, criteriaBuilder) -> {
+            if (!Long.class.equals(query.getResultType()) && !long.class.equals(query.getResultType())) {
+                root.fetch("product");
+                root.fetch("warehouse");
+            }
+            return null;
+        };
+    }
+
     /**
      * Creates a specification to filter inventory items by product UUID.
      *
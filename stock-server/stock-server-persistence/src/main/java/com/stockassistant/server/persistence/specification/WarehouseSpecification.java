@@ -74,4 +74,26 @@ public class WarehouseSpecification {
     public static Specification<WarehouseEntity> hasCapacity(int capacity) {
         return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("capacity"), capacity);
     }
+
+    /**
+     * Creates a specification to filter warehouses by a minimum utilisation percentage (inclusive).
+     * Warehouses without capacity have no utilisation and never match.
+     *
+     * @param minUtilisation The lowest utilisation percentage to filter by
+     * @return A Specification for filtering warehouses by minimum utilisation
+     */
+    public static Specification<WarehouseEntity> hasUtilisationAtLeast(double minUtilisation) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThanOrEqualTo(root.get("utilisation"), minUtilisation);
+    }
+
+    /**
+     * Creates a specification to filter warehouses by a maximum utilisation percentage (inclusive).
+     * Warehouses without capacity have no utilisation and never match.
+     *
+     * @param maxUtilisation The highest utilisation percentage to filter by
+     * @return A Specification for filtering warehouses by maximum utilisation
+     */
+    public static Specification<WarehouseEntity> hasUtilisationAtMost(double maxUtilisation) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.lessThanOrEqualTo(root.get("utilisation"), maxUtilisation);
+    }
 }
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2024 Stock Assistant. All rights reserved.
+ *
+ * This software is the confidential and proprietary information of the creator.
+ * You shall not disclose such confidential information and shall use it only in
+ * accordance with the terms of the license agreement you entered into with
+ * Stock Assistant.
+ *
+ * @author Daagi Saber
+ * @version 1.0
+ */
+
+
+package com.stockassistant.server.persistence.utils;
+
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Assembles the pages of the listings from an offset window, computing the total as requested.
+ * The window reads one row past the page, so whether more rows follow is known without counting,
+ * and the total of a last page is derived from its offset.
+ */
+public final class PageUtils {
+
+    private PageUtils() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Returns the scroll position of the first row of the requested page.
+     *
+     * @param pageable The page request
+     * @return The offset scroll position
+     */
+    public static ScrollPosition toScrollPosition(Pageable pageable) {
+        return pageable.getOffset() == 0 ? ScrollPosition.offset() : ScrollPosition.offset(pageable.getOffset() - 1);
+    }
+
+    /**
+     * Builds the page of the given window.
+     *
+     * @param window The rows of the page, read from the page offset with the page size as limit
+     * @param pageable The page request
+     * @param countMode How the total is computed, exact when null
+     * @param exactCount The count of the matching rows
+     * @param estimatedCount The estimate of the matching rows
+     * @param <T> The item type
+     * @return A page holding the total, or a slice without total for the none count mode
+     */
+    public static <T> Slice<T> toSlice(Window<T> window,
+                                       Pageable pageable,
+                                       CountModeEnum countMode,
+                                       LongSupplier exactCount,
+                                       LongSupplier estimatedCount) {
+        List<T> content = window.getContent();
+        if (countMode == CountModeEnum.NONE) {
+            return new SliceImpl<>(content, pageable, window.hasNext());
+        }
+        long seen = pageable.getOffset() + content.size();
+        if (!window.hasNext() && (!content.isEmpty() || pageable.getOffset() == 0)) {
+            return new PageImpl<>(content, pageable, seen);
+        }
+        long total = countMode == CountModeEnum.ESTIMATED
+                // An estimate below the rows already read would end the listing early
+                ? Math.max(estimatedCount.getAsLong(), window.hasNext() ? seen + 1 : seen)
+                : exactCount.getAsLong();
+        return new PageImpl<>(content, pageable, total);
+    }
+}
@@ -0,0 +1,45 @@
+-- ================================
+-- Baseline schema, as created by init-db.sh.
+-- Databases initialised by init-db.sh are baselined at this version and skip it.
+-- ================================
+
+-- ================================
+-- TABLE: product
+-- ================================
+CREATE TABLE product (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    category        VARCHAR(20) NOT NULL CHECK (category IN ('ELECTRONICS', 'HARDWARE', 'CONSUMABLES')),
+    created_at      TIMESTAMP(6) NOT NULL,
+    description     VARCHAR(500),
+    name            VARCHAR(100) NOT NULL,
+    sku             VARCHAR(20) NOT NULL UNIQUE,
+    unit_of_measure VARCHAR(10) CHECK (unit_of_measure IN ('UNIT', 'KILOGRAM', 'LITER', 'METER')),
+    updated_at      TIMESTAMP(6) NOT NULL,
+    uuid            UUID NOT NULL UNIQUE,
+    price           NUMERIC(10, 2) NOT NULL
+);
+
+-- ================================
+-- TABLE: warehouses
+-- ================================
+CREATE TABLE warehouses (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    capacity    INTEGER NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    location    VARCHAR(255) NOT NULL,
+    name        VARCHAR(100) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    uuid        UUID NOT NULL UNIQUE
+);
+
+-- ================================
+-- TABLE: inventory
+-- ================================
+CREATE TABLE inventory (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    last_stock_update TIMESTAMP(6) NOT NULL,
+    quantity          INTEGER NOT NULL,
+    uuid              UUID NOT NULL UNIQUE,
+    product_id        BIGINT REFERENCES product(id),
+    warehouse_id      BIGINT REFERENCES warehouses(id)
+);
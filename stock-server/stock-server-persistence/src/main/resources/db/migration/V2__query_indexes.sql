@@ -0,0 +1,23 @@
+-- ================================
+-- Indexes backing the query patterns of the repository adapters.
+-- ================================
+
+-- One inventory item per product and warehouse. Serves the (warehouse, product) lookups of the
+-- quantity updates and the warehouse filter of the listings, warehouse_id being the leading column.
+CREATE UNIQUE INDEX inventory_warehouse_product_uk ON inventory (warehouse_id, product_id);
+
+-- Product filter of the inventory listings and foreign key checks on product deletion.
+CREATE INDEX inventory_product_id_idx ON inventory (product_id);
+
+-- Keyset pagination of the listings, the id being appended to every sort.
+CREATE INDEX product_created_at_id_idx ON product (created_at, id);
+CREATE INDEX product_name_id_idx ON product (name, id);
+CREATE INDEX warehouses_created_at_id_idx ON warehouses (created_at, id);
+CREATE INDEX warehouses_name_id_idx ON warehouses (name, id);
+
+-- Case-insensitive substring filters, lower(column) LIKE '%value%'.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX product_name_trgm_idx ON product USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX warehouses_name_trgm_idx ON warehouses USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX warehouses_location_trgm_idx ON warehouses USING gin (lower(location) gin_trgm_ops);
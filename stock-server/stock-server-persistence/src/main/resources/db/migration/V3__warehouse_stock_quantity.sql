@@ -0,0 +1,16 @@
+-- ================================
+-- Running total of the inventory quantities held by each warehouse.
+-- Maintained by the inventory writes in their own transaction, reconciled by the stock verifier.
+-- ================================
+
+ALTER TABLE warehouses ADD COLUMN stock_quantity BIGINT NOT NULL DEFAULT 0;
+
+UPDATE warehouses
+SET stock_quantity = totals.quantity
+FROM (SELECT warehouse_id, SUM(quantity) AS quantity FROM inventory GROUP BY warehouse_id) totals
+WHERE warehouses.id = totals.warehouse_id;
+
+-- Utilisation sort of the warehouse listings, same expression as the mapped formula.
+CREATE INDEX warehouses_utilisation_id_idx
+    ON warehouses ((CASE WHEN capacity > 0 THEN stock_quantity * 100.0 / capacity END), id);
+CREATE INDEX warehouses_stock_quantity_id_idx ON warehouses (stock_quantity, id);
@@ -0,0 +1,7 @@
+-- ================================
+-- Reorder points of the low-stock alerts.
+-- Set per product, optionally overridden per inventory item. Null means no alert.
+-- ================================
+
+ALTER TABLE product ADD COLUMN reorder_point INTEGER CHECK (reorder_point >= 0);
+ALTER TABLE inventory ADD COLUMN reorder_point INTEGER CHECK (reorder_point >= 0);
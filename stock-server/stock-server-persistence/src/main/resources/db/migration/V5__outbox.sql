@@ -0,0 +1,21 @@
+-- ================================
+-- TABLE: outbox
+-- Change record of every catalogue and stock write, appended in the transaction of the write.
+-- The relay publishes the unpublished records in id order and stamps them, published records are
+-- kept as a change feed until the retention period ends.
+-- ================================
+CREATE TABLE outbox (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    aggregate    VARCHAR(20) NOT NULL CHECK (aggregate IN ('PRODUCT', 'WAREHOUSE', 'INVENTORY')),
+    operation    VARCHAR(10) NOT NULL CHECK (operation IN ('CREATED', 'UPDATED', 'DELETED')),
+    warehouse_id UUID,
+    product_id   UUID,
+    payload      TEXT,
+    created_at   TIMESTAMP(6) NOT NULL,
+    published_at TIMESTAMP(6)
+);
+
+-- Claiming of the relay, only the pending records are indexed.
+CREATE INDEX outbox_unpublished_id_idx ON outbox (id) WHERE published_at IS NULL;
+-- Purge of the published records past the retention period.
+CREATE INDEX outbox_published_at_idx ON outbox (published_at) WHERE published_at IS NOT NULL;
@@ -0,0 +1,42 @@
+-- ================================
+-- TABLE: stock_movement
+-- Append-only ledger of the quantity changes of the inventory items, written in the transaction of
+-- each change. Rows are never updated nor deleted, so the pages are kept full.
+-- ================================
+CREATE TABLE stock_movement (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    warehouse_id UUID NOT NULL,
+    product_id   UUID NOT NULL,
+    delta        INTEGER NOT NULL,
+    reason       VARCHAR(20) NOT NULL CHECK (reason IN ('INITIAL', 'SET', 'ADJUSTMENT')),
+    created_at   TIMESTAMP(6) NOT NULL
+) WITH (fillfactor = 100);
+
+-- Tail of an item after its snapshot, summed from the index alone.
+CREATE INDEX stock_movement_item_idx ON stock_movement (warehouse_id, product_id, created_at) INCLUDE (delta);
+-- Items moved since the previous compaction, rows are appended in time order so a block range index suffices.
+CREATE INDEX stock_movement_created_at_idx ON stock_movement USING brin (created_at);
+
+-- ================================
+-- TABLE: stock_snapshot
+-- Quantity of an inventory item at a point in time, the sum of its movements up to then. Point in time
+-- queries seek the latest snapshot of each item and only replay the movements that follow it.
+-- ================================
+CREATE TABLE stock_snapshot (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    warehouse_id     UUID NOT NULL,
+    product_id       UUID NOT NULL,
+    quantity         INTEGER NOT NULL,
+    last_movement_at TIMESTAMP(6),
+    taken_at         TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX stock_snapshot_item_idx ON stock_snapshot (warehouse_id, product_id, taken_at DESC) INCLUDE (quantity, last_movement_at);
+CREATE INDEX stock_snapshot_taken_at_idx ON stock_snapshot (taken_at);
+
+-- The ledger starts from the current quantities, earlier history is not known.
+INSERT INTO stock_snapshot (warehouse_id, product_id, quantity, last_movement_at, taken_at)
+SELECT w.uuid, p.uuid, i.quantity, i.last_stock_update, LOCALTIMESTAMP
+FROM inventory i
+JOIN warehouses w ON w.id = i.warehouse_id
+JOIN product p ON p.id = i.product_id;
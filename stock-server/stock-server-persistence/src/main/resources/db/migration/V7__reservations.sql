@@ -0,0 +1,14 @@
+-- ================================
+-- TABLE: reservation
+-- Outstanding stock reservations, written behind in batches by the reservation service and reloaded
+-- on startup. Ended reservations are deleted, the table only holds those still holding stock.
+-- ================================
+CREATE TABLE reservation (
+    uuid         UUID PRIMARY KEY,
+    warehouse_id UUID NOT NULL,
+    product_id   UUID NOT NULL,
+    quantity     INTEGER NOT NULL CHECK (quantity > 0),
+    reference    VARCHAR(255),
+    created_at   TIMESTAMP(6) NOT NULL,
+    expires_at   TIMESTAMP(6) NOT NULL
+);
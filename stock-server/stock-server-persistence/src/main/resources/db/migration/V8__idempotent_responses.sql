@@ -0,0 +1,17 @@
+-- ================================
+-- TABLE: idempotent_response
+-- Response of every write request executed under an Idempotency-Key header, replayed to the retries
+-- of the request. Rows are purged once the retention period ends.
+-- ================================
+CREATE TABLE idempotent_response (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    fingerprint     VARCHAR(64) NOT NULL,
+    status          SMALLINT NOT NULL,
+    content_type    VARCHAR(255),
+    location        VARCHAR(2048),
+    body            BYTEA NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL
+);
+
+-- Purge of the responses past the retention period.
+CREATE INDEX idempotent_response_created_at_idx ON idempotent_response (created_at);
@@ -0,0 +1,7 @@
+-- ================================
+-- Version of the quantity of each inventory item.
+-- Incremented by every quantity write under the row lock, so the in-memory projection
+-- tells the later of two committed quantities whatever order they reach it in.
+-- ================================
+
+ALTER TABLE inventory ADD COLUMN stock_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+package com.stockassistant.server.persistence;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Boot configuration anchoring the persistence slice tests of this module.
+ */
+@SpringBootApplication
+public class PersistenceTestApplication {
+}
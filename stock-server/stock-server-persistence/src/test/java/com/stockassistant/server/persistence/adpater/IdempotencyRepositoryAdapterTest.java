@@ -0,0 +1,79 @@
+package com.stockassistant.server.persistence.adpater;
+
+import com.stockassistant.server.domain.model.IdempotentResponse;
+import com.stockassistant.server.persistence.cache.IdempotencyCache;
+import com.stockassistant.server.persistence.config.CacheConfig;
+import com.stockassistant.server.persistence.repository.IdempotentResponseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import({IdempotencyRepositoryAdapter.class,
+        IdempotentResponseRepository.class,
+        IdempotencyCache.class,
+        CacheConfig.class})
+class IdempotencyRepositoryAdapterTest {
+
+    @Autowired
+    private IdempotencyRepositoryAdapter idempotencyRepositoryAdapter;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(IdempotencyCache.RESPONSES).clear();
+    }
+
+    @Test
+    void save_TakenKey_KeepsFirstResponseAndFallsBackToDatabase() {
+        IdempotentResponse first = response("key-1", "{\"uuid\":1}", LocalDateTime.now());
+        idempotencyRepositoryAdapter.save(first);
+        idempotencyRepositoryAdapter.save(response("key-1", "{\"uuid\":2}", LocalDateTime.now()));
+        cacheManager.getCache(IdempotencyCache.RESPONSES).clear();
+
+        IdempotentResponse stored = idempotencyRepositoryAdapter.find("key-1").orElseThrow();
+
+        assertEquals(first.fingerprint(), stored.fingerprint());
+        assertEquals(201, stored.status());
+        assertEquals("/products/1", stored.location());
+        assertArrayEquals(first.body(), stored.body());
+    }
+
+    @Test
+    void deleteCreatedBefore_ExpiredResponse_DeletesOnlyExpired() {
+        idempotencyRepositoryAdapter.save(response("expired", "{}", LocalDateTime.now().minusDays(2)));
+        idempotencyRepositoryAdapter.save(response("recent", "{}", LocalDateTime.now()));
+
+        int deleted = idempotencyRepositoryAdapter.deleteCreatedBefore(LocalDateTime.now().minusDays(1));
+        cacheManager.getCache(IdempotencyCache.RESPONSES).clear();
+
+        assertEquals(1, deleted);
+        assertTrue(idempotencyRepositoryAdapter.find("expired").isEmpty());
+        assertTrue(idempotencyRepositoryAdapter.find("recent").isPresent());
+    }
+
+    private static IdempotentResponse response(String key, String body, LocalDateTime createdAt) {
+        return IdempotentResponse.builder()
+                .key(key)
+                .fingerprint("f".repeat(64))
+                .status(201)
+                .contentType("application/json")
+                .location("/products/1")
+                .body(body.getBytes(StandardCharsets.UTF_8))
+                .createdAt(createdAt.truncatedTo(ChronoUnit.MICROS))
+                .build();
+    }
+}
@@ -0,0 +1,223 @@
+package com.stockassistant.server.persistence.adpater;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stockassistant.server.domain.model.InventoryChange;
+import com.stockassistant.server.domain.model.InventoryItem;
+import com.stockassistant.server.domain.model.excpetion.InsufficientStockException;
+import com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException;
+import com.stockassistant.server.domain.model.excpetion.StockLimitExceededException;
+import com.stockassistant.server.persistence.EmbeddedPostgresConfig;
+import com.stockassistant.server.persistence.cache.CountCache;
+import com.stockassistant.server.persistence.cache.ListingCache;
+import com.stockassistant.server.persistence.cache.WarehouseDirectory;
+import com.stockassistant.server.persistence.config.CacheConfig;
+import com.stockassistant.server.persistence.entity.InventoryItemEntity;
+import com.stockassistant.server.persistence.entity.ProductEntity;
+import com.stockassistant.server.persistence.entity.WarehouseEntity;
+import com.stockassistant.server.persistence.entity.enums.ProductCategoryEnum;
+import com.stockassistant.server.persistence.entity.enums.UnitOfMeasureEnum;
+import com.stockassistant.server.persistence.mapper.InventoryEntityMapperImpl;
+import com.stockassistant.server.persistence.mapper.ProductEntityMapperImpl;
+import com.stockassistant.server.persistence.mapper.WarehouseEntityMapperImpl;
+import com.stockassistant.server.persistence.projection.InventoryQuantityRow;
+import com.stockassistant.server.persistence.repository.EntityStreamRepository;
+import com.stockassistant.server.persistence.repository.InventoryAggregateRepository;
+import com.stockassistant.server.persistence.repository.InventoryBatchRepository;
+import com.stockassistant.server.persistence.repository.OutboxRepository;
+import com.stockassistant.server.persistence.repository.RowEstimateRepository;
+import com.stockassistant.server.persistence.repository.StockLedgerRepository;
+import com.stockassistant.server.persistence.repository.WarehouseStockRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Covers the native statements of the adapter, which H2 cannot run, on an embedded PostgreSQL.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=none"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EmbeddedPostgresConfig.class,
+        InventoryRepositoryAdapter.class,
+        InventoryBatchRepository.class,
+        OutboxRepository.class,
+        InventoryAggregateRepository.class,
+        EntityStreamRepository.class,
+        CountCache.class,
+        ListingCache.class,
+        WarehouseDirectory.class,
+        WarehouseStockRepository.class,
+        CacheConfig.class,
+        RowEstimateRepository.class,
+        StockLedgerRepository.class,
+        InventoryEntityMapperImpl.class,
+        ProductEntityMapperImpl.class,
+        WarehouseEntityMapperImpl.class})
+class InventoryRepositoryAdapterPostgresTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Autowired
+    private InventoryRepositoryAdapter inventoryRepositoryAdapter;
+
+    @Autowired
+    private InventoryBatchRepository inventoryBatchRepository;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private InventoryItemEntity item;
+
+    private InventoryItemEntity other;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        item = persistItem(10);
+        other = persistItem(3);
+        testEntityManager.flush();
+        testEntityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void update_ExistingItem_RecordsChangeInSingleStatement() {
+        InventoryItem updated = inventoryRepositoryAdapter.update(warehouseId(item), productId(item), 25);
+
+        assertEquals(1, statistics.getPrepareStatementCount(), "Expected a single statement");
+        assertEquals(25, updated.quantity());
+        assertEquals(1, updated.stockVersion());
+        assertEquals(item.getProduct().getSku(), updated.product().sku());
+        assertEquals(item.getWarehouse().getName(), updated.warehouse().name());
+        assertEquals(15, stockQuantity(item));
+        assertEquals(List.of(Map.of("delta", 15, "reason", "SET")), movements(item));
+        assertEquals(json(List.of("{\"quantity\":25,\"delta\":15}")), payloads(item));
+        assertEquals(jdbcTemplate.queryForObject("SELECT id FROM outbox WHERE warehouse_id = ?", Long.class, warehouseId(item)),
+                updated.changeId());
+    }
+
+    @Test
+    void update_UnknownItem_ThrowsNotFound() {
+        assertThrows(ObjectNotFoundException.class,
+                () -> inventoryRepositoryAdapter.update(warehouseId(item), UUID.randomUUID(), 1));
+        assertEquals(0, stockQuantity(item));
+    }
+
+    @Test
+    void adjust_ExistingItem_RecordsChangeInSingleStatement() {
+        inventoryRepositoryAdapter.adjust(warehouseId(item), productId(item), -4);
+        InventoryItem adjusted = inventoryRepositoryAdapter.adjust(warehouseId(item), productId(item), 2);
+
+        assertEquals(2, statistics.getPrepareStatementCount(), "Expected a single statement per adjustment");
+        assertEquals(8, adjusted.quantity());
+        assertEquals(2, adjusted.stockVersion());
+        assertEquals(-2, stockQuantity(item));
+        assertEquals(List.of(Map.of("delta", -4, "reason", "ADJUSTMENT"), Map.of("delta", 2, "reason", "ADJUSTMENT")),
+                movements(item));
+        assertEquals(json(List.of("{\"quantity\":6,\"delta\":-4}", "{\"quantity\":8,\"delta\":2}")), payloads(item));
+    }
+
+    @Test
+    void adjust_InsufficientStock_ThrowsAndLeavesItemUnchanged() {
+        assertThrows(InsufficientStockException.class,
+                () -> inventoryRepositoryAdapter.adjust(warehouseId(item), productId(item), -11));
+        assertThrows(ObjectNotFoundException.class,
+                () -> inventoryRepositoryAdapter.adjust(warehouseId(item), UUID.randomUUID(), 1));
+
+        assertEquals(10, jdbcTemplate.queryForObject("SELECT quantity FROM inventory WHERE id = ?", Integer.class, item.getId()));
+        assertEquals(0, stockQuantity(item));
+        assertEquals(List.of(), movements(item));
+        assertEquals(List.of(), payloads(item));
+    }
+
+    @Test
+    void adjust_BeyondQuantityRange_ThrowsLimitExceeded() {
+        inventoryRepositoryAdapter.update(warehouseId(item), productId(item), Integer.MAX_VALUE - 1);
+
+        assertThrows(StockLimitExceededException.class,
+                () -> inventoryRepositoryAdapter.adjust(warehouseId(item), productId(item), 2));
+
+        assertEquals(Integer.MAX_VALUE - 1, jdbcTemplate.queryForObject("SELECT quantity FROM inventory WHERE id = ?",
+                Integer.class, item.getId()));
+    }
+
+    @Test
+    void lockQuantities_Pairs_LocksExactPairsOnPostgres() {
+        List<InventoryChange> changes = List.of(new InventoryChange(warehouseId(item), productId(item), 1, null),
+                new InventoryChange(warehouseId(other), productId(other), null, 1));
+
+        assertEquals(List.of(item.getId(), other.getId()),
+                inventoryBatchRepository.lockQuantities(changes).stream().map(InventoryQuantityRow::getId).toList());
+    }
+
+    private InventoryItemEntity persistItem(int quantity) {
+        ProductEntity product = testEntityManager.persist(new ProductEntity(null, UUID.randomUUID(), "SKU-" + quantity,
+                "Product", null, 9.99f, ProductCategoryEnum.HARDWARE, UnitOfMeasureEnum.UNIT, null, null, null));
+        WarehouseEntity warehouse = testEntityManager.persist(new WarehouseEntity(null, UUID.randomUUID(),
+                "Warehouse", "Location", 1000, 0, null, null, null));
+        return testEntityManager.persist(new InventoryItemEntity(null, UUID.randomUUID(), quantity, LocalDateTime.now(), 0, null,
+                product, warehouse));
+    }
+
+    private static UUID warehouseId(InventoryItemEntity item) {
+        return item.getWarehouse().getUuid();
+    }
+
+    private static UUID productId(InventoryItemEntity item) {
+        return item.getProduct().getUuid();
+    }
+
+    private long stockQuantity(InventoryItemEntity item) {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM warehouses WHERE uuid = ?", Long.class, warehouseId(item));
+    }
+
+    private List<Map<String, Object>> movements(InventoryItemEntity item) {
+        return jdbcTemplate.queryForList("SELECT delta, reason FROM stock_movement WHERE warehouse_id = ? ORDER BY id",
+                warehouseId(item));
+    }
+
+    private List<JsonNode> payloads(InventoryItemEntity item) {
+        return json(jdbcTemplate.queryForList("SELECT payload FROM outbox WHERE warehouse_id = ? ORDER BY id",
+                String.class, warehouseId(item)));
+    }
+
+    /**
+     * Parses the payloads, the database and the application writing the same JSON with different spacing.
+     */
+    private static List<JsonNode> json(List<String> payloads) {
+        return payloads.stream().map(payload -> {
+            try {
+                return OBJECT_MAPPER.readTree(payload);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }).toList();
+    }
+}
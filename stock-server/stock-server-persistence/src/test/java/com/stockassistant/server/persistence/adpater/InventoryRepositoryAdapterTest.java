@@ -0,0 +1,478 @@
+package com.stockassistant.server.persistence.adpater;
+
+import com.stockassistant.server.domain.model.CategoryValuation;
+import com.stockassistant.server.domain.model.InventoryChange;
+import com.stockassistant.server.domain.model.InventoryChangeResult;
+import com.stockassistant.server.domain.model.InventoryItem;
+import com.stockassistant.server.domain.model.ProductStockTotal;
+import com.stockassistant.server.domain.model.WarehouseUtilisation;
+import com.stockassistant.server.domain.model.enums.ChangeAggregateEnum;
+import com.stockassistant.server.domain.model.enums.ChangeOperationEnum;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
+import com.stockassistant.server.domain.model.enums.InventoryChangeStatusEnum;
+import com.stockassistant.server.domain.model.enums.StockMovementReasonEnum;
+import com.stockassistant.server.domain.model.excpetion.ObjectNotFoundException;
+import com.stockassistant.server.persistence.cache.CountCache;
+import com.stockassistant.server.persistence.cache.ListingCache;
+import com.stockassistant.server.persistence.cache.WarehouseDirectory;
+import com.stockassistant.server.persistence.config.CacheConfig;
+import com.stockassistant.server.persistence.entity.InventoryItemEntity;
+import com.stockassistant.server.persistence.entity.OutboxEntity;
+import com.stockassistant.server.persistence.entity.ProductEntity;
+import com.stockassistant.server.persistence.entity.StockMovementEntity;
+import com.stockassistant.server.persistence.entity.StockSnapshotEntity;
+import com.stockassistant.server.persistence.entity.WarehouseEntity;
+import com.stockassistant.server.persistence.entity.enums.ProductCategoryEnum;
+import com.stockassistant.server.persistence.entity.enums.UnitOfMeasureEnum;
+import com.stockassistant.server.persistence.mapper.InventoryEntityMapper;
+import com.stockassistant.server.persistence.mapper.InventoryEntityMapperImpl;
+import com.stockassistant.server.persistence.mapper.ProductEntityMapperImpl;
+import com.stockassistant.server.persistence.mapper.WarehouseEntityMapperImpl;
+import com.stockassistant.server.persistence.projection.InventoryQuantityRow;
+import com.stockassistant.server.persistence.repository.EntityStreamRepository;
+import com.stockassistant.server.persistence.repository.InventoryAggregateRepository;
+import com.stockassistant.server.persistence.repository.InventoryBatchRepository;
+import com.stockassistant.server.persistence.repository.OutboxRepository;
+import com.stockassistant.server.persistence.repository.RowEstimateRepository;
+import com.stockassistant.server.persistence.repository.StockLedgerRepository;
+import com.stockassistant.server.persistence.repository.WarehouseRepository;
+import com.stockassistant.server.persistence.repository.WarehouseStockRepository;
+import com.stockassistant.server.persistence.specification.WarehouseSpecification;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false"})
+@Import({InventoryRepositoryAdapter.class,
+        InventoryBatchRepository.class,
+        OutboxRepository.class,
+        InventoryAggregateRepository.class,
+        EntityStreamRepository.class,
+        CountCache.class,
+        ListingCache.class,
+        WarehouseDirectory.class,
+        WarehouseStockRepository.class,
+        CacheConfig.class,
+        RowEstimateRepository.class,
+        StockLedgerRepository.class,
+        InventoryEntityMapperImpl.class,
+        ProductEntityMapperImpl.class,
+        WarehouseEntityMapperImpl.class})
+class InventoryRepositoryAdapterTest {
+
+    private static final int ITEMS = 30;
+    private static final int PAGE_SIZE = 10;
+
+    @Autowired
+    private InventoryRepositoryAdapter inventoryRepositoryAdapter;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private InventoryEntityMapper inventoryEntityMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CountCache countCache;
+
+    @Autowired
+    private ListingCache listingCache;
+
+    @Autowired
+    private WarehouseStockRepository warehouseStockRepository;
+
+    @Autowired
+    private WarehouseRepository warehouseRepository;
+
+    @Autowired
+    private InventoryBatchRepository inventoryBatchRepository;
+
+    private final List<InventoryItemEntity> items = new ArrayList<>();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        countCache.clear();
+        listingCache.clear();
+        for (int i = 0; i < ITEMS; i++) {
+            ProductEntity product = testEntityManager.persist(new ProductEntity(null, UUID.randomUUID(), "SKU-" + i,
+                    "Product " + i, null, 9.99f, ProductCategoryEnum.HARDWARE, UnitOfMeasureEnum.UNIT, null, null, null));
+            WarehouseEntity warehouse = testEntityManager.persist(new WarehouseEntity(null, UUID.randomUUID(),
+                    "Warehouse " + i, "Location " + i, 1000, 0, null, null, null));
+            items.add(testEntityManager.persist(new InventoryItemEntity(null, UUID.randomUUID(), i, LocalDateTime.now(), 0, null,
+                    product, warehouse)));
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAll_PageOfItems_RunsDataAndCountQueriesOnly() {
+        Page<InventoryItem> page = (Page<InventoryItem>) inventoryRepositoryAdapter.findAll(PageRequest.of(1, PAGE_SIZE),
+                CountModeEnum.EXACT, null, null);
+
+        assertEquals(PAGE_SIZE, page.getNumberOfElements());
+        assertEquals(ITEMS, page.getTotalElements());
+        page.forEach(item -> {
+            assertNotNull(item.product().sku());
+            assertNotNull(item.warehouse().name());
+        });
+        assertEquals(2, statistics.getPrepareStatementCount(), "Expected one data query and one count query");
+    }
+
+    @Test
+    void findAll_RepeatedExactCount_CountsOnce() {
+        inventoryRepositoryAdapter.findAll(PageRequest.of(0, PAGE_SIZE), CountModeEnum.EXACT, null, null);
+        Page<InventoryItem> page = (Page<InventoryItem>) inventoryRepositoryAdapter.findAll(PageRequest.of(1, PAGE_SIZE),
+                CountModeEnum.EXACT, null, null);
+
+        assertEquals(ITEMS, page.getTotalElements());
+        assertEquals(3, statistics.getPrepareStatementCount(), "Expected two data queries and one count query");
+    }
+
+    @Test
+    void findAll_NoCount_RunsSingleQueryAndTellsIfMoreFollow() {
+        Slice<InventoryItem> slice = inventoryRepositoryAdapter.findAll(PageRequest.of(1, PAGE_SIZE, Sort.by("quantity")),
+                CountModeEnum.NONE, null, null);
+
+        assertFalse(slice instanceof Page);
+        assertTrue(slice.hasNext());
+        assertEquals(List.of(10, 11, 12, 13, 14, 15, 16, 17, 18, 19), slice.map(InventoryItem::quantity).getContent());
+        assertEquals(1, statistics.getPrepareStatementCount(), "Expected a single data query");
+    }
+
+    @Test
+    void findAll_LastPage_DerivesTotalWithoutCount() {
+        Page<InventoryItem> page = (Page<InventoryItem>) inventoryRepositoryAdapter.findAll(
+                PageRequest.of(2, PAGE_SIZE, Sort.by("quantity")), CountModeEnum.ESTIMATED, null, null);
+
+        assertEquals(ITEMS, page.getTotalElements());
+        assertEquals(20, page.getContent().getFirst().quantity());
+        assertEquals(1, statistics.getPrepareStatementCount(), "Expected a single data query");
+    }
+
+    @Test
+    void findAll_RepeatedListing_ServedFromCacheUntilWrite() {
+        PageRequest pageRequest = PageRequest.of(0, PAGE_SIZE, Sort.by("quantity"));
+        inventoryRepositoryAdapter.findAll(pageRequest, CountModeEnum.NONE, null, null);
+        Slice<InventoryItem> cached = inventoryRepositoryAdapter.findAll(pageRequest, CountModeEnum.NONE, null, null);
+
+        assertEquals(1, statistics.getPrepareStatementCount(), "Expected the repeated listing to be cached");
+        assertEquals(0, cached.getContent().getFirst().quantity());
+
+        inventoryRepositoryAdapter.updateAll(List.of(change(items.getFirst(), 100, null)));
+        testEntityManager.clear();
+        Slice<InventoryItem> reloaded = inventoryRepositoryAdapter.findAll(pageRequest, CountModeEnum.NONE, null, null);
+
+        assertEquals(1, reloaded.getContent().getFirst().quantity());
+    }
+
+    @Test
+    void updateReorderPoint_Item_ReloadsCachedListing() {
+        PageRequest pageRequest = PageRequest.of(0, PAGE_SIZE, Sort.by("quantity"));
+        inventoryRepositoryAdapter.findAll(pageRequest, CountModeEnum.NONE, null, null);
+
+        inventoryRepositoryAdapter.updateReorderPoint(items.getFirst().getProduct().getUuid(),
+                items.getFirst().getWarehouse().getUuid(), 5);
+        testEntityManager.flush();
+        statistics.clear();
+        inventoryRepositoryAdapter.findAll(pageRequest, CountModeEnum.NONE, null, null);
+
+        assertEquals(1, statistics.getPrepareStatementCount(), "Expected the listing to be reloaded after the write");
+    }
+
+    @Test
+    void scroll_WindowOfItems_RunsSingleQuery() {
+        Window<InventoryItem> window = inventoryRepositoryAdapter.scroll(ScrollPosition.keyset(), PAGE_SIZE, null, null);
+
+        assertEquals(PAGE_SIZE, window.size());
+        window.forEach(item -> {
+            assertNotNull(item.product().sku());
+            assertNotNull(item.warehouse().name());
+        });
+        assertEquals(1, statistics.getPrepareStatementCount(), "Expected a single data query");
+    }
+
+    @Test
+    void updateAll_MixedChanges_ReportsEachOutcome() {
+        InventoryItemEntity absolute = items.get(1);
+        InventoryItemEntity delta = items.get(2);
+        InventoryItemEntity insufficient = items.get(3);
+        List<InventoryChange> changes = List.of(
+                change(absolute, 50, null),
+                change(delta, null, 5),
+                change(delta, null, -1),
+                change(insufficient, null, -4),
+                new InventoryChange(UUID.randomUUID(), absolute.getProduct().getUuid(), 1, null));
+
+        List<InventoryChangeResult> results = inventoryRepositoryAdapter.updateAll(changes);
+
+        assertEquals(List.of(InventoryChangeStatusEnum.UPDATED, InventoryChangeStatusEnum.UPDATED,
+                        InventoryChangeStatusEnum.UPDATED, InventoryChangeStatusEnum.INSUFFICIENT_STOCK,
+                        InventoryChangeStatusEnum.NOT_FOUND),
+                results.stream().map(InventoryChangeResult::status).toList());
+        assertEquals(50, results.get(0).quantity());
+        assertEquals(6, results.get(1).quantity());
+        assertEquals(6, results.get(2).quantity());
+        testEntityManager.clear();
+        assertEquals(3, testEntityManager.find(InventoryItemEntity.class, insufficient.getId()).getQuantity());
+    }
+
+    @Test
+    void updateAll_DeltaBeyondQuantityRange_ReportsInvalidWithoutOverflowing() {
+        InventoryItemEntity item = items.get(1);
+
+        List<InventoryChangeResult> results = inventoryRepositoryAdapter.updateAll(List.of(
+                change(item, Integer.MAX_VALUE - 1, null),
+                change(item, null, 2)));
+
+        assertEquals(List.of(InventoryChangeStatusEnum.UPDATED, InventoryChangeStatusEnum.INVALID),
+                results.stream().map(InventoryChangeResult::status).toList());
+        testEntityManager.clear();
+        assertEquals(Integer.MAX_VALUE - 1, testEntityManager.find(InventoryItemEntity.class, item.getId()).getQuantity());
+    }
+
+    @Test
+    void lockQuantities_PairsAcrossWarehouses_LocksExactPairsOnly() {
+        InventoryItemEntity first = items.get(1);
+        InventoryItemEntity second = items.get(2);
+        // Items of the crossed combinations, which a batch touching the two pairs must not lock
+        testEntityManager.persist(new InventoryItemEntity(null, UUID.randomUUID(), 7, LocalDateTime.now(), 0, null,
+                testEntityManager.find(ProductEntity.class, second.getProduct().getId()),
+                testEntityManager.find(WarehouseEntity.class, first.getWarehouse().getId())));
+        testEntityManager.persist(new InventoryItemEntity(null, UUID.randomUUID(), 8, LocalDateTime.now(), 0, null,
+                testEntityManager.find(ProductEntity.class, first.getProduct().getId()),
+                testEntityManager.find(WarehouseEntity.class, second.getWarehouse().getId())));
+        testEntityManager.flush();
+
+        List<InventoryChange> changes = List.of(change(first, 1, null), change(second, null, 1), change(first, null, 2));
+
+        assertEquals(List.of(first.getId(), second.getId()),
+                inventoryBatchRepository.lockQuantities(changes).stream().map(InventoryQuantityRow::getId).toList());
+        assertEquals(List.of(first.getId(), second.getId()),
+                inventoryBatchRepository.findItems(changes).stream().map(InventoryItemEntity::getId).sorted().toList());
+    }
+
+    @Test
+    void updateItems_CoalescedBatch_ReturnsUpdatedItemsOnly() {
+        InventoryItemEntity first = items.get(1);
+        InventoryItemEntity second = items.get(2);
+
+        List<InventoryItem> updated = inventoryRepositoryAdapter.updateItems(List.of(
+                change(first, 40, null),
+                change(second, 0, null),
+                new InventoryChange(UUID.randomUUID(), first.getProduct().getUuid(), 1, null)));
+
+        assertEquals(2, updated.size());
+        assertEquals(Map.of(first.getProduct().getUuid(), 40, second.getProduct().getUuid(), 0),
+                updated.stream().collect(Collectors.toMap(item -> item.product().uuid(), InventoryItem::quantity)));
+        assertEquals(first.getWarehouse().getName(), updated.stream()
+                .filter(item -> item.product().uuid().equals(first.getProduct().getUuid()))
+                .findFirst().orElseThrow().warehouse().name());
+    }
+
+    @Test
+    void updateAll_MixedChanges_AppendsOneOutboxRecordPerChangedItem() {
+        InventoryItemEntity delta = items.get(2);
+        InventoryItemEntity insufficient = items.get(3);
+
+        List<InventoryChangeResult> results = inventoryRepositoryAdapter.updateAll(
+                List.of(change(delta, null, 5), change(delta, null, -1), change(insufficient, null, -4)));
+        testEntityManager.clear();
+
+        List<OutboxEntity> records = testEntityManager.getEntityManager()
+                .createQuery("SELECT o FROM OutboxEntity o", OutboxEntity.class)
+                .getResultList();
+        assertEquals(1, records.size());
+        OutboxEntity record = records.getFirst();
+        assertEquals(ChangeAggregateEnum.INVENTORY, record.getAggregate());
+        assertEquals(ChangeOperationEnum.UPDATED, record.getOperation());
+        assertEquals(delta.getWarehouse().getUuid(), record.getWarehouseId());
+        assertEquals(delta.getProduct().getUuid(), record.getProductId());
+        assertEquals("{\"quantity\":6,\"delta\":4}", record.getPayload());
+        assertNull(record.getPublishedAt());
+        assertEquals(record.getId(), results.get(0).changeId());
+        assertEquals(record.getId(), results.get(1).changeId());
+        assertNull(results.get(2).changeId());
+    }
+
+    @Test
+    void updateAll_AbsoluteAndDelta_AppendsOneMovementPerChange() {
+        InventoryItemEntity item = items.get(5);
+        InventoryItemEntity insufficient = items.get(6);
+
+        inventoryRepositoryAdapter.updateAll(List.of(change(item, 20, null), change(item, null, -3),
+                change(insufficient, null, -7), change(item, null, 4), change(item, 10, null)));
+        testEntityManager.clear();
+
+        List<StockMovementEntity> movements = testEntityManager.getEntityManager()
+                .createQuery("SELECT m FROM StockMovementEntity m ORDER BY m.id", StockMovementEntity.class)
+                .getResultList();
+        assertEquals(List.of(15, -3, 4, -11), movements.stream().map(StockMovementEntity::getDelta).toList());
+        assertEquals(List.of(StockMovementReasonEnum.SET, StockMovementReasonEnum.ADJUSTMENT,
+                        StockMovementReasonEnum.ADJUSTMENT, StockMovementReasonEnum.SET),
+                movements.stream().map(StockMovementEntity::getReason).toList());
+        assertTrue(movements.stream().allMatch(movement -> item.getWarehouse().getUuid().equals(movement.getWarehouseId())));
+    }
+
+    @Test
+    void rewind_SnapshotAndTail_ReplaysMovementsAfterSnapshotOnly() {
+        InventoryItemEntity item = items.get(5);
+        UUID warehouseId = item.getWarehouse().getUuid();
+        UUID productId = item.getProduct().getUuid();
+        LocalDateTime snapshotAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        // Included in the snapshot, never replayed on top of it
+        testEntityManager.persist(new StockMovementEntity(null, warehouseId, productId, 10, StockMovementReasonEnum.INITIAL,
+                snapshotAt.minusHours(1)));
+        testEntityManager.persist(new StockSnapshotEntity(null, warehouseId, productId, 10, snapshotAt.minusHours(1), snapshotAt));
+        testEntityManager.persist(new StockMovementEntity(null, warehouseId, productId, 4, StockMovementReasonEnum.ADJUSTMENT,
+                snapshotAt.plusHours(1)));
+        testEntityManager.persist(new StockMovementEntity(null, warehouseId, productId, -6, StockMovementReasonEnum.SET,
+                snapshotAt.plusHours(2)));
+        testEntityManager.flush();
+        List<InventoryItem> current = List.of(inventoryEntityMapper.toInventoryItem(item),
+                inventoryEntityMapper.toInventoryItem(items.get(6)));
+
+        List<InventoryItem> atSnapshot = inventoryRepositoryAdapter.rewind(current, snapshotAt);
+        List<InventoryItem> afterFirstMovement = inventoryRepositoryAdapter.rewind(current, snapshotAt.plusMinutes(90));
+        List<InventoryItem> afterAllMovements = inventoryRepositoryAdapter.rewind(current, snapshotAt.plusDays(1));
+
+        assertEquals(10, atSnapshot.getFirst().quantity());
+        assertEquals(snapshotAt.minusHours(1), atSnapshot.getFirst().lastStockUpdate());
+        assertEquals(14, afterFirstMovement.getFirst().quantity());
+        assertEquals(snapshotAt.plusHours(1), afterFirstMovement.getFirst().lastStockUpdate());
+        assertEquals(8, afterAllMovements.getFirst().quantity());
+        assertEquals(0, afterAllMovements.getLast().quantity(), "Expected no stock without recorded movements");
+        assertEquals(items.get(6).getProduct().getUuid(), afterAllMovements.getLast().product().uuid());
+    }
+
+    @Test
+    void sumByProduct_PageOfTotals_LargestFirstWithFilters() {
+        Page<ProductStockTotal> totals = inventoryRepositoryAdapter.sumByProduct(PageRequest.of(0, PAGE_SIZE), null, "HARDWARE");
+
+        assertEquals(ITEMS, totals.getTotalElements());
+        assertEquals(ITEMS - 1, totals.getContent().getFirst().totalQuantity());
+        assertEquals(1, totals.getContent().getFirst().warehouses());
+        assertEquals(items.getLast().getProduct().getUuid(), totals.getContent().getFirst().productId());
+
+        InventoryItemEntity item = items.get(5);
+        Page<ProductStockTotal> inWarehouse = inventoryRepositoryAdapter.sumByProduct(PageRequest.of(0, PAGE_SIZE),
+                item.getWarehouse().getUuid(), null);
+
+        assertEquals(1, inWarehouse.getTotalElements());
+        assertEquals(item.getProduct().getSku(), inWarehouse.getContent().getFirst().sku());
+        assertTrue(inventoryRepositoryAdapter.sumByProduct(PageRequest.of(0, PAGE_SIZE), null, "ELECTRONICS").isEmpty());
+    }
+
+    @Test
+    void sumByWarehouse_PageOfUtilisations_MostUtilisedFirst() {
+        Page<WarehouseUtilisation> utilisations = inventoryRepositoryAdapter.sumByWarehouse(PageRequest.of(0, PAGE_SIZE), null, "location 2");
+
+        assertEquals(11, utilisations.getTotalElements());
+        WarehouseUtilisation first = utilisations.getContent().getFirst();
+        assertEquals("Warehouse 29", first.name());
+        assertEquals(29, first.totalQuantity());
+        assertEquals(2.9, first.utilisation(), 0.001);
+    }
+
+    @Test
+    void sumValueByCategory_AllStock_SumsQuantityTimesPrice() {
+        List<CategoryValuation> valuations = inventoryRepositoryAdapter.sumValueByCategory(null, null);
+
+        assertEquals(1, valuations.size());
+        assertEquals("HARDWARE", valuations.getFirst().category());
+        assertEquals(ITEMS * (ITEMS - 1) / 2, valuations.getFirst().totalQuantity());
+        assertEquals(ITEMS * (ITEMS - 1) / 2 * 9.99, valuations.getFirst().value().doubleValue(), 0.01);
+    }
+
+    @Test
+    void updateAll_ReconciledStock_MaintainsWarehouseTotals() {
+        reconcileStock();
+        InventoryItemEntity item = items.get(5);
+        InventoryItemEntity insufficient = items.get(6);
+
+        inventoryRepositoryAdapter.updateAll(List.of(change(item, 20, null), change(item, null, -3), change(insufficient, null, -7)));
+        testEntityManager.clear();
+
+        assertEquals(17, testEntityManager.find(WarehouseEntity.class, item.getWarehouse().getId()).getStockQuantity());
+        assertEquals(6, testEntityManager.find(WarehouseEntity.class, insufficient.getWarehouse().getId()).getStockQuantity());
+        assertTrue(warehouseStockRepository.findDrifts(0, Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    void findAll_ReconciledStock_FiltersAndSortsByUtilisation() {
+        reconcileStock();
+
+        List<WarehouseEntity> warehouses = warehouseRepository.findAll(
+                WarehouseSpecification.hasUtilisationAtLeast(2.5), Sort.by(Sort.Direction.DESC, "utilisation"));
+
+        assertEquals(List.of("Warehouse 29", "Warehouse 28", "Warehouse 27", "Warehouse 26", "Warehouse 25"),
+                warehouses.stream().map(WarehouseEntity::getName).toList());
+        assertEquals(2.9, warehouses.getFirst().getUtilisation(), 0.001);
+    }
+
+    @Test
+    void updateReorderPoint_ProductAndItem_PersistsBothLevels() {
+        InventoryItemEntity item = items.get(5);
+        UUID productId = item.getProduct().getUuid();
+
+        inventoryRepositoryAdapter.updateReorderPoint(productId, null, 10);
+        inventoryRepositoryAdapter.updateReorderPoint(productId, item.getWarehouse().getUuid(), 3);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        assertEquals(10, testEntityManager.find(ProductEntity.class, item.getProduct().getId()).getReorderPoint());
+        assertEquals(3, testEntityManager.find(InventoryItemEntity.class, item.getId()).getReorderPoint());
+        assertThrows(ObjectNotFoundException.class,
+                () -> inventoryRepositoryAdapter.updateReorderPoint(productId, items.get(6).getWarehouse().getUuid(), 3));
+    }
+
+    /**
+     * Reconciles the running totals of the fixture, whose inventory items are persisted without the adapter.
+     */
+    private void reconcileStock() {
+        List<WarehouseStockRepository.StockDrift> drifts = warehouseStockRepository.findDrifts(0, Long.MAX_VALUE);
+        assertEquals(ITEMS - 1, drifts.size(), "Expected every warehouse holding stock to have drifted");
+        drifts.forEach(drift -> warehouseStockRepository.reconcile(drift.id()));
+        testEntityManager.clear();
+        assertTrue(warehouseStockRepository.findDrifts(0, Long.MAX_VALUE).isEmpty());
+    }
+
+    private static InventoryChange change(InventoryItemEntity item, Integer quantity, Integer delta) {
+        return new InventoryChange(item.getWarehouse().getUuid(), item.getProduct().getUuid(), quantity, delta);
+    }
+}
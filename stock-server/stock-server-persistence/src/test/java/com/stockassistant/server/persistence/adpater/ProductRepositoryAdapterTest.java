@@ -0,0 +1,124 @@
+package com.stockassistant.server.persistence.adpater;
+
+import com.stockassistant.server.domain.model.Product;
+import com.stockassistant.server.domain.model.ProductRequest;
+import com.stockassistant.server.persistence.cache.CountCache;
+import com.stockassistant.server.persistence.cache.ListingCache;
+import com.stockassistant.server.persistence.cache.ProductCache;
+import com.stockassistant.server.persistence.config.CacheConfig;
+import com.stockassistant.server.persistence.entity.ProductEntity;
+import com.stockassistant.server.persistence.entity.enums.ProductCategoryEnum;
+import com.stockassistant.server.persistence.entity.enums.UnitOfMeasureEnum;
+import com.stockassistant.server.persistence.mapper.ProductEntityMapperImpl;
+import com.stockassistant.server.persistence.repository.EntityStreamRepository;
+import com.stockassistant.server.persistence.repository.OutboxRepository;
+import com.stockassistant.server.persistence.repository.ProductImportRepository;
+import com.stockassistant.server.persistence.repository.RowEstimateRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false"})
+@Import({ProductRepositoryAdapter.class,
+        ProductImportRepository.class,
+        OutboxRepository.class,
+        EntityStreamRepository.class,
+        ProductCache.class,
+        CountCache.class,
+        ListingCache.class,
+        CacheConfig.class,
+        RowEstimateRepository.class,
+        ProductEntityMapperImpl.class})
+class ProductRepositoryAdapterTest {
+
+    @Autowired
+    private ProductRepositoryAdapter productRepositoryAdapter;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ProductCache productCache;
+
+    private ProductEntity product;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        product = testEntityManager.persist(new ProductEntity(null, UUID.randomUUID(), "SKU-1",
+                "Product 1", null, 9.99f, ProductCategoryEnum.HARDWARE, UnitOfMeasureEnum.UNIT, null, null, null));
+        testEntityManager.flush();
+        testEntityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findById_RepeatedLookups_QueriesOnceForBothKeys() {
+        productRepositoryAdapter.findById(product.getUuid());
+        Product byUuid = productRepositoryAdapter.findById(product.getUuid()).orElseThrow();
+        Product bySku = productRepositoryAdapter.findBySku(product.getSku()).orElseThrow();
+
+        assertEquals(byUuid, bySku);
+        assertEquals(1, statistics.getPrepareStatementCount(), "Expected a single lookup query");
+    }
+
+    @Test
+    void update_ChangedSku_EvictsPreviousAndNewSku() {
+        productRepositoryAdapter.findById(product.getUuid());
+
+        productRepositoryAdapter.update(product.getUuid(), ProductRequest.builder().sku("SKU-2").name("Renamed").build());
+        testEntityManager.flush();
+
+        assertTrue(productRepositoryAdapter.findBySku("SKU-1").isEmpty());
+        assertEquals("Renamed", productRepositoryAdapter.findById(product.getUuid()).orElseThrow().name());
+    }
+
+    @Test
+    void update_ReloadedBeforeCommit_EvictsAgainAfterCommit() {
+        Product previous = productRepositoryAdapter.findById(product.getUuid()).orElseThrow();
+
+        productRepositoryAdapter.update(product.getUuid(), ProductRequest.builder().sku("SKU-1").name("Renamed").build());
+        testEntityManager.flush();
+        // A concurrent lookup between the update and its commit reads and caches the previous row
+        productCache.put(previous);
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        assertEquals("Renamed", productRepositoryAdapter.findById(product.getUuid()).orElseThrow().name());
+        assertEquals("Renamed", productRepositoryAdapter.findBySku("SKU-1").orElseThrow().name());
+    }
+
+    @Test
+    void deleteById_CachedProduct_EvictsBothKeys() {
+        productRepositoryAdapter.findById(product.getUuid());
+
+        productRepositoryAdapter.deleteById(product.getUuid());
+        testEntityManager.flush();
+
+        assertTrue(productRepositoryAdapter.findById(product.getUuid()).isEmpty());
+        assertTrue(productRepositoryAdapter.findBySku(product.getSku()).isEmpty());
+    }
+}
@@ -0,0 +1,56 @@
+package com.stockassistant.server.persistence.adpater;
+
+import com.stockassistant.server.domain.model.Reservation;
+import com.stockassistant.server.domain.model.enums.ReservationStatusEnum;
+import com.stockassistant.server.persistence.repository.ReservationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.flyway.enabled=false")
+@Import({ReservationRepositoryAdapter.class, ReservationRepository.class})
+class ReservationRepositoryAdapterTest {
+
+    @Autowired
+    private ReservationRepositoryAdapter reservationRepositoryAdapter;
+
+    @Test
+    void write_CreatedAndEnded_StoresOutstandingReservationsOnly() {
+        Reservation first = reservation(2);
+        Reservation second = reservation(3);
+        Reservation third = reservation(5);
+        reservationRepositoryAdapter.write(List.of(first, second), List.of());
+
+        reservationRepositoryAdapter.write(List.of(third), List.of(first.uuid()));
+
+        try (Stream<Reservation> outstanding = reservationRepositoryAdapter.streamAll()) {
+            List<Reservation> stored = outstanding.toList();
+            assertEquals(List.of(second.uuid(), third.uuid()).stream().sorted().toList(),
+                    stored.stream().map(Reservation::uuid).sorted().toList());
+            assertEquals(second, stored.stream().filter(reservation -> reservation.uuid().equals(second.uuid())).findFirst().orElseThrow());
+        }
+    }
+
+    private static Reservation reservation(int quantity) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        return Reservation.builder()
+                .uuid(UUID.randomUUID())
+                .warehouseId(UUID.randomUUID())
+                .productId(UUID.randomUUID())
+                .quantity(quantity)
+                .status(ReservationStatusEnum.ACTIVE)
+                .reference("cart-" + quantity)
+                .createdAt(now)
+                .expiresAt(now.plusMinutes(15))
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package com.stockassistant.server.persistence.adpater;
+
+import com.stockassistant.server.domain.model.Warehouse;
+import com.stockassistant.server.domain.model.WarehouseFilter;
+import com.stockassistant.server.domain.model.WarehouseRequest;
+import com.stockassistant.server.domain.model.enums.CountModeEnum;
+import com.stockassistant.server.persistence.cache.CountCache;
+import com.stockassistant.server.persistence.cache.ListingCache;
+import com.stockassistant.server.persistence.cache.WarehouseDirectory;
+import com.stockassistant.server.persistence.config.CacheConfig;
+import com.stockassistant.server.persistence.entity.WarehouseEntity;
+import com.stockassistant.server.persistence.mapper.WarehouseEntityMapperImpl;
+import com.stockassistant.server.persistence.repository.OutboxRepository;
+import com.stockassistant.server.persistence.repository.RowEstimateRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false"})
+@Import({WarehouseRepositoryAdapter.class,
+        WarehouseDirectory.class,
+        OutboxRepository.class,
+        CountCache.class,
+        ListingCache.class,
+        CacheConfig.class,
+        RowEstimateRepository.class,
+        WarehouseEntityMapperImpl.class})
+class WarehouseRepositoryAdapterTest {
+
+    private static final int WAREHOUSES = 30;
+
+    @Autowired
+    private WarehouseRepositoryAdapter warehouseRepositoryAdapter;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private WarehouseDirectory warehouseDirectory;
+
+    private final List<WarehouseEntity> warehouses = new ArrayList<>();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        warehouseDirectory.invalidate();
+        for (int i = 0; i < WAREHOUSES; i++) {
+            warehouses.add(testEntityManager.persist(new WarehouseEntity(null, UUID.randomUUID(),
+                    "Warehouse " + i, (i % 2 == 0 ? "North " : "South ") + i, 1000 + i, 0, null, null, null)));
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAll_LoadedSnapshot_FiltersSortsAndPagesInMemory() {
+        warehouseRepositoryAdapter.findById(warehouses.getFirst().getUuid());
+        statistics.clear();
+
+        Page<Warehouse> page = (Page<Warehouse>) warehouseRepositoryAdapter.findAll(WarehouseFilter.builder()
+                .location("north")
+                .pageRequest(PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "capacity")))
+                .build(), CountModeEnum.EXACT);
+
+        assertEquals(WAREHOUSES / 2, page.getTotalElements());
+        assertEquals(List.of(1018, 1016, 1014, 1012, 1010), page.map(Warehouse::capacity).getContent());
+        assertEquals(warehouses.get(3).getName(),
+                warehouseRepositoryAdapter.findById(warehouses.get(3).getUuid()).orElseThrow().name());
+        assertEquals(0, statistics.getPrepareStatementCount(), "Expected no database access");
+    }
+
+    @Test
+    void findAll_LoadedSnapshot_FiltersByUtilisationInMemory() {
+        // Warehouse i holds 10 * i out of a capacity of 1000 + i, a utilisation just under i percent
+        testEntityManager.getEntityManager()
+                .createNativeQuery("UPDATE warehouses SET stock_quantity = 10 * (capacity - 1000)")
+                .executeUpdate();
+        testEntityManager.persist(new WarehouseEntity(null, UUID.randomUUID(), "Empty", "North", 0, 0, null, null, null));
+        testEntityManager.flush();
+        testEntityManager.clear();
+        warehouseRepositoryAdapter.findById(warehouses.getFirst().getUuid());
+        statistics.clear();
+
+        Page<Warehouse> page = (Page<Warehouse>) warehouseRepositoryAdapter.findAll(WarehouseFilter.builder()
+                .minUtilisation(10.0)
+                .maxUtilisation(20.0)
+                .pageRequest(PageRequest.of(0, 20, Sort.by("capacity")))
+                .build(), CountModeEnum.EXACT);
+
+        assertEquals(List.of(1011, 1012, 1013, 1014, 1015, 1016, 1017, 1018, 1019, 1020),
+                page.map(Warehouse::capacity).getContent());
+        assertEquals(1, warehouseRepositoryAdapter.count(WarehouseFilter.builder().maxUtilisation(0.0).build()));
+        assertEquals(0, statistics.getPrepareStatementCount(), "Expected no database access");
+    }
+
+    @Test
+    void update_LoadedSnapshot_PublishesUpdatedWarehouse() {
+        UUID uuid = warehouses.getFirst().getUuid();
+        warehouseRepositoryAdapter.findById(uuid);
+
+        warehouseRepositoryAdapter.update(uuid, new WarehouseRequest("Renamed", "East", 5));
+
+        assertEquals("Renamed", warehouseRepositoryAdapter.findById(uuid).orElseThrow().name());
+        assertEquals(1, warehouseRepositoryAdapter.count(WarehouseFilter.builder().location("east").build()));
+    }
+}
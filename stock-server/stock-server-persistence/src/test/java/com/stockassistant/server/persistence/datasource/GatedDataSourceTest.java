@@ -0,0 +1,54 @@
+package com.stockassistant.server.persistence.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GatedDataSourceTest {
+
+    private final GatedDataSource gatedDataSource = new GatedDataSource(
+            new DriverManagerDataSource("jdbc:h2:mem:gate;DB_CLOSE_DELAY=-1"), 1, Duration.ofMillis(200));
+
+    @Test
+    void getConnection_PermitsTaken_QueuesOtherThreadsUntilClose() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Connection held = gatedDataSource.getConnection();
+
+            ExecutionException timedOut = assertThrows(ExecutionException.class,
+                    () -> CompletableFuture.supplyAsync(this::borrowAndClose, executor).get());
+            assertInstanceOf(SQLTransientConnectionException.class, timedOut.getCause().getCause());
+
+            held.close();
+            held.close();
+            assertEquals(1, CompletableFuture.supplyAsync(this::borrowAndClose, executor).get());
+        }
+    }
+
+    @Test
+    void getConnection_NestedOnSameThread_IsNotGated() throws Exception {
+        try (Connection outer = gatedDataSource.getConnection();
+             Connection inner = gatedDataSource.getConnection()) {
+            assertEquals(outer.getMetaData().getURL(), inner.getMetaData().getURL());
+        }
+        assertEquals(1, borrowAndClose());
+    }
+
+    private int borrowAndClose() {
+        try (Connection connection = gatedDataSource.getConnection()) {
+            return connection.isValid(1) ? 1 : 0;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
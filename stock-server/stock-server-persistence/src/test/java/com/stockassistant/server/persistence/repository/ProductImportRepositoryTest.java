@@ -0,0 +1,72 @@
+package com.stockassistant.server.persistence.repository;
+
+import com.stockassistant.server.domain.model.Product;
+import com.stockassistant.server.domain.model.ProductImportReport;
+import com.stockassistant.server.domain.model.ProductRequest;
+import com.stockassistant.server.domain.model.enums.ProductCategoryEnum;
+import com.stockassistant.server.domain.model.enums.UnitOfMeasureEnum;
+import com.stockassistant.server.persistence.EmbeddedPostgresConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Covers the COPY based import, which H2 cannot run, on an embedded PostgreSQL.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=none")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({EmbeddedPostgresConfig.class, ProductImportRepository.class})
+class ProductImportRepositoryTest {
+
+    @Autowired
+    private ProductImportRepository productImportRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importAll_NewAndExistingSkus_ReportsEveryUpsertedProduct() {
+        UUID existing = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO product (uuid, sku, name, category, price, created_at, updated_at) "
+                + "VALUES (?, 'IMP-001', 'Old name', 'HARDWARE', 1, now(), now())", existing);
+        List<Product> upserted = new ArrayList<>();
+
+        ProductImportReport report = productImportRepository.importAll(Stream.of(
+                product("IMP-001", "Claw hammer", "Forged \"steel\" head"),
+                product("IMP-002", "Screwdriver", null),
+                product("IMP-002", "Screwdriver set", "Six pieces")), upserted::add);
+
+        assertEquals(1, report.created());
+        assertEquals(1, report.updated());
+        assertEquals(List.of("IMP-001 Claw hammer Forged \"steel\" head", "IMP-002 Screwdriver set Six pieces"),
+                upserted.stream().map(product -> product.sku() + " " + product.name() + " " + product.description())
+                        .sorted().toList());
+        Product updated = upserted.stream().filter(product -> product.sku().equals("IMP-001")).findFirst().orElseThrow();
+        assertEquals(existing, updated.uuid());
+        assertEquals(ProductCategoryEnum.HARDWARE, updated.category());
+        assertEquals(UnitOfMeasureEnum.UNIT, updated.unitOfMeasure());
+        assertEquals(4.5f, updated.price());
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox WHERE aggregate = 'PRODUCT'", Long.class));
+    }
+
+    private static ProductRequest product(String sku, String name, String description) {
+        return ProductRequest.builder()
+                .sku(sku)
+                .name(name)
+                .description(description)
+                .price(4.5f)
+                .category(ProductCategoryEnum.HARDWARE)
+                .unitOfMeasure(UnitOfMeasureEnum.UNIT)
+                .build();
+    }
+}
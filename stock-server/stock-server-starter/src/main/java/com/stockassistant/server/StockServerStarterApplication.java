@@ -2,8 +2,10 @@ package com.stockassistant.server;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+// The R2DBC connections of the reactive profile are pooled by stock-server-persistence-r2dbc
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class StockServerStarterApplication {
 
     public static void main(String[] args) {